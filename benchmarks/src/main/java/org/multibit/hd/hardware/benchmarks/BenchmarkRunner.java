@@ -0,0 +1,68 @@
+package org.multibit.hd.hardware.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>Entry point to provide the following to developers:</p>
+ * <ul>
+ * <li>A run of the JMH benchmarks that always writes JSON results for tracking regressions</li>
+ * </ul>
+ * <p>All the standard JMH options apply (e.g. a regular expression to select benchmarks or
+ * '-prof gc'). Unless '-rf' or '-rff' are given the results are written as JSON to
+ * {@link #DEFAULT_RESULT_FILE}. Name the file after the release (e.g. '-rff benchmarks-0.8.0.json')
+ * to compare releases.</p>
+ * <p>To run everything against the emulated device only:</p>
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar EmulatorRoundTripBenchmark
+ * </pre>
+ *
+ * @since 0.0.1
+ *
+ */
+public class BenchmarkRunner {
+
+  public static final String DEFAULT_RESULT_FILE = "benchmarks-results.json";
+
+  /**
+   * @param args The JMH command line options
+   *
+   * @throws Exception If the benchmarks fail
+   */
+  public static void main(String[] args) throws Exception {
+
+    CommandLineOptions commandLineOptions;
+    try {
+      commandLineOptions = new CommandLineOptions(args);
+    } catch (CommandLineOptionException e) {
+      System.err.println("Error parsing command line: " + e.getMessage());
+      System.exit(1);
+      return;
+    }
+
+    if (commandLineOptions.shouldHelp()) {
+      commandLineOptions.showHelp();
+      return;
+    }
+
+    OptionsBuilder builder = new OptionsBuilder();
+    builder.parent(commandLineOptions);
+
+    if (!commandLineOptions.getResultFormat().hasValue()) {
+      builder.resultFormat(ResultFormatType.JSON);
+    }
+    if (!commandLineOptions.getResult().hasValue()) {
+      builder.result(DEFAULT_RESULT_FILE);
+    }
+
+    Options options = builder.build();
+
+    new Runner(options).run();
+
+  }
+
+}
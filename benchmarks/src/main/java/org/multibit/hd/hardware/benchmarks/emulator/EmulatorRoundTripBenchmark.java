@@ -0,0 +1,148 @@
+package org.multibit.hd.hardware.benchmarks.emulator;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import com.satoshilabs.trezor.protobuf.TrezorMessage;
+import org.bitcoinj.core.ECKey;
+import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.events.MessageEventType;
+import org.multibit.hd.hardware.core.utils.RingSignatureUtils;
+import org.multibit.hd.hardware.trezor.clients.TrezorHardwareWalletClient;
+import org.multibit.hd.hardware.trezor.wallets.emulator.TrezorEmulatorHardwareWallet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark to provide the following to developers:</p>
+ * <ul>
+ * <li>Host side round trip times against the {@link TrezorEmulatorHardwareWallet}</li>
+ * </ul>
+ * <p>Each call goes through the client, the HID framing in both directions, the emulated
+ * device and the response mailbox so it measures the whole host stack without USB. The
+ * emulated latency is zero by default so the host cost is not hidden.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmulatorRoundTripBenchmark {
+
+  /**
+   * The number of public keys in the ring
+   */
+  @Param({"1", "10", "100"})
+  public int ringSize;
+
+  /**
+   * True if the ring is sent as 33 byte compressed points
+   */
+  @Param({"false", "true"})
+  public boolean compressed;
+
+  /**
+   * The emulated device response latency
+   */
+  @Param({"0"})
+  public long responseLatencyMicros;
+
+  private TrezorEmulatorHardwareWallet emulator;
+
+  private TrezorHardwareWalletClient client;
+
+  private TrezorMessage.Ping ping;
+
+  private TrezorMessage.RingSignMessage ringSignMessage;
+
+  @Setup
+  public void setUp() {
+
+    byte[] seed = new byte[32];
+    new Random(ringSize).nextBytes(seed);
+
+    emulator = new TrezorEmulatorHardwareWallet(seed, "BENCHMARK-" + ringSize);
+    emulator.setButtonProtection(false);
+    emulator.setResponseLatency(responseLatencyMicros, TimeUnit.MICROSECONDS);
+
+    client = new TrezorHardwareWalletClient(emulator);
+    client.attach();
+    client.connect();
+
+    // The emulated device signs at the first position
+    List<byte[]> ring = Lists.newArrayList();
+    ring.add(emulator.getVotingPublicKey());
+    for (int i = 1; i < ringSize; i++) {
+      ring.add(new ECKey().getPubKeyPoint().getEncoded(false));
+    }
+
+    TrezorMessage.RingSignMessage.Builder builder = TrezorMessage.RingSignMessage.newBuilder();
+    for (byte[] key : compressed ? RingSignatureUtils.compressRing(ring) : ring) {
+      builder.addL(ByteString.copyFrom(key));
+    }
+    ringSignMessage = builder
+      .setN(ringSize)
+      .setPi(0)
+      .setMessage(ByteString.copyFromUtf8("Candidate 1"))
+      .build();
+
+    ping = TrezorMessage.Ping.newBuilder().setMessage("Benchmark").build();
+
+  }
+
+  @TearDown
+  public void tearDown() {
+
+    client.softDetach();
+
+  }
+
+  @Benchmark
+  public MessageEvent ping() throws Exception {
+
+    return expect(client.call(ping, 5, TimeUnit.SECONDS, ImmutableSet.of(MessageEventType.SUCCESS)).get(), MessageEventType.SUCCESS);
+
+  }
+
+  @Benchmark
+  public MessageEvent ringSignMessage() throws Exception {
+
+    return expect(client.call(ringSignMessage, 5, TimeUnit.SECONDS, ImmutableSet.of(MessageEventType.MESSAGE_RING_SIGNATURE)).get(), MessageEventType.MESSAGE_RING_SIGNATURE);
+
+  }
+
+  /**
+   * @param event The response
+   * @param type  The expected type
+   *
+   * @return The response
+   */
+  private static MessageEvent expect(MessageEvent event, MessageEventType type) {
+
+    if (!type.equals(event.getEventType())) {
+      throw new IllegalStateException("Unexpected response: " + event.getEventType());
+    }
+
+    return event;
+
+  }
+
+}
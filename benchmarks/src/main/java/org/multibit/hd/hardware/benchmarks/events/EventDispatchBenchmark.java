@@ -0,0 +1,155 @@
+package org.multibit.hd.hardware.benchmarks.events;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.Message;
+import org.multibit.hd.hardware.core.events.BoundedEventQueue;
+import org.multibit.hd.hardware.core.events.EventDispatcher;
+import org.multibit.hd.hardware.core.events.EventListener;
+import org.multibit.hd.hardware.core.events.GuavaEventDispatcher;
+import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.events.MessageEventType;
+import org.multibit.hd.hardware.core.events.OverflowPolicy;
+import org.multibit.hd.hardware.core.events.RingBufferEventDispatcher;
+import org.multibit.hd.hardware.core.messages.HardwareWalletMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark to provide the following to developers:</p>
+ * <ul>
+ * <li>A comparison of the Guava event bus dispatch against the ring buffer dispatch</li>
+ * </ul>
+ * <p>A burst alternates TX_REQUEST and BUTTON_REQUEST as seen during a transaction signing.
+ * Each invocation waits until the listener has received every event so the result covers the
+ * full hand over between threads. Run with the GC profiler ('-prof gc') to see the allocation
+ * per event.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatchBenchmark {
+
+  /**
+   * The dispatcher implementation
+   */
+  @Param({"GUAVA", "RING_BUFFER"})
+  public String dispatcherType;
+
+  /**
+   * The number of events in a burst
+   */
+  @Param({"64"})
+  public int burstSize;
+
+  private EventDispatcher<MessageEvent> dispatcher;
+
+  private MessageEvent[] burst;
+
+  /**
+   * Written by the dispatcher thread only
+   */
+  private volatile long received = 0;
+
+  @Setup
+  public void setUp() {
+
+    if ("GUAVA".equals(dispatcherType)) {
+      dispatcher = new GuavaEventDispatcher<>(
+        "benchmark-guava",
+        GuavaEventDispatcher.DEFAULT_CAPACITY,
+        OverflowPolicy.BLOCK,
+        new BoundedEventQueue.CoalesceKey<MessageEvent>() {
+          @Override
+          public Object keyOf(MessageEvent event) {
+            return event.getEventType();
+          }
+        });
+    } else {
+      dispatcher = new RingBufferEventDispatcher<>("benchmark-ring-buffer");
+    }
+
+    dispatcher.addListener(
+      new EventListener<MessageEvent>() {
+        @Override
+        public void onEvent(MessageEvent event) {
+          received++;
+        }
+      });
+
+    burst = new MessageEvent[burstSize];
+    for (int i = 0; i < burstSize; i++) {
+      MessageEventType type = i % 2 == 0 ? MessageEventType.TX_REQUEST : MessageEventType.BUTTON_REQUEST;
+      burst[i] = new MessageEvent(type, Optional.<HardwareWalletMessage>absent(), Optional.<Message>absent(), "TREZOR");
+    }
+
+  }
+
+  @TearDown
+  public void tearDown() {
+
+    dispatcher.shutdown();
+
+  }
+
+  /**
+   * Dispatch a whole burst and wait for its delivery
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public long burst() {
+
+    long target = received + burst.length;
+
+    for (MessageEvent event : burst) {
+      dispatcher.dispatch(event);
+    }
+
+    return awaitReceived(target);
+
+  }
+
+  /**
+   * Dispatch a single event and wait for its delivery to show the latency distribution
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public long singleEvent() {
+
+    long target = received + 1;
+
+    dispatcher.dispatch(burst[0]);
+
+    return awaitReceived(target);
+
+  }
+
+  private long awaitReceived(long target) {
+
+    long current;
+    while ((current = received) < target) {
+      Thread.yield();
+    }
+
+    return current;
+
+  }
+
+}
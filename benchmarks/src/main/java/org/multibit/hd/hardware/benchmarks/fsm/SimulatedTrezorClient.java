@@ -0,0 +1,149 @@
+package org.multibit.hd.hardware.benchmarks.fsm;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.google.protobuf.Message;
+import com.satoshilabs.trezor.protobuf.TrezorMessage;
+import org.multibit.commons.concurrent.SafeExecutors;
+import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.events.MessageEventMailbox;
+import org.multibit.hd.hardware.core.events.MessageEventType;
+import org.multibit.hd.hardware.core.events.MessageEvents;
+import org.multibit.hd.hardware.core.messages.Failure;
+import org.multibit.hd.hardware.core.messages.FailureType;
+import org.multibit.hd.hardware.core.messages.Features;
+import org.multibit.hd.hardware.core.messages.HardwareWalletMessage;
+import org.multibit.hd.hardware.core.messages.Success;
+import org.multibit.hd.hardware.trezor.clients.AbstractTrezorHardwareWalletClient;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Client to provide the following to benchmarks:</p>
+ * <ul>
+ * <li>A simulated Trezor that answers Initialize and Ping after a fixed round trip time</li>
+ * </ul>
+ * <p>No USB or protobuf framing is involved so only the FSM and event handling are measured.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class SimulatedTrezorClient extends AbstractTrezorHardwareWalletClient {
+
+  private final ListeningScheduledExecutorService deviceService = SafeExecutors.newSingleThreadScheduledExecutor("simulated-device");
+
+  private final MessageEventMailbox mailbox = new MessageEventMailbox();
+
+  private final long roundTripMillis;
+
+  /**
+   * @param roundTripMillis The simulated device round trip time in milliseconds
+   */
+  public SimulatedTrezorClient(long roundTripMillis) {
+    this.roundTripMillis = roundTripMillis;
+  }
+
+  @Override
+  public String name() {
+    return "TREZOR";
+  }
+
+  @Override
+  public boolean attach() {
+    return true;
+  }
+
+  @Override
+  public void softDetach() {
+    // Nothing to release
+  }
+
+  @Override
+  public void hardDetach() {
+    deviceService.shutdownNow();
+  }
+
+  @Override
+  public boolean connect() {
+
+    MessageEvents.fireMessageEvent(MessageEventType.DEVICE_CONNECTED, name());
+    return true;
+
+  }
+
+  @Override
+  public void disconnect() {
+    softDetach();
+  }
+
+  @Override
+  public boolean verifyFeatures(Features features) {
+    return true;
+  }
+
+  @Override
+  protected Optional<MessageEvent> sendMessage(Message message) {
+    return sendMessage(message, 1, TimeUnit.SECONDS);
+  }
+
+  @Override
+  protected Optional<MessageEvent> sendMessage(Message message, int duration, TimeUnit timeUnit) {
+
+    send(message);
+
+    return Optional.absent();
+
+  }
+
+  @Override
+  protected MessageEventMailbox getMailbox() {
+    return mailbox;
+  }
+
+  @Override
+  protected boolean writeMessage(final Message message) {
+
+    if (deviceService.isShutdown()) {
+      return false;
+    }
+
+    deviceService.schedule(
+      new Runnable() {
+        @Override
+        public void run() {
+          respond(message);
+        }
+      }, roundTripMillis, TimeUnit.MILLISECONDS);
+
+    return true;
+
+  }
+
+  /**
+   * @param message The message received by the simulated device
+   */
+  private void respond(Message message) {
+
+    final MessageEvent response;
+    if (message instanceof TrezorMessage.Initialize) {
+      Features features = new Features();
+      features.setVendor("bitcointrezor.com");
+      features.setVersion("1.3.4");
+      features.setInitialized(true);
+      response = newMessageEvent(MessageEventType.FEATURES, features);
+    } else if (message instanceof TrezorMessage.Ping) {
+      response = newMessageEvent(MessageEventType.SUCCESS, new Success(""));
+    } else {
+      response = newMessageEvent(MessageEventType.FAILURE, new Failure(FailureType.UNEXPECTED_MESSAGE, "Not simulated"));
+    }
+
+    mailbox.offer(response);
+    MessageEvents.fireMessageEvent(response);
+
+  }
+
+  private MessageEvent newMessageEvent(MessageEventType type, HardwareWalletMessage message) {
+    return new MessageEvent(type, Optional.of(message), Optional.<Message>absent(), name());
+  }
+
+}
@@ -0,0 +1,99 @@
+package org.multibit.hd.hardware.benchmarks.fsm;
+
+import com.google.common.eventbus.Subscribe;
+import org.multibit.hd.hardware.core.HardwareWalletService;
+import org.multibit.hd.hardware.core.events.HardwareWalletEvent;
+import org.multibit.hd.hardware.core.events.HardwareWalletEventType;
+import org.multibit.hd.hardware.core.events.HardwareWalletEvents;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark to provide the following to developers:</p>
+ * <ul>
+ * <li>Cold start latency from service start to SHOW_DEVICE_READY against a simulated device</li>
+ * </ul>
+ * <p>Compares the original 1 second polling of the FSM against the event driven mode.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupLatencyBenchmark {
+
+  /**
+   * How the service progresses through the FSM
+   */
+  @Param({"POLLING", "EVENT_DRIVEN"})
+  public String mode;
+
+  /**
+   * The simulated device round trip time
+   */
+  @Param({"5", "50"})
+  public long roundTripMillis;
+
+  private HardwareWalletService service;
+
+  private CountDownLatch deviceReady;
+
+  @Setup(Level.Invocation)
+  public void setUp() {
+
+    deviceReady = new CountDownLatch(1);
+    HardwareWalletEvents.subscribe(this);
+
+    service = new HardwareWalletService(new SimulatedTrezorClient(roundTripMillis));
+
+  }
+
+  @TearDown(Level.Invocation)
+  public void tearDown() {
+
+    // Also removes all subscribers
+    service.stopAndWait();
+
+  }
+
+  @Subscribe
+  public void onHardwareWalletEvent(HardwareWalletEvent event) {
+
+    if (HardwareWalletEventType.SHOW_DEVICE_READY.equals(event.getEventType())) {
+      deviceReady.countDown();
+    }
+
+  }
+
+  @Benchmark
+  public boolean startToDeviceReady() throws InterruptedException {
+
+    if ("EVENT_DRIVEN".equals(mode)) {
+      service.startEventDriven();
+    } else {
+      service.start();
+    }
+
+    return deviceReady.await(10, TimeUnit.SECONDS);
+
+  }
+
+}
@@ -0,0 +1,103 @@
+package org.multibit.hd.hardware.benchmarks.latency;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Statistics to provide the following to the latency harness:</p>
+ * <ul>
+ * <li>Collection of latency samples</li>
+ * <li>Percentiles by the nearest rank method</li>
+ * </ul>
+ * <p>Every sample is kept so the percentiles are exact. This is fine for the few thousand
+ * samples of a harness run.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class LatencyStatistics {
+
+  private long[] samples = new long[64];
+
+  private int count = 0;
+
+  /**
+   * True if the samples are in order
+   */
+  private boolean sorted = true;
+
+  /**
+   * @param nanos The latency in nanoseconds
+   */
+  public void record(long nanos) {
+
+    Preconditions.checkArgument(nanos >= 0, "'nanos' must not be negative");
+
+    if (count == samples.length) {
+      samples = Arrays.copyOf(samples, count * 2);
+    }
+    if (count > 0 && nanos < samples[count - 1]) {
+      sorted = false;
+    }
+    samples[count++] = nanos;
+
+  }
+
+  /**
+   * @return The number of samples
+   */
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * @param percentile The percentile (e.g. 99.0)
+   * @param timeUnit   The time unit of the result
+   *
+   * @return The latency at the percentile (zero if there are no samples)
+   */
+  public double getPercentile(double percentile, TimeUnit timeUnit) {
+
+    Preconditions.checkArgument(percentile > 0 && percentile <= 100, "'percentile' must be in (0, 100]");
+
+    if (count == 0) {
+      return 0;
+    }
+
+    if (!sorted) {
+      Arrays.sort(samples, 0, count);
+      sorted = true;
+    }
+
+    int rank = (int) Math.ceil(percentile / 100 * count);
+
+    return toUnit(samples[Math.max(rank, 1) - 1], timeUnit);
+
+  }
+
+  /**
+   * @param timeUnit The time unit of the result
+   *
+   * @return The highest latency (zero if there are no samples)
+   */
+  public double getMax(TimeUnit timeUnit) {
+
+    return count == 0 ? 0 : getPercentile(100, timeUnit);
+
+  }
+
+  /**
+   * @param nanos    The duration in nanoseconds
+   * @param timeUnit The time unit of the result
+   *
+   * @return The duration in the time unit keeping the fraction
+   */
+  private static double toUnit(long nanos, TimeUnit timeUnit) {
+
+    return (double) nanos / timeUnit.toNanos(1);
+
+  }
+
+}
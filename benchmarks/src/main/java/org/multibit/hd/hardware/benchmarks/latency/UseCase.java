@@ -0,0 +1,33 @@
+package org.multibit.hd.hardware.benchmarks.latency;
+
+import org.multibit.hd.hardware.core.HardwareWalletService;
+import org.multibit.hd.hardware.core.events.HardwareWalletEventType;
+
+/**
+ * <p>Interface to provide the following to the latency harness:</p>
+ * <ul>
+ * <li>A use case driven through the hardware wallet service</li>
+ * </ul>
+ * <p>See {@link UseCases} for the standard use cases.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public interface UseCase {
+
+  /**
+   * @return The name for the report (e.g. "ringSignMessage(100)")
+   */
+  String getName();
+
+  /**
+   * @param service The service to begin the use case on
+   */
+  void begin(HardwareWalletService service);
+
+  /**
+   * @return The event type signalling the end of the use case
+   */
+  HardwareWalletEventType getResultEventType();
+
+}
@@ -0,0 +1,351 @@
+package org.multibit.hd.hardware.benchmarks.latency;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.multibit.hd.hardware.core.HardwareWalletService;
+import org.multibit.hd.hardware.core.events.EventListener;
+import org.multibit.hd.hardware.core.events.HardwareWalletEvent;
+import org.multibit.hd.hardware.core.events.HardwareWalletEventType;
+import org.multibit.hd.hardware.trezor.clients.TrezorHardwareWalletClient;
+import org.multibit.hd.hardware.trezor.wallets.emulator.TrezorEmulatorHardwareWallet;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Harness to provide the following to developers:</p>
+ * <ul>
+ * <li>End to end latency of whole use cases driven through the {@link HardwareWalletService}</li>
+ * <li>p50, p99 and max latency for each {@link UseCasePhase}</li>
+ * </ul>
+ * <p>Unlike the JMH benchmarks this measures what the application sees: the service call, the
+ * FSM, the event dispatch and the device. The harness reacts to the events as an application
+ * would, entering the PIN when asked. Only the first PIN and button request of a use case are
+ * timed (e.g. a deterministic hierarchy asks for the PIN at every level).</p>
+ * <p>Run against the emulator with</p>
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar org.multibit.hd.hardware.benchmarks.latency.UseCaseLatencyHarness -responseLatencyMillis 20
+ * </pre>
+ * <p>Any device can be measured by constructing the harness around its service (e.g. a
+ * {@code ReplayHardwareWallet} rewound before each run of the use case it recorded).</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class UseCaseLatencyHarness {
+
+  private static final double[] PERCENTILES = {50.0, 99.0};
+
+  private final HardwareWalletService service;
+
+  private final Optional<String> pin;
+
+  private final long timeoutMillis;
+
+  /**
+   * The events of the device in order of arrival
+   */
+  private final BlockingQueue<HardwareWalletEvent> events = new LinkedBlockingQueue<>();
+
+  /**
+   * @param service       The service (not started)
+   * @param pin           The PIN to enter when asked (absent if the device has no PIN)
+   * @param timeoutMillis The longest wait for any event before the run is abandoned
+   */
+  public UseCaseLatencyHarness(HardwareWalletService service, Optional<String> pin, long timeoutMillis) {
+
+    Preconditions.checkNotNull(service, "'service' must be present");
+    Preconditions.checkNotNull(pin, "'pin' must be present");
+
+    this.service = service;
+    this.pin = pin;
+    this.timeoutMillis = timeoutMillis;
+
+    service.addHardwareWalletEventListener(
+      new EventListener<HardwareWalletEvent>() {
+        @Override
+        public void onEvent(HardwareWalletEvent event) {
+          events.add(event);
+        }
+      });
+
+  }
+
+  /**
+   * <p>Start the service and wait until the device is ready</p>
+   *
+   * @param eventDriven True to use the event driven FSM rather than the 1 second poll
+   *
+   * @return The time to SHOW_DEVICE_READY in nanoseconds
+   *
+   * @throws InterruptedException If interrupted
+   */
+  public long start(boolean eventDriven) throws InterruptedException {
+
+    long start = System.nanoTime();
+
+    if (eventDriven) {
+      service.startEventDriven();
+    } else {
+      service.start();
+    }
+
+    while (true) {
+      HardwareWalletEvent event = nextEvent("SHOW_DEVICE_READY");
+      if (HardwareWalletEventType.SHOW_DEVICE_READY.equals(event.getEventType())) {
+        return System.nanoTime() - start;
+      }
+    }
+
+  }
+
+  /**
+   * @param useCase    The use case
+   * @param warmup     The number of untimed runs
+   * @param iterations The number of timed runs
+   *
+   * @return The statistics for each phase (a phase that never occurred has no samples)
+   *
+   * @throws InterruptedException If interrupted
+   */
+  public Map<UseCasePhase, LatencyStatistics> run(UseCase useCase, int warmup, int iterations) throws InterruptedException {
+
+    Map<UseCasePhase, LatencyStatistics> statistics = new EnumMap<>(UseCasePhase.class);
+    for (UseCasePhase phase : UseCasePhase.values()) {
+      statistics.put(phase, new LatencyStatistics());
+    }
+
+    // Warm up into throwaway statistics
+    Map<UseCasePhase, LatencyStatistics> discarded = new EnumMap<>(UseCasePhase.class);
+    for (UseCasePhase phase : UseCasePhase.values()) {
+      discarded.put(phase, new LatencyStatistics());
+    }
+    for (int i = 0; i < warmup; i++) {
+      runOnce(useCase, discarded);
+    }
+
+    for (int i = 0; i < iterations; i++) {
+      runOnce(useCase, statistics);
+    }
+
+    return statistics;
+
+  }
+
+  /**
+   * <p>Stop the service</p>
+   */
+  public void stop() {
+
+    service.stopAndWait();
+
+  }
+
+  /**
+   * @param useCase    The use case
+   * @param statistics The statistics to record into
+   *
+   * @throws InterruptedException If interrupted
+   */
+  private void runOnce(UseCase useCase, Map<UseCasePhase, LatencyStatistics> statistics) throws InterruptedException {
+
+    // Ignore anything left over from earlier runs
+    events.clear();
+
+    long start = System.nanoTime();
+    useCase.begin(service);
+    long mark = System.nanoTime();
+    statistics.get(UseCasePhase.BEGIN).record(mark - start);
+
+    boolean pinRequested = false;
+    boolean buttonRequested = false;
+
+    while (true) {
+
+      HardwareWalletEvent event = nextEvent(useCase.getResultEventType().name());
+      long now = System.nanoTime();
+
+      if (useCase.getResultEventType().equals(event.getEventType())) {
+        statistics.get(UseCasePhase.RESULT).record(now - mark);
+        statistics.get(UseCasePhase.TOTAL).record(now - start);
+        return;
+      }
+
+      switch (event.getEventType()) {
+        case SHOW_PIN_ENTRY:
+          if (!pinRequested) {
+            statistics.get(UseCasePhase.PIN).record(now - mark);
+            mark = now;
+            pinRequested = true;
+          }
+          if (!pin.isPresent()) {
+            throw new IllegalStateException(useCase.getName() + " asked for a PIN but none was given");
+          }
+          // Enter the PIN as the application would
+          service.providePIN(pin.get());
+          break;
+        case SHOW_BUTTON_PRESS:
+          if (!buttonRequested) {
+            statistics.get(UseCasePhase.BUTTON).record(now - mark);
+            mark = now;
+            buttonRequested = true;
+          }
+          break;
+        case SHOW_OPERATION_FAILED:
+          throw new IllegalStateException(useCase.getName() + " failed: " + event.getMessage().orNull());
+        default:
+          // Not part of the use case
+      }
+    }
+
+  }
+
+  /**
+   * @param awaiting The description of what is awaited for the error message
+   *
+   * @return The next event
+   *
+   * @throws InterruptedException If interrupted
+   */
+  private HardwareWalletEvent nextEvent(String awaiting) throws InterruptedException {
+
+    HardwareWalletEvent event = events.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+    if (event == null) {
+      throw new IllegalStateException("Timed out awaiting " + awaiting);
+    }
+
+    return event;
+
+  }
+
+  /**
+   * @param out        The stream to print to
+   * @param useCase    The use case
+   * @param statistics The statistics for each phase
+   */
+  public static void report(PrintStream out, UseCase useCase, Map<UseCasePhase, LatencyStatistics> statistics) {
+
+    for (Map.Entry<UseCasePhase, LatencyStatistics> entry : statistics.entrySet()) {
+
+      LatencyStatistics phase = entry.getValue();
+      if (phase.getCount() == 0) {
+        continue;
+      }
+
+      StringBuilder line = new StringBuilder(String.format("%-34s %-7s %6d", useCase.getName(), entry.getKey().name(), phase.getCount()));
+      for (double percentile : PERCENTILES) {
+        line.append(String.format(" %12.3f", phase.getPercentile(percentile, TimeUnit.MILLISECONDS)));
+      }
+      line.append(String.format(" %12.3f", phase.getMax(TimeUnit.MILLISECONDS)));
+
+      out.println(line);
+    }
+
+  }
+
+  /**
+   * <p>Run the kiosk use cases against the emulator</p>
+   * <p>Options (all optional):</p>
+   * <ul>
+   * <li>-mode POLLING|EVENT_DRIVEN (default EVENT_DRIVEN)</li>
+   * <li>-warmup 5, -iterations 50</li>
+   * <li>-ringSizes 10,100,500,1000,2000</li>
+   * <li>-streamedRingSizes 1000,10000 (rings pulled by the device in chunks)</li>
+   * <li>-cachedRingSizes 1000,10000 (rings referred to by digest once the device holds them)</li>
+   * <li>-ringChunkSize 32 (ring members per RingSignRequest)</li>
+   * <li>-inputs 1,10,50</li>
+   * <li>-pin 1234 (use "none" for no PIN)</li>
+   * <li>-responseLatencyMillis 0, -reportLatencyMicros 0 (the emulated device and USB link)</li>
+   * </ul>
+   *
+   * @param args The options
+   *
+   * @throws Exception If the harness fails
+   */
+  public static void main(String[] args) throws Exception {
+
+    Map<String, String> options = Maps.newHashMap();
+    options.put("mode", "EVENT_DRIVEN");
+    options.put("warmup", "5");
+    options.put("iterations", "50");
+    options.put("ringSizes", "10,100,500,1000,2000");
+    options.put("streamedRingSizes", "1000,10000");
+    options.put("cachedRingSizes", "1000,10000");
+    options.put("ringChunkSize", String.valueOf(TrezorEmulatorHardwareWallet.DEFAULT_RING_CHUNK_SIZE));
+    options.put("inputs", "1,10,50");
+    options.put("pin", "1234");
+    options.put("responseLatencyMillis", "0");
+    options.put("reportLatencyMicros", "0");
+
+    for (int i = 0; i < args.length; i += 2) {
+      String key = args[i].startsWith("-") ? args[i].substring(1) : args[i];
+      if (!options.containsKey(key) || i + 1 >= args.length) {
+        System.err.println("Unknown or incomplete option: " + args[i]);
+        System.err.println("Options: " + options.keySet());
+        System.exit(1);
+        return;
+      }
+      options.put(key, args[i + 1]);
+    }
+
+    Optional<String> pin = "none".equals(options.get("pin")) ? Optional.<String>absent() : Optional.of(options.get("pin"));
+    int warmup = Integer.parseInt(options.get("warmup"));
+    int iterations = Integer.parseInt(options.get("iterations"));
+
+    byte[] seed = new byte[32];
+    new Random(0).nextBytes(seed);
+
+    TrezorEmulatorHardwareWallet emulator = new TrezorEmulatorHardwareWallet(seed, "LATENCY");
+    emulator.setPin(pin);
+    emulator.setResponseLatency(Long.parseLong(options.get("responseLatencyMillis")), TimeUnit.MILLISECONDS);
+    emulator.setReportLatency(Long.parseLong(options.get("reportLatencyMicros")), TimeUnit.MICROSECONDS);
+    emulator.setRingChunkSize(Integer.parseInt(options.get("ringChunkSize")));
+
+    UseCaseLatencyHarness harness = new UseCaseLatencyHarness(
+      new HardwareWalletService(new TrezorHardwareWalletClient(emulator)),
+      pin,
+      60000
+    );
+
+    List<UseCase> useCases = Lists.newArrayList();
+    useCases.add(UseCases.requestPublicKey65());
+    for (String ringSize : Splitter.on(',').trimResults().omitEmptyStrings().split(options.get("ringSizes"))) {
+      useCases.add(UseCases.ringSignMessage(emulator.getVotingPublicKey(), Integer.parseInt(ringSize)));
+    }
+    for (String ringSize : Splitter.on(',').trimResults().omitEmptyStrings().split(options.get("streamedRingSizes"))) {
+      useCases.add(UseCases.ringSignMessageStreamed(emulator.getVotingPublicKey(), Integer.parseInt(ringSize)));
+    }
+    for (String ringSize : Splitter.on(',').trimResults().omitEmptyStrings().split(options.get("cachedRingSizes"))) {
+      useCases.add(UseCases.ringSignMessageCached(emulator.getVotingPublicKey(), Integer.parseInt(ringSize)));
+    }
+    for (String inputs : Splitter.on(',').trimResults().omitEmptyStrings().split(options.get("inputs"))) {
+      useCases.add(UseCases.signTx(emulator.getVotingPublicKey(), Integer.parseInt(inputs)));
+    }
+    useCases.add(UseCases.requestDeterministicHierarchy());
+
+    try {
+
+      long startup = harness.start("EVENT_DRIVEN".equals(options.get("mode")));
+      System.out.printf("Device ready in %.3f ms (%s)%n", startup / 1e6, options.get("mode"));
+
+      System.out.printf("%-34s %-7s %6s %12s %12s %12s%n", "Use case", "Phase", "Count", "p50 (ms)", "p99 (ms)", "max (ms)");
+      for (UseCase useCase : useCases) {
+        report(System.out, useCase, harness.run(useCase, warmup, iterations));
+      }
+
+    } finally {
+      harness.stop();
+    }
+
+  }
+
+}
@@ -0,0 +1,43 @@
+package org.multibit.hd.hardware.benchmarks.latency;
+
+/**
+ * <p>Enum to provide the following to the latency harness:</p>
+ * <ul>
+ * <li>The phases of a use case as seen by the application</li>
+ * </ul>
+ * <p>Each phase is timed from the end of the previous phase.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public enum UseCasePhase {
+
+  /**
+   * The call into the service to begin the use case
+   */
+  BEGIN,
+
+  /**
+   * Until the device asks for the PIN (SHOW_PIN_ENTRY)
+   */
+  PIN,
+
+  /**
+   * Until the device asks for a button press (SHOW_BUTTON_PRESS)
+   */
+  BUTTON,
+
+  /**
+   * Until the result event (e.g. MESSAGE_RING_SIGNATURE)
+   */
+  RESULT,
+
+  /**
+   * From the call into the service to the result event
+   */
+  TOTAL,
+
+  // End of enum
+  ;
+
+}
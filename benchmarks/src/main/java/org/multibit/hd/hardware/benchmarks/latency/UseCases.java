@@ -0,0 +1,252 @@
+package org.multibit.hd.hardware.benchmarks.latency;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.bitcoinj.core.Address;
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.NetworkParameters;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.crypto.ChildNumber;
+import org.bitcoinj.params.MainNetParams;
+import org.bitcoinj.testing.FakeTxBuilder;
+import org.multibit.hd.hardware.core.HardwareWalletService;
+import org.multibit.hd.hardware.core.events.HardwareWalletEventType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Factory to provide the following to the latency harness:</p>
+ * <ul>
+ * <li>The use cases of a voting kiosk</li>
+ * </ul>
+ * <p>The keys are taken from the BIP44 account 0 receiving address 0 (m/44'/0'/0'/0/0) which is
+ * also the voting key of the emulator.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class UseCases {
+
+  private static final NetworkParameters NETWORK_PARAMETERS = MainNetParams.get();
+
+  /**
+   * m/44'/0'/0'/0/0
+   */
+  private static final ImmutableList<ChildNumber> RECEIVING_PATH = ImmutableList.of(
+    new ChildNumber(44 | ChildNumber.HARDENED_BIT),
+    ChildNumber.ZERO_HARDENED,
+    ChildNumber.ZERO_HARDENED,
+    ChildNumber.ZERO,
+    ChildNumber.ZERO
+  );
+
+  /**
+   * Utilities have private constructors
+   */
+  private UseCases() {
+  }
+
+  /**
+   * @return The use case reading the voting public key
+   */
+  public static UseCase requestPublicKey65() {
+
+    return new UseCase() {
+      @Override
+      public String getName() {
+        return "requestPublicKey65";
+      }
+
+      @Override
+      public void begin(HardwareWalletService service) {
+        service.requestPublicKey65();
+      }
+
+      @Override
+      public HardwareWalletEventType getResultEventType() {
+        return HardwareWalletEventType.PUBLIC_KEY_65;
+      }
+    };
+
+  }
+
+  /**
+   * @param votingPublicKey The uncompressed voting public key of the device (placed first in the ring)
+   * @param ringSize        The number of public keys in the ring
+   *
+   * @return The use case ring signing a vote
+   */
+  public static UseCase ringSignMessage(byte[] votingPublicKey, final int ringSize) {
+
+    final List<byte[]> ring = Lists.newArrayListWithCapacity(ringSize);
+    ring.add(votingPublicKey);
+    for (int i = 1; i < ringSize; i++) {
+      ring.add(new ECKey().getPubKeyPoint().getEncoded(false));
+    }
+    final byte[] message = "Candidate 1".getBytes(Charsets.UTF_8);
+
+    return new UseCase() {
+      @Override
+      public String getName() {
+        return "ringSignMessage(" + ringSize + ")";
+      }
+
+      @Override
+      public void begin(HardwareWalletService service) {
+        service.ringSignMessage(ring, ringSize, 0, message);
+      }
+
+      @Override
+      public HardwareWalletEventType getResultEventType() {
+        return HardwareWalletEventType.MESSAGE_RING_SIGNATURE;
+      }
+    };
+
+  }
+
+  /**
+   * @param votingPublicKey The uncompressed voting public key of the device (placed first in the ring)
+   * @param ringSize        The number of public keys in the ring
+   *
+   * @return The use case ring signing a vote with the ring streamed to the device in chunks
+   */
+  public static UseCase ringSignMessageStreamed(byte[] votingPublicKey, final int ringSize) {
+
+    final List<byte[]> ring = Lists.newArrayListWithCapacity(ringSize);
+    ring.add(votingPublicKey);
+    for (int i = 1; i < ringSize; i++) {
+      ring.add(new ECKey().getPubKeyPoint().getEncoded(false));
+    }
+    final byte[] message = "Candidate 1".getBytes(Charsets.UTF_8);
+
+    return new UseCase() {
+      @Override
+      public String getName() {
+        return "ringSignMessageStreamed(" + ringSize + ")";
+      }
+
+      @Override
+      public void begin(HardwareWalletService service) {
+        service.ringSignMessageStreamed(ring, 0, message);
+      }
+
+      @Override
+      public HardwareWalletEventType getResultEventType() {
+        return HardwareWalletEventType.MESSAGE_RING_SIGNATURE;
+      }
+    };
+
+  }
+
+  /**
+   * <p>Only the first run (normally a warmup) uploads the ring, the rest refer to it by its digest</p>
+   *
+   * @param votingPublicKey The uncompressed voting public key of the device (placed first in the ring)
+   * @param ringSize        The number of public keys in the ring
+   *
+   * @return The use case ring signing a vote with a ring the device already holds
+   */
+  public static UseCase ringSignMessageCached(byte[] votingPublicKey, final int ringSize) {
+
+    final List<byte[]> ring = Lists.newArrayListWithCapacity(ringSize);
+    ring.add(votingPublicKey);
+    for (int i = 1; i < ringSize; i++) {
+      ring.add(new ECKey().getPubKeyPoint().getEncoded(false));
+    }
+    final byte[] message = "Candidate 1".getBytes(Charsets.UTF_8);
+
+    return new UseCase() {
+      @Override
+      public String getName() {
+        return "ringSignMessageCached(" + ringSize + ")";
+      }
+
+      @Override
+      public void begin(HardwareWalletService service) {
+        service.ringSignMessageCached(ring, 0, message);
+      }
+
+      @Override
+      public HardwareWalletEventType getResultEventType() {
+        return HardwareWalletEventType.MESSAGE_RING_SIGNATURE;
+      }
+    };
+
+  }
+
+  /**
+   * @param votingPublicKey The uncompressed voting public key of the device (receiving the inputs and the change)
+   * @param inputs          The number of inputs
+   *
+   * @return The use case signing a transaction with one payment and one change output
+   */
+  public static UseCase signTx(byte[] votingPublicKey, final int inputs) {
+
+    Address ownAddress = ECKey.fromPublicOnly(votingPublicKey).toAddress(NETWORK_PARAMETERS);
+
+    final Transaction tx = new Transaction(NETWORK_PARAMETERS);
+    final ImmutableMap.Builder<Integer, ImmutableList<ChildNumber>> receivingAddressPathMap = ImmutableMap.builder();
+    for (int i = 0; i < inputs; i++) {
+      Transaction parent = FakeTxBuilder.createFakeTx(NETWORK_PARAMETERS, Coin.COIN, ownAddress);
+      tx.addInput(parent.getOutput(0));
+      receivingAddressPathMap.put(i, RECEIVING_PATH);
+    }
+
+    Coin fee = Coin.MILLICOIN;
+    tx.addOutput(Coin.COIN.divide(2), new ECKey().toAddress(NETWORK_PARAMETERS));
+    tx.addOutput(Coin.COIN.multiply(inputs).subtract(Coin.COIN.divide(2)).subtract(fee), ownAddress);
+
+    final Map<Address, ImmutableList<ChildNumber>> changeAddressPathMap = ImmutableMap.of(ownAddress, RECEIVING_PATH);
+
+    final Map<Integer, ImmutableList<ChildNumber>> receivingPaths = receivingAddressPathMap.build();
+
+    return new UseCase() {
+      @Override
+      public String getName() {
+        return "signTx(" + inputs + ")";
+      }
+
+      @Override
+      public void begin(HardwareWalletService service) {
+        service.signTx(tx, receivingPaths, changeAddressPathMap);
+      }
+
+      @Override
+      public HardwareWalletEventType getResultEventType() {
+        return HardwareWalletEventType.SHOW_OPERATION_SUCCEEDED;
+      }
+    };
+
+  }
+
+  /**
+   * @return The use case building a watching wallet for BIP44 account 0 (m/44'/0'/0')
+   */
+  public static UseCase requestDeterministicHierarchy() {
+
+    final List<ChildNumber> childNumbers = RECEIVING_PATH.subList(0, 3);
+
+    return new UseCase() {
+      @Override
+      public String getName() {
+        return "requestDeterministicHierarchy";
+      }
+
+      @Override
+      public void begin(HardwareWalletService service) {
+        service.requestDeterministicHierarchy(childNumbers);
+      }
+
+      @Override
+      public HardwareWalletEventType getResultEventType() {
+        return HardwareWalletEventType.DETERMINISTIC_HIERARCHY;
+      }
+    };
+
+  }
+
+}
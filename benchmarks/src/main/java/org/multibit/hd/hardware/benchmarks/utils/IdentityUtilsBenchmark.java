@@ -0,0 +1,79 @@
+package org.multibit.hd.hardware.benchmarks.utils;
+
+import com.google.common.base.Charsets;
+import org.multibit.hd.hardware.core.utils.IdentityUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongycastle.jce.interfaces.ECPublicKey;
+import org.spongycastle.jce.provider.BouncyCastleProvider;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark to provide the following to developers:</p>
+ * <ul>
+ * <li>The cost of verifying a SignIdentity response with {@link IdentityUtils#isValidSignature}</li>
+ * </ul>
+ * <p>This includes the provider lookup and key decoding performed on every call.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdentityUtilsBenchmark {
+
+  private byte[] publicKey;
+
+  private byte[] message;
+
+  private byte[] signature;
+
+  @Setup
+  public void setUp() throws Exception {
+
+    BouncyCastleProvider provider = new BouncyCastleProvider();
+
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("ECDSA", provider);
+    generator.initialize(new ECGenParameterSpec("P-256"), new SecureRandom());
+    KeyPair keyPair = generator.generateKeyPair();
+
+    publicKey = ((ECPublicKey) keyPair.getPublic()).getQ().getEncoded(false);
+    message = "https://satoshi@bitcoin.org/login".getBytes(Charsets.UTF_8);
+
+    Signature signer = Signature.getInstance("SHA256withECDSA", provider);
+    signer.initSign(keyPair.getPrivate());
+    signer.update(message);
+    signature = signer.sign();
+
+    if (!IdentityUtils.isValidSignature(publicKey, message, signature)) {
+      throw new IllegalStateException("Benchmark signature does not verify");
+    }
+
+  }
+
+  @Benchmark
+  public boolean isValidSignature() throws Exception {
+
+    return IdentityUtils.isValidSignature(publicKey, message, signature);
+
+  }
+
+}
@@ -0,0 +1,86 @@
+package org.multibit.hd.hardware.benchmarks.utils;
+
+import org.multibit.hd.hardware.core.KeyImageSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark to provide the following to developers:</p>
+ * <ul>
+ * <li>The cost of the double vote check in a {@link KeyImageSet} holding many key images</li>
+ * </ul>
+ * <p>The time should not grow with the number of key images already cast.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyImageSetBenchmark {
+
+  /**
+   * The number of key images already cast
+   */
+  @Param({"1000", "1000000"})
+  public int cast;
+
+  private KeyImageSet keyImages;
+
+  private byte[][] xs;
+
+  private byte[][] ys;
+
+  private int next = 0;
+
+  @Setup
+  public void setUp() {
+
+    Random random = new Random(42);
+
+    keyImages = new KeyImageSet(cast);
+    xs = new byte[cast][KeyImageSet.COORDINATE_LENGTH];
+    ys = new byte[cast][KeyImageSet.COORDINATE_LENGTH];
+    for (int i = 0; i < cast; i++) {
+      random.nextBytes(xs[i]);
+      random.nextBytes(ys[i]);
+      keyImages.putIfAbsent(xs[i], ys[i]);
+    }
+
+  }
+
+  @Benchmark
+  public boolean putIfAbsentDuplicate() {
+
+    int i = next++ % cast;
+
+    return keyImages.putIfAbsent(xs[i], ys[i]);
+
+  }
+
+  @Benchmark
+  public boolean containsMissing() {
+
+    int i = next++ % cast;
+
+    // Swapping the coordinates gives a key image that was never cast
+    return keyImages.contains(ys[i], xs[i]);
+
+  }
+
+}
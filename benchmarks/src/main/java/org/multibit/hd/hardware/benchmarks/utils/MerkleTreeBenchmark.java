@@ -0,0 +1,107 @@
+package org.multibit.hd.hardware.benchmarks.utils;
+
+import org.multibit.hd.hardware.core.MerkleTree;
+import org.multibit.hd.hardware.core.utils.MerkleTreeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark to provide the following to developers:</p>
+ * <ul>
+ * <li>The cost of committing a vote to a {@link MerkleTree}</li>
+ * <li>The cost of building and verifying inclusion and consistency proofs as the tree grows</li>
+ * </ul>
+ * <p>An odd tree size is used so proofs recompute the hashes of incomplete subtrees.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MerkleTreeBenchmark {
+
+  /**
+   * The number of votes in the tree
+   */
+  @Param({"1001", "1000001"})
+  public int treeSize;
+
+  private MerkleTree tree;
+
+  private byte[] leafData;
+
+  private long leafIndex;
+
+  private byte[] root;
+
+  private byte[] firstRoot;
+
+  private List<byte[]> inclusionProof;
+
+  private List<byte[]> consistencyProof;
+
+  @Setup
+  public void setUp() {
+
+    Random random = new Random(42);
+
+    // An uncompressed key image followed by a candidate
+    leafData = new byte[72];
+    random.nextBytes(leafData);
+
+    tree = new MerkleTree();
+    for (int i = 0; i < treeSize; i++) {
+      tree.append(leafData);
+    }
+
+    leafIndex = treeSize / 3;
+    root = tree.getRoot(treeSize);
+    firstRoot = tree.getRoot(treeSize / 3);
+    inclusionProof = tree.getInclusionProof(leafIndex, treeSize);
+    consistencyProof = tree.getConsistencyProof(treeSize / 3, treeSize);
+
+  }
+
+  @Benchmark
+  public long append() {
+    return tree.append(leafData);
+  }
+
+  @Benchmark
+  public List<byte[]> getInclusionProof() {
+    return tree.getInclusionProof(leafIndex, treeSize);
+  }
+
+  @Benchmark
+  public boolean verifyInclusion() {
+    return MerkleTreeUtils.verifyInclusion(leafIndex, treeSize, MerkleTreeUtils.leafHash(leafData), inclusionProof, root);
+  }
+
+  @Benchmark
+  public List<byte[]> getConsistencyProof() {
+    return tree.getConsistencyProof(treeSize / 3, treeSize);
+  }
+
+  @Benchmark
+  public boolean verifyConsistency() {
+    return MerkleTreeUtils.verifyConsistency(treeSize / 3, treeSize, firstRoot, root, consistencyProof);
+  }
+
+}
@@ -0,0 +1,106 @@
+package org.multibit.hd.hardware.benchmarks.utils;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import org.bitcoinj.core.ECKey;
+import org.multibit.hd.hardware.core.RingSignatureBatchResult;
+import org.multibit.hd.hardware.core.RingSignatureBatchVerifier;
+import org.multibit.hd.hardware.core.RingSignedMessage;
+import org.multibit.hd.hardware.core.utils.RingSignatureUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark to provide the following to developers:</p>
+ * <ul>
+ * <li>The time to verify a batch of votes with the {@link RingSignatureBatchVerifier} at increasing parallelism</li>
+ * </ul>
+ * <p>The time should fall in proportion to the parallelism up to the number of cores.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingSignatureBatchBenchmark {
+
+  /**
+   * The number of fork join workers
+   */
+  @Param({"1", "2", "4", "8"})
+  public int parallelism;
+
+  /**
+   * The number of public keys in the ring
+   */
+  @Param({"10", "100"})
+  public int ringSize;
+
+  /**
+   * The number of votes in the batch
+   */
+  @Param({"64"})
+  public int votes;
+
+  private RingSignatureBatchVerifier verifier;
+
+  private List<RingSignedMessage> batch;
+
+  @Setup
+  public void setUp() {
+
+    SecureRandom random = new SecureRandom();
+
+    List<ECKey> keys = Lists.newArrayListWithCapacity(ringSize);
+    List<byte[]> ring = Lists.newArrayListWithCapacity(ringSize);
+    for (int i = 0; i < ringSize; i++) {
+      ECKey key = new ECKey();
+      keys.add(key);
+      ring.add(key.getPubKeyPoint().getEncoded(false));
+    }
+
+    byte[] message = "Candidate 1".getBytes(Charsets.UTF_8);
+
+    batch = Lists.newArrayListWithCapacity(votes);
+    for (int i = 0; i < votes; i++) {
+      int pi = i % ringSize;
+      batch.add(new RingSignedMessage(ring, message, RingSignatureUtils.sign(ring, pi, keys.get(pi).getPrivKey(), message, random)));
+    }
+
+    verifier = new RingSignatureBatchVerifier(parallelism);
+
+  }
+
+  @TearDown
+  public void tearDown() {
+
+    verifier.shutdown();
+
+  }
+
+  @Benchmark
+  public RingSignatureBatchResult verifyBatch() {
+
+    return verifier.verify(batch);
+
+  }
+
+}
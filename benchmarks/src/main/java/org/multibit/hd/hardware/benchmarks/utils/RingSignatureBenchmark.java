@@ -0,0 +1,101 @@
+package org.multibit.hd.hardware.benchmarks.utils;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import org.bitcoinj.core.ECKey;
+import org.multibit.hd.hardware.core.RingSignatureVerifier;
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+import org.multibit.hd.hardware.core.utils.RingSignatureUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark to provide the following to developers:</p>
+ * <ul>
+ * <li>The cost of creating and verifying an LSAG ring signature with {@link RingSignatureUtils}</li>
+ * <li>The cost of verifying with a {@link RingSignatureVerifier} prepared for the ring</li>
+ * </ul>
+ * <p>All are dominated by two double scalar multiplications per ring member.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingSignatureBenchmark {
+
+  /**
+   * The number of public keys in the ring
+   */
+  @Param({"1", "10", "100"})
+  public int ringSize;
+
+  private final SecureRandom random = new SecureRandom();
+
+  private List<byte[]> ring;
+
+  private ECKey signer;
+
+  private byte[] message;
+
+  private MessageRingSignature signature;
+
+  private RingSignatureVerifier verifier;
+
+  @Setup
+  public void setUp() {
+
+    ring = Lists.newArrayListWithCapacity(ringSize);
+    for (int i = 0; i < ringSize; i++) {
+      ECKey key = new ECKey();
+      if (i == 0) {
+        signer = key;
+      }
+      ring.add(key.getPubKeyPoint().getEncoded(false));
+    }
+
+    message = "Candidate 1".getBytes(Charsets.UTF_8);
+    signature = RingSignatureUtils.sign(ring, 0, signer.getPrivKey(), message, random);
+    verifier = new RingSignatureVerifier(ring);
+
+  }
+
+  @Benchmark
+  public MessageRingSignature sign() {
+
+    return RingSignatureUtils.sign(ring, 0, signer.getPrivKey(), message, random);
+
+  }
+
+  @Benchmark
+  public boolean verify() {
+
+    return RingSignatureUtils.verify(ring, message, signature);
+
+  }
+
+  @Benchmark
+  public boolean verifyPrepared() {
+
+    return verifier.verify(message, signature);
+
+  }
+
+}
@@ -0,0 +1,90 @@
+package org.multibit.hd.hardware.benchmarks.utils;
+
+import com.google.common.base.Optional;
+import org.bitcoinj.core.Address;
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.NetworkParameters;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.params.UnitTestParams;
+import org.bitcoinj.testing.FakeTxBuilder;
+import org.multibit.hd.hardware.core.utils.TransactionUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark to provide the following to developers:</p>
+ * <ul>
+ * <li>The cost of {@link TransactionUtils#getTransactionByHash} as called for every TxRequest during signing</li>
+ * </ul>
+ * <p>The requested hash is the parent of the last input which is the worst case for the linear search.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionUtilsBenchmark {
+
+  private static final NetworkParameters PARAMS = UnitTestParams.get();
+
+  /**
+   * The number of inputs in the transaction being signed
+   */
+  @Param({"1", "10", "100"})
+  public int inputs;
+
+  private Transaction tx;
+
+  private byte[] currentHash;
+
+  private byte[] lastParentHash;
+
+  @Setup
+  public void setUp() {
+
+    Address address = new ECKey().toAddress(PARAMS);
+
+    tx = new Transaction(PARAMS);
+    Transaction parent = null;
+    for (int i = 0; i < inputs; i++) {
+      parent = FakeTxBuilder.createFakeTx(PARAMS, Coin.COIN, address);
+      tx.addInput(parent.getOutput(0));
+    }
+    tx.addOutput(Coin.COIN, address);
+
+    currentHash = tx.getHash().getBytes();
+    lastParentHash = parent.getHash().getBytes();
+
+  }
+
+  @Benchmark
+  public Optional<Transaction> current() {
+
+    return TransactionUtils.getTransactionByHash(tx, currentHash);
+
+  }
+
+  @Benchmark
+  public Optional<Transaction> lastParent() {
+
+    return TransactionUtils.getTransactionByHash(tx, lastParentHash);
+
+  }
+
+}
@@ -0,0 +1,116 @@
+package org.multibit.hd.hardware.benchmarks.utils;
+
+import org.multibit.hd.hardware.core.VoteLedger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark to provide the following to developers:</p>
+ * <ul>
+ * <li>Durable appends per second to a {@link VoteLedger} from one thread and from many</li>
+ * </ul>
+ * <p>A single thread pays for a flush on every vote. Many threads share each flush so the
+ * throughput should grow with the threads until the disk is saturated. Run it on the disk
+ * the server will use (the temporary directory by default).</p>
+ *
+ * @since 0.0.1
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VoteLedgerBenchmark {
+
+  /**
+   * The number of public keys in the ring (each record is 112 + 32n bytes)
+   */
+  @Param({"100", "1000"})
+  public int ringSize;
+
+  private File directory;
+
+  private VoteLedger ledger;
+
+  private byte[] c;
+
+  private byte[][] s;
+
+  private byte[] x;
+
+  private byte[] y;
+
+  @Setup
+  public void setUp() throws IOException {
+
+    Random random = new Random(42);
+
+    c = newScalar(random);
+    x = newScalar(random);
+    y = newScalar(random);
+    s = new byte[ringSize][];
+    for (int i = 0; i < ringSize; i++) {
+      s[i] = newScalar(random);
+    }
+
+    directory = Files.createTempDirectory("vote-ledger").toFile();
+    ledger = new VoteLedger(directory, ringSize);
+
+  }
+
+  @TearDown
+  public void tearDown() {
+
+    ledger.close();
+
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    directory.delete();
+
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long append() throws IOException {
+    return ledger.append(0, c, s, x, y);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public long appendGroupCommit() throws IOException {
+    return ledger.append(0, c, s, x, y);
+  }
+
+  private static byte[] newScalar(Random random) {
+
+    byte[] scalar = new byte[VoteLedger.SCALAR_LENGTH];
+    random.nextBytes(scalar);
+
+    return scalar;
+
+  }
+
+}
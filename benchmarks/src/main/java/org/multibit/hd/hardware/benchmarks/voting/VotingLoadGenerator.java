@@ -0,0 +1,379 @@
+package org.multibit.hd.hardware.benchmarks.voting;
+
+import Model.MyPublicKey;
+import Model.MyVote;
+import Model.VotingMessageAdapter;
+import Model.VotingMessageReader;
+import Model.VotingMessageWriter;
+import Model.protobuf.VotingProtocol;
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.Message;
+import org.bitcoinj.core.ECKey;
+import org.multibit.hd.hardware.benchmarks.latency.LatencyStatistics;
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+import org.multibit.hd.hardware.core.utils.RingSignatureUtils;
+import org.multibit.hd.hardware.examples.voting.Election;
+import org.multibit.hd.hardware.examples.voting.VotingServer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Load generator to provide the following to developers:</p>
+ * <ul>
+ * <li>Sustained votes per second of a {@link VotingServer} holding many connections</li>
+ * <li>p50 and p99 latency of a vote from send to result</li>
+ * </ul>
+ * <p>Each connection follows the sequence of MyExample: send the voter's public key, receive the
+ * election parameters, send a ring signed vote and receive the result. Every connection is opened
+ * and handed its election parameters before the first vote is sent so the server holds them all
+ * while it verifies.</p>
+ * <p>Signing costs as much as verifying so one vote is signed for each member of the ring up
+ * front and the connections share them round robin. The first vote of each voter is counted
+ * and the rest are rejected as double votes, but only after the server has verified them so
+ * each costs the server the same.</p>
+ * <p>Run against an in-process server with</p>
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar org.multibit.hd.hardware.benchmarks.voting.VotingLoadGenerator -connections 10000
+ * </pre>
+ * <p>Raise the open file limit (e.g. {@code ulimit -n 65536}) for more than a few thousand connections.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class VotingLoadGenerator {
+
+  private static final String QUESTION = "Which candidate?";
+
+  private static final List<String> CANDIDATES = Lists.newArrayList("Candidate A", "Candidate B", "Candidate C");
+
+  private final InetSocketAddress address;
+
+  private final List<byte[]> ring;
+
+  private final List<MyVote> votes;
+
+  /**
+   * @param address The address of the voting server
+   * @param ring    The ring of the election
+   * @param votes   A vote signed by each member of the ring in ring order
+   */
+  public VotingLoadGenerator(InetSocketAddress address, List<byte[]> ring, List<MyVote> votes) {
+
+    this.address = address;
+    this.ring = ring;
+    this.votes = votes;
+
+  }
+
+  /**
+   * <p>Open the connections and send every vote once</p>
+   *
+   * @param connections The number of concurrent connections
+   * @param threads     The number of client threads sending votes
+   *
+   * @throws Exception If a connection fails
+   */
+  public void run(int connections, int threads) throws Exception {
+
+    List<Voter> voters = Lists.newArrayListWithCapacity(connections);
+    try {
+
+      // Connect phase
+      long start = System.nanoTime();
+      for (int i = 0; i < connections; i++) {
+        Voter voter = new Voter(i % ring.size());
+        voters.add(voter);
+        voter.register();
+      }
+      System.out.printf("%d connections registered in %.1f s%n", connections, (System.nanoTime() - start) / 1e9);
+
+      // Vote phase
+      final AtomicInteger next = new AtomicInteger();
+      final AtomicLong accepted = new AtomicLong();
+      final AtomicLong rejected = new AtomicLong();
+      final LatencyStatistics statistics = new LatencyStatistics();
+      final List<Voter> allVoters = voters;
+
+      ExecutorService executorService = Executors.newFixedThreadPool(
+        threads,
+        new ThreadFactoryBuilder().setNameFormat("voting-client-%d").setDaemon(true).build()
+      );
+      List<Future<Void>> results = Lists.newArrayList();
+
+      start = System.nanoTime();
+      for (int t = 0; t < threads; t++) {
+        results.add(executorService.submit(
+          new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+              int i;
+              while ((i = next.getAndIncrement()) < allVoters.size()) {
+                long sent = System.nanoTime();
+                boolean result = allVoters.get(i).vote();
+                long latency = System.nanoTime() - sent;
+                synchronized (statistics) {
+                  statistics.record(latency);
+                }
+                if (result) {
+                  accepted.incrementAndGet();
+                } else {
+                  rejected.incrementAndGet();
+                }
+              }
+              return null;
+            }
+          }));
+      }
+      for (Future<Void> result : results) {
+        result.get();
+      }
+      long elapsed = System.nanoTime() - start;
+      executorService.shutdown();
+
+      System.out.printf(
+        "%d votes (%d accepted, %d rejected) in %.1f s: %.1f votes/s, p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+        statistics.getCount(),
+        accepted.get(),
+        rejected.get(),
+        elapsed / 1e9,
+        statistics.getCount() * 1e9 / elapsed,
+        statistics.getPercentile(50.0, TimeUnit.MILLISECONDS),
+        statistics.getPercentile(99.0, TimeUnit.MILLISECONDS),
+        statistics.getMax(TimeUnit.MILLISECONDS)
+      );
+
+      // Results as MyExample would ask for them
+      if (!voters.isEmpty()) {
+        System.out.println(voters.get(0).summary());
+      }
+
+    } finally {
+      for (Voter voter : voters) {
+        voter.close();
+      }
+    }
+
+  }
+
+  /**
+   * <p>One voter's connection</p>
+   */
+  private class Voter {
+
+    private final int pi;
+
+    private final Socket socket;
+
+    private final VotingMessageWriter writer;
+
+    private final VotingMessageReader reader;
+
+    private Voter(int pi) throws IOException {
+
+      this.pi = pi;
+      this.socket = new Socket(address.getAddress(), address.getPort());
+      socket.setTcpNoDelay(true);
+      this.writer = new VotingMessageWriter(new BufferedOutputStream(socket.getOutputStream()));
+      this.reader = new VotingMessageReader(new BufferedInputStream(socket.getInputStream()));
+
+    }
+
+    /**
+     * <p>Send the public key and check the election parameters</p>
+     */
+    private void register() throws IOException {
+
+      writer.write(VotingMessageAdapter.adaptPublicKey(new MyPublicKey(ring.get(pi))));
+      Message message = reader.read();
+      if (!(message instanceof VotingProtocol.ElectionParameters)) {
+        throw new IOException("Expected election parameters but received " + message.getClass().getSimpleName());
+      }
+      int received = ((VotingProtocol.ElectionParameters) message).getPi();
+      if (received != pi) {
+        throw new IOException("Expected pi " + pi + " but received " + received);
+      }
+
+    }
+
+    /**
+     * @return True if the vote was accepted
+     */
+    private boolean vote() throws IOException {
+
+      writer.write(VotingMessageAdapter.adaptVote(votes.get(pi)));
+      Message message = reader.read();
+      if (!(message instanceof VotingProtocol.VoteResult)) {
+        throw new IOException("Expected a vote result but received " + message.getClass().getSimpleName());
+      }
+
+      return VotingMessageAdapter.adaptVoteResult((VotingProtocol.VoteResult) message);
+
+    }
+
+    /**
+     * @return The summary of the election
+     */
+    private String summary() throws IOException {
+
+      writer.write(VotingMessageAdapter.adaptGetElectionResults(false));
+      Message message = reader.read();
+      if (!(message instanceof VotingProtocol.ElectionSummary)) {
+        throw new IOException("Expected an election summary but received " + message.getClass().getSimpleName());
+      }
+
+      return VotingMessageAdapter.adaptElectionSummary((VotingProtocol.ElectionSummary) message);
+
+    }
+
+    private void close() {
+
+      try {
+        socket.close();
+      } catch (IOException e) {
+        // Nothing to be done
+      }
+
+    }
+
+  }
+
+  /**
+   * @param ringSize The number of voters
+   * @param keys     Populated with the private key of each voter
+   *
+   * @return The uncompressed public keys of the voters
+   */
+  private static List<byte[]> newRing(int ringSize, List<ECKey> keys) {
+
+    List<byte[]> ring = Lists.newArrayListWithCapacity(ringSize);
+    for (int i = 0; i < ringSize; i++) {
+      ECKey key = new ECKey();
+      keys.add(key);
+      ring.add(key.decompress().getPubKey());
+    }
+
+    return ring;
+
+  }
+
+  /**
+   * @param ring    The ring
+   * @param keys    The private key of each member
+   * @param threads The number of signing threads
+   *
+   * @return A vote for candidate (pi mod the number of candidates) signed by each member in ring order
+   */
+  private static List<MyVote> sign(final List<byte[]> ring, final List<ECKey> keys, int threads) throws Exception {
+
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+    List<Future<MyVote>> futures = Lists.newArrayListWithCapacity(ring.size());
+    for (int i = 0; i < ring.size(); i++) {
+      final int pi = i;
+      futures.add(executorService.submit(
+        new Callable<MyVote>() {
+          @Override
+          public MyVote call() throws Exception {
+            byte[] message = CANDIDATES.get(pi % CANDIDATES.size()).getBytes(Charsets.UTF_8);
+            MessageRingSignature signature = RingSignatureUtils.sign(ring, pi, keys.get(pi).getPrivKey(), message, new SecureRandom());
+            return new MyVote(signature.getC(), signature.getS(), signature.getN(), signature.getYtx(), signature.getYty());
+          }
+        }));
+    }
+
+    List<MyVote> votes = Lists.newArrayListWithCapacity(ring.size());
+    for (Future<MyVote> future : futures) {
+      votes.add(future.get());
+    }
+    executorService.shutdown();
+
+    return votes;
+
+  }
+
+  /**
+   * <p>Run the load against an in-process voting server</p>
+   * <p>Options (all optional):</p>
+   * <ul>
+   * <li>-ringSize 100 (the electorate and so the cost of verifying each vote)</li>
+   * <li>-connections 10000 (held open for the whole run)</li>
+   * <li>-threads 64 (client threads sending votes)</li>
+   * <li>-workers 0 (server threads verifying votes, 0 for one per processor)</li>
+   * <li>-port 0 (0 for any free port)</li>
+   * </ul>
+   *
+   * @param args The options
+   *
+   * @throws Exception If the run fails
+   */
+  public static void main(String[] args) throws Exception {
+
+    Map<String, String> options = Maps.newHashMap();
+    options.put("ringSize", "100");
+    options.put("connections", "10000");
+    options.put("threads", "64");
+    options.put("workers", "0");
+    options.put("port", "0");
+
+    for (int i = 0; i < args.length; i += 2) {
+      String key = args[i].startsWith("-") ? args[i].substring(1) : args[i];
+      if (!options.containsKey(key) || i + 1 >= args.length) {
+        System.err.println("Unknown or incomplete option: " + args[i]);
+        System.err.println("Options: " + options.keySet());
+        System.exit(1);
+        return;
+      }
+      options.put(key, args[i + 1]);
+    }
+
+    int processors = Runtime.getRuntime().availableProcessors();
+    int ringSize = Integer.parseInt(options.get("ringSize"));
+    int workers = Integer.parseInt(options.get("workers"));
+    if (workers == 0) {
+      workers = processors;
+    }
+
+    List<ECKey> keys = Lists.newArrayListWithCapacity(ringSize);
+    List<byte[]> ring = newRing(ringSize, keys);
+
+    long start = System.nanoTime();
+    List<MyVote> votes = sign(ring, keys, processors);
+    System.out.printf("%d votes signed in %.1f s%n", ringSize, (System.nanoTime() - start) / 1e9);
+
+    VotingServer server = new VotingServer(
+      new Election(ring, QUESTION, CANDIDATES),
+      new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(options.get("port"))),
+      workers
+    );
+    server.start();
+
+    try {
+      new VotingLoadGenerator(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()),
+        ring,
+        votes
+      ).run(Integer.parseInt(options.get("connections")), Integer.parseInt(options.get("threads")));
+    } finally {
+      server.stop();
+    }
+
+  }
+
+}
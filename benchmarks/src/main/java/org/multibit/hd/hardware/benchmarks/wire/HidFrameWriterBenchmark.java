@@ -0,0 +1,151 @@
+package org.multibit.hd.hardware.benchmarks.wire;
+
+import com.google.protobuf.ByteString;
+import com.satoshilabs.trezor.protobuf.TrezorMessage;
+import org.multibit.hd.hardware.core.wire.HidFrameWriter;
+import org.multibit.hd.hardware.core.wire.HidPacketSink;
+import org.multibit.hd.hardware.trezor.utils.TrezorMessageUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark to provide the following to developers:</p>
+ * <ul>
+ * <li>A comparison of the original copying HID write path against the streaming {@link HidFrameWriter}</li>
+ * </ul>
+ * <p>A ring sign request is used since it is the largest message sent to the device.
+ * Run with the GC profiler ('-prof gc') to see the allocation difference.</p>
+ * <p>The copying path is inlined as it was before {@link TrezorMessageUtils} sized its buffer to the message.
+ * Its fixed 32KB buffer overflows for rings of more than about 480 uncompressed keys (67 bytes each) so
+ * the largest ring benchmarked stays below that.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HidFrameWriterBenchmark {
+
+  /**
+   * The number of public keys in the ring
+   */
+  @Param({"1", "10", "100", "480"})
+  public int ringSize;
+
+  private TrezorMessage.RingSignMessage message;
+
+  private int messageType;
+
+  private HidFrameWriter frameWriter;
+
+  private Blackhole blackhole;
+
+  @Setup
+  public void setUp(final Blackhole blackhole) {
+
+    this.blackhole = blackhole;
+
+    Random random = new Random(ringSize);
+
+    TrezorMessage.RingSignMessage.Builder builder = TrezorMessage.RingSignMessage.newBuilder();
+    for (int i = 0; i < ringSize; i++) {
+      // Uncompressed public key
+      byte[] publicKey = new byte[65];
+      random.nextBytes(publicKey);
+      publicKey[0] = 0x04;
+      builder.addL(ByteString.copyFrom(publicKey));
+    }
+    builder.setN(ringSize);
+    builder.setPi(0);
+    builder.setMessage(ByteString.copyFromUtf8("Candidate 1"));
+
+    message = builder.build();
+    messageType = TrezorMessageUtils.getMessageType(message);
+
+    frameWriter = new HidFrameWriter(
+      new HidPacketSink() {
+        @Override
+        public void write(byte[] packet) {
+          blackhole.consume(packet);
+        }
+      });
+
+  }
+
+  /**
+   * The original path: serialize, copy into a padded buffer then copy again into a new array per report
+   */
+  @Benchmark
+  public void copyingWrite() {
+
+    int msgSize = message.getSerializedSize();
+
+    // Create the header
+    ByteBuffer messageBuffer = ByteBuffer.allocate(32768);
+
+    // Marker bytes
+    messageBuffer.put((byte) '#');
+    messageBuffer.put((byte) '#');
+
+    // Header code
+    messageBuffer.put((byte) ((messageType >> 8) & 0xFF));
+    messageBuffer.put((byte) (messageType & 0xFF));
+
+    // Message size
+    messageBuffer.put((byte) ((msgSize >> 24) & 0xFF));
+    messageBuffer.put((byte) ((msgSize >> 16) & 0xFF));
+    messageBuffer.put((byte) ((msgSize >> 8) & 0xFF));
+    messageBuffer.put((byte) (msgSize & 0xFF));
+
+    // Message payload
+    messageBuffer.put(message.toByteArray());
+
+    // Packet padding
+    while (messageBuffer.position() % 63 > 0) {
+      messageBuffer.put((byte) 0);
+    }
+
+    int packets = messageBuffer.position() / 63;
+    messageBuffer.rewind();
+
+    for (int i = 0; i < packets; i++) {
+
+      byte[] buffer = new byte[64];
+      buffer[0] = 63; // Length
+      messageBuffer.get(buffer, 1, 63); // Payload
+
+      blackhole.consume(buffer);
+
+    }
+
+  }
+
+  /**
+   * The streaming path: serialize directly into a single reusable report
+   */
+  @Benchmark
+  public int streamingWrite() throws Exception {
+
+    return frameWriter.write(messageType, message);
+
+  }
+
+}
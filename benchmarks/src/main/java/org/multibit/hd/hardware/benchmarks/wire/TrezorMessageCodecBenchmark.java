@@ -0,0 +1,119 @@
+package org.multibit.hd.hardware.benchmarks.wire;
+
+import com.google.protobuf.ByteString;
+import com.satoshilabs.trezor.protobuf.TrezorMessage;
+import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+import org.multibit.hd.hardware.trezor.utils.TrezorMessageAdapter;
+import org.multibit.hd.hardware.trezor.utils.TrezorMessageUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark to provide the following to developers:</p>
+ * <ul>
+ * <li>The cost of framing a ring sign request with {@link TrezorMessageUtils#formatAsHIDPackets}</li>
+ * <li>The cost of parsing a ring signature response with {@link TrezorMessageUtils#parse(int, byte[], int, String)}</li>
+ * <li>The cost of adapting a ring signature with {@link TrezorMessageAdapter#adaptMessageRingSignature}</li>
+ * </ul>
+ * <p>Both messages grow linearly with the ring so the ring size is the parameter.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrezorMessageCodecBenchmark {
+
+  /**
+   * The number of public keys in the ring
+   */
+  @Param({"1", "10", "100", "500"})
+  public int ringSize;
+
+  private TrezorMessage.RingSignMessage request;
+
+  private TrezorMessage.MessageRingSignature response;
+
+  private int responseType;
+
+  private byte[] responseBytes;
+
+  @Setup
+  public void setUp() {
+
+    Random random = new Random(ringSize);
+
+    TrezorMessage.RingSignMessage.Builder requestBuilder = TrezorMessage.RingSignMessage.newBuilder();
+    TrezorMessage.MessageRingSignature.Builder responseBuilder = TrezorMessage.MessageRingSignature.newBuilder();
+    for (int i = 0; i < ringSize; i++) {
+      requestBuilder.addL(ByteString.copyFrom(randomBytes(random, 65)));
+      responseBuilder.addS(ByteString.copyFrom(randomBytes(random, 32)));
+    }
+
+    request = requestBuilder
+      .setN(ringSize)
+      .setPi(0)
+      .setMessage(ByteString.copyFromUtf8("Candidate 1"))
+      .build();
+
+    response = responseBuilder
+      .setC(ByteString.copyFrom(randomBytes(random, 32)))
+      .setN(ringSize)
+      .setYtDotX(ByteString.copyFrom(randomBytes(random, 32)))
+      .setYtDotY(ByteString.copyFrom(randomBytes(random, 32)))
+      .build();
+
+    responseType = TrezorMessageUtils.getMessageType(response);
+    responseBytes = response.toByteArray();
+
+  }
+
+  @Benchmark
+  public ByteBuffer formatAsHIDPackets() {
+
+    return TrezorMessageUtils.formatAsHIDPackets(request);
+
+  }
+
+  @Benchmark
+  public MessageEvent parse() {
+
+    return TrezorMessageUtils.parse(responseType, responseBytes, responseBytes.length, "TREZOR");
+
+  }
+
+  @Benchmark
+  public MessageRingSignature adaptMessageRingSignature() {
+
+    return TrezorMessageAdapter.adaptMessageRingSignature(response);
+
+  }
+
+  private static byte[] randomBytes(Random random, int length) {
+
+    byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+
+    return bytes;
+
+  }
+
+}
@@ -0,0 +1,200 @@
+package org.multibit.hd.hardware.benchmarks.wire;
+
+import Model.ElectionParameters;
+import Model.MyVote;
+import Model.VotingMessageAdapter;
+import Model.VotingMessageReader;
+import Model.VotingMessageWriter;
+import Model.protobuf.VotingProtocol;
+import com.google.common.collect.Lists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmark to provide the following to developers:</p>
+ * <ul>
+ * <li>The cost of sending the election parameters and a vote with Java serialization</li>
+ * <li>The cost of the same with a {@link VotingMessageWriter} and {@link VotingMessageReader}</li>
+ * </ul>
+ * <p>Both messages grow linearly with the ring so the ring size is the parameter. Each Java
+ * serialization run uses a fresh stream so the class descriptors are counted every time, as they
+ * are for the first message on a connection. The encoded sizes are printed once per trial.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VotingMessageCodecBenchmark {
+
+  /**
+   * The number of public keys in the ring
+   */
+  @Param({"10", "100", "1000", "10000"})
+  public int ringSize;
+
+  private ElectionParameters electionParameters;
+
+  private MyVote vote;
+
+  private byte[] serializedElectionParameters;
+
+  private byte[] serializedVote;
+
+  private byte[] framedElectionParameters;
+
+  private byte[] framedVote;
+
+  @Setup
+  public void setUp() throws IOException {
+
+    Random random = new Random(ringSize);
+
+    List<byte[]> ring = Lists.newArrayListWithCapacity(ringSize);
+    byte[][] s = new byte[ringSize][];
+    for (int i = 0; i < ringSize; i++) {
+      ring.add(randomBytes(random, 65));
+      s[i] = randomBytes(random, 32);
+    }
+
+    electionParameters = new ElectionParameters(
+      ring,
+      "Who should lead the party?",
+      Lists.newArrayList("Candidate 1", "Candidate 2", "Candidate 3"),
+      0
+    );
+    vote = new MyVote(randomBytes(random, 32), s, ringSize, randomBytes(random, 32), randomBytes(random, 32));
+
+    serializedElectionParameters = serializeElectionParameters();
+    serializedVote = serializeVote();
+    framedElectionParameters = writeElectionParameters();
+    framedVote = writeVote();
+
+    System.out.printf(
+      "%n# Ring of %d: election parameters %d bytes serialized, %d bytes framed; vote %d bytes serialized, %d bytes framed%n",
+      ringSize,
+      serializedElectionParameters.length,
+      framedElectionParameters.length,
+      serializedVote.length,
+      framedVote.length
+    );
+
+  }
+
+  @Benchmark
+  public byte[] serializeElectionParameters() throws IOException {
+
+    return serialize(electionParameters);
+
+  }
+
+  @Benchmark
+  public ElectionParameters deserializeElectionParameters() throws IOException, ClassNotFoundException {
+
+    return (ElectionParameters) deserialize(serializedElectionParameters);
+
+  }
+
+  @Benchmark
+  public byte[] writeElectionParameters() throws IOException {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new VotingMessageWriter(out).write(VotingMessageAdapter.adaptElectionParameters(electionParameters));
+
+    return out.toByteArray();
+
+  }
+
+  @Benchmark
+  public ElectionParameters readElectionParameters() throws IOException {
+
+    VotingMessageReader reader = new VotingMessageReader(new ByteArrayInputStream(framedElectionParameters));
+
+    return VotingMessageAdapter.adaptElectionParameters((VotingProtocol.ElectionParameters) reader.read());
+
+  }
+
+  @Benchmark
+  public byte[] serializeVote() throws IOException {
+
+    return serialize(vote);
+
+  }
+
+  @Benchmark
+  public MyVote deserializeVote() throws IOException, ClassNotFoundException {
+
+    return (MyVote) deserialize(serializedVote);
+
+  }
+
+  @Benchmark
+  public byte[] writeVote() throws IOException {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new VotingMessageWriter(out).write(VotingMessageAdapter.adaptVote(vote));
+
+    return out.toByteArray();
+
+  }
+
+  @Benchmark
+  public MyVote readVote() throws IOException {
+
+    VotingMessageReader reader = new VotingMessageReader(new ByteArrayInputStream(framedVote));
+
+    return VotingMessageAdapter.adaptVote((VotingProtocol.Vote) reader.read());
+
+  }
+
+  private static byte[] serialize(Object object) throws IOException {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+      oos.writeObject(object);
+    }
+
+    return out.toByteArray();
+
+  }
+
+  private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      return ois.readObject();
+    }
+
+  }
+
+  private static byte[] randomBytes(Random random, int length) {
+
+    byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+
+    return bytes;
+
+  }
+
+}
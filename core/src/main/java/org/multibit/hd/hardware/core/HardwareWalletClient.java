@@ -2,19 +2,25 @@ package org.multibit.hd.hardware.core;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.protobuf.Message;
 import org.bitcoinj.core.Address;
 import org.bitcoinj.core.Transaction;
 import org.bitcoinj.crypto.ChildNumber;
 import org.bitcoinj.wallet.KeyChain;
 import org.multibit.hd.hardware.core.domain.Identity;
 import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.events.MessageEventType;
 import org.multibit.hd.hardware.core.messages.Features;
+import org.multibit.hd.hardware.core.messages.RingSignRequest;
 import org.multibit.hd.hardware.core.messages.TxRequest;
 import org.multibit.hd.hardware.core.wallets.Connectable;
 
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p>Interface to provide the following to applications:</p>
@@ -428,6 +434,62 @@ public interface HardwareWalletClient extends Connectable {
    * ... check documentation for signMessage
    */
   Optional<MessageEvent> ringSignMessage(List<byte[]> L, int n, int pi, byte[] message);
+
+  /**
+   * <p>Send the RING_SIGN_MESSAGE message to the device without the ring. The device will pull the ring
+   * members in chunks through RING_SIGN_REQUEST so the size of the ring is not limited by the device memory.</p>
+   * <p>Expected response events are:</p>
+   * <ul>
+   * <li>PIN_MATRIX_REQUEST if the PIN is needed</li>
+   * <li>RING_SIGN_REQUEST to request the first ring members</li>
+   * <li>FAILURE if the operation was unsuccessful</li>
+   * </ul>
+   *
+   * @param n       The number of public keys in the ring
+   * @param pi      The index of the device's public key in the ring
+   * @param message The message to sign
+   *
+   * @return The response event if implementation is blocking. Absent if non-blocking or device failure.
+   */
+  Optional<MessageEvent> ringSignMessageStreamed(int n, int pi, byte[] message);
+
+  /**
+   * <p>Send the RING_SIGN_ACK message to the device. This contains the ring members described by an earlier
+   * RING_SIGN_REQUEST message.</p>
+   * <p>Expected response events are:</p>
+   * <ul>
+   * <li>RING_SIGN_REQUEST if more ring members are required</li>
+   * <li>BUTTON_REQUEST if a button press is needed</li>
+   * <li>MESSAGE_RING_SIGNATURE carrying c0, the key image and the s values not already streamed</li>
+   * <li>FAILURE if the operation was unsuccessful</li>
+   * </ul>
+   *
+   * @param ringSignRequest The ring sign request describing what is required
+   * @param L               The public keys forming the whole ring
+   *
+   * @return The response event if implementation is blocking. Absent if non-blocking or device failure.
+   */
+  Optional<MessageEvent> ringSignAck(RingSignRequest ringSignRequest, List<byte[]> L);
+
+  /**
+   * <p>Send the RING_SIGN_CACHED_MESSAGE message to the device. This refers to the ring by its digest (see
+   * RingSignatureUtils.ringDigest) so a ring already uploaded in this session is not sent again.</p>
+   * <p>Expected response events are:</p>
+   * <ul>
+   * <li>PIN_MATRIX_REQUEST if the PIN is needed</li>
+   * <li>BUTTON_REQUEST if the device holds the ring and a button press is needed</li>
+   * <li>RING_SIGN_REQUEST if the device does not hold the ring and needs it streamed</li>
+   * <li>FAILURE if the operation was unsuccessful (e.g. the streamed ring does not match the digest)</li>
+   * </ul>
+   *
+   * @param ringDigest The SHA-256 of the ring
+   * @param n          The number of public keys in the ring
+   * @param pi         The index of the device's public key in the ring
+   * @param message    The message to sign
+   *
+   * @return The response event if implementation is blocking. Absent if non-blocking or device failure.
+   */
+  Optional<MessageEvent> ringSignMessageCached(byte[] ringDigest, int n, int pi, byte[] message);
   
   /* Get Public Key 65 */
   Optional<MessageEvent> getPublicKey65();
@@ -551,6 +613,45 @@ public interface HardwareWalletClient extends Connectable {
    */
   Optional<MessageEvent> getPublicKeyForIdentity(URI identityUri, int index, String ecdsaCurveName, boolean showDisplay);
 
+  /**
+   * <p>Send a message to the device and obtain its response directly rather than through the event bus.
+   * The device should respond in under 5 seconds (e.g. PING, GET_FEATURES).</p>
+   * <p>The response is still broadcast as a low level message event so the FSM is unaffected.</p>
+   *
+   * @param message The protobuf message to send
+   *
+   * @return A future completing with the response event (which may be FAILURE, BUTTON_REQUEST etc),
+   * failing on timeout or device failure, and which may be cancelled
+   */
+  ListenableFuture<MessageEvent> call(Message message);
+
+  /**
+   * <p>Send a message to the device and obtain its response directly rather than through the event bus.</p>
+   * <p>The response is still broadcast as a low level message event so the FSM is unaffected.</p>
+   *
+   * @param message  The protobuf message to send
+   * @param duration The duration to wait for the response (zero to wait indefinitely, e.g. for user confirmation)
+   * @param timeUnit The time unit
+   *
+   * @return A future completing with the response event (which may be FAILURE, BUTTON_REQUEST etc),
+   * failing on timeout or device failure, and which may be cancelled
+   */
+  ListenableFuture<MessageEvent> call(Message message, int duration, TimeUnit timeUnit);
+
+  /**
+   * <p>Send a message to the device and obtain the response of one of the given types directly rather than through the event bus.</p>
+   * <p>Other responses (e.g. to a request sent through the FSM) are left for other callers so prefer this to
+   * {@link #call(Message, int, TimeUnit)} whenever the response types are known.</p>
+   *
+   * @param message       The protobuf message to send
+   * @param duration      The duration to wait for the response (zero to wait indefinitely, e.g. for user confirmation)
+   * @param timeUnit      The time unit
+   * @param responseTypes The response types answering the message (FAILURE is always accepted)
+   *
+   * @return A future completing with the response event, failing on timeout or device failure, and which may be cancelled
+   */
+  ListenableFuture<MessageEvent> call(Message message, int duration, TimeUnit timeUnit, Set<MessageEventType> responseTypes);
+
   /**
    * <p>Verify the contents of the Features message in accordance with client-specific rules (e.g. firmware)</p>
    *
@@ -10,10 +10,17 @@ import org.bitcoinj.crypto.ChildNumber;
 import org.bitcoinj.wallet.KeyChain;
 import org.multibit.commons.concurrent.SafeExecutors;
 import org.multibit.hd.hardware.core.domain.Identity;
+import org.multibit.hd.hardware.core.events.EventDispatcher;
+import org.multibit.hd.hardware.core.events.EventListener;
+import org.multibit.hd.hardware.core.events.EventQueueStatistics;
+import org.multibit.hd.hardware.core.events.HardwareWalletEvent;
 import org.multibit.hd.hardware.core.events.HardwareWalletEvents;
 import org.multibit.hd.hardware.core.events.MessageEvents;
+import org.multibit.hd.hardware.core.events.OverflowPolicy;
+import org.multibit.hd.hardware.core.events.RingBufferEventDispatcher;
 import org.multibit.hd.hardware.core.fsm.CreateWalletSpecification;
 import org.multibit.hd.hardware.core.fsm.HardwareWalletContext;
+import org.multibit.hd.hardware.core.fsm.HardwareWalletState;
 import org.multibit.hd.hardware.core.fsm.LoadWalletSpecification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +30,7 @@ import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -42,6 +50,16 @@ public class HardwareWalletService {
 
   private static final Logger log = LoggerFactory.getLogger(HardwareWalletService.class);
 
+  /**
+   * The first retry delay for an event driven await that did not change the state
+   */
+  private static final long RETRY_INITIAL_MILLIS = 1000;
+
+  /**
+   * The longest retry delay for an event driven await
+   */
+  private static final long RETRY_MAX_MILLIS = 8000;
+
   /**
    * Monitors the hardware client to manage state transitions in response to incoming messages
    */
@@ -52,23 +70,87 @@ public class HardwareWalletService {
    */
   private final HardwareWalletContext context;
 
+  /**
+   * Delivers the high level events of this device to typed listeners
+   */
+  private final EventDispatcher<HardwareWalletEvent> hardwareWalletEventDispatcher;
+
   /**
    * True if the service has stopped
    */
   private boolean stopped = false;
 
+  /**
+   * Guards the pending await in event driven mode
+   */
+  private final Object awaitLock = new Object();
+
+  /**
+   * The next await in event driven mode
+   */
+  private ScheduledFuture<?> pendingAwait;
+
+  /**
+   * The current retry delay in event driven mode
+   */
+  private volatile long retryDelayMillis = RETRY_INITIAL_MILLIS;
+
   /**
    * @param client The hardware wallet client providing the low level messages
    */
   public HardwareWalletService(HardwareWalletClient client) {
+    this(client, RingBufferEventDispatcher.DEFAULT_CAPACITY, OverflowPolicy.BLOCK);
+  }
+
+  /**
+   * @param client         The hardware wallet client providing the low level messages
+   * @param capacity       The number of high level events queued for the listeners (a power of 2)
+   * @param overflowPolicy The action taken when the listeners fall behind (BLOCK slows the device reader)
+   */
+  public HardwareWalletService(HardwareWalletClient client, int capacity, OverflowPolicy overflowPolicy) {
 
     Preconditions.checkNotNull(client, "'client' must be present");
 
     context = new HardwareWalletContext(client);
+
+    hardwareWalletEventDispatcher = HardwareWalletEvents.register(client.name(), capacity, overflowPolicy);
+  }
+
+  /**
+   * <p>Add a listener for the high level events of this device only</p>
+   * <p>Listeners are called directly on a dedicated thread which is considerably cheaper than
+   * subscribing through {@link HardwareWalletEvents#subscribe(Object)}.</p>
+   *
+   * @param listener The listener
+   */
+  public void addHardwareWalletEventListener(EventListener<HardwareWalletEvent> listener) {
+
+    hardwareWalletEventDispatcher.addListener(listener);
+
+  }
+
+  /**
+   * @param listener The listener to remove
+   */
+  public void removeHardwareWalletEventListener(EventListener<HardwareWalletEvent> listener) {
+
+    hardwareWalletEventDispatcher.removeListener(listener);
+
+  }
+
+  /**
+   * @return A snapshot of the queue counters for the high level events of this device
+   */
+  public EventQueueStatistics getHardwareWalletEventStatistics() {
+
+    return hardwareWalletEventDispatcher.getStatistics();
+
   }
 
   /**
    * <p>Start the service and await the connection of a hardware wallet</p>
+   * <p>The current state is awaited once a second which is simple and robust but adds up to
+   * a second of latency to every state that requires a poke (e.g. Attached, Connected).</p>
    */
   public void start() {
 
@@ -82,22 +164,7 @@ public class HardwareWalletService {
         @Override
         public void run() {
 
-          // Note: If an unhandled error occurs in a scheduled exception
-          // it causes all future requests to be suppressed
-          // We want to alert the user to a failure and keep active
-          // to avoid "silent failures"
-
-          try {
-
-            // It if we are in the await state then we use a client
-            // call (e.g. initialise()) to poke the device to elicit
-            // a low level message response
-            context.getState().await(context);
-          } catch (RuntimeException e) {
-            log.error("Unexpected error transitioning between states", e);
-            // Trigger a failure mode
-            context.resetToFailed();
-          }
+          awaitCurrentState();
 
         }
       },
@@ -111,18 +178,137 @@ public class HardwareWalletService {
     );
   }
 
+  /**
+   * <p>Start the service and await the connection of a hardware wallet</p>
+   * <p>Every state change triggers an immediate await of the new state so the startup sequence
+   * (Attached, Connected, Initialised) completes in the round trip time of the device. If a state
+   * does not change the await is retried with an exponential backoff starting at the 1 second
+   * response time expected of devices.</p>
+   */
+  public void startEventDriven() {
+
+    if (stopped) {
+      throw new IllegalStateException("Once stopped the service must be started with a fresh instance");
+    }
+
+    context.setStateChangeListener(
+      new Runnable() {
+        @Override
+        public void run() {
+
+          // Called on the message event thread so hand over to the monitor
+          retryDelayMillis = RETRY_INITIAL_MILLIS;
+          scheduleAwait(0);
+
+        }
+      });
+
+    scheduleAwait(0);
+
+  }
+
+  /**
+   * <p>Schedule the next await, replacing any that is pending</p>
+   *
+   * @param delayMillis The delay before the await in milliseconds
+   */
+  private void scheduleAwait(long delayMillis) {
+
+    synchronized (awaitLock) {
+
+      if (clientMonitorService.isShutdown()) {
+        return;
+      }
+
+      if (pendingAwait != null) {
+        pendingAwait.cancel(false);
+      }
+
+      pendingAwait = clientMonitorService.schedule(
+        new Runnable() {
+          @Override
+          public void run() {
+
+            HardwareWalletState previousState = context.getState();
+
+            awaitCurrentState();
+
+            if (context.getState() != previousState) {
+              // Progress was made so keep going
+              retryDelayMillis = RETRY_INITIAL_MILLIS;
+              scheduleAwait(0);
+            } else {
+              // No answer yet so back off
+              long delay = retryDelayMillis;
+              retryDelayMillis = Math.min(retryDelayMillis * 2, RETRY_MAX_MILLIS);
+              scheduleAwait(delay);
+            }
+
+          }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+  }
+
+  /**
+   * <p>Await the current state, resetting to failed on error</p>
+   */
+  private void awaitCurrentState() {
+
+    // Note: If an unhandled error occurs in a scheduled exception
+    // it causes all future requests to be suppressed
+    // We want to alert the user to a failure and keep active
+    // to avoid "silent failures"
+
+    try {
+
+      // It if we are in the await state then we use a client
+      // call (e.g. initialise()) to poke the device to elicit
+      // a low level message response
+      context.getState().await(context);
+    } catch (RuntimeException e) {
+      log.error("Unexpected error transitioning between states", e);
+      // Trigger a failure mode
+      context.resetToFailed();
+    }
+
+  }
+
   /**
    * <p>Stop the service</p>
    */
   public void stopAndWait() {
 
+    stopAndWait(true);
+
+  }
+
+  /**
+   * <p>Stop the service</p>
+   *
+   * @param purgeSubscribers True if all downstream subscribers should be purged (false when other services share the event buses)
+   */
+  void stopAndWait(boolean purgeSubscribers) {
+
     log.debug("Service {} stopping...", this.getClass().getSimpleName());
 
+    // Prevent further awaits
+    context.setStateChangeListener(null);
+    synchronized (awaitLock) {
+      clientMonitorService.shutdownNow();
+    }
+
     context.resetToStopped();
 
-    // Ensure downstream subscribers are purged
-    HardwareWalletEvents.unsubscribeAll();
-    MessageEvents.unsubscribeAll();
+    // Deliver the stopped event before releasing the dispatcher
+    HardwareWalletEvents.unregister(context.getClient().name(), hardwareWalletEventDispatcher);
+    hardwareWalletEventDispatcher.shutdown();
+
+    if (purgeSubscribers) {
+      // Ensure downstream subscribers are purged
+      HardwareWalletEvents.unsubscribeAll();
+      MessageEvents.unsubscribeAll();
+    }
 
     try {
       clientMonitorService.awaitTermination(1, TimeUnit.SECONDS);
@@ -326,6 +512,9 @@ public class HardwareWalletService {
       case RING_SIGN_MESSAGE:
     	  context.continueRingSignMessage_PIN(pin);
     	  break;
+      case STREAM_RING_SIGN_MESSAGE:
+        context.continueStreamRingSignMessage_PIN(pin);
+        break;
       default:
         log.warn("Unknown PIN request use case: {}", context.getCurrentUseCase().name());
     }
@@ -545,6 +734,8 @@ public class HardwareWalletService {
   
   /* Ring Sign Message
    * ...check documentation for signMessage
+   * The keys in L may be 65 byte uncompressed or 33 byte compressed points (see RingSignatureUtils.compressRing)
+   * and compressed rings are about half the size over USB. The key image comes back in the same encoding.
    *  */
   public void ringSignMessage(List<byte[]> L, int n, int pi, byte[] message) {
 
@@ -557,6 +748,49 @@ public class HardwareWalletService {
     );
   }
   
+  /**
+   * <p>Request a ring signature over a ring that is streamed to the device in chunks as it asks for them.
+   * Use this for rings too large to send in a single RING_SIGN_MESSAGE (thousands of voters).</p>
+   *
+   * <p>The device reads the ring twice: once to digest it and once to compute the challenges, returning
+   * the s values as it goes. The MESSAGE_RING_SIGNATURE event carries the complete signature.</p>
+   *
+   * @param L       The public keys forming the ring (compressed or uncompressed, not copied so do not modify until signed)
+   * @param pi      The index of the device's public key in the ring
+   * @param message The message for signing
+   */
+  public void ringSignMessageStreamed(List<byte[]> L, int pi, byte[] message) {
+
+    // Set the FSM context
+    context.beginStreamRingSignMessageUseCase(
+      L,
+      pi,
+      message
+    );
+  }
+
+  /**
+   * <p>Request a ring signature referring to the ring by its digest. A device that already holds the ring from
+   * an earlier signature in this session signs without it being sent again, which turns repeated signing over
+   * the same ring from a transfer of the whole ring into a transfer of a few bytes.</p>
+   *
+   * <p>A device that does not hold the ring streams it as in {@link #ringSignMessageStreamed(List, int, byte[])}
+   * and keeps it for next time.</p>
+   *
+   * @param L       The public keys forming the ring (compressed or uncompressed, not copied so do not modify until signed)
+   * @param pi      The index of the device's public key in the ring
+   * @param message The message for signing
+   */
+  public void ringSignMessageCached(List<byte[]> L, int pi, byte[] message) {
+
+    // Set the FSM context
+    context.beginCachedRingSignMessageUseCase(
+      L,
+      pi,
+      message
+    );
+  }
+
   /* Get Public Key 65 */
   public void requestPublicKey65() {
 
@@ -0,0 +1,263 @@
+package org.multibit.hd.hardware.core;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import org.multibit.hd.hardware.core.events.HardwareWalletEvents;
+import org.multibit.hd.hardware.core.events.MessageEvents;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Service pool to provide the following to application:</p>
+ * <ul>
+ * <li>Main entry point for downstream API consumers driving several hardware wallets at once</li>
+ * <li>One {@link HardwareWalletService} per device keyed on the device ID</li>
+ * <li>Round robin selection of ready devices for bulk operations</li>
+ * </ul>
+ *
+ * <p>The device ID is the client name which for USB devices includes the serial number
+ * (e.g. "TREZOR/0123456789ABCDEF"). Each service receives the low level messages of its own
+ * device only and runs its own state machine so throughput scales with the number of devices.
+ * High level events are still broadcast through {@link HardwareWalletEvents} and can be told
+ * apart using their source.</p>
+ *
+ * <p>Clients must report a unique name, typically by creating the wallet with a serial number.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class HardwareWalletServicePool {
+
+  private static final Logger log = LoggerFactory.getLogger(HardwareWalletServicePool.class);
+
+  /**
+   * The services keyed on device ID in the order they were added (guarded by itself)
+   */
+  private final Map<String, HardwareWalletService> services = Maps.newLinkedHashMap();
+
+  /**
+   * True if the pool has been started
+   */
+  private boolean started = false;
+
+  /**
+   * True if the pool was started in event driven mode
+   */
+  private boolean eventDriven = false;
+
+  /**
+   * The position of the next device to consider for round robin selection
+   */
+  private int nextIndex = 0;
+
+  /**
+   * <p>Add a device to the pool, starting its service if the pool is already started</p>
+   *
+   * @param client The hardware wallet client for a single device
+   *
+   * @return The service for the device
+   *
+   * @throws IllegalArgumentException If a device with the same ID is already present
+   */
+  public HardwareWalletService add(HardwareWalletClient client) {
+
+    Preconditions.checkNotNull(client, "'client' must be present");
+
+    final String deviceId = client.name();
+
+    synchronized (services) {
+
+      Preconditions.checkArgument(!services.containsKey(deviceId), "Device '%s' is already present", deviceId);
+
+      HardwareWalletService service = new HardwareWalletService(client);
+      services.put(deviceId, service);
+
+      if (started) {
+        start(service);
+      }
+
+      log.info("Added device '{}' ({} in pool)", deviceId, services.size());
+
+      return service;
+    }
+
+  }
+
+  /**
+   * <p>Remove a device from the pool and stop its service leaving the other devices unaffected</p>
+   *
+   * @param deviceId The device ID
+   *
+   * @return True if the device was present
+   */
+  public boolean remove(String deviceId) {
+
+    final HardwareWalletService service;
+    synchronized (services) {
+      service = services.remove(deviceId);
+    }
+
+    if (service == null) {
+      return false;
+    }
+
+    // Other services share the event buses
+    service.stopAndWait(false);
+
+    log.info("Removed device '{}'", deviceId);
+
+    return true;
+
+  }
+
+  /**
+   * @param deviceId The device ID (e.g. "TREZOR/0123456789ABCDEF")
+   *
+   * @return The service for the device if present
+   */
+  public Optional<HardwareWalletService> get(String deviceId) {
+
+    synchronized (services) {
+      return Optional.fromNullable(services.get(deviceId));
+    }
+
+  }
+
+  /**
+   * @return The device IDs in the order they were added
+   */
+  public Set<String> getDeviceIds() {
+
+    synchronized (services) {
+      return ImmutableSet.copyOf(services.keySet());
+    }
+
+  }
+
+  /**
+   * @return The services in the order they were added
+   */
+  public List<HardwareWalletService> getServices() {
+
+    synchronized (services) {
+      return ImmutableList.copyOf(services.values());
+    }
+
+  }
+
+  /**
+   * @return The number of devices in the pool
+   */
+  public int size() {
+
+    synchronized (services) {
+      return services.size();
+    }
+
+  }
+
+  /**
+   * <p>Select the next ready device in round robin order to spread work across the pool</p>
+   *
+   * @return The service of a device that is ready for a new operation, absent if all are busy or unavailable
+   */
+  public Optional<HardwareWalletService> nextReadyService() {
+
+    synchronized (services) {
+
+      List<HardwareWalletService> candidates = ImmutableList.copyOf(services.values());
+
+      for (int i = 0; i < candidates.size(); i++) {
+        int index = (nextIndex + i) % candidates.size();
+        HardwareWalletService service = candidates.get(index);
+        if (service.isDeviceReady()) {
+          nextIndex = index + 1;
+          return Optional.of(service);
+        }
+      }
+    }
+
+    return Optional.absent();
+
+  }
+
+  /**
+   * <p>Start all services polling their devices (see {@link HardwareWalletService#start()})</p>
+   */
+  public void startAll() {
+
+    startAll(false);
+
+  }
+
+  /**
+   * <p>Start all services in event driven mode (see {@link HardwareWalletService#startEventDriven()})</p>
+   */
+  public void startAllEventDriven() {
+
+    startAll(true);
+
+  }
+
+  /**
+   * <p>Stop all services and purge the downstream subscribers</p>
+   */
+  public void stopAll() {
+
+    final List<HardwareWalletService> stopping;
+    synchronized (services) {
+      stopping = ImmutableList.copyOf(services.values());
+      services.clear();
+      started = false;
+    }
+
+    for (HardwareWalletService service : stopping) {
+      service.stopAndWait(false);
+    }
+
+    // Ensure downstream subscribers are purged
+    HardwareWalletEvents.unsubscribeAll();
+    MessageEvents.unsubscribeAll();
+
+  }
+
+  /**
+   * @param eventDriven True if the services should be started in event driven mode
+   */
+  private void startAll(boolean eventDriven) {
+
+    synchronized (services) {
+
+      Preconditions.checkState(!started, "The pool is already started");
+
+      this.started = true;
+      this.eventDriven = eventDriven;
+
+      for (HardwareWalletService service : services.values()) {
+        start(service);
+      }
+    }
+
+  }
+
+  /**
+   * @param service The service to start in the mode of the pool
+   */
+  private void start(HardwareWalletService service) {
+
+    if (eventDriven) {
+      service.startEventDriven();
+    } else {
+      service.start();
+    }
+
+  }
+
+}
@@ -0,0 +1,419 @@
+package org.multibit.hd.hardware.core;
+
+import com.google.common.base.Preconditions;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * <p>Set to provide the following to voting servers:</p>
+ * <ul>
+ * <li>Constant time detection of a second vote by the same key (LSAG linkability)</li>
+ * <li>Storage outside the Java heap for tens of millions of key images</li>
+ * <li>Snapshots that are memory mapped on restart rather than read in</li>
+ * </ul>
+ * <p>A key image is the 64 byte concatenation of the x and y coordinates of Yt (see
+ * {@link org.multibit.hd.hardware.core.utils.RingSignatureUtils}). The set is an open
+ * addressing hash table with linear probing held in direct buffers of up to 1GB each. A slot
+ * of zeros is empty which is safe since (0, 0) is not on the curve.</p>
+ * <p>The table doubles when it is three quarters full. Give the expected number of votes to
+ * the constructor to avoid rehashing during an election.</p>
+ * <p>Sets are thread safe.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class KeyImageSet {
+
+  /**
+   * The length of a coordinate
+   */
+  public static final int COORDINATE_LENGTH = 32;
+
+  /**
+   * The length of a key image (x || y)
+   */
+  public static final int KEY_IMAGE_LENGTH = 2 * COORDINATE_LENGTH;
+
+  private static final int MAGIC = 0x4B494D53;
+
+  private static final int VERSION = 1;
+
+  private static final int HEADER_LENGTH = 32;
+
+  /**
+   * The slots per buffer (1GB)
+   */
+  private static final int SEGMENT_SHIFT = 24;
+
+  private static final long SEGMENT_SLOTS = 1L << SEGMENT_SHIFT;
+
+  private static final long MIN_CAPACITY = 1L << 10;
+
+  /**
+   * The number of slots (a power of two)
+   */
+  private long capacity;
+
+  private long size = 0;
+
+  private ByteBuffer[] segments;
+
+  /**
+   * @param expectedEntries The expected number of key images
+   */
+  public KeyImageSet(long expectedEntries) {
+
+    Preconditions.checkArgument(expectedEntries >= 0, "'expectedEntries' must not be negative");
+
+    this.capacity = capacityFor(expectedEntries);
+    this.segments = allocate(capacity);
+
+  }
+
+  /**
+   * @param capacity The number of slots
+   * @param size     The number of key images
+   * @param segments The slots
+   */
+  private KeyImageSet(long capacity, long size, ByteBuffer[] segments) {
+
+    this.capacity = capacity;
+    this.size = size;
+    this.segments = segments;
+
+  }
+
+  /**
+   * <p>Restore a set from a snapshot</p>
+   * <p>The snapshot is mapped privately so the restart does not read the file and later
+   * additions never change it.</p>
+   *
+   * @param file The snapshot written by {@link #snapshot(File)}
+   *
+   * @return The restored set
+   *
+   * @throws IOException If the file is not a snapshot or cannot be mapped
+   */
+  public static KeyImageSet restore(File file) throws IOException {
+
+    Preconditions.checkNotNull(file, "'file' must be present");
+
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+         FileChannel channel = randomAccessFile.getChannel()) {
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+      while (header.hasRemaining()) {
+        if (channel.read(header, header.position()) < 0) {
+          throw new IOException("Snapshot header is truncated");
+        }
+      }
+      header.flip();
+
+      if (header.getInt() != MAGIC) {
+        throw new IOException("Not a key image snapshot");
+      }
+      int version = header.getInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported key image snapshot version " + version);
+      }
+      long capacity = header.getLong();
+      long size = header.getLong();
+
+      if (Long.bitCount(capacity) != 1 || size < 0 || size > capacity
+        || channel.size() != HEADER_LENGTH + capacity * KEY_IMAGE_LENGTH) {
+        throw new IOException("Key image snapshot is corrupt");
+      }
+
+      ByteBuffer[] segments = new ByteBuffer[segmentCount(capacity)];
+      long position = HEADER_LENGTH;
+      for (int i = 0; i < segments.length; i++) {
+        long length = segmentSlots(capacity, i) * KEY_IMAGE_LENGTH;
+        segments[i] = channel.map(FileChannel.MapMode.PRIVATE, position, length);
+        position += length;
+      }
+
+      return new KeyImageSet(capacity, size, segments);
+    }
+
+  }
+
+  /**
+   * @param x The x coordinate of the key image (32 bytes)
+   * @param y The y coordinate of the key image (32 bytes)
+   *
+   * @return True if the key image was added, false if it was already present (a second vote)
+   */
+  public synchronized boolean putIfAbsent(byte[] x, byte[] y) {
+
+    long[] key = toKey(x, y);
+
+    if (!insert(key)) {
+      return false;
+    }
+
+    size++;
+    if (size * 4 > capacity * 3) {
+      grow();
+    }
+
+    return true;
+
+  }
+
+  /**
+   * @param x The x coordinate of the key image (32 bytes)
+   * @param y The y coordinate of the key image (32 bytes)
+   *
+   * @return True if the key image is present
+   */
+  public synchronized boolean contains(byte[] x, byte[] y) {
+
+    long[] key = toKey(x, y);
+
+    for (long slot = index(key); ; slot = (slot + 1) & (capacity - 1)) {
+      if (isEmpty(slot)) {
+        return false;
+      }
+      if (matches(slot, key)) {
+        return true;
+      }
+    }
+
+  }
+
+  /**
+   * @return The number of key images
+   */
+  public synchronized long size() {
+    return size;
+  }
+
+  /**
+   * @return The number of slots
+   */
+  public synchronized long capacity() {
+    return capacity;
+  }
+
+  /**
+   * <p>Write the set to a file for a later {@link #restore(File)}</p>
+   * <p>The snapshot is written alongside and moved into place so a crash never leaves a partial
+   * file and a set restored from the same file keeps its mapping.</p>
+   *
+   * @param file The file to write (replaced if present)
+   *
+   * @throws IOException If the file cannot be written
+   */
+  public synchronized void snapshot(File file) throws IOException {
+
+    Preconditions.checkNotNull(file, "'file' must be present");
+
+    File temporary = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(temporary, "rw");
+         FileChannel channel = randomAccessFile.getChannel()) {
+
+      channel.truncate(0);
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+      header.putInt(MAGIC).putInt(VERSION).putLong(capacity).putLong(size);
+      header.clear();
+      writeFully(channel, header);
+
+      for (ByteBuffer segment : segments) {
+        ByteBuffer slots = segment.duplicate();
+        slots.clear();
+        writeFully(channel, slots);
+      }
+
+      channel.force(false);
+    }
+
+    Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+  }
+
+  /**
+   * @param key The key as longs
+   *
+   * @return True if the key was added
+   */
+  private boolean insert(long[] key) {
+
+    for (long slot = index(key); ; slot = (slot + 1) & (capacity - 1)) {
+      if (isEmpty(slot)) {
+        ByteBuffer segment = segments[(int) (slot >>> SEGMENT_SHIFT)];
+        int offset = offset(slot);
+        for (int i = 0; i < key.length; i++) {
+          segment.putLong(offset + i * 8, key[i]);
+        }
+        return true;
+      }
+      if (matches(slot, key)) {
+        return false;
+      }
+    }
+
+  }
+
+  /**
+   * <p>Rehash into a table of twice the capacity</p>
+   */
+  private void grow() {
+
+    ByteBuffer[] oldSegments = segments;
+    long oldCapacity = capacity;
+
+    capacity = oldCapacity * 2;
+    segments = allocate(capacity);
+
+    long[] key = new long[KEY_IMAGE_LENGTH / 8];
+    for (long slot = 0; slot < oldCapacity; slot++) {
+      ByteBuffer segment = oldSegments[(int) (slot >>> SEGMENT_SHIFT)];
+      int offset = offset(slot);
+      boolean empty = true;
+      for (int i = 0; i < key.length; i++) {
+        key[i] = segment.getLong(offset + i * 8);
+        empty &= key[i] == 0;
+      }
+      if (!empty) {
+        insert(key);
+      }
+    }
+
+  }
+
+  /**
+   * @param key The key as longs
+   *
+   * @return The home slot of the key
+   */
+  private long index(long[] key) {
+
+    // Key images are uniformly distributed so mixing two words is plenty
+    long hash = (key[0] ^ Long.rotateLeft(key[4], 29)) * 0x9E3779B97F4A7C15L;
+
+    return (hash ^ (hash >>> 31)) & (capacity - 1);
+
+  }
+
+  private boolean isEmpty(long slot) {
+
+    ByteBuffer segment = segments[(int) (slot >>> SEGMENT_SHIFT)];
+    int offset = offset(slot);
+    for (int i = 0; i < KEY_IMAGE_LENGTH; i += 8) {
+      if (segment.getLong(offset + i) != 0) {
+        return false;
+      }
+    }
+
+    return true;
+
+  }
+
+  private boolean matches(long slot, long[] key) {
+
+    ByteBuffer segment = segments[(int) (slot >>> SEGMENT_SHIFT)];
+    int offset = offset(slot);
+    for (int i = 0; i < key.length; i++) {
+      if (segment.getLong(offset + i * 8) != key[i]) {
+        return false;
+      }
+    }
+
+    return true;
+
+  }
+
+  /**
+   * @param x The x coordinate (32 bytes)
+   * @param y The y coordinate (32 bytes)
+   *
+   * @return The key image as 8 big endian longs
+   */
+  private static long[] toKey(byte[] x, byte[] y) {
+
+    Preconditions.checkNotNull(x, "'x' must be present");
+    Preconditions.checkNotNull(y, "'y' must be present");
+    Preconditions.checkArgument(x.length == COORDINATE_LENGTH, "'x' must be 32 bytes");
+    Preconditions.checkArgument(y.length == COORDINATE_LENGTH, "'y' must be 32 bytes");
+
+    ByteBuffer buffer = ByteBuffer.allocate(KEY_IMAGE_LENGTH);
+    buffer.put(x).put(y).flip();
+
+    long[] key = new long[KEY_IMAGE_LENGTH / 8];
+    boolean zero = true;
+    for (int i = 0; i < key.length; i++) {
+      key[i] = buffer.getLong();
+      zero &= key[i] == 0;
+    }
+    Preconditions.checkArgument(!zero, "The key image must not be zero");
+
+    return key;
+
+  }
+
+  /**
+   * @param slot The slot
+   *
+   * @return The byte offset of the slot in its segment
+   */
+  private static int offset(long slot) {
+    return (int) (slot & (SEGMENT_SLOTS - 1)) * KEY_IMAGE_LENGTH;
+  }
+
+  /**
+   * @param expectedEntries The expected number of key images
+   *
+   * @return The power of two capacity keeping the table at most half full
+   */
+  private static long capacityFor(long expectedEntries) {
+
+    long capacity = MIN_CAPACITY;
+    while (capacity < expectedEntries * 2) {
+      capacity <<= 1;
+    }
+
+    return capacity;
+
+  }
+
+  private static int segmentCount(long capacity) {
+    return (int) ((capacity + SEGMENT_SLOTS - 1) >>> SEGMENT_SHIFT);
+  }
+
+  private static long segmentSlots(long capacity, int segment) {
+    return Math.min(SEGMENT_SLOTS, capacity - ((long) segment << SEGMENT_SHIFT));
+  }
+
+  /**
+   * @param capacity The number of slots
+   *
+   * @return Zeroed direct buffers holding the slots
+   */
+  private static ByteBuffer[] allocate(long capacity) {
+
+    ByteBuffer[] segments = new ByteBuffer[segmentCount(capacity)];
+    for (int i = 0; i < segments.length; i++) {
+      segments[i] = ByteBuffer.allocateDirect((int) (segmentSlots(capacity, i) * KEY_IMAGE_LENGTH));
+    }
+
+    return segments;
+
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+
+  }
+
+}
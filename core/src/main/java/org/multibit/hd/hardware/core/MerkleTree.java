@@ -0,0 +1,248 @@
+package org.multibit.hd.hardware.core;
+
+import com.google.common.base.Preconditions;
+import org.multibit.hd.hardware.core.utils.MerkleTreeUtils;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Tree to provide the following to voting servers:</p>
+ * <ul>
+ * <li>A 32 byte commitment (the root) to every vote counted so far, updated as each vote is committed</li>
+ * <li>Inclusion proofs of O(log n) hashes showing a vote is in the tree of any earlier size</li>
+ * <li>Consistency proofs of O(log n) hashes showing a later tree only appended to an earlier one</li>
+ * </ul>
+ * <p>The tree is the append only Merkle tree of RFC 6962 (see {@link MerkleTreeUtils} for the
+ * hashes and verification). Only complete subtrees are stored: the leaf hashes and above them the
+ * hash of each pair, each pair of pairs and so on. Appending a leaf adds at most one node per level
+ * and any other node of a tree of any size is recomputed from O(log n) stored nodes.</p>
+ * <p>A tree of n leaves stores fewer than 2n hashes in blocks of {@value #BLOCK_HASHES} so a
+ * million votes take about 64MB.</p>
+ * <p>Trees are thread safe.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class MerkleTree {
+
+  /**
+   * The hashes in each block of a level
+   */
+  private static final int BLOCK_HASHES = 1024;
+
+  private static final int BLOCK_LENGTH = BLOCK_HASHES * MerkleTreeUtils.HASH_LENGTH;
+
+  /**
+   * The complete subtrees by height (level 0 holds the leaf hashes)
+   */
+  private final List<Level> levels = new ArrayList<>();
+
+  private long size = 0;
+
+  /**
+   * @param leafData The data of the next leaf
+   *
+   * @return The index of the leaf
+   */
+  public synchronized long append(byte[] leafData) {
+
+    Preconditions.checkNotNull(leafData, "'leafData' must be present");
+
+    long index = size++;
+
+    byte[] hash = MerkleTreeUtils.leafHash(leafData);
+    long position = index;
+    for (int height = 0; ; height++) {
+      if (levels.size() == height) {
+        levels.add(new Level());
+      }
+      Level level = levels.get(height);
+      level.add(hash);
+
+      // A right child completes its parent
+      if ((position & 1) == 0) {
+        break;
+      }
+      hash = MerkleTreeUtils.nodeHash(level.get(position - 1), hash);
+      position >>= 1;
+    }
+
+    return index;
+
+  }
+
+  /**
+   * @return The number of leaves
+   */
+  public synchronized long size() {
+    return size;
+  }
+
+  /**
+   * @return The root of the tree as it is now
+   */
+  public synchronized byte[] getRoot() {
+    return getRoot(size);
+  }
+
+  /**
+   * @param treeSize The number of leaves in an earlier tree
+   *
+   * @return The root of the earlier tree
+   */
+  public synchronized byte[] getRoot(long treeSize) {
+
+    Preconditions.checkArgument(treeSize >= 0 && treeSize <= size, "'treeSize' must be between 0 and the size of the tree");
+
+    if (treeSize == 0) {
+      // The hash of the empty string
+      try {
+        return MessageDigest.getInstance("SHA-256").digest();
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException("SHA-256 is not available", e);
+      }
+    }
+
+    return hash(0, treeSize);
+
+  }
+
+  /**
+   * @param leafIndex The index of the leaf
+   * @param treeSize  The number of leaves in the tree to prove against
+   *
+   * @return The audit path from the leaf to the root (nearest the leaf first)
+   */
+  public synchronized List<byte[]> getInclusionProof(long leafIndex, long treeSize) {
+
+    Preconditions.checkArgument(treeSize > 0 && treeSize <= size, "'treeSize' must be between 1 and the size of the tree");
+    Preconditions.checkArgument(leafIndex >= 0 && leafIndex < treeSize, "'leafIndex' must be within the tree");
+
+    List<byte[]> proof = new ArrayList<>();
+    path(leafIndex, 0, treeSize, proof);
+
+    return proof;
+
+  }
+
+  /**
+   * @param firstSize  The number of leaves in the earlier tree
+   * @param secondSize The number of leaves in the later tree
+   *
+   * @return The consistency proof between the two trees (empty if they are the same)
+   */
+  public synchronized List<byte[]> getConsistencyProof(long firstSize, long secondSize) {
+
+    Preconditions.checkArgument(secondSize <= size, "'secondSize' must not exceed the size of the tree");
+    Preconditions.checkArgument(firstSize > 0 && firstSize <= secondSize, "'firstSize' must be between 1 and 'secondSize'");
+
+    List<byte[]> proof = new ArrayList<>();
+    if (firstSize < secondSize) {
+      subproof(firstSize, 0, secondSize, true, proof);
+    }
+
+    return proof;
+
+  }
+
+  /**
+   * <p>The RFC 6962 PATH of a leaf in the subtree of leaves [start, end)</p>
+   */
+  private void path(long leafIndex, long start, long end, List<byte[]> proof) {
+
+    if (end - start == 1) {
+      return;
+    }
+
+    long k = MerkleTreeUtils.split(end - start);
+    if (leafIndex < start + k) {
+      path(leafIndex, start, start + k, proof);
+      proof.add(hash(start + k, end));
+    } else {
+      path(leafIndex, start + k, end, proof);
+      proof.add(hash(start, start + k));
+    }
+
+  }
+
+  /**
+   * <p>The RFC 6962 SUBPROOF of the first m leaves of the subtree of leaves [start, end)</p>
+   *
+   * @param complete True if the subtree of m leaves is the earlier tree itself (so its root is known to the verifier)
+   */
+  private void subproof(long m, long start, long end, boolean complete, List<byte[]> proof) {
+
+    if (m == end - start) {
+      if (!complete) {
+        proof.add(hash(start, end));
+      }
+      return;
+    }
+
+    long k = MerkleTreeUtils.split(end - start);
+    if (m <= k) {
+      subproof(m, start, start + k, complete, proof);
+      proof.add(hash(start + k, end));
+    } else {
+      subproof(m - k, start + k, end, false, proof);
+      proof.add(hash(start, start + k));
+    }
+
+  }
+
+  /**
+   * @return The hash of the leaves [start, end) where start is aligned to the subtree containing them
+   */
+  private byte[] hash(long start, long end) {
+
+    long n = end - start;
+    if (Long.bitCount(n) == 1 && start % n == 0) {
+      // A complete subtree is stored
+      int height = Long.numberOfTrailingZeros(n);
+      return levels.get(height).get(start >> height);
+    }
+
+    long k = MerkleTreeUtils.split(n);
+
+    return MerkleTreeUtils.nodeHash(hash(start, start + k), hash(start + k, end));
+
+  }
+
+  /**
+   * <p>The hashes at one height in blocks so growing never copies</p>
+   */
+  private static class Level {
+
+    private final List<byte[]> blocks = new ArrayList<>();
+
+    private long size = 0;
+
+    private void add(byte[] hash) {
+
+      int offset = (int) (size % BLOCK_HASHES) * MerkleTreeUtils.HASH_LENGTH;
+      if (offset == 0) {
+        blocks.add(new byte[BLOCK_LENGTH]);
+      }
+      System.arraycopy(hash, 0, blocks.get(blocks.size() - 1), offset, MerkleTreeUtils.HASH_LENGTH);
+      size++;
+
+    }
+
+    private byte[] get(long index) {
+
+      byte[] hash = new byte[MerkleTreeUtils.HASH_LENGTH];
+      ByteBuffer block = ByteBuffer.wrap(blocks.get((int) (index / BLOCK_HASHES)));
+      block.position((int) (index % BLOCK_HASHES) * MerkleTreeUtils.HASH_LENGTH);
+      block.get(hash);
+
+      return hash;
+
+    }
+
+  }
+
+}
@@ -0,0 +1,106 @@
+package org.multibit.hd.hardware.core;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Value object to provide the following to applications:</p>
+ * <ul>
+ * <li>The outcome of each verification in a batch (in submission order)</li>
+ * <li>The elapsed time and throughput of the batch</li>
+ * </ul>
+ *
+ * @since 0.0.1
+ *
+ */
+public class RingSignatureBatchResult {
+
+  private final boolean[] valid;
+
+  private final int validCount;
+
+  private final long elapsedNanos;
+
+  /**
+   * @param valid        The outcome of each verification (not copied)
+   * @param elapsedNanos The time taken by the batch
+   */
+  RingSignatureBatchResult(boolean[] valid, long elapsedNanos) {
+
+    this.valid = valid;
+    this.elapsedNanos = elapsedNanos;
+
+    int count = 0;
+    for (boolean v : valid) {
+      if (v) {
+        count++;
+      }
+    }
+    this.validCount = count;
+
+  }
+
+  /**
+   * @return The number of messages in the batch
+   */
+  public int size() {
+    return valid.length;
+  }
+
+  /**
+   * @param index The index of the message in the batch
+   *
+   * @return True if the signature of the message is valid
+   */
+  public boolean isValid(int index) {
+    return valid[index];
+  }
+
+  /**
+   * @return The number of valid signatures
+   */
+  public int getValidCount() {
+    return validCount;
+  }
+
+  /**
+   * @return The number of invalid signatures
+   */
+  public int getInvalidCount() {
+    return valid.length - validCount;
+  }
+
+  /**
+   * @param timeUnit The time unit
+   *
+   * @return The time taken by the batch
+   */
+  public long getElapsed(TimeUnit timeUnit) {
+    return timeUnit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * @return The verifications per second (zero for an empty batch)
+   */
+  public double getThroughput() {
+
+    if (valid.length == 0 || elapsedNanos == 0) {
+      return 0;
+    }
+
+    return valid.length * 1e9 / elapsedNanos;
+
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this)
+      .append("size", valid.length)
+      .append("valid", validCount)
+      .append("elapsedMillis", getElapsed(TimeUnit.MILLISECONDS))
+      .append("throughput", getThroughput())
+      .toString();
+  }
+
+}
@@ -0,0 +1,254 @@
+package org.multibit.hd.hardware.core;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>Verifier to provide the following to applications:</p>
+ * <ul>
+ * <li>Verification of many ring signed messages (e.g. every vote when the polls close) on a fork join pool</li>
+ * <li>One {@link RingSignatureVerifier} per ring shared by every message signed over it</li>
+ * </ul>
+ * <p>The batch is split in halves until single messages remain so idle workers steal from
+ * busy ones. Every verification is independent and CPU bound so the throughput grows with the
+ * parallelism of the pool up to the number of cores.</p>
+ * <p>The prepared rings are kept between batches (up to {@link #MAX_RINGS}) so an election can be
+ * verified in several batches without preparing its ring again.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class RingSignatureBatchVerifier {
+
+  private static final Logger log = LoggerFactory.getLogger(RingSignatureBatchVerifier.class);
+
+  /**
+   * The number of prepared rings to keep between batches
+   */
+  public static final int MAX_RINGS = 16;
+
+  private final ForkJoinPool pool;
+
+  /**
+   * True if the pool was created here and must be shut down here
+   */
+  private final boolean ownsPool;
+
+  /**
+   * The prepared rings in least recently used order (guarded by itself)
+   */
+  private final Map<RingKey, Optional<RingSignatureVerifier>> verifiers = new LinkedHashMap<RingKey, Optional<RingSignatureVerifier>>(MAX_RINGS, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<RingKey, Optional<RingSignatureVerifier>> eldest) {
+      return size() > MAX_RINGS;
+    }
+  };
+
+  /**
+   * Verify on a pool with one worker per core
+   */
+  public RingSignatureBatchVerifier() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * @param parallelism The number of workers
+   */
+  public RingSignatureBatchVerifier(int parallelism) {
+
+    Preconditions.checkArgument(parallelism > 0, "'parallelism' must be greater than zero");
+
+    this.pool = new ForkJoinPool(parallelism);
+    this.ownsPool = true;
+
+  }
+
+  /**
+   * @param pool The pool to verify on (shared with the caller so never shut down here)
+   */
+  public RingSignatureBatchVerifier(ForkJoinPool pool) {
+
+    Preconditions.checkNotNull(pool, "'pool' must be present");
+
+    this.pool = pool;
+    this.ownsPool = false;
+
+  }
+
+  /**
+   * <p>Verify a batch of messages, blocking until all are done</p>
+   *
+   * @param messages The ring signed messages
+   *
+   * @return The outcome of each verification in the order given
+   */
+  public RingSignatureBatchResult verify(Iterable<RingSignedMessage> messages) {
+
+    Preconditions.checkNotNull(messages, "'messages' must be present");
+
+    long start = System.nanoTime();
+
+    List<RingSignedMessage> batch = ImmutableList.copyOf(messages);
+
+    // Prepare each ring once on this thread, recognising shared lists without reading the keys
+    Map<List<byte[]>, Optional<RingSignatureVerifier>> byInstance = new IdentityHashMap<>();
+    List<Optional<RingSignatureVerifier>> prepared = Lists.newArrayListWithCapacity(batch.size());
+    for (RingSignedMessage message : batch) {
+      Optional<RingSignatureVerifier> verifier = byInstance.get(message.getRing());
+      if (verifier == null) {
+        verifier = prepare(message.getRing());
+        byInstance.put(message.getRing(), verifier);
+      }
+      prepared.add(verifier);
+    }
+
+    boolean[] valid = new boolean[batch.size()];
+    if (!batch.isEmpty()) {
+      pool.invoke(new VerifyTask(batch, prepared, valid, 0, batch.size()));
+    }
+
+    RingSignatureBatchResult result = new RingSignatureBatchResult(valid, System.nanoTime() - start);
+
+    log.debug("Verified batch: {}", result);
+
+    return result;
+
+  }
+
+  /**
+   * <p>Shut down the pool if it was created by this verifier</p>
+   */
+  public void shutdown() {
+
+    if (ownsPool) {
+      pool.shutdown();
+    }
+
+  }
+
+  /**
+   * @param ring The ring
+   *
+   * @return The prepared verifier (absent if the ring is empty or contains a key that is not on the curve)
+   */
+  private Optional<RingSignatureVerifier> prepare(List<byte[]> ring) {
+
+    RingKey key = new RingKey(ring);
+
+    synchronized (verifiers) {
+
+      Optional<RingSignatureVerifier> verifier = verifiers.get(key);
+      if (verifier == null) {
+        try {
+          verifier = Optional.of(new RingSignatureVerifier(ring));
+        } catch (IllegalArgumentException e) {
+          log.warn("Ring of {} keys cannot be used: {}", ring.size(), e.getMessage());
+          verifier = Optional.absent();
+        }
+        verifiers.put(key, verifier);
+      }
+
+      return verifier;
+    }
+
+  }
+
+  /**
+   * <p>Verifies a range of the batch, splitting it while it holds more than one message</p>
+   */
+  private static class VerifyTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<RingSignedMessage> batch;
+
+    private final List<Optional<RingSignatureVerifier>> prepared;
+
+    private final boolean[] valid;
+
+    private final int from;
+
+    private final int to;
+
+    private VerifyTask(List<RingSignedMessage> batch, List<Optional<RingSignatureVerifier>> prepared, boolean[] valid, int from, int to) {
+      this.batch = batch;
+      this.prepared = prepared;
+      this.valid = valid;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+
+      if (to - from == 1) {
+        Optional<RingSignatureVerifier> verifier = prepared.get(from);
+        valid[from] = verifier.isPresent() && batch.get(from).verifyWith(verifier.get());
+        return;
+      }
+
+      int middle = (from + to) >>> 1;
+      invokeAll(
+        new VerifyTask(batch, prepared, valid, from, middle),
+        new VerifyTask(batch, prepared, valid, middle, to)
+      );
+
+    }
+  }
+
+  /**
+   * <p>Identifies a ring by a copy of its keys</p>
+   */
+  private static class RingKey {
+
+    private final byte[][] keys;
+
+    private final int hashCode;
+
+    private RingKey(List<byte[]> ring) {
+
+      keys = new byte[ring.size()][];
+      int hash = 1;
+      for (int i = 0; i < keys.length; i++) {
+        keys[i] = Arrays.copyOf(ring.get(i), ring.get(i).length);
+        hash = 31 * hash + Arrays.hashCode(keys[i]);
+      }
+      hashCode = hash;
+
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof RingKey)) {
+        return false;
+      }
+
+      RingKey other = (RingKey) o;
+
+      return hashCode == other.hashCode && Arrays.deepEquals(keys, other.keys);
+
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
@@ -0,0 +1,215 @@
+package org.multibit.hd.hardware.core;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import org.bitcoinj.core.ECKey;
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+import org.multibit.hd.hardware.core.utils.RingSignatureUtils;
+import org.spongycastle.math.ec.ECAlgorithms;
+import org.spongycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>Verifier to provide the following to applications:</p>
+ * <ul>
+ * <li>Verification of LSAG ring signatures (see {@link RingSignatureUtils}) against a fixed ring</li>
+ * <li>Reuse of all the work that depends only on the ring across signatures</li>
+ * </ul>
+ * <p>A voting server checks every vote against the same ring so create one verifier per ring
+ * and keep it. The constructor decodes the ring, maps it to the point h and digests it once.
+ * Each ring member then costs one lookup in a fixed base table of the generator, one wNAF scalar
+ * multiplication of the ring key, one interleaved wNAF double scalar multiplication of h and the
+ * key image (both using the secp256k1 endomorphism) and one SHA-256 of the two commitments.</p>
+ * <p>The generator table holds every 8 bit window of G in affine form (8160 points) and is shared
+ * by all verifiers so s.G costs 32 additions and no doublings. The wNAF tables of h and each ring
+ * key are built on first use and stay with the points held here so later signatures only pay for
+ * the tables of their key image.</p>
+ * <p>Verifiers are thread safe.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class RingSignatureVerifier {
+
+  private static final BigInteger ORDER = ECKey.CURVE.getN();
+
+  /**
+   * The bits of a scalar covered by each row of the generator table
+   */
+  private static final int G_WINDOW = 8;
+
+  /**
+   * G_TABLE[j][d - 1] is d.2^(8j).G in affine form
+   */
+  private static final ECPoint[][] G_TABLE = buildGeneratorTable();
+
+  private final ImmutableList<byte[]> ring;
+
+  private final ECPoint[] keys;
+
+  private final ECPoint h;
+
+  /**
+   * SHA-256 having consumed the ring (never updated, only copied)
+   */
+  private final MessageDigest ringDigest;
+
+  /**
+   * @param ring The compressed or uncompressed public keys forming the ring (copied)
+   *
+   * @throws IllegalArgumentException If the ring is empty or a key is not on the curve
+   */
+  public RingSignatureVerifier(List<byte[]> ring) {
+
+    Preconditions.checkNotNull(ring, "'ring' must be present");
+    Preconditions.checkArgument(!ring.isEmpty(), "'ring' must not be empty");
+
+    ImmutableList.Builder<byte[]> builder = ImmutableList.builder();
+    for (byte[] key : ring) {
+      Preconditions.checkNotNull(key, "'ring' must not contain null keys");
+      builder.add(Arrays.copyOf(key, key.length));
+    }
+    this.ring = builder.build();
+
+    this.keys = RingSignatureUtils.decodeRing(this.ring);
+    this.ringDigest = RingSignatureUtils.newRingDigest(this.ring);
+    this.h = RingSignatureUtils.hashToPoint(ringDigest);
+
+  }
+
+  /**
+   * @return The number of public keys in the ring
+   */
+  public int getRingSize() {
+    return keys.length;
+  }
+
+  /**
+   * @param index The index in the ring
+   *
+   * @return A copy of the public key as given to the constructor
+   */
+  public byte[] getPublicKey(int index) {
+
+    byte[] key = ring.get(index);
+
+    return Arrays.copyOf(key, key.length);
+
+  }
+
+  /**
+   * @param message   The signed message
+   * @param signature The ring signature
+   *
+   * @return True if the signature is valid for this ring and the message
+   */
+  public boolean verify(byte[] message, MessageRingSignature signature) {
+
+    Preconditions.checkNotNull(message, "'message' must be present");
+    Preconditions.checkNotNull(signature, "'signature' must be present");
+
+    int n = keys.length;
+    if (signature.getN() != n) {
+      return false;
+    }
+
+    // Reject malformed values before any curve arithmetic
+    BigInteger c0 = new BigInteger(1, signature.getC());
+    if (c0.compareTo(ORDER) >= 0) {
+      return false;
+    }
+
+    byte[][] encodedS = signature.getS();
+    if (encodedS.length != n) {
+      return false;
+    }
+    BigInteger[] s = new BigInteger[n];
+    for (int i = 0; i < n; i++) {
+      s[i] = new BigInteger(1, encodedS[i]);
+      if (s[i].compareTo(ORDER) >= 0) {
+        return false;
+      }
+    }
+
+    ECPoint keyImage;
+    try {
+      keyImage = RingSignatureUtils.decodeKeyImage(signature.getYtx(), signature.getYty());
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+
+    MessageDigest prefix = RingSignatureUtils.newChallengeDigest(ringDigest, keyImage, message);
+
+    BigInteger c = c0;
+    for (int i = 0; i < n; i++) {
+      ECPoint a = multiplyGeneratorAndAdd(s[i], keys[i].multiply(c));
+      ECPoint b = ECAlgorithms.sumOfTwoMultiplies(h, s[i], keyImage, c);
+      c = RingSignatureUtils.challenge(prefix, a, b);
+    }
+
+    return c.equals(c0);
+
+  }
+
+  /**
+   * @param k      The scalar (less than the order)
+   * @param addend The point to add to
+   *
+   * @return k.G + addend using only additions from the generator table
+   */
+  static ECPoint multiplyGeneratorAndAdd(BigInteger k, ECPoint addend) {
+
+    ECPoint result = addend;
+    for (int j = 0; j < G_TABLE.length; j++) {
+      int digit = 0;
+      for (int bit = 0; bit < G_WINDOW; bit++) {
+        if (k.testBit(j * G_WINDOW + bit)) {
+          digit |= 1 << bit;
+        }
+      }
+      if (digit != 0) {
+        result = result.add(G_TABLE[j][digit - 1]);
+      }
+    }
+
+    return result;
+
+  }
+
+  /**
+   * @return Every multiple of G needed to multiply by a scalar one window at a time
+   */
+  private static ECPoint[][] buildGeneratorTable() {
+
+    int rows = (ORDER.bitLength() + G_WINDOW - 1) / G_WINDOW;
+    int digits = (1 << G_WINDOW) - 1;
+
+    ECPoint[] points = new ECPoint[rows * digits];
+    ECPoint base = ECKey.CURVE.getG();
+    for (int j = 0; j < rows; j++) {
+      ECPoint point = base;
+      for (int d = 0; d < digits; d++) {
+        points[j * digits + d] = point;
+        point = point.add(base);
+      }
+      // The next row starts at 2^8 times this one
+      base = point;
+    }
+
+    // Affine points make every addition a cheaper mixed addition
+    ECKey.CURVE.getCurve().normalizeAll(points);
+
+    ECPoint[][] table = new ECPoint[rows][];
+    for (int j = 0; j < rows; j++) {
+      table[j] = Arrays.copyOfRange(points, j * digits, (j + 1) * digits);
+    }
+
+    return table;
+
+  }
+
+}
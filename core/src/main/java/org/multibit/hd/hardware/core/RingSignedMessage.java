@@ -0,0 +1,75 @@
+package org.multibit.hd.hardware.core;
+
+import com.google.common.base.Preconditions;
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>Value object to provide the following to the {@link RingSignatureBatchVerifier}:</p>
+ * <ul>
+ * <li>A message with its ring signature and the ring it was signed over</li>
+ * </ul>
+ * <p>Messages from the same election should share the same ring (e.g. the list from the
+ * election parameters) which lets the batch verifier recognise the ring without comparing keys.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class RingSignedMessage {
+
+  private final List<byte[]> ring;
+
+  private final byte[] message;
+
+  private final MessageRingSignature signature;
+
+  /**
+   * @param ring      The uncompressed public keys forming the ring (not copied)
+   * @param message   The signed message
+   * @param signature The ring signature
+   */
+  public RingSignedMessage(List<byte[]> ring, byte[] message, MessageRingSignature signature) {
+
+    Preconditions.checkNotNull(ring, "'ring' must be present");
+    Preconditions.checkNotNull(message, "'message' must be present");
+    Preconditions.checkNotNull(signature, "'signature' must be present");
+
+    this.ring = ring;
+    this.message = Arrays.copyOf(message, message.length);
+    this.signature = signature;
+
+  }
+
+  /**
+   * @return The uncompressed public keys forming the ring
+   */
+  public List<byte[]> getRing() {
+    return ring;
+  }
+
+  /**
+   * @return The signed message
+   */
+  public byte[] getMessage() {
+    return Arrays.copyOf(message, message.length);
+  }
+
+  /**
+   * @return The ring signature
+   */
+  public MessageRingSignature getSignature() {
+    return signature;
+  }
+
+  /**
+   * @param verifier The verifier prepared for the ring
+   *
+   * @return True if the signature is valid
+   */
+  boolean verifyWith(RingSignatureVerifier verifier) {
+    return verifier.verify(message, signature);
+  }
+
+}
@@ -0,0 +1,307 @@
+package org.multibit.hd.hardware.core;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import org.bitcoinj.core.ECKey;
+import org.multibit.hd.hardware.core.utils.RingSignatureUtils;
+import org.spongycastle.math.ec.ECAlgorithms;
+import org.spongycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>Signer to provide the following to devices:</p>
+ * <ul>
+ * <li>LSAG ring signatures (see {@link RingSignatureUtils}) over rings too large to hold in memory</li>
+ * </ul>
+ * <p>The ring is read twice, a few members at a time, starting from {@link #getIndex()}:</p>
+ * <ol>
+ * <li>The digest pass reads the whole ring in order to find h and the key image</li>
+ * <li>The challenge pass reads from pi + 1 round to pi - 1 and returns the s value of each member as it goes</li>
+ * </ol>
+ * <p>Only the running digest, the current challenge and c0 are kept so the memory needed does not
+ * depend on the size of the ring. The s values are handed back to the caller who must keep them
+ * (a device streams them to the host). Once complete the signature is c0, the s values returned
+ * by {@link #update(List)} and s(pi).</p>
+ * <p>Signers are not thread safe.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class StreamingRingSigner {
+
+  private static final BigInteger ORDER = ECKey.CURVE.getN();
+
+  private final int n;
+
+  private final int pi;
+
+  private final BigInteger privateKey;
+
+  private final byte[] message;
+
+  private final SecureRandom random;
+
+  /**
+   * SHA-256 over the members read so far in the digest pass
+   */
+  private final MessageDigest ringDigest = RingSignatureUtils.newRingDigest();
+
+  /**
+   * The index of the next member wanted
+   */
+  private int index = 0;
+
+  /**
+   * True once the whole ring has been digested
+   */
+  private boolean digested = false;
+
+  private boolean complete = false;
+
+  private ECPoint h;
+
+  private ECPoint keyImage;
+
+  /**
+   * SHA-256 over the ring, key image and message (never updated, only copied)
+   */
+  private MessageDigest prefix;
+
+  /**
+   * The challenge for the member at the current index
+   */
+  private BigInteger c;
+
+  private BigInteger c0;
+
+  private BigInteger u;
+
+  private BigInteger sPi;
+
+  /**
+   * @param n          The number of public keys in the ring
+   * @param pi         The index of the signer's public key in the ring
+   * @param privateKey The signer's private key
+   * @param message    The message to sign
+   * @param random     The source of the nonces
+   */
+  public StreamingRingSigner(int n, int pi, BigInteger privateKey, byte[] message, SecureRandom random) {
+
+    Preconditions.checkArgument(n > 0, "'n' must be greater than zero");
+    Preconditions.checkElementIndex(pi, n, "'pi'");
+    Preconditions.checkNotNull(privateKey, "'privateKey' must be present");
+    Preconditions.checkNotNull(message, "'message' must be present");
+    Preconditions.checkNotNull(random, "'random' must be present");
+
+    this.n = n;
+    this.pi = pi;
+    this.privateKey = privateKey;
+    this.message = message;
+    this.random = random;
+
+  }
+
+  /**
+   * @return The number of public keys in the ring
+   */
+  public int getN() {
+    return n;
+  }
+
+  /**
+   * @return The index of the signer's public key in the ring
+   */
+  public int getPi() {
+    return pi;
+  }
+
+  /**
+   * @return The index of the first member to pass to the next {@link #update(List)}
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * @return True once the whole ring has been digested (the challenge pass is under way)
+   */
+  public boolean isDigested() {
+    return digested;
+  }
+
+  /**
+   * @return True once the ring has been closed
+   */
+  public boolean isComplete() {
+    return complete;
+  }
+
+  /**
+   * @param maxCount The most members the caller can pass at once
+   *
+   * @return The number of members to pass to the next {@link #update(List)} (never crossing the end of the ring or pi)
+   */
+  public int getCount(int maxCount) {
+
+    Preconditions.checkArgument(maxCount > 0, "'maxCount' must be greater than zero");
+    Preconditions.checkState(!complete, "The signature is complete");
+
+    int end = n;
+    if (digested && index < pi) {
+      end = pi;
+    }
+
+    return Math.min(maxCount, end - index);
+
+  }
+
+  /**
+   * @param keys The next members of the ring starting at {@link #getIndex()} (compressed or uncompressed)
+   *
+   * @return The s values of the members during the challenge pass (empty during the digest pass)
+   *
+   * @throws IllegalArgumentException If a key is not on the curve or the key at pi does not match the private key
+   */
+  public List<byte[]> update(List<byte[]> keys) {
+
+    Preconditions.checkNotNull(keys, "'keys' must be present");
+    Preconditions.checkArgument(!keys.isEmpty() && keys.size() <= getCount(keys.size()), "'keys' must not be empty or cross the end of the ring or pi");
+
+    if (!digested) {
+      digest(keys);
+      return Collections.emptyList();
+    }
+
+    return challenge(keys);
+
+  }
+
+  /**
+   * @return The challenge c0
+   */
+  public byte[] getC0() {
+
+    Preconditions.checkState(complete, "The signature is not complete");
+
+    return RingSignatureUtils.encodeScalar(c0);
+
+  }
+
+  /**
+   * @return The s value of the signer (the only one not returned by {@link #update(List)})
+   */
+  public byte[] getSPi() {
+
+    Preconditions.checkState(complete, "The signature is not complete");
+
+    return RingSignatureUtils.encodeScalar(sPi);
+
+  }
+
+  /**
+   * @return The SHA-256 of the ring (see {@link RingSignatureUtils#ringDigest(List)})
+   */
+  public byte[] getRingDigest() {
+
+    Preconditions.checkState(digested, "The ring has not been digested");
+
+    return RingSignatureUtils.ringDigest(ringDigest);
+
+  }
+
+  /**
+   * @return The key image Yt
+   */
+  public ECPoint getKeyImage() {
+
+    Preconditions.checkState(digested, "The ring has not been digested");
+
+    return keyImage;
+
+  }
+
+  /**
+   * @param keys The next members of the ring in the digest pass
+   */
+  private void digest(List<byte[]> keys) {
+
+    if (index <= pi && pi < index + keys.size()) {
+      ECPoint key = RingSignatureUtils.decodeRing(keys.subList(pi - index, pi - index + 1))[0];
+      Preconditions.checkArgument(key.equals(ECKey.CURVE.getG().multiply(privateKey).normalize()), "'privateKey' does not match the ring at 'pi'");
+    }
+
+    for (byte[] key : keys) {
+      RingSignatureUtils.updateRingDigest(ringDigest, key);
+    }
+    index += keys.size();
+
+    if (index < n) {
+      return;
+    }
+
+    h = RingSignatureUtils.hashToPoint(ringDigest);
+    keyImage = h.multiply(privateKey).normalize();
+    prefix = RingSignatureUtils.newChallengeDigest(ringDigest, keyImage, message);
+
+    u = RingSignatureUtils.randomScalar(random);
+    c = RingSignatureUtils.challenge(prefix, ECKey.CURVE.getG().multiply(u), h.multiply(u));
+
+    digested = true;
+    index = (pi + 1) % n;
+    if (index == 0) {
+      c0 = c;
+    }
+    if (index == pi) {
+      // A ring of one closes at once
+      close();
+    }
+
+  }
+
+  /**
+   * @param keys The next members of the ring in the challenge pass
+   *
+   * @return The s value of each member
+   */
+  private List<byte[]> challenge(List<byte[]> keys) {
+
+    ECPoint[] points = RingSignatureUtils.decodeRing(keys);
+
+    List<byte[]> s = Lists.newArrayListWithCapacity(points.length);
+    for (ECPoint point : points) {
+      BigInteger si = RingSignatureUtils.randomScalar(random);
+      ECPoint a = ECAlgorithms.sumOfTwoMultiplies(ECKey.CURVE.getG(), si, point, c);
+      ECPoint b = ECAlgorithms.sumOfTwoMultiplies(h, si, keyImage, c);
+      c = RingSignatureUtils.challenge(prefix, a, b);
+      s.add(RingSignatureUtils.encodeScalar(si));
+
+      index = (index + 1) % n;
+      if (index == 0) {
+        c0 = c;
+      }
+    }
+
+    if (index == pi) {
+      close();
+    }
+
+    return s;
+
+  }
+
+  /**
+   * <p>Close the ring with s(pi) = u - x.c(pi)</p>
+   */
+  private void close() {
+
+    sPi = u.subtract(privateKey.multiply(c)).mod(ORDER);
+    complete = true;
+
+  }
+
+}
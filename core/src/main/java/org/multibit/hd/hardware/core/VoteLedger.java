@@ -0,0 +1,580 @@
+package org.multibit.hd.hardware.core;
+
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * <p>Ledger to provide the following to voting servers:</p>
+ * <ul>
+ * <li>Durable storage of every accepted vote in the order it was accepted</li>
+ * <li>Group commit so many votes share each flush to disk</li>
+ * <li>Recovery on restart that rebuilds the key images (see {@link KeyImageSet}) from the votes</li>
+ * </ul>
+ * <p>The ledger is a directory of memory mapped segments of a fixed size. Each segment starts with a
+ * header naming the ring size and holds records of a fixed length for that ring:</p>
+ * <pre>
+ * marker (4) | CRC-32 of the rest (4) | candidate (4) | n (4) | c (32) | Yt x (32) | Yt y (32) | s (32 * n)
+ * </pre>
+ * <p>An append copies the record into the mapped segment and then waits for a flush that covers it.
+ * The first thread to wait flushes everything appended so far and the threads behind it usually
+ * find their records already covered. A caller that must apply votes in ledger order can
+ * {@link #write} under its own lock, {@link #sync} outside it and then apply everything below
+ * {@link #getDurableSize()}.</p>
+ * <p>A vote is only acknowledged once flushed so recovery stops at the first record with a bad
+ * marker or checksum: nothing after it was acknowledged. The rest of that segment is cleared and
+ * later segments removed so a record that was never acknowledged cannot reappear after a second
+ * crash.</p>
+ * <p>Ledgers are thread safe.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class VoteLedger implements Closeable {
+
+  /**
+   * The default segment size (64MB)
+   */
+  public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  /**
+   * The length of c, each s value and each key image coordinate in a record
+   */
+  public static final int SCALAR_LENGTH = 32;
+
+  private static final int MAGIC = 0x564C4447;
+
+  private static final int VERSION = 1;
+
+  private static final int RECORD_MARKER = 0x564F5445;
+
+  private static final int SEGMENT_HEADER_LENGTH = 16;
+
+  private static final int RECORD_HEADER_LENGTH = 16;
+
+  private static final String SEGMENT_PREFIX = "votes-";
+
+  private static final String SEGMENT_SUFFIX = ".ledger";
+
+  /**
+   * <p>Callback to provide the following to {@link #replay(Visitor)}:</p>
+   * <ul>
+   * <li>Each vote in the ledger in the order it was accepted</li>
+   * </ul>
+   */
+  public interface Visitor {
+
+    /**
+     * @param sequence  The position of the vote in the ledger
+     * @param candidate The index of the candidate
+     * @param keyImageX The x coordinate of the key image (32 bytes)
+     * @param keyImageY The y coordinate of the key image (32 bytes)
+     */
+    void visit(long sequence, int candidate, byte[] keyImageX, byte[] keyImageY);
+
+  }
+
+  private final File directory;
+
+  private final int n;
+
+  private final int segmentSize;
+
+  private final int recordLength;
+
+  private final int recordsPerSegment;
+
+  /**
+   * The mapped segments in order (guarded by this)
+   */
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+  /**
+   * The number of records appended (guarded by this)
+   */
+  private long size = 0;
+
+  /**
+   * The cause if the ledger could not be written (guarded by this)
+   */
+  private IOException failure = null;
+
+  private boolean closed = false;
+
+  private final Object flushLock = new Object();
+
+  /**
+   * The number of records known to be on disk (written under flushLock)
+   */
+  private volatile long flushed = 0;
+
+  /**
+   * @param directory The directory holding the segments (created if absent)
+   * @param n         The number of public keys in the ring
+   *
+   * @throws IOException If the ledger cannot be opened or belongs to a different ring
+   */
+  public VoteLedger(File directory, int n) throws IOException {
+    this(directory, n, DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * <p>Open the ledger and recover the votes written before a restart</p>
+   *
+   * @param directory   The directory holding the segments (created if absent)
+   * @param n           The number of public keys in the ring
+   * @param segmentSize The length of each segment file
+   *
+   * @throws IOException If the ledger cannot be opened or was created for a different ring or segment size
+   */
+  public VoteLedger(File directory, int n, int segmentSize) throws IOException {
+
+    Preconditions.checkNotNull(directory, "'directory' must be present");
+    Preconditions.checkArgument(n > 0, "'n' must be greater than zero");
+
+    this.directory = directory;
+    this.n = n;
+    this.segmentSize = segmentSize;
+    this.recordLength = RECORD_HEADER_LENGTH + (3 + n) * SCALAR_LENGTH;
+    this.recordsPerSegment = (segmentSize - SEGMENT_HEADER_LENGTH) / recordLength;
+
+    Preconditions.checkArgument(recordsPerSegment > 0, "'segmentSize' must hold at least one record");
+
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException("Could not create the ledger directory " + directory);
+    }
+
+    recover();
+    flushed = size;
+
+  }
+
+  /**
+   * @return The number of public keys in the ring
+   */
+  public int getN() {
+    return n;
+  }
+
+  /**
+   * @return The number of votes in the ledger
+   */
+  public synchronized long size() {
+    return size;
+  }
+
+  /**
+   * @return The number of votes known to be on disk (never more than the size)
+   */
+  public long getDurableSize() {
+    return flushed;
+  }
+
+  /**
+   * <p>Append a vote and wait until it is on disk</p>
+   *
+   * @param candidate The index of the candidate
+   * @param c         The challenge c0
+   * @param s         The s values in ring order
+   * @param keyImageX The x coordinate of the key image
+   * @param keyImageY The y coordinate of the key image
+   *
+   * @return The sequence number of the vote
+   *
+   * @throws IOException If the vote could not be written (the ledger refuses further votes)
+   */
+  public long append(int candidate, byte[] c, byte[][] s, byte[] keyImageX, byte[] keyImageY) throws IOException {
+
+    long sequence = write(candidate, c, s, keyImageX, keyImageY);
+    sync(sequence);
+
+    return sequence;
+
+  }
+
+  /**
+   * <p>Append a vote without waiting for it to reach the disk (see {@link #sync(long)})</p>
+   *
+   * @param candidate The index of the candidate
+   * @param c         The challenge c0
+   * @param s         The s values in ring order
+   * @param keyImageX The x coordinate of the key image
+   * @param keyImageY The y coordinate of the key image
+   *
+   * @return The sequence number of the vote
+   *
+   * @throws IOException If the vote could not be written (the ledger refuses further votes)
+   */
+  public long write(int candidate, byte[] c, byte[][] s, byte[] keyImageX, byte[] keyImageY) throws IOException {
+
+    Preconditions.checkArgument(candidate >= 0, "'candidate' must not be negative");
+    Preconditions.checkNotNull(s, "'s' must be present");
+    Preconditions.checkArgument(s.length == n, "'s' must have a value for each member of the ring");
+
+    // Encode outside the lock so appending is only a copy
+    byte[] record = new byte[recordLength];
+    ByteBuffer buffer = ByteBuffer.wrap(record);
+    buffer.putInt(RECORD_MARKER).putInt(0).putInt(candidate).putInt(n);
+    putScalar(buffer, c, "c");
+    putScalar(buffer, keyImageX, "keyImageX");
+    putScalar(buffer, keyImageY, "keyImageY");
+    for (byte[] si : s) {
+      putScalar(buffer, si, "s");
+    }
+    buffer.putInt(4, checksum(record));
+
+    long sequence;
+    synchronized (this) {
+
+      Preconditions.checkState(!closed, "The ledger is closed");
+      if (failure != null) {
+        throw new IOException("The ledger could not be written", failure);
+      }
+
+      if (size == (long) segments.size() * recordsPerSegment) {
+        roll();
+      }
+
+      ByteBuffer segment = segments.get(segments.size() - 1).duplicate();
+      segment.position(offset(size));
+      segment.put(record);
+      sequence = size++;
+    }
+
+    return sequence;
+
+  }
+
+  /**
+   * <p>Wait until a written vote and every vote before it is on disk</p>
+   *
+   * @param sequence The sequence number of the vote
+   */
+  public void sync(long sequence) {
+    flush(sequence + 1);
+  }
+
+  /**
+   * <p>Visit every vote in the order it was accepted (typically to rebuild the state of an election)</p>
+   *
+   * @param visitor The visitor
+   */
+  public void replay(Visitor visitor) {
+
+    Preconditions.checkNotNull(visitor, "'visitor' must be present");
+
+    long count;
+    List<MappedByteBuffer> snapshot;
+    synchronized (this) {
+      Preconditions.checkState(!closed, "The ledger is closed");
+      count = size;
+      snapshot = new ArrayList<>(segments);
+    }
+
+    // Records below the size are never written again so no lock is needed
+    for (long sequence = 0; sequence < count; sequence++) {
+      ByteBuffer segment = snapshot.get((int) (sequence / recordsPerSegment)).duplicate();
+      segment.position(offset(sequence) + 8);
+
+      int candidate = segment.getInt();
+      segment.position(segment.position() + 4 + SCALAR_LENGTH);
+      byte[] keyImageX = new byte[SCALAR_LENGTH];
+      byte[] keyImageY = new byte[SCALAR_LENGTH];
+      segment.get(keyImageX).get(keyImageY);
+
+      visitor.visit(sequence, candidate, keyImageX, keyImageY);
+    }
+
+  }
+
+  /**
+   * <p>Flush and close the ledger</p>
+   */
+  @Override
+  public synchronized void close() {
+
+    if (closed) {
+      return;
+    }
+    closed = true;
+
+    if (!segments.isEmpty()) {
+      segments.get(segments.size() - 1).force();
+    }
+    segments.clear();
+
+  }
+
+  /**
+   * <p>Make sure the first count records are on disk</p>
+   *
+   * @param count The number of records required
+   */
+  private void flush(long count) {
+
+    synchronized (flushLock) {
+
+      if (flushed >= count) {
+        // Another thread has flushed this record
+        return;
+      }
+
+      long target;
+      MappedByteBuffer segment;
+      synchronized (this) {
+        if (closed) {
+          // Closing flushed everything
+          flushed = size;
+          return;
+        }
+        target = size;
+        segment = segments.get(segments.size() - 1);
+      }
+
+      // Earlier segments were flushed as they filled
+      segment.force();
+      flushed = target;
+
+    }
+
+  }
+
+  /**
+   * <p>Flush the full segment and start the next one (called holding the lock)</p>
+   *
+   * @throws IOException If the segment cannot be created
+   */
+  private void roll() throws IOException {
+
+    try {
+      if (!segments.isEmpty()) {
+        segments.get(segments.size() - 1).force();
+      }
+      segments.add(create(segments.size()));
+    } catch (IOException e) {
+      failure = e;
+      throw e;
+    }
+
+  }
+
+  /**
+   * <p>Map the segments, find the last complete record and clear anything after it</p>
+   */
+  private void recover() throws IOException {
+
+    File[] files = directory.listFiles(
+      new FilenameFilter() {
+        @Override
+        public boolean accept(File dir, String name) {
+          return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+        }
+      });
+    if (files == null) {
+      throw new IOException("Could not list the ledger directory " + directory);
+    }
+    Arrays.sort(files);
+
+    boolean complete = true;
+    for (int i = 0; i < files.length; i++) {
+
+      if (!files[i].getName().equals(segmentName(i))) {
+        throw new IOException("Ledger segment " + segmentName(i) + " is missing");
+      }
+
+      if (!complete) {
+        // Nothing in a later segment was acknowledged
+        if (!files[i].delete()) {
+          throw new IOException("Could not remove ledger segment " + files[i]);
+        }
+        continue;
+      }
+
+      MappedByteBuffer segment = map(files[i]);
+      if (segment.getInt(0) == 0 && i == files.length - 1) {
+        // Crashed before the header of a new segment reached the disk
+        writeHeader(segment);
+      }
+      checkHeader(segment, files[i]);
+      segments.add(segment);
+
+      byte[] record = new byte[recordLength];
+      for (int j = 0; j < recordsPerSegment; j++) {
+        int offset = SEGMENT_HEADER_LENGTH + j * recordLength;
+        ByteBuffer view = segment.duplicate();
+        view.position(offset);
+        view.get(record);
+        if (!isComplete(record)) {
+          clear(segment, offset);
+          complete = false;
+          break;
+        }
+        size++;
+      }
+    }
+
+    if (segments.isEmpty()) {
+      segments.add(create(0));
+    }
+
+  }
+
+  /**
+   * @param record The record
+   *
+   * @return True if the record was completely written
+   */
+  private boolean isComplete(byte[] record) {
+
+    ByteBuffer buffer = ByteBuffer.wrap(record);
+
+    return buffer.getInt(0) == RECORD_MARKER
+      && buffer.getInt(4) == checksum(record)
+      && buffer.getInt(8) >= 0
+      && buffer.getInt(12) == n;
+
+  }
+
+  /**
+   * @param index The index of the segment
+   *
+   * @return The new segment with its header on disk
+   */
+  private MappedByteBuffer create(int index) throws IOException {
+
+    File file = new File(directory, segmentName(index));
+    if (file.exists()) {
+      throw new IOException("Ledger segment " + file + " already exists");
+    }
+
+    MappedByteBuffer segment = map(file);
+    writeHeader(segment);
+
+    return segment;
+
+  }
+
+  /**
+   * @param file The segment file (extended to the segment size if shorter)
+   *
+   * @return The mapped segment
+   */
+  private MappedByteBuffer map(File file) throws IOException {
+
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+         FileChannel channel = randomAccessFile.getChannel()) {
+
+      if (channel.size() > segmentSize) {
+        throw new IOException("Ledger segment " + file + " is larger than " + segmentSize + " bytes");
+      }
+
+      // The mapping outlives the channel
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+  }
+
+  private void writeHeader(MappedByteBuffer segment) {
+
+    segment.putInt(0, MAGIC);
+    segment.putInt(4, VERSION);
+    segment.putInt(8, n);
+    segment.putInt(12, segmentSize);
+    segment.force();
+
+  }
+
+  private void checkHeader(ByteBuffer segment, File file) throws IOException {
+
+    if (segment.getInt(0) != MAGIC) {
+      throw new IOException("Not a ledger segment: " + file);
+    }
+    int version = segment.getInt(4);
+    if (version != VERSION) {
+      throw new IOException("Unsupported ledger version " + version);
+    }
+    if (segment.getInt(8) != n) {
+      throw new IOException("Ledger is for a ring of " + segment.getInt(8) + " not " + n);
+    }
+    if (segment.getInt(12) != segmentSize) {
+      throw new IOException("Ledger has segments of " + segment.getInt(12) + " bytes not " + segmentSize);
+    }
+
+  }
+
+  /**
+   * <p>Zero a segment from an offset and flush it</p>
+   */
+  private void clear(MappedByteBuffer segment, int offset) {
+
+    byte[] zeros = new byte[8192];
+    ByteBuffer view = segment.duplicate();
+    view.position(offset);
+    while (view.hasRemaining()) {
+      view.put(zeros, 0, Math.min(zeros.length, view.remaining()));
+    }
+    segment.force();
+
+  }
+
+  /**
+   * @param sequence The sequence number of a record
+   *
+   * @return The offset of the record in its segment
+   */
+  private int offset(long sequence) {
+    return SEGMENT_HEADER_LENGTH + (int) (sequence % recordsPerSegment) * recordLength;
+  }
+
+  /**
+   * @param record The record
+   *
+   * @return The CRC-32 of everything after the marker and checksum
+   */
+  private int checksum(byte[] record) {
+
+    CRC32 crc = new CRC32();
+    crc.update(record, 8, recordLength - 8);
+
+    return (int) crc.getValue();
+
+  }
+
+  private static String segmentName(int index) {
+    return String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+  }
+
+  /**
+   * @param buffer The record
+   * @param scalar A big endian unsigned value of up to 32 significant bytes
+   * @param name   The name of the value for errors
+   */
+  private static void putScalar(ByteBuffer buffer, byte[] scalar, String name) {
+
+    Preconditions.checkNotNull(scalar, "'%s' must be present", name);
+
+    // Drop any leading zeros (e.g. the sign byte of a BigInteger) and pad to 32 bytes
+    int start = 0;
+    while (start < scalar.length - SCALAR_LENGTH && scalar[start] == 0) {
+      start++;
+    }
+    int length = scalar.length - start;
+    Preconditions.checkArgument(length <= SCALAR_LENGTH, "'%s' must fit in %s bytes", name, SCALAR_LENGTH);
+
+    buffer.position(buffer.position() + SCALAR_LENGTH - length);
+    buffer.put(scalar, start, length);
+
+  }
+
+}
@@ -0,0 +1,268 @@
+package org.multibit.hd.hardware.core.events;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Queue to provide the following to event dispatchers:</p>
+ * <ul>
+ * <li>A fixed upper limit on the number of queued events</li>
+ * <li>An explicit {@link OverflowPolicy} when the limit is reached</li>
+ * <li>Counters for monitoring (see {@link EventQueueStatistics})</li>
+ * </ul>
+ * <p>Any number of producers may offer events. A single consumer takes them.</p>
+ *
+ * @param <E> The event type
+ *
+ * @since 0.0.1
+ *
+ */
+public class BoundedEventQueue<E> {
+
+  private static final Logger log = LoggerFactory.getLogger(BoundedEventQueue.class);
+
+  /**
+   * <p>Provides the key that identifies events of the same type for coalescing</p>
+   *
+   * @param <E> The event type
+   */
+  public interface CoalesceKey<E> {
+
+    /**
+     * @param event The event
+     *
+     * @return The key (e.g. the event type)
+     */
+    Object keyOf(E event);
+
+  }
+
+  private final CoalesceKey<E> coalesceKey;
+
+  private OverflowPolicy overflowPolicy;
+
+  private int capacity;
+
+  /**
+   * The circular buffer of queued events
+   */
+  private Object[] events;
+
+  private int head = 0;
+
+  private int size = 0;
+
+  private int highWaterMark = 0;
+
+  private long dropped = 0;
+
+  private long coalesced = 0;
+
+  private long blocked = 0;
+
+  private boolean closed = false;
+
+  /**
+   * @param capacity       The maximum number of queued events
+   * @param overflowPolicy The action taken when the queue is full
+   * @param coalesceKey    The key used by {@link OverflowPolicy#COALESCE}
+   */
+  public BoundedEventQueue(int capacity, OverflowPolicy overflowPolicy, CoalesceKey<E> coalesceKey) {
+
+    Preconditions.checkArgument(capacity > 0, "'capacity' must be positive");
+    Preconditions.checkNotNull(overflowPolicy, "'overflowPolicy' must be present");
+    Preconditions.checkNotNull(coalesceKey, "'coalesceKey' must be present");
+
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+    this.coalesceKey = coalesceKey;
+    this.events = new Object[capacity];
+
+  }
+
+  /**
+   * <p>Change the limits while in use. Shrinking below the current depth keeps the queued events.</p>
+   *
+   * @param capacity       The maximum number of queued events
+   * @param overflowPolicy The action taken when the queue is full
+   */
+  public synchronized void configure(int capacity, OverflowPolicy overflowPolicy) {
+
+    Preconditions.checkArgument(capacity > 0, "'capacity' must be positive");
+    Preconditions.checkNotNull(overflowPolicy, "'overflowPolicy' must be present");
+
+    Object[] resized = new Object[Math.max(capacity, size)];
+    for (int i = 0; i < size; i++) {
+      resized[i] = events[index(i)];
+    }
+
+    this.events = resized;
+    this.head = 0;
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+
+    // Producers may now have space
+    notifyAll();
+
+  }
+
+  /**
+   * <p>Queue an event applying the overflow policy if full</p>
+   *
+   * @param event    The event
+   * @param mayBlock False if the caller must not wait (e.g. the consumer thread itself)
+   *
+   * @return False if the queue is closed, or it is full under {@link OverflowPolicy#BLOCK} and the caller may not block
+   */
+  public synchronized boolean offer(E event, boolean mayBlock) {
+
+    Preconditions.checkNotNull(event, "'event' must be present");
+
+    if (closed) {
+      dropped++;
+      return false;
+    }
+
+    if (size >= capacity) {
+      switch (overflowPolicy) {
+        case BLOCK:
+          if (!mayBlock) {
+            return false;
+          }
+          blocked++;
+          while (size >= capacity && !closed) {
+            try {
+              wait();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              dropped++;
+              log.warn("Interrupted while waiting to queue an event");
+              return false;
+            }
+          }
+          if (closed) {
+            dropped++;
+            return false;
+          }
+          break;
+        case COALESCE:
+          if (replaceLatest(event)) {
+            coalesced++;
+            return true;
+          }
+          // Nothing to coalesce with so drop the oldest
+          removeOldest();
+          dropped++;
+          log.debug("Dropped oldest event (depth {})", size);
+          break;
+        case DROP_OLDEST:
+          removeOldest();
+          dropped++;
+          log.debug("Dropped oldest event (depth {})", size);
+          break;
+        default:
+          throw new IllegalStateException("Unknown overflow policy: " + overflowPolicy.name());
+      }
+    }
+
+    events[index(size)] = event;
+    size++;
+    if (size > highWaterMark) {
+      highWaterMark = size;
+    }
+
+    notifyAll();
+
+    return true;
+
+  }
+
+  /**
+   * <p>Wait for the next event</p>
+   *
+   * @return The next event, or null once the queue is closed and empty
+   *
+   * @throws InterruptedException If interrupted while waiting
+   */
+  public synchronized E take() throws InterruptedException {
+
+    while (size == 0) {
+      if (closed) {
+        return null;
+      }
+      wait();
+    }
+
+    E event = removeOldest();
+
+    // Producers may be waiting for space
+    notifyAll();
+
+    return event;
+
+  }
+
+  /**
+   * <p>Stop accepting events. Queued events remain available to {@link #take()}.</p>
+   */
+  public synchronized void close() {
+
+    closed = true;
+    notifyAll();
+
+  }
+
+  /**
+   * @return A snapshot of the counters
+   */
+  public synchronized EventQueueStatistics getStatistics() {
+
+    return new EventQueueStatistics(capacity, size, highWaterMark, dropped, coalesced, blocked);
+
+  }
+
+  /**
+   * @param event The event
+   *
+   * @return True if a queued event with the same key was replaced
+   */
+  @SuppressWarnings("unchecked")
+  private boolean replaceLatest(E event) {
+
+    Object key = coalesceKey.keyOf(event);
+
+    for (int i = size - 1; i >= 0; i--) {
+      int index = index(i);
+      if (key.equals(coalesceKey.keyOf((E) events[index]))) {
+        events[index] = event;
+        return true;
+      }
+    }
+
+    return false;
+
+  }
+
+  @SuppressWarnings("unchecked")
+  private E removeOldest() {
+
+    E event = (E) events[head];
+    events[head] = null;
+    head = (head + 1) % events.length;
+    size--;
+
+    return event;
+
+  }
+
+  /**
+   * @param offset The offset from the head
+   *
+   * @return The index in the circular buffer
+   */
+  private int index(int offset) {
+    return (head + offset) % events.length;
+  }
+
+}
@@ -0,0 +1,46 @@
+package org.multibit.hd.hardware.core.events;
+
+/**
+ * <p>Dispatcher to provide the following to event sources:</p>
+ * <ul>
+ * <li>Asynchronous delivery of events to typed listeners on a dedicated thread</li>
+ * <li>Delivery in the order the events were dispatched</li>
+ * </ul>
+ *
+ * @param <E> The event type
+ *
+ * @since 0.0.1
+ *
+ */
+public interface EventDispatcher<E> {
+
+  /**
+   * @param listener The listener to add (repeating an add has no effect)
+   */
+  void addListener(EventListener<E> listener);
+
+  /**
+   * @param listener The listener to remove (an unknown listener has no effect)
+   */
+  void removeListener(EventListener<E> listener);
+
+  /**
+   * <p>Queue the event for delivery to all listeners</p>
+   * <p>Events dispatched after a shutdown are discarded.</p>
+   *
+   * @param event The event
+   */
+  void dispatch(E event);
+
+  /**
+   * @return A snapshot of the queue counters for monitoring
+   */
+  EventQueueStatistics getStatistics();
+
+  /**
+   * <p>Deliver any queued events then release the dispatcher thread</p>
+   * <p>Does not block so it can be called from a listener.</p>
+   */
+  void shutdown();
+
+}
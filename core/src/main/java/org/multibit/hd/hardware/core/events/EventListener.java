@@ -0,0 +1,23 @@
+package org.multibit.hd.hardware.core.events;
+
+/**
+ * <p>Listener to provide the following to event dispatchers:</p>
+ * <ul>
+ * <li>A typed callback for a single event type without reflection</li>
+ * </ul>
+ *
+ * @param <E> The event type (e.g. {@link MessageEvent}, {@link HardwareWalletEvent})
+ *
+ * @since 0.0.1
+ *
+ */
+public interface EventListener<E> {
+
+  /**
+   * <p>Called on the dispatcher thread so implementations should not block for long</p>
+   *
+   * @param event The event
+   */
+  void onEvent(E event);
+
+}
@@ -0,0 +1,77 @@
+package org.multibit.hd.hardware.core.events;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * <p>Value object to provide the following to downstream API consumers:</p>
+ * <ul>
+ * <li>A snapshot of the queue of an event dispatcher for monitoring</li>
+ * </ul>
+ *
+ * @since 0.0.1
+ *
+ */
+public class EventQueueStatistics {
+
+  private final int capacity;
+  private final int depth;
+  private final int highWaterMark;
+  private final long dropped;
+  private final long coalesced;
+  private final long blocked;
+
+  /**
+   * @param capacity      The maximum number of queued events
+   * @param depth         The number of queued events
+   * @param highWaterMark The largest number of queued events seen
+   * @param dropped       The number of events discarded
+   * @param coalesced     The number of events that replaced a queued event of the same type
+   * @param blocked       The number of dispatches that waited for space
+   */
+  public EventQueueStatistics(int capacity, int depth, int highWaterMark, long dropped, long coalesced, long blocked) {
+
+    this.capacity = capacity;
+    this.depth = depth;
+    this.highWaterMark = highWaterMark;
+    this.dropped = dropped;
+    this.coalesced = coalesced;
+    this.blocked = blocked;
+
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public int getDepth() {
+    return depth;
+  }
+
+  public int getHighWaterMark() {
+    return highWaterMark;
+  }
+
+  public long getDropped() {
+    return dropped;
+  }
+
+  public long getCoalesced() {
+    return coalesced;
+  }
+
+  public long getBlocked() {
+    return blocked;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this)
+      .append("capacity", capacity)
+      .append("depth", depth)
+      .append("highWaterMark", highWaterMark)
+      .append("dropped", dropped)
+      .append("coalesced", coalesced)
+      .append("blocked", blocked)
+      .toString();
+  }
+}
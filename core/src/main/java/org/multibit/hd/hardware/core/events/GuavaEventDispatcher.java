@@ -0,0 +1,262 @@
+package org.multibit.hd.hardware.core.events;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import org.multibit.commons.concurrent.SafeExecutors;
+import org.multibit.hd.hardware.core.ExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * <p>Dispatcher to provide the following to event sources:</p>
+ * <ul>
+ * <li>Compatibility with subscribers using the Guava <code>@Subscribe</code> annotation</li>
+ * <li>Typed listeners delivered through the same Guava event bus</li>
+ * </ul>
+ * <p>Events are queued in a {@link BoundedEventQueue} and posted reflectively on a dedicated
+ * thread so this is considerably more expensive than {@link RingBufferEventDispatcher}. It backs
+ * the static subscribe methods of {@link MessageEvents} and {@link HardwareWalletEvents}.</p>
+ * <p>The queue is bounded so a stuck subscriber cannot exhaust the heap. What happens when it is
+ * full is set by an {@link OverflowPolicy}.</p>
+ *
+ * @param <E> The event type
+ *
+ * @since 0.0.1
+ *
+ */
+public class GuavaEventDispatcher<E> implements EventDispatcher<E> {
+
+  private static final Logger log = LoggerFactory.getLogger(GuavaEventDispatcher.class);
+
+  /**
+   * Large enough to absorb any burst from a device while a subscriber is briefly slow
+   */
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private final String name;
+
+  /**
+   * The events awaiting delivery
+   */
+  private final BoundedEventQueue<E> queue;
+
+  /**
+   * Dedicated thread for asynchronous transmission
+   */
+  private final ExecutorService executorService;
+
+  private volatile Thread consumerThread;
+
+  /**
+   * Use Guava to handle subscribers to events
+   */
+  private final EventBus eventBus = new EventBus(ExceptionHandler.newSubscriberExceptionHandler());
+
+  /**
+   * Keep track of the Guava event bus subscribers for a clean shutdown
+   */
+  private final Set<Object> subscribers = Sets.newCopyOnWriteArraySet();
+
+  /**
+   * The subscribers registered on behalf of typed listeners
+   */
+  private final ConcurrentMap<EventListener<E>, ListenerSubscriber<E>> listenerSubscribers = Maps.newConcurrentMap();
+
+  /**
+   * @param name           The name of the dispatcher thread (e.g. "message-events")
+   * @param capacity       The maximum number of queued events
+   * @param overflowPolicy The action taken when the queue is full
+   * @param coalesceKey    The key used by {@link OverflowPolicy#COALESCE} (e.g. the event type)
+   */
+  public GuavaEventDispatcher(String name, int capacity, OverflowPolicy overflowPolicy, BoundedEventQueue.CoalesceKey<E> coalesceKey) {
+
+    Preconditions.checkNotNull(name, "'name' must be present");
+
+    this.name = name;
+    this.queue = new BoundedEventQueue<>(capacity, overflowPolicy, coalesceKey);
+    this.executorService = SafeExecutors.newSingleThreadExecutor(name);
+    this.executorService.submit(
+      new Runnable() {
+        @Override
+        public void run() {
+          consume();
+        }
+      });
+
+  }
+
+  /**
+   * <p>Change the queue limits while in use</p>
+   *
+   * @param capacity       The maximum number of queued events
+   * @param overflowPolicy The action taken when the queue is full
+   */
+  public void configure(int capacity, OverflowPolicy overflowPolicy) {
+
+    queue.configure(capacity, overflowPolicy);
+
+  }
+
+  /**
+   * <p>Subscribe to events. Repeating a subscribe will not affect the event bus.</p>
+   *
+   * @param subscriber The subscriber (use the Guava <code>@Subscribe</code> annotation to subscribe a method)
+   */
+  public void subscribe(Object subscriber) {
+
+    Preconditions.checkNotNull(subscriber, "'subscriber' must be present");
+
+    if (subscribers.add(subscriber)) {
+      log.trace("Register: " + subscriber.getClass().getSimpleName());
+      try {
+        eventBus.register(subscriber);
+      } catch (IllegalArgumentException e) {
+        log.warn("Unexpected failure to register");
+      }
+    } else {
+      log.warn("Subscriber already registered: " + subscriber.getClass().getSimpleName());
+    }
+
+  }
+
+  /**
+   * <p>Unsubscribe a known subscriber from events. Providing an unknown object will not affect the event bus.</p>
+   *
+   * @param subscriber The subscriber (use the Guava <code>@Subscribe</code> annotation to subscribe a method)
+   */
+  public void unsubscribe(Object subscriber) {
+
+    Preconditions.checkNotNull(subscriber, "'subscriber' must be present");
+
+    if (subscribers.remove(subscriber)) {
+      log.trace("Unregister: " + subscriber.getClass().getSimpleName());
+      try {
+        eventBus.unregister(subscriber);
+      } catch (IllegalArgumentException e) {
+        log.warn("Unexpected failure to unregister");
+      }
+    } else {
+      log.warn("Subscriber already unregistered: " + subscriber.getClass().getSimpleName());
+    }
+
+  }
+
+  /**
+   * <p>Unsubscribe all subscribers from events</p>
+   */
+  public void unsubscribeAll() {
+
+    for (Object subscriber : subscribers) {
+      unsubscribe(subscriber);
+    }
+    listenerSubscribers.clear();
+
+  }
+
+  /**
+   * @return True if there is at least one subscriber (allows callers to skip building events)
+   */
+  public boolean hasSubscribers() {
+    return !subscribers.isEmpty();
+  }
+
+  @Override
+  public void addListener(EventListener<E> listener) {
+
+    Preconditions.checkNotNull(listener, "'listener' must be present");
+
+    ListenerSubscriber<E> subscriber = new ListenerSubscriber<>(listener);
+    if (listenerSubscribers.putIfAbsent(listener, subscriber) == null) {
+      subscribe(subscriber);
+    }
+
+  }
+
+  @Override
+  public void removeListener(EventListener<E> listener) {
+
+    ListenerSubscriber<E> subscriber = listenerSubscribers.remove(listener);
+    if (subscriber != null) {
+      unsubscribe(subscriber);
+    }
+
+  }
+
+  @Override
+  public void dispatch(E event) {
+
+    Preconditions.checkNotNull(event, "'event' must be present");
+
+    // The consumer thread cannot wait for itself to make space
+    boolean mayBlock = Thread.currentThread() != consumerThread;
+
+    if (!queue.offer(event, mayBlock)) {
+      if (!mayBlock) {
+        // Deliver directly (the event bus queues posts made by a subscriber)
+        eventBus.post(event);
+      } else {
+        log.debug("Discarded '{}' event: {}", name, event);
+      }
+    }
+
+  }
+
+  @Override
+  public EventQueueStatistics getStatistics() {
+    return queue.getStatistics();
+  }
+
+  @Override
+  public void shutdown() {
+
+    unsubscribeAll();
+    queue.close();
+    executorService.shutdown();
+
+  }
+
+  /**
+   * <p>The consumer loop</p>
+   */
+  private void consume() {
+
+    consumerThread = Thread.currentThread();
+
+    try {
+      E event;
+      while ((event = queue.take()) != null) {
+        log.debug("Firing '{}' event: {}", name, event);
+        eventBus.post(event);
+      }
+    } catch (InterruptedException e) {
+      log.debug("Dispatcher '{}' interrupted", name);
+    }
+
+  }
+
+  /**
+   * <p>Adapts a typed listener to the Guava event bus</p>
+   */
+  private static class ListenerSubscriber<E> {
+
+    private final EventListener<E> listener;
+
+    private ListenerSubscriber(EventListener<E> listener) {
+      this.listener = listener;
+    }
+
+    @Subscribe
+    @SuppressWarnings("unchecked")
+    public void onEvent(Object event) {
+      listener.onEvent((E) event);
+    }
+  }
+
+}
@@ -2,26 +2,23 @@ package org.multibit.hd.hardware.core.events;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Sets;
-import com.google.common.eventbus.EventBus;
-import com.google.common.util.concurrent.FutureCallback;
-import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.ListeningExecutorService;
-import org.multibit.commons.concurrent.SafeExecutors;
-import org.multibit.hd.hardware.core.ExceptionHandler;
+import com.google.common.collect.Maps;
 import org.multibit.hd.hardware.core.messages.HardwareWalletMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Set;
-import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * <p>Factory to provide the following to application API:</p>
  * <ul>
  * <li>Entry point to broadcast high level hardware wallet events to downstream consumers</li>
  * </ul>
+ * <p>Each service registers its own dispatcher against its device ID (see
+ * {@link #register(String, EventDispatcher)}) so its typed listeners receive its events
+ * without reflection or contention with other devices (see {@link #register(String, int, OverflowPolicy)}
+ * to choose what happens when they fall behind). Subscribers using the Guava
+ * annotations receive the events of all devices through a compatibility dispatcher.</p>
  *
  * @since 0.0.1
  *  
@@ -31,20 +28,29 @@ public class HardwareWalletEvents {
   private static final Logger log = LoggerFactory.getLogger(HardwareWalletEvents.class);
 
   /**
-   * Dedicated thread for high level messages for asynchronous transmission
+   * Events of the same type coalesce
    */
-  private static final ListeningExecutorService hardwareWalletEventService = SafeExecutors.newSingleThreadExecutor("hardware-wallet-events");
+  public static final BoundedEventQueue.CoalesceKey<HardwareWalletEvent> EVENT_TYPE_KEY = new BoundedEventQueue.CoalesceKey<HardwareWalletEvent>() {
+    @Override
+    public Object keyOf(HardwareWalletEvent event) {
+      return event.getEventType();
+    }
+  };
 
   /**
-   * Use Guava to handle subscribers to events
+   * Dedicated thread and Guava event bus for subscribers of all devices
+   * (blocks when full since user interface events must not be lost)
    */
-  private static final EventBus hardwareWalletEventBus = new EventBus(ExceptionHandler.newSubscriberExceptionHandler());
+  private static final GuavaEventDispatcher<HardwareWalletEvent> compatibilityDispatcher = new GuavaEventDispatcher<>(
+    "hardware-wallet-events",
+    GuavaEventDispatcher.DEFAULT_CAPACITY,
+    OverflowPolicy.BLOCK,
+    EVENT_TYPE_KEY);
 
   /**
-   * Keep track of the Guava event bus subscribers for a clean shutdown
+   * Per-device dispatchers keyed by device ID (the event source)
    */
-  private static final Set<Object> hardwareWalletEventBusSubscribers = Sets.newHashSet();
-
+  private static final ConcurrentMap<String, EventDispatcher<HardwareWalletEvent>> deviceDispatchers = Maps.newConcurrentMap();
 
   /**
    * Utilities have a private constructor
@@ -60,18 +66,7 @@ public class HardwareWalletEvents {
    */
   public static void subscribe(Object subscriber) {
 
-    Preconditions.checkNotNull(subscriber, "'subscriber' must be present");
-
-    if (hardwareWalletEventBusSubscribers.add(subscriber)) {
-      log.trace("Register: " + subscriber.getClass().getSimpleName());
-      try {
-        hardwareWalletEventBus.register(subscriber);
-      } catch (IllegalArgumentException e) {
-        log.warn("Unexpected failure to register");
-      }
-    } else {
-      log.warn("Subscriber already registered: " + subscriber.getClass().getSimpleName());
-    }
+    compatibilityDispatcher.subscribe(subscriber);
 
   }
 
@@ -83,19 +78,7 @@ public class HardwareWalletEvents {
    */
   public static void unsubscribe(Object subscriber) {
 
-    Preconditions.checkNotNull(subscriber, "'subscriber' must be present");
-
-    if (hardwareWalletEventBusSubscribers.contains(subscriber)) {
-      log.trace("Unregister: " + subscriber.getClass().getSimpleName());
-      try {
-        hardwareWalletEventBus.unregister(subscriber);
-      } catch (IllegalArgumentException e) {
-        log.warn("Unexpected failure to unregister");
-      }
-      hardwareWalletEventBusSubscribers.remove(subscriber);
-    } else {
-      log.warn("Subscriber already unregistered: " + subscriber.getClass().getSimpleName());
-    }
+    compatibilityDispatcher.unsubscribe(subscriber);
 
   }
 
@@ -103,19 +86,109 @@ public class HardwareWalletEvents {
    * <p>Unsubscribe all subscribers from events</p>
    * <p>This approach ensures all subscribers will be correctly removed during a shutdown or wizard hide event</p>
    */
-  @SuppressWarnings("unchecked")
   public static void unsubscribeAll() {
 
-    Set allSubscribers = Sets.newHashSet();
-    allSubscribers.addAll(hardwareWalletEventBusSubscribers);
-    for (Object subscriber : allSubscribers) {
-      unsubscribe(subscriber);
-    }
-    allSubscribers.clear();
+    // Device dispatchers are unregistered by their owners
+    compatibilityDispatcher.unsubscribeAll();
+
     log.info("All subscribers removed");
 
   }
 
+  /**
+   * <p>Change the queue limits for subscribers using the Guava annotations</p>
+   *
+   * @param capacity       The maximum number of queued events
+   * @param overflowPolicy The action taken when the queue is full
+   */
+  public static void configure(int capacity, OverflowPolicy overflowPolicy) {
+
+    compatibilityDispatcher.configure(capacity, overflowPolicy);
+
+  }
+
+  /**
+   * @return A snapshot of the queue counters for subscribers using the Guava annotations
+   */
+  public static EventQueueStatistics getStatistics() {
+
+    return compatibilityDispatcher.getStatistics();
+
+  }
+
+  /**
+   * <p>Route the events of a device to a dispatcher, replacing any earlier one</p>
+   *
+   * @param deviceId   The device ID matching the event source (e.g. "TREZOR/0123456789ABCDEF")
+   * @param dispatcher The dispatcher for the device
+   */
+  public static void register(String deviceId, EventDispatcher<HardwareWalletEvent> dispatcher) {
+
+    Preconditions.checkNotNull(deviceId, "'deviceId' must be present");
+    Preconditions.checkNotNull(dispatcher, "'dispatcher' must be present");
+
+    if (deviceDispatchers.put(deviceId, dispatcher) != null) {
+      log.warn("Replaced dispatcher for '{}'", deviceId);
+    }
+
+  }
+
+  /**
+   * <p>Route the events of a device to a new {@link RingBufferEventDispatcher}, replacing any earlier one</p>
+   *
+   * @param deviceId       The device ID matching the event source (e.g. "TREZOR/0123456789ABCDEF")
+   * @param capacity       The number of queued events (a power of 2)
+   * @param overflowPolicy The action taken when the queue is full (events coalesce by type)
+   *
+   * @return The dispatcher for adding listeners and unregistering
+   */
+  public static EventDispatcher<HardwareWalletEvent> register(String deviceId, int capacity, OverflowPolicy overflowPolicy) {
+
+    Preconditions.checkNotNull(deviceId, "'deviceId' must be present");
+
+    EventDispatcher<HardwareWalletEvent> dispatcher = new RingBufferEventDispatcher<>(
+      "hardware-wallet-events-" + deviceId,
+      capacity,
+      overflowPolicy,
+      EVENT_TYPE_KEY);
+    register(deviceId, dispatcher);
+
+    return dispatcher;
+
+  }
+
+  /**
+   * @param deviceId The device ID
+   *
+   * @return A snapshot of the queue counters of the dispatcher registered for the device if present
+   */
+  public static Optional<EventQueueStatistics> getStatistics(String deviceId) {
+
+    Preconditions.checkNotNull(deviceId, "'deviceId' must be present");
+
+    EventDispatcher<HardwareWalletEvent> dispatcher = deviceDispatchers.get(deviceId);
+    if (dispatcher == null) {
+      return Optional.absent();
+    }
+
+    return Optional.of(dispatcher.getStatistics());
+
+  }
+
+  /**
+   * <p>Stop routing the events of a device to a dispatcher</p>
+   *
+   * @param deviceId   The device ID
+   * @param dispatcher The dispatcher provided on registration (a later registration is left alone)
+   */
+  public static void unregister(String deviceId, EventDispatcher<HardwareWalletEvent> dispatcher) {
+
+    Preconditions.checkNotNull(deviceId, "'deviceId' must be present");
+
+    deviceDispatchers.remove(deviceId, dispatcher);
+
+  }
+
   /**
    * <p>A hardware event can wrap a hardware wallet message adapted from a protocol buffer message</p>
    *
@@ -128,34 +201,11 @@ public class HardwareWalletEvents {
     Preconditions.checkNotNull(eventType, "'messageType' must be present");
     Preconditions.checkNotNull(message, "'message' must be present");
 
-    final ListenableFuture<Boolean> future = hardwareWalletEventService.submit(
-      new Callable<Boolean>() {
-        @Override
-        public Boolean call() {
-          log.debug("Firing 'hardware wallet' event: {} for {}", eventType.name(), source);
-          hardwareWalletEventBus.post(
-            new HardwareWalletEvent(
-              eventType,
-              Optional.of(message),
-              source));
-
-          // Must be OK to be here
-          return true;
-        }
-      });
-
-    Futures.addCallback(
-      future, new FutureCallback<Boolean>() {
-        @Override
-        public void onSuccess(Boolean result) {
-          log.debug("Completed 'hardware wallet' event: {}", eventType.name());
-        }
-
-        @Override
-        public void onFailure(Throwable t) {
-          log.error("Failed to complete 'hardware wallet' event: {}", eventType.name(), t);
-        }
-      });
+    fireHardwareWalletEvent(
+      new HardwareWalletEvent(
+        eventType,
+        Optional.of(message),
+        source));
 
   }
 
@@ -169,34 +219,11 @@ public class HardwareWalletEvents {
 
     Preconditions.checkNotNull(eventType, "'eventType' must be present");
 
-    final ListenableFuture<Boolean> future = hardwareWalletEventService.submit(
-      new Callable<Boolean>() {
-        @Override
-        public Boolean call() {
-          log.debug("Firing 'hardware wallet' event: {} for {}", eventType.name(), source);
-          hardwareWalletEventBus.post(
-            new HardwareWalletEvent(
-              eventType,
-              Optional.<HardwareWalletMessage>absent(),
-              source));
-
-          // Must be OK to be here
-          return true;
-        }
-      });
-
-    Futures.addCallback(
-      future, new FutureCallback<Boolean>() {
-        @Override
-        public void onSuccess(Boolean result) {
-          log.debug("Completed 'hardware wallet' event: {}", eventType.name());
-        }
-
-        @Override
-        public void onFailure(Throwable t) {
-          log.error("Failed to complete 'hardware wallet' event: {}", eventType.name(), t);
-        }
-      });
+    fireHardwareWalletEvent(
+      new HardwareWalletEvent(
+        eventType,
+        Optional.<HardwareWalletMessage>absent(),
+        source));
 
   }
 
@@ -209,29 +236,15 @@ public class HardwareWalletEvents {
 
     Preconditions.checkNotNull(event, "'event' must be present");
 
-    final ListenableFuture<Boolean> future = hardwareWalletEventService.submit(
-      new Callable<Boolean>() {
-        @Override
-        public Boolean call() {
-          log.debug("Firing 'hardware wallet' event: {} for {}", event, event.getSource());
-          hardwareWalletEventBus.post(event);
-
-          // Must be OK to be here
-          return true;
-        }
-      });
-
-    Futures.addCallback(
-      future, new FutureCallback<Boolean>() {
-        @Override
-        public void onSuccess(Boolean result) {
-          log.debug("Completed 'hardware wallet' event: {}", event);
-        }
-
-        @Override
-        public void onFailure(Throwable t) {
-          log.error("Failed to complete 'hardware wallet' event: {}", event, t);
-        }
-      });
+    EventDispatcher<HardwareWalletEvent> dispatcher = event.getSource() == null ? null : deviceDispatchers.get(event.getSource());
+    if (dispatcher != null) {
+      dispatcher.dispatch(event);
+    }
+
+    // Avoid the cost of the event bus when nobody is listening
+    if (compatibilityDispatcher.hasSubscribers()) {
+      compatibilityDispatcher.dispatch(event);
+    }
+
   }
 }
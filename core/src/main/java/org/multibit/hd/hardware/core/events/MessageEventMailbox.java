@@ -0,0 +1,316 @@
+package org.multibit.hd.hardware.core.events;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Queues;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import org.multibit.commons.concurrent.SafeExecutors;
+import org.multibit.hd.hardware.core.HardwareWalletException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <p>Mailbox to provide the following to hardware wallet clients:</p>
+ * <ul>
+ * <li>Correlation of device responses with the requests that caused them</li>
+ * <li>Timeouts and cancellation for callers awaiting a response</li>
+ * </ul>
+ * <p>The wire protocol carries no request identifiers but the device answers requests in order.
+ * Each request awaiting a response therefore reserves a slot with {@link #expect(long, TimeUnit, Set)}
+ * naming the response types it can be answered with, and each response offered by the read thread
+ * completes the oldest slot that accepts its type. A typed slot always accepts FAILURE. A slot
+ * reserved without types accepts any response, which relies on every earlier request having been
+ * answered.</p>
+ * <p>A slot is removed as soon as it is answered. A slot that times out or is cancelled stays as a
+ * tombstone since its request was written and the device may still answer it: the next response the
+ * tombstone accepts is swallowed rather than handed to a later caller. A tombstone is removed after
+ * {@link #DEFAULT_TOMBSTONE_MILLIS} so a request that is never answered (e.g. an unparseable frame)
+ * cannot hold up later responses for long. A slot whose request could not be written is abandoned
+ * and removed straight away. Requests sent without awaiting a response (e.g. through the FSM) reserve
+ * no slot. A device failure or detachment fails all outstanding slots and tombstones since no further
+ * responses can be expected.</p>
+ * <p>Offering an event does not consume it. The owner continues to broadcast it through
+ * {@link MessageEvents} so that the FSM and other subscribers see the same traffic.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class MessageEventMailbox {
+
+  private static final Logger log = LoggerFactory.getLogger(MessageEventMailbox.class);
+
+  /**
+   * Shared by all mailboxes since timeouts are rare and cheap to fire
+   */
+  private static final ListeningScheduledExecutorService timeoutService = SafeExecutors.newSingleThreadScheduledExecutor("mailbox-timeout");
+
+  /**
+   * How long a timed out or cancelled slot waits to swallow the late response to its request
+   */
+  public static final long DEFAULT_TOMBSTONE_MILLIS = 30000;
+
+  /**
+   * The outstanding slots and tombstones in the order their requests were written (guarded by itself)
+   */
+  private final Deque<Slot> pending = Queues.newArrayDeque();
+
+  private final long tombstoneMillis;
+
+  public MessageEventMailbox() {
+    this(DEFAULT_TOMBSTONE_MILLIS);
+  }
+
+  /**
+   * @param tombstoneMillis How long a timed out or cancelled slot waits for the late response to its request
+   */
+  MessageEventMailbox(long tombstoneMillis) {
+    this.tombstoneMillis = tombstoneMillis;
+  }
+
+  /**
+   * <p>Reserve a slot accepting any response (see {@link #expect(long, TimeUnit, Set)})</p>
+   *
+   * @param duration The duration to wait for the response (zero or less to wait indefinitely)
+   * @param timeUnit The time unit
+   *
+   * @return A future that completes with the response, fails with a {@link TimeoutException} or
+   * {@link HardwareWalletException}, or can be cancelled by the caller
+   */
+  public ListenableFuture<MessageEvent> expect(long duration, TimeUnit timeUnit) {
+    return expect(duration, timeUnit, ImmutableSet.<MessageEventType>of());
+  }
+
+  /**
+   * <p>Reserve a slot for the response to a request about to be written</p>
+   * <p>Callers must reserve the slot before writing the request and must serialize
+   * reservation and writing so that slots and requests remain in the same order.</p>
+   *
+   * @param duration      The duration to wait for the response (zero or less to wait indefinitely)
+   * @param timeUnit      The time unit
+   * @param responseTypes The response types that answer the request (FAILURE is implied, empty for any response)
+   *
+   * @return A future that completes with the response, fails with a {@link TimeoutException} or
+   * {@link HardwareWalletException}, or can be cancelled by the caller
+   */
+  public ListenableFuture<MessageEvent> expect(long duration, TimeUnit timeUnit, Set<MessageEventType> responseTypes) {
+
+    Preconditions.checkNotNull(timeUnit, "'timeUnit' must be present");
+    Preconditions.checkNotNull(responseTypes, "'responseTypes' must be present");
+
+    final Slot slot = new Slot(responseTypes);
+    final SettableFuture<MessageEvent> response = slot.response;
+
+    synchronized (pending) {
+      pending.addLast(slot);
+    }
+
+    // A slot still pending once complete timed out or was cancelled so keep it as a tombstone for a while
+    response.addListener(
+      new Runnable() {
+        @Override
+        public void run() {
+          synchronized (pending) {
+            if (!pending.contains(slot)) {
+              return;
+            }
+          }
+          timeoutService.schedule(
+            new Runnable() {
+              @Override
+              public void run() {
+                synchronized (pending) {
+                  pending.removeFirstOccurrence(slot);
+                }
+              }
+            }, tombstoneMillis, TimeUnit.MILLISECONDS);
+        }
+      }, MoreExecutors.sameThreadExecutor());
+
+    if (duration > 0) {
+      final String description = duration + " " + timeUnit.name().toLowerCase();
+      final ScheduledFuture<?> timeout = timeoutService.schedule(
+        new Runnable() {
+          @Override
+          public void run() {
+            if (response.setException(new TimeoutException("No response after " + description))) {
+              log.debug("Response timed out after {}", description);
+            }
+          }
+        }, duration, timeUnit);
+
+      // Release the timeout as soon as the slot completes
+      response.addListener(
+        new Runnable() {
+          @Override
+          public void run() {
+            timeout.cancel(false);
+          }
+        }, MoreExecutors.sameThreadExecutor());
+    }
+
+    return response;
+
+  }
+
+  /**
+   * <p>Remove a slot whose request could not be written so that no response will arrive</p>
+   * <p>Only valid for the most recent slot while still holding the lock used to order writes.</p>
+   *
+   * @param response The future returned by {@link #expect(long, TimeUnit)}
+   * @param reason   The reason the request was not written
+   *
+   * @throws IllegalArgumentException If the future is not from an outstanding slot of this mailbox
+   */
+  public void abandon(ListenableFuture<MessageEvent> response, String reason) {
+
+    Preconditions.checkNotNull(response, "'response' must be present");
+
+    Slot slot = null;
+    synchronized (pending) {
+      Iterator<Slot> iterator = pending.descendingIterator();
+      while (iterator.hasNext()) {
+        Slot candidate = iterator.next();
+        if (candidate.response == response) {
+          // No response can arrive so no tombstone is needed
+          iterator.remove();
+          slot = candidate;
+          break;
+        }
+      }
+    }
+    Preconditions.checkArgument(slot != null, "'response' must be an outstanding slot of this mailbox");
+
+    slot.response.setException(new HardwareWalletException(reason));
+
+  }
+
+  /**
+   * <p>Offer an event read from the device</p>
+   *
+   * @param event The message event
+   *
+   * @return True if the event completed an outstanding slot
+   */
+  public boolean offer(MessageEvent event) {
+
+    Preconditions.checkNotNull(event, "'event' must be present");
+
+    switch (event.getEventType()) {
+      case DEVICE_FAILED:
+      case DEVICE_DETACHED:
+      case DEVICE_DETACHED_HARD:
+      case DEVICE_DISCONNECTED:
+        failAll(new HardwareWalletException("Device unavailable: " + event.getEventType().name()));
+        return false;
+      case DEVICE_ATTACHED:
+      case DEVICE_CONNECTED:
+        // Status changes are not responses
+        return false;
+      default:
+        // Treat as a response
+    }
+
+    Slot slot = null;
+    synchronized (pending) {
+      Iterator<Slot> iterator = pending.iterator();
+      while (iterator.hasNext()) {
+        Slot candidate = iterator.next();
+        if (candidate.accepts(event.getEventType())) {
+          iterator.remove();
+          slot = candidate;
+          break;
+        }
+      }
+    }
+
+    if (slot == null) {
+      log.debug("Unsolicited '{}' response", event.getEventType().name());
+      return false;
+    }
+
+    // A tombstone (or a slot that timed out since it was found) swallows the late response to its request
+    if (!slot.response.set(event)) {
+      log.debug("Late '{}' response to a timed out or cancelled request", event.getEventType().name());
+      return false;
+    }
+
+    return true;
+
+  }
+
+  /**
+   * <p>Fail all outstanding slots (e.g. on detach or loss of the connection)</p>
+   *
+   * @param cause The cause to report to waiting callers
+   */
+  public void failAll(Throwable cause) {
+
+    Preconditions.checkNotNull(cause, "'cause' must be present");
+
+    List<Slot> outstanding;
+    synchronized (pending) {
+      outstanding = Lists.newArrayList(pending);
+      pending.clear();
+    }
+
+    for (Slot slot : outstanding) {
+      slot.response.setException(cause);
+    }
+
+  }
+
+  /**
+   * @return The number of slots still awaiting a response (excluding tombstones)
+   */
+  public int size() {
+
+    int size = 0;
+    synchronized (pending) {
+      for (Slot slot : pending) {
+        if (!slot.response.isDone()) {
+          size++;
+        }
+      }
+    }
+
+    return size;
+
+  }
+
+  /**
+   * <p>A reserved response and the types that can complete it</p>
+   */
+  private static class Slot {
+
+    private final SettableFuture<MessageEvent> response = SettableFuture.create();
+
+    private final Set<MessageEventType> responseTypes;
+
+    private Slot(Set<MessageEventType> responseTypes) {
+      this.responseTypes = ImmutableSet.copyOf(responseTypes);
+    }
+
+    /**
+     * @param type The type of a response
+     *
+     * @return True if the response can answer this slot's request
+     */
+    private boolean accepts(MessageEventType type) {
+      return responseTypes.isEmpty() || responseTypes.contains(type) || type == MessageEventType.FAILURE;
+    }
+
+  }
+
+}
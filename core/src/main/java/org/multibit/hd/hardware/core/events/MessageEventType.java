@@ -207,16 +207,39 @@ public enum MessageEventType {
    */
   MESSAGE_SIGNATURE,
   /* Ring Sign MEssage */
+  /**
+   * Client request. Device should ring sign message using the given ring of public keys.
+   */
+  RING_SIGN_MESSAGE,
   /**
    * Device response. Provide the ring signature for the message.
    */
   MESSAGE_RING_SIGNATURE,
+  /**
+   * Device response. Request ring members for a streamed ring signature and provide the s values so far.
+   */
+  RING_SIGN_REQUEST,
+  /**
+   * Client request. Provide the ring members requested by the device.
+   */
+  RING_SIGN_ACK,
+  /**
+   * Client request. Device should ring sign message using a ring it already holds, identified by the ring digest.
+   */
+  RING_SIGN_CACHED_MESSAGE,
   /**
    * Client request. Device should verify message using given co-ordinates.
    */
   VERIFY_MESSAGE,
   
   // Public Key 65
+  /**
+   * Client request. Get the uncompressed (65 byte) public key used for ring signing.
+   */
+  GET_PUBLIC_KEY_65,
+  /**
+   * Device response. Provide the uncompressed (65 byte) public key.
+   */
   PUBLIC_KEY_65,
 
   // Message encryption
@@ -2,21 +2,13 @@ package org.multibit.hd.hardware.core.events;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Sets;
-import com.google.common.eventbus.EventBus;
-import com.google.common.util.concurrent.FutureCallback;
-import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.collect.Maps;
 import com.google.protobuf.Message;
-import org.multibit.commons.concurrent.SafeExecutors;
-import org.multibit.hd.hardware.core.ExceptionHandler;
 import org.multibit.hd.hardware.core.messages.HardwareWalletMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Set;
-import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * <p>Factory to provide the following to application API:</p>
@@ -27,6 +19,11 @@ import java.util.concurrent.Callable;
  * it can be useful for mocking clients and so on. If this is of interest to you
  * please refer to the MultiBit HD code (MIT licence) for extensive examples of
  * this that could save you a lot of time.</p>
+ * <p>Each device has its own dispatcher registered against its device ID (see
+ * {@link #register(String, EventDispatcher)}), normally owned by the context of the
+ * service driving it. Events are routed on their source so devices neither see each
+ * other's messages nor queue behind each other. Subscribers using the Guava annotations
+ * receive the events of all devices through a compatibility dispatcher.</p>
  *
  * @since 0.0.1
  *  
@@ -36,19 +33,24 @@ public class MessageEvents {
   private static final Logger log = LoggerFactory.getLogger(MessageEvents.class);
 
   /**
-   * Dedicated thread for low level messages for asynchronous transmission
+   * Dedicated thread and Guava event bus for subscribers of all devices
+   * (coalesced when full so a device repeating a status event cannot exhaust the heap)
    */
-  private static final ListeningExecutorService messageEventService = SafeExecutors.newSingleThreadExecutor("message-events");
-
-  /**
-   * Use Guava to handle subscribers to events
-   */
-  private static final EventBus messageEventBus = new EventBus(ExceptionHandler.newSubscriberExceptionHandler());
+  private static final GuavaEventDispatcher<MessageEvent> compatibilityDispatcher = new GuavaEventDispatcher<>(
+    "message-events",
+    GuavaEventDispatcher.DEFAULT_CAPACITY,
+    OverflowPolicy.COALESCE,
+    new BoundedEventQueue.CoalesceKey<MessageEvent>() {
+      @Override
+      public Object keyOf(MessageEvent event) {
+        return event.getEventType();
+      }
+    });
 
   /**
-   * Keep track of the Guava event bus subscribers for a clean shutdown
+   * Per-device dispatchers keyed by device ID (the event source)
    */
-  private static final Set<Object> messageEventBusSubscribers = Sets.newHashSet();
+  private static final ConcurrentMap<String, EventDispatcher<MessageEvent>> deviceDispatchers = Maps.newConcurrentMap();
 
   /**
    * Utilities have a private constructor
@@ -64,18 +66,7 @@ public class MessageEvents {
    */
   public static void subscribe(Object subscriber) {
 
-    Preconditions.checkNotNull(subscriber, "'subscriber' must be present");
-
-    if (messageEventBusSubscribers.add(subscriber)) {
-      log.trace("Register: " + subscriber.getClass().getSimpleName());
-      try {
-        messageEventBus.register(subscriber);
-      } catch (IllegalArgumentException e) {
-        log.warn("Unexpected failure to register");
-      }
-    } else {
-      log.warn("Subscriber already registered: " + subscriber.getClass().getSimpleName());
-    }
+    compatibilityDispatcher.subscribe(subscriber);
 
   }
 
@@ -87,19 +78,7 @@ public class MessageEvents {
    */
   public static void unsubscribe(Object subscriber) {
 
-    Preconditions.checkNotNull(subscriber, "'subscriber' must be present");
-
-    if (messageEventBusSubscribers.contains(subscriber)) {
-      log.trace("Unregister: " + subscriber.getClass().getSimpleName());
-      try {
-        messageEventBus.unregister(subscriber);
-      } catch (IllegalArgumentException e) {
-        log.warn("Unexpected failure to unregister");
-      }
-      messageEventBusSubscribers.remove(subscriber);
-    } else {
-      log.warn("Subscriber already unregistered: " + subscriber.getClass().getSimpleName());
-    }
+    compatibilityDispatcher.unsubscribe(subscriber);
 
   }
 
@@ -107,19 +86,67 @@ public class MessageEvents {
    * <p>Unsubscribe all subscribers from events</p>
    * <p>This approach ensures all subscribers will be correctly removed during a shutdown</p>
    */
-  @SuppressWarnings("unchecked")
   public static void unsubscribeAll() {
 
-    Set allSubscribers = Sets.newHashSet();
-    allSubscribers.addAll(messageEventBusSubscribers);
-    for (Object subscriber : allSubscribers) {
-      unsubscribe(subscriber);
-    }
-    allSubscribers.clear();
+    // Device dispatchers are unregistered by their owners
+    compatibilityDispatcher.unsubscribeAll();
+
     log.info("All subscribers removed");
 
   }
 
+  /**
+   * <p>Change the queue limits for subscribers using the Guava annotations</p>
+   *
+   * @param capacity       The maximum number of queued events
+   * @param overflowPolicy The action taken when the queue is full
+   */
+  public static void configure(int capacity, OverflowPolicy overflowPolicy) {
+
+    compatibilityDispatcher.configure(capacity, overflowPolicy);
+
+  }
+
+  /**
+   * @return A snapshot of the queue counters for subscribers using the Guava annotations
+   */
+  public static EventQueueStatistics getStatistics() {
+
+    return compatibilityDispatcher.getStatistics();
+
+  }
+
+  /**
+   * <p>Route the events of a device to a dispatcher, replacing any earlier one</p>
+   *
+   * @param deviceId   The device ID matching the event source (e.g. "TREZOR/0123456789ABCDEF")
+   * @param dispatcher The dispatcher for the device
+   */
+  public static void register(String deviceId, EventDispatcher<MessageEvent> dispatcher) {
+
+    Preconditions.checkNotNull(deviceId, "'deviceId' must be present");
+    Preconditions.checkNotNull(dispatcher, "'dispatcher' must be present");
+
+    if (deviceDispatchers.put(deviceId, dispatcher) != null) {
+      log.warn("Replaced dispatcher for '{}'", deviceId);
+    }
+
+  }
+
+  /**
+   * <p>Stop routing the events of a device to a dispatcher</p>
+   *
+   * @param deviceId   The device ID
+   * @param dispatcher The dispatcher provided on registration (a later registration is left alone)
+   */
+  public static void unregister(String deviceId, EventDispatcher<MessageEvent> dispatcher) {
+
+    Preconditions.checkNotNull(deviceId, "'deviceId' must be present");
+
+    deviceDispatchers.remove(deviceId, dispatcher);
+
+  }
+
   /**
    * <p>Convenience method to fire a message event</p>
    *
@@ -129,30 +156,16 @@ public class MessageEvents {
 
     Preconditions.checkNotNull(event, "'messageType' must be present");
 
-    final ListenableFuture<Boolean> future = messageEventService.submit(
-      new Callable<Boolean>() {
-        @Override
-        public Boolean call() {
-          log.debug("Firing 'message' event: {} for {}", event.getEventType().name(), event.getSource());
-          messageEventBus.post(event);
-
-          // Must be OK to be here
-          return true;
-        }
-      });
-
-    Futures.addCallback(
-      future, new FutureCallback<Boolean>() {
-        @Override
-        public void onSuccess(Boolean result) {
-          log.debug("Completed 'message' event: {}", event.getEventType().name());
-        }
-
-        @Override
-        public void onFailure(Throwable t) {
-          log.error("Failed to complete 'message' event: {}", event.getEventType().name(), t);
-        }
-      });
+    // Device dispatcher first since it drives the FSM for that device
+    EventDispatcher<MessageEvent> dispatcher = event.getSource() == null ? null : deviceDispatchers.get(event.getSource());
+    if (dispatcher != null) {
+      dispatcher.dispatch(event);
+    }
+
+    // Avoid the cost of the event bus when nobody is listening
+    if (compatibilityDispatcher.hasSubscribers()) {
+      compatibilityDispatcher.dispatch(event);
+    }
 
   }
 
@@ -166,35 +179,12 @@ public class MessageEvents {
 
     Preconditions.checkNotNull(messageEventType, "'messageType' must be present");
 
-    final ListenableFuture<Boolean> future = messageEventService.submit(
-      new Callable<Boolean>() {
-        @Override
-        public Boolean call() {
-          log.debug("Firing 'message' event type: {} for {}", messageEventType.name(), source);
-          messageEventBus.post(
-            new MessageEvent(
-              messageEventType,
-              Optional.<HardwareWalletMessage>absent(),
-              Optional.<Message>absent(),
-              source));
-
-          // Must be OK to be here
-          return true;
-        }
-      });
-
-    Futures.addCallback(
-      future, new FutureCallback<Boolean>() {
-        @Override
-        public void onSuccess(Boolean result) {
-          log.debug("Completed 'message' event: {}", messageEventType.name());
-        }
-
-        @Override
-        public void onFailure(Throwable t) {
-          log.error("Failed to complete 'message' event: {}", messageEventType.name(), t);
-        }
-      });
+    fireMessageEvent(
+      new MessageEvent(
+        messageEventType,
+        Optional.<HardwareWalletMessage>absent(),
+        Optional.<Message>absent(),
+        source));
 
   }
 
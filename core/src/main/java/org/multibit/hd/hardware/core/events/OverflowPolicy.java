@@ -0,0 +1,32 @@
+package org.multibit.hd.hardware.core.events;
+
+/**
+ * <p>Enum to provide the following to event dispatchers:</p>
+ * <ul>
+ * <li>The action taken when an event is dispatched to a full queue</li>
+ * </ul>
+ *
+ * @since 0.0.1
+ *
+ */
+public enum OverflowPolicy {
+
+  /**
+   * Wait for the consumer to make space (backpressure on the producer)
+   */
+  BLOCK,
+
+  /**
+   * Discard the oldest queued event to make space
+   */
+  DROP_OLDEST,
+
+  /**
+   * Replace the most recent queued event of the same type, otherwise discard the oldest
+   */
+  COALESCE,
+
+  // End of enum
+  ;
+
+}
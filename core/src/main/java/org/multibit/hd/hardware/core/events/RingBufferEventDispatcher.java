@@ -0,0 +1,476 @@
+package org.multibit.hd.hardware.core.events;
+
+import com.google.common.base.Preconditions;
+import org.multibit.commons.concurrent.SafeExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>Dispatcher to provide the following to event sources:</p>
+ * <ul>
+ * <li>Delivery through a preallocated ring buffer with no allocation or locking per event</li>
+ * <li>Typed listeners called directly without reflection</li>
+ * </ul>
+ * <p>Each slot carries a sequence number that tells the consumer when the slot has been
+ * published and tells producers when it has been consumed. The usual producer is the thread
+ * reading from the device. Status events may also come from other threads (e.g. HID attach
+ * notifications) so slots are claimed with a compare and set which never contends in the
+ * single producer case.</p>
+ * <p>The consumer spins briefly after each event to keep latency low during bursts (e.g.
+ * TX_REQUEST and BUTTON_REQUEST during a signing) then parks until woken by a producer.</p>
+ * <p>What happens when the buffer is full is set by an {@link OverflowPolicy}:</p>
+ * <ul>
+ * <li>BLOCK (the default) makes producers wait for the consumer, applying backpressure to the device reader of this dispatcher only</li>
+ * <li>DROP_OLDEST claims the oldest queued event exactly as the consumer would and discards it</li>
+ * <li>COALESCE replaces the most recent queued event with the same {@link BoundedEventQueue.CoalesceKey}, otherwise discards the oldest</li>
+ * </ul>
+ * <p>The consumer takes each event with a compare and set on the head so it never races a producer
+ * discarding the same event, and takes the event out of its slot atomically so a replacement is either
+ * delivered or not made.</p>
+ * <p>Under BLOCK the consumer thread cannot wait for itself so a listener dispatching to a full buffer
+ * spills the event to a local queue instead. Spilled events are published in order as the consumer
+ * frees slots so they are never delivered ahead of the events already queued. The spill only
+ * grows while listeners dispatch faster than they consume which no device conversation does.</p>
+ *
+ * @param <E> The event type
+ *
+ * @since 0.0.1
+ *
+ */
+public class RingBufferEventDispatcher<E> implements EventDispatcher<E> {
+
+  private static final Logger log = LoggerFactory.getLogger(RingBufferEventDispatcher.class);
+
+  /**
+   * Comfortably larger than the longest burst from a device (a transaction signing)
+   */
+  public static final int DEFAULT_CAPACITY = 256;
+
+  /**
+   * The number of empty polls before the consumer parks
+   */
+  private static final int SPIN_TRIES = 100;
+
+  /**
+   * The longest the consumer parks before checking again (covers a missed wake up)
+   */
+  private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  /**
+   * The time a producer waits for space in a full buffer before trying again
+   */
+  private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  private final String name;
+
+  private final int mask;
+
+  private final OverflowPolicy overflowPolicy;
+
+  private final BoundedEventQueue.CoalesceKey<E> coalesceKey;
+
+  /**
+   * The preallocated slots
+   */
+  private final AtomicReferenceArray<E> events;
+
+  /**
+   * The sequence of each slot (published when one ahead of the position, free when equal to it)
+   */
+  private final AtomicLongArray sequences;
+
+  /**
+   * The next position to claim by producers
+   */
+  private final AtomicLong tail = new AtomicLong();
+
+  /**
+   * The next position to consume (claimed by the consumer, or by a producer discarding the oldest event)
+   */
+  private final AtomicLong head = new AtomicLong();
+
+  private final AtomicLong highWaterMark = new AtomicLong();
+
+  private final AtomicLong dropped = new AtomicLong();
+
+  private final AtomicLong coalesced = new AtomicLong();
+
+  private final AtomicLong blocked = new AtomicLong();
+
+  /**
+   * Events dispatched by a listener while the buffer was full (consumer thread only)
+   */
+  private final ArrayDeque<E> spill = new ArrayDeque<>();
+
+  /**
+   * The listeners as an array so that delivery does not allocate an iterator (copy on write)
+   */
+  private volatile Object[] listeners = new Object[0];
+
+  private final ExecutorService consumerService;
+
+  private volatile Thread consumerThread;
+
+  private volatile boolean consumerParked = false;
+
+  private volatile boolean running = true;
+
+  /**
+   * @param name The name of the dispatcher thread (e.g. "message-events-TREZOR")
+   */
+  public RingBufferEventDispatcher(String name) {
+    this(name, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param name     The name of the dispatcher thread (e.g. "message-events-TREZOR")
+   * @param capacity The number of slots (a power of 2)
+   */
+  public RingBufferEventDispatcher(String name, int capacity) {
+    this(name, capacity, OverflowPolicy.BLOCK, RingBufferEventDispatcher.<E>eventKey());
+  }
+
+  /**
+   * @param name           The name of the dispatcher thread (e.g. "message-events-TREZOR")
+   * @param capacity       The number of slots (a power of 2)
+   * @param overflowPolicy The action taken when the buffer is full
+   * @param coalesceKey    The key used by {@link OverflowPolicy#COALESCE} (e.g. the event type)
+   */
+  public RingBufferEventDispatcher(String name, int capacity, OverflowPolicy overflowPolicy, BoundedEventQueue.CoalesceKey<E> coalesceKey) {
+
+    Preconditions.checkNotNull(name, "'name' must be present");
+    Preconditions.checkArgument(capacity > 0 && Integer.bitCount(capacity) == 1, "'capacity' must be a power of 2");
+    Preconditions.checkNotNull(overflowPolicy, "'overflowPolicy' must be present");
+    Preconditions.checkNotNull(coalesceKey, "'coalesceKey' must be present");
+
+    this.name = name;
+    this.mask = capacity - 1;
+    this.overflowPolicy = overflowPolicy;
+    this.coalesceKey = coalesceKey;
+    this.events = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+
+    consumerService = SafeExecutors.newSingleThreadExecutor(name);
+    consumerService.submit(
+      new Runnable() {
+        @Override
+        public void run() {
+          consume();
+        }
+      });
+
+  }
+
+  @Override
+  public synchronized void addListener(EventListener<E> listener) {
+
+    Preconditions.checkNotNull(listener, "'listener' must be present");
+
+    if (Arrays.asList(listeners).contains(listener)) {
+      return;
+    }
+
+    Object[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+    updated[listeners.length] = listener;
+    listeners = updated;
+
+  }
+
+  @Override
+  public synchronized void removeListener(EventListener<E> listener) {
+
+    int index = Arrays.asList(listeners).indexOf(listener);
+    if (index < 0) {
+      return;
+    }
+
+    Object[] updated = new Object[listeners.length - 1];
+    System.arraycopy(listeners, 0, updated, 0, index);
+    System.arraycopy(listeners, index + 1, updated, index, updated.length - index);
+    listeners = updated;
+
+  }
+
+  @Override
+  public void dispatch(E event) {
+
+    Preconditions.checkNotNull(event, "'event' must be present");
+
+    if (!running) {
+      dropped.incrementAndGet();
+      log.debug("Discarded event on stopped '{}'", name);
+      return;
+    }
+
+    if (overflowPolicy == OverflowPolicy.BLOCK && Thread.currentThread() == consumerThread) {
+      // Delivering now would overtake the queued events so keep behind anything already spilled
+      if (!spill.isEmpty() || !tryPublish(event)) {
+        spill.addLast(event);
+      }
+      return;
+    }
+
+    boolean waited = false;
+    while (!tryPublish(event)) {
+      if (overflowPolicy == OverflowPolicy.COALESCE && replaceLatest(event)) {
+        coalesced.incrementAndGet();
+        return;
+      }
+      if (overflowPolicy != OverflowPolicy.BLOCK) {
+        // Make space (the oldest slot may be claimed but not yet published so try again)
+        if (takeOldest() != null) {
+          dropped.incrementAndGet();
+          log.debug("Dropped oldest event on full '{}'", name);
+        } else {
+          Thread.yield();
+        }
+        continue;
+      }
+      // Full so wait for the consumer
+      if (!waited) {
+        waited = true;
+        blocked.incrementAndGet();
+      }
+      wakeConsumer();
+      LockSupport.parkNanos(FULL_PARK_NANOS);
+      if (!running) {
+        dropped.incrementAndGet();
+        log.debug("Discarded event on stopped '{}'", name);
+        return;
+      }
+    }
+
+  }
+
+  @Override
+  public EventQueueStatistics getStatistics() {
+
+    int depth = (int) Math.max(0, tail.get() - head.get());
+
+    return new EventQueueStatistics(mask + 1, depth, (int) highWaterMark.get(), dropped.get(), coalesced.get(), blocked.get());
+
+  }
+
+  @Override
+  public void shutdown() {
+
+    running = false;
+    wakeConsumer();
+    consumerService.shutdown();
+
+  }
+
+  /**
+   * @param event The event to publish if there is a free slot
+   *
+   * @return False if the buffer is full
+   */
+  private boolean tryPublish(E event) {
+
+    long position = tail.get();
+    int index;
+    while (true) {
+      index = (int) position & mask;
+      long available = sequences.get(index) - position;
+      if (available == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          break;
+        }
+      } else if (available < 0) {
+        return false;
+      }
+      position = tail.get();
+    }
+
+    events.lazySet(index, event);
+    // A volatile write orders the publication before the check for a parked consumer
+    sequences.set(index, position + 1);
+
+    if (consumerParked) {
+      wakeConsumer();
+    }
+
+    // Only contended when the depth reaches a new high
+    long depth = position + 1 - head.get();
+    long high = highWaterMark.get();
+    while (depth > high && !highWaterMark.compareAndSet(high, depth)) {
+      high = highWaterMark.get();
+    }
+
+    return true;
+
+  }
+
+  /**
+   * <p>Claim the oldest published event (by the consumer, or by a producer discarding it)</p>
+   *
+   * @return The event, or null if the oldest slot has not been published
+   */
+  private E takeOldest() {
+
+    while (true) {
+      long position = head.get();
+      int index = (int) position & mask;
+      if (sequences.get(index) != position + 1) {
+        return null;
+      }
+      if (head.compareAndSet(position, position + 1)) {
+        // Taken atomically so a concurrent replacement is either seen here or fails
+        E event = events.getAndSet(index, null);
+        // Free the slot for the next lap
+        sequences.set(index, position + mask + 1);
+        return event;
+      }
+    }
+
+  }
+
+  /**
+   * @param event The event
+   *
+   * @return True if a queued event with the same key was replaced
+   */
+  private boolean replaceLatest(E event) {
+
+    Object key = coalesceKey.keyOf(event);
+
+    long first = head.get();
+    for (long position = tail.get() - 1; position >= first; position--) {
+      int index = (int) position & mask;
+      if (sequences.get(index) != position + 1) {
+        // Not yet published or already taken
+        continue;
+      }
+      E queued = events.get(index);
+      if (queued != null && key.equals(coalesceKey.keyOf(queued))) {
+        // Fails if the consumer took it meanwhile
+        return events.compareAndSet(index, queued, event);
+      }
+    }
+
+    return false;
+
+  }
+
+  /**
+   * <p>The consumer loop</p>
+   */
+  private void consume() {
+
+    consumerThread = Thread.currentThread();
+
+    int idle = 0;
+    while (true) {
+
+      if (poll()) {
+        idle = 0;
+        continue;
+      }
+
+      if (!running) {
+        // Drained
+        break;
+      }
+
+      if (++idle < SPIN_TRIES) {
+        Thread.yield();
+        continue;
+      }
+
+      consumerParked = true;
+      if (!isPublished()) {
+        LockSupport.parkNanos(this, PARK_NANOS);
+      }
+      consumerParked = false;
+      idle = 0;
+    }
+
+    log.debug("Dispatcher '{}' stopped", name);
+
+  }
+
+  /**
+   * @return True if an event was delivered
+   */
+  private boolean poll() {
+
+    E event = takeOldest();
+    if (event == null) {
+      return false;
+    }
+
+    // Spilled events take the freed slots ahead of anything a listener dispatches later
+    while (!spill.isEmpty() && tryPublish(spill.peekFirst())) {
+      spill.removeFirst();
+    }
+
+    deliver(event);
+
+    return true;
+
+  }
+
+  /**
+   * @return True if the slot at the head has been published
+   */
+  private boolean isPublished() {
+
+    long position = head.get();
+
+    return sequences.get((int) position & mask) == position + 1;
+
+  }
+
+  /**
+   * @param event The event to deliver to all listeners
+   */
+  @SuppressWarnings("unchecked")
+  private void deliver(E event) {
+
+    Object[] current = listeners;
+    for (Object listener : current) {
+      try {
+        ((EventListener<E>) listener).onEvent(event);
+      } catch (RuntimeException e) {
+        log.error("Listener failed on '{}'", name, e);
+      }
+    }
+
+  }
+
+  /**
+   * @return A key treating only equal events as the same (for policies other than COALESCE)
+   */
+  private static <E> BoundedEventQueue.CoalesceKey<E> eventKey() {
+
+    return new BoundedEventQueue.CoalesceKey<E>() {
+      @Override
+      public Object keyOf(E event) {
+        return event;
+      }
+    };
+
+  }
+
+  private void wakeConsumer() {
+
+    Thread thread = consumerThread;
+    if (thread != null) {
+      LockSupport.unpark(thread);
+    }
+
+  }
+
+}
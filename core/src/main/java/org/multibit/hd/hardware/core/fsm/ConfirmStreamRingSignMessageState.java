@@ -0,0 +1,170 @@
+package org.multibit.hd.hardware.core.fsm;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import org.multibit.hd.hardware.core.HardwareWalletClient;
+import org.multibit.hd.hardware.core.events.HardwareWalletEventType;
+import org.multibit.hd.hardware.core.events.HardwareWalletEvents;
+import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.messages.Failure;
+import org.multibit.hd.hardware.core.messages.FailureType;
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+import org.multibit.hd.hardware.core.messages.RingSignRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>State to provide the following to hardware wallet clients:</p>
+ * <ul>
+ * <li>State transitions based on low level message events</li>
+ * </ul>
+ * <p>The "confirm stream ring sign message" state occurs in response to a RING_SIGN_MESSAGE without a ring
+ * (or a RING_SIGN_CACHED_MESSAGE for a ring the device does not hold) and answers each RING_SIGN_REQUEST with the ring members asked for. The s values streamed back are
+ * collected in the context and merged into the final MESSAGE_RING_SIGNATURE.</p>
+ *
+ * <p>A typical sequence for a ring of n with chunks of k would be as follows:</p>
+ * <ol>
+ *   <li>> RING_SIGN_MESSAGE (n, pi, message)</li>
+ *   <li>< PIN_MATRIX_REQUEST </li>
+ *   <li>> PIN_ACK (pin)</li>
+ *   <li>< RING_SIGN_REQUEST (index 0, count k)</li>
+ *   <li>> RING_SIGN_ACK (members 0 to k - 1)</li>
+ *   <li>... until the whole ring is digested</li>
+ *   <li>< RING_SIGN_REQUEST (index pi + 1, count k)</li>
+ *   <li>> RING_SIGN_ACK (members pi + 1 to pi + k)</li>
+ *   <li>< RING_SIGN_REQUEST (index pi + k + 1, count k, s values of pi + 1 to pi + k)</li>
+ *   <li>... round the ring to pi - 1</li>
+ *   <li>< BUTTON_REQUEST</li>
+ *   <li>> BUTTON_ACK</li>
+ *   <li>< MESSAGE_RING_SIGNATURE (c0, key image, s values not yet streamed in ring order)</li>
+ * </ol>
+ *
+ * <p>A RING_SIGN_REQUEST for members outside the ring is answered with a CANCEL and the FAILURE that follows
+ * ends the operation as if the user had cancelled it. A MESSAGE_RING_SIGNATURE whose s values do not fill the
+ * ring exactly once together with those streamed is reported as a failed operation.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class ConfirmStreamRingSignMessageState extends AbstractHardwareWalletState {
+
+  private static final Logger log = LoggerFactory.getLogger(ConfirmStreamRingSignMessageState.class);
+
+  @Override
+  protected void internalTransition(HardwareWalletClient client, HardwareWalletContext context, MessageEvent event) {
+
+    switch (event.getEventType()) {
+      case PIN_MATRIX_REQUEST:
+        // Device is asking for a PIN matrix to be displayed (user must read the screen carefully)
+        HardwareWalletEvents.fireHardwareWalletEvent(HardwareWalletEventType.SHOW_PIN_ENTRY, event.getMessage().get(), client.name());
+        // Further state transitions will occur after the user has provided the PIN via the service
+        break;
+      case PASSPHRASE_REQUEST:
+        // Device is asking for a passphrase screen to be displayed
+        HardwareWalletEvents.fireHardwareWalletEvent(HardwareWalletEventType.SHOW_PASSPHRASE_ENTRY, client.name());
+        // Further state transitions will occur after the user has provided the passphrase via the service
+        break;
+      case RING_SIGN_REQUEST:
+        // Device is requesting ring members
+        RingSignRequest ringSignRequest = (RingSignRequest) event.getMessage().get();
+
+        // Check if we are being given s values
+        if (ringSignRequest.getSIndex().isPresent()) {
+          log.debug("Received {} s values", ringSignRequest.getS().size());
+          int sIndex = ringSignRequest.getSIndex().get();
+          for (byte[] s : ringSignRequest.getS()) {
+            context.getRingSignatureS().put(sIndex++, s);
+          }
+        }
+
+        try {
+          client.ringSignAck(ringSignRequest, context.getRing().get());
+        } catch (IllegalArgumentException e) {
+          // Device is asking for members outside the ring so abandon the operation
+          log.error("Abandoning ring signature: {}", e.getMessage());
+          // The device answers with a FAILURE which resets to initialised (see below)
+          client.cancel();
+        }
+        break;
+      case BUTTON_REQUEST:
+        // Device is requesting a button press
+        HardwareWalletEvents.fireHardwareWalletEvent(HardwareWalletEventType.SHOW_BUTTON_PRESS, event.getMessage().get(), client.name());
+        client.buttonAck();
+        break;
+      case MESSAGE_RING_SIGNATURE:
+        // Device has completed the operation so complete the signature with the streamed s values
+        Optional<MessageRingSignature> signature = merge(
+          (MessageRingSignature) event.getMessage().get(),
+          context.getRing().get().size(),
+          context.getRingSignatureS()
+        );
+        if (signature.isPresent()) {
+          HardwareWalletEvents.fireHardwareWalletEvent(HardwareWalletEventType.MESSAGE_RING_SIGNATURE, signature.get(), client.name());
+        } else {
+          // The device did not account for every ring member exactly once
+          HardwareWalletEvents.fireHardwareWalletEvent(
+            HardwareWalletEventType.SHOW_OPERATION_FAILED,
+            new Failure(FailureType.INVALID_SIGNATURE, "Ring signature does not match the ring"),
+            client.name()
+          );
+          context.resetToInitialised();
+        }
+        break;
+      case FAILURE:
+        // User has cancelled or operation failed
+        HardwareWalletEvents.fireHardwareWalletEvent(HardwareWalletEventType.SHOW_OPERATION_FAILED, event.getMessage().get(), client.name());
+        context.resetToInitialised();
+        break;
+      default:
+        handleUnexpectedMessageEvent(context, event);
+    }
+
+  }
+
+  /**
+   * @param signature The final signature from the device carrying the s values not already streamed
+   * @param ringSize  The number of members in the ring being signed
+   * @param streamedS The s values streamed by the device keyed on the ring index
+   *
+   * @return The complete signature, absent if the s values from the device do not fill the ring exactly
+   */
+  private Optional<MessageRingSignature> merge(MessageRingSignature signature, int ringSize, Map<Integer, byte[]> streamedS) {
+
+    int n = signature.getN();
+    byte[][] remainingS = signature.getS();
+
+    // Do not trust the counts from the device
+    if (n != ringSize || remainingS.length != n - streamedS.size()) {
+      log.error("Device returned {} s values for a ring of {} after streaming {}", remainingS.length, n, streamedS.size());
+      return Optional.absent();
+    }
+    for (int i : streamedS.keySet()) {
+      if (i < 0 || i >= n) {
+        log.error("Device streamed an s value for ring index {} outside a ring of {}", i, n);
+        return Optional.absent();
+      }
+    }
+
+    // The remaining values fill the gaps in ring order
+    List<ByteString> s = Lists.newArrayListWithCapacity(n);
+    int remaining = 0;
+    for (int i = 0; i < n; i++) {
+      byte[] si = streamedS.get(i);
+      s.add(ByteString.copyFrom(si != null ? si : remainingS[remaining++]));
+    }
+
+    return Optional.of(
+      new MessageRingSignature(
+        signature.getC(),
+        s,
+        n,
+        signature.getYtx(),
+        signature.getYty()
+      ));
+
+  }
+}
@@ -31,6 +31,7 @@ public enum ContextUseCase {
   SIGN_IDENTITY,
   
   RING_SIGN_MESSAGE,
+  STREAM_RING_SIGN_MESSAGE,
   GET_PUBLIC_KEY_65
 
   // End of enum
@@ -4,7 +4,6 @@ import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.eventbus.Subscribe;
 import org.bitcoinj.core.Address;
 import org.bitcoinj.core.Transaction;
 import org.bitcoinj.crypto.ChildNumber;
@@ -13,11 +12,16 @@ import org.bitcoinj.crypto.DeterministicKey;
 import org.bitcoinj.wallet.KeyChain;
 import org.multibit.hd.hardware.core.HardwareWalletClient;
 import org.multibit.hd.hardware.core.domain.Identity;
+import org.multibit.hd.hardware.core.events.EventDispatcher;
+import org.multibit.hd.hardware.core.events.EventListener;
+import org.multibit.hd.hardware.core.events.EventQueueStatistics;
 import org.multibit.hd.hardware.core.events.HardwareWalletEventType;
 import org.multibit.hd.hardware.core.events.HardwareWalletEvents;
 import org.multibit.hd.hardware.core.events.MessageEvent;
 import org.multibit.hd.hardware.core.events.MessageEvents;
+import org.multibit.hd.hardware.core.events.RingBufferEventDispatcher;
 import org.multibit.hd.hardware.core.messages.Features;
+import org.multibit.hd.hardware.core.utils.RingSignatureUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,7 +43,7 @@ import java.util.Map;
  * @since 0.0.1
  *  
  */
-public class HardwareWalletContext {
+public class HardwareWalletContext implements EventListener<MessageEvent> {
 
   private static final Logger log = LoggerFactory.getLogger(HardwareWalletContext.class);
 
@@ -49,11 +53,21 @@ public class HardwareWalletContext {
    */
   private final HardwareWalletClient client;
 
+  /**
+   * Delivers the low level message events of this device only
+   */
+  private final EventDispatcher<MessageEvent> messageEventDispatcher;
+
   /**
    * The current state should start by assuming an attached device and progress from there
    * to either detached or connected
    */
-  private HardwareWalletState currentState = HardwareWalletStates.newAttachedState();
+  private volatile HardwareWalletState currentState = HardwareWalletStates.newAttachedState();
+
+  /**
+   * Notified after a message event causes a state change (absent for polling)
+   */
+  private volatile Optional<Runnable> stateChangeListener = Optional.absent();
 
   /**
    * We begin at the start
@@ -89,6 +103,16 @@ public class HardwareWalletContext {
    */
   private ByteArrayOutputStream serializedTx = new ByteArrayOutputStream();
 
+  /**
+   * Provide the ring forming the basis for the "stream ring sign message" use case
+   */
+  private Optional<List<byte[]>> ring = Optional.absent();
+
+  /**
+   * Keep track of the s values streamed by the device during the "stream ring sign message" use case
+   */
+  private Map<Integer, byte[]> ringSignatureS = Maps.newHashMap();
+
   /**
    * A map keyed on TxInput index and the associated path to the receiving address on that input
    * This is used during Trezor transaction signing for fast addressN lookup
@@ -143,7 +167,10 @@ public class HardwareWalletContext {
     this.client = client;
 
     // Ensure the service is subscribed to low level message events from the client
-    MessageEvents.subscribe(this);
+    // through its own dispatcher so that other devices cannot delay or confuse it
+    this.messageEventDispatcher = new RingBufferEventDispatcher<>("message-events-" + client.name());
+    messageEventDispatcher.addListener(this);
+    MessageEvents.register(client.name(), messageEventDispatcher);
 
     // Verify the environment
     if (!client.attach()) {
@@ -197,6 +224,22 @@ public class HardwareWalletContext {
     return serializedTx;
   }
 
+  /**
+   * @return The ring for the "stream ring sign message" use case
+   */
+  public Optional<List<byte[]>> getRing() {
+    return ring;
+  }
+
+  /**
+   * <p>The s value of the device's own key and any not yet streamed arrive with the final MESSAGE_RING_SIGNATURE</p>
+   *
+   * @return The map of s values provided by the device during "stream ring sign message" keyed on the ring index
+   */
+  public Map<Integer, byte[]> getRingSignatureS() {
+    return ringSignatureS;
+  }
+
   /**
    * <p>Reset all context state to ensure a fresh context</p>
    */
@@ -212,6 +255,9 @@ public class HardwareWalletContext {
 
     serializedTx = new ByteArrayOutputStream();
     receivingAddressPathMap = Maps.newHashMap();
+
+    ring = Optional.absent();
+    ringSignatureS = Maps.newHashMap();
     changeAddressPathMap = Maps.newHashMap();
 
     childNumbers = Optional.absent();
@@ -249,7 +295,8 @@ public class HardwareWalletContext {
     client.hardDetach();
 
     // Unsubscribe from events
-    MessageEvents.unsubscribe(this);
+    MessageEvents.unregister(client.name(), messageEventDispatcher);
+    messageEventDispatcher.shutdown();
 
     // Perform the state change
     currentState = HardwareWalletStates.newStoppedState();
@@ -424,6 +471,23 @@ public class HardwareWalletContext {
     this.deterministicHierarchy = Optional.fromNullable(deterministicHierarchy);
   }
 
+  /**
+   * <p>Provide a listener to be notified after a message event has caused a state change so that
+   * the new state can be awaited immediately rather than on the next poll</p>
+   *
+   * @param stateChangeListener The listener (called on the message event thread so must not block)
+   */
+  public void setStateChangeListener(Runnable stateChangeListener) {
+    this.stateChangeListener = Optional.fromNullable(stateChangeListener);
+  }
+
+  /**
+   * @return A snapshot of the queue counters for the low level message events of this device
+   */
+  public EventQueueStatistics getMessageEventStatistics() {
+    return messageEventDispatcher.getStatistics();
+  }
+
   /**
    * @return The current use case
    */
@@ -431,13 +495,17 @@ public class HardwareWalletContext {
     return currentUseCase;
   }
 
+  @Override
+  public void onEvent(MessageEvent event) {
+    onMessageEvent(event);
+  }
+
   /**
    * @param event The low level message event
    */
-  @Subscribe
   public void onMessageEvent(MessageEvent event) {
 
-    // Filter messages not associated with this context
+    // Filter messages not associated with this context (the device dispatcher should prevent this)
     if (!getClient().name().equalsIgnoreCase(event.getSource())) {
       log.debug("Discarded message event: '{}' (different device)", event.getEventType().name());
       return;
@@ -445,12 +513,18 @@ public class HardwareWalletContext {
 
     log.debug("Received message event: '{}'", event.getEventType().name());
 
+    HardwareWalletState previousState = currentState;
+
     // Perform a state transition as a result of this event
     try {
       currentState.transition(client, this, event);
     } catch (Exception e) {
       e.printStackTrace();
     }
+
+    if (currentState != previousState && stateChangeListener.isPresent()) {
+      stateChangeListener.get().run();
+    }
   }
 
   /**
@@ -827,6 +901,81 @@ public class HardwareWalletContext {
     );
   }
   
+  /**
+   * <p>Begin the "stream ring sign message" use case</p>
+   * <p>Unlike "ring sign message" the ring is not sent up front. The device pulls it in chunks so the ring
+   * size is not limited by the memory of the device or the size of a single message.</p>
+   *
+   * @param L       The public keys forming the ring (compressed or uncompressed)
+   * @param pi      The index of the device's public key in the ring
+   * @param message The message for signing
+   */
+  public void beginStreamRingSignMessageUseCase(
+    List<byte[]> L,
+    int pi,
+    byte[] message
+  ) {
+
+    log.debug("Begin 'stream ring sign message' use case");
+
+    // Clear relevant information
+    resetAllButFeatures();
+
+    // Track the use case
+    currentUseCase = ContextUseCase.STREAM_RING_SIGN_MESSAGE;
+
+    // Store the overall context parameters
+    this.ring = Optional.of(L);
+
+    // Set the event receiving state
+    currentState = HardwareWalletStates.newConfirmStreamRingSignMessageState();
+
+    // Issue starting message to elicit the event
+    client.ringSignMessageStreamed(
+      L.size(),
+      pi,
+      message
+    );
+  }
+
+  /**
+   * <p>Begin the "stream ring sign message" use case referring to the ring by its digest</p>
+   * <p>If the device already holds the ring from earlier in the session nothing more than the digest is sent,
+   * otherwise the device pulls the ring in chunks exactly as in {@link #beginStreamRingSignMessageUseCase}.</p>
+   *
+   * @param L       The public keys forming the ring (compressed or uncompressed)
+   * @param pi      The index of the device's public key in the ring
+   * @param message The message for signing
+   */
+  public void beginCachedRingSignMessageUseCase(
+    List<byte[]> L,
+    int pi,
+    byte[] message
+  ) {
+
+    log.debug("Begin 'stream ring sign message' use case (cached ring)");
+
+    // Clear relevant information
+    resetAllButFeatures();
+
+    // Track the use case (the device may still ask for the ring)
+    currentUseCase = ContextUseCase.STREAM_RING_SIGN_MESSAGE;
+
+    // Store the overall context parameters
+    this.ring = Optional.of(L);
+
+    // Set the event receiving state
+    currentState = HardwareWalletStates.newConfirmStreamRingSignMessageState();
+
+    // Issue starting message to elicit the event
+    client.ringSignMessageCached(
+      RingSignatureUtils.ringDigest(L),
+      L.size(),
+      pi,
+      message
+    );
+  }
+
   public void beginGetPublicKey65UseCase() {
 	  log.debug("Begin 'get public key 65' use case");
 
@@ -892,6 +1041,23 @@ public class HardwareWalletContext {
 
 	  }
 
+  /**
+   * <p>Continue the "stream ring sign message" use case with the provision of the current PIN</p>
+   *
+   * @param pin The PIN
+   */
+  public void continueStreamRingSignMessage_PIN(String pin) {
+
+    log.debug("Continue 'stream ring sign message' use case (provide PIN)");
+
+    // Set the event receiving state
+    currentState = HardwareWalletStates.newConfirmStreamRingSignMessageState();
+
+    // Issue starting message to elicit the event
+    client.pinMatrixAck(pin);
+
+  }
+
   /**
    * <p>Begin the "cipher key" use case</p>
    *
@@ -241,6 +241,17 @@ public class HardwareWalletStates {
     return new ConfirmRingSignMessageState();
 
   }  
+
+  /**
+   * @return A new confirm stream ring sign message state
+   */
+  public static ConfirmStreamRingSignMessageState newConfirmStreamRingSignMessageState() {
+
+    log.debug("Transitioning to 'confirm stream RingSignMessage' state");
+
+    return new ConfirmStreamRingSignMessageState();
+
+  }
   
   public static ConfirmGetPublicKey65State newConfirmGetPublicKey65State() {
 
@@ -55,6 +55,48 @@ public class MessageRingSignature implements HardwareWalletMessage {
 		return Arrays.copyOf(yty, yty.length);
 	}
 
+	/**
+	 * @return The key image as a 65 byte uncompressed point
+	 *
+	 * @throws IllegalArgumentException If either coordinate of the key image is not at most 32 bytes
+	 */
+	public byte[] getYtilda() {
+		byte[] ytilda = new byte[65];
+		ytilda[0] = 0x04;
+		System.arraycopy(coordinate(ytx, "ytx"), 0, ytilda, 1, 32);
+		System.arraycopy(coordinate(yty, "yty"), 0, ytilda, 33, 32);
+		return ytilda;
+	}
+
+	/**
+	 * @return The key image as a 33 byte compressed point (the parity of y in the prefix)
+	 *
+	 * @throws IllegalArgumentException If either coordinate of the key image is not at most 32 bytes
+	 */
+	public byte[] getCompressedYtilda() {
+		byte[] y = coordinate(yty, "yty");
+		byte[] ytilda = new byte[33];
+		ytilda[0] = (byte) (0x02 | (y[31] & 1));
+		System.arraycopy(coordinate(ytx, "ytx"), 0, ytilda, 1, 32);
+		return ytilda;
+	}
+
+	/**
+	 * @param value A coordinate as sent by the device (leading zero bytes may be missing)
+	 * @param name  The name of the coordinate
+	 *
+	 * @return The coordinate as 32 bytes
+	 */
+	private static byte[] coordinate(byte[] value, String name) {
+		// A compressed point left in ytx by the adapter has no y to go with it
+		if (value.length == 0 || value.length > 32) {
+			throw new IllegalArgumentException("'" + name + "' must be a coordinate of at most 32 bytes but has " + value.length);
+		}
+		byte[] padded = new byte[32];
+		System.arraycopy(value, 0, padded, 32 - value.length, value.length);
+		return padded;
+	}
+
 	@Override
 	public String toString() {
 		ToStringBuilder builder = new ToStringBuilder(this);
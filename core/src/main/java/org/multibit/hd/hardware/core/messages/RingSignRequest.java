@@ -0,0 +1,79 @@
+package org.multibit.hd.hardware.core.messages;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.List;
+
+/**
+ * <p>Value object to provide the following to downstream API consumers:</p>
+ * <ul>
+ * <li>Description of the ring members the device requires for a streamed ring signature</li>
+ * <li>The s values the device has computed since its previous request</li>
+ * </ul>
+ *
+ * <p>This object is typically built from a hardware wallet specific adapter</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class RingSignRequest implements HardwareWalletMessage {
+
+  private final int index;
+  private final int count;
+  private final Optional<Integer> sIndex;
+  private final List<byte[]> s;
+
+  /**
+   * @param index  The index of the first ring member requested
+   * @param count  The number of ring members requested
+   * @param sIndex The ring index of the first s value (absent if no s values are present)
+   * @param s      The s values in ring order
+   */
+  public RingSignRequest(int index, int count, Optional<Integer> sIndex, List<byte[]> s) {
+
+    this.index = index;
+    this.count = count;
+    this.sIndex = sIndex;
+    this.s = ImmutableList.copyOf(s);
+  }
+
+  /**
+   * @return The index of the first ring member requested
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * @return The number of ring members requested
+   */
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * @return The ring index of the first s value
+   */
+  public Optional<Integer> getSIndex() {
+    return sIndex;
+  }
+
+  /**
+   * @return The s values computed since the previous request in ring order (empty during the digest pass)
+   */
+  public List<byte[]> getS() {
+    return s;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this)
+      .append("index", index)
+      .append("count", count)
+      .append("sIndex", sIndex)
+      .append("s", s.size())
+      .toString();
+  }
+}
@@ -0,0 +1,209 @@
+package org.multibit.hd.hardware.core.utils;
+
+import com.google.common.base.Preconditions;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>Utility class to provide the following to applications:</p>
+ * <ul>
+ * <li>The Merkle tree hashes of RFC 6962 (Certificate Transparency) with SHA-256</li>
+ * <li>Verification of inclusion proofs (a vote is in a tree) and consistency proofs (a tree only grew)</li>
+ * </ul>
+ * <p>A leaf hashes as SHA-256(0x00 || data) and a node as SHA-256(0x01 || left || right) so a leaf
+ * can never be passed off as a node. A tree of n leaves splits at the largest power of two below n.</p>
+ * <p>Proofs are built by a {@link org.multibit.hd.hardware.core.MerkleTree} and verified here with
+ * the algorithms of RFC 9162 so anyone holding a published root can check them.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class MerkleTreeUtils {
+
+  /**
+   * The length of a hash
+   */
+  public static final int HASH_LENGTH = 32;
+
+  private static final byte LEAF_PREFIX = 0x00;
+
+  private static final byte NODE_PREFIX = 0x01;
+
+  /**
+   * Utilities have private constructors
+   */
+  private MerkleTreeUtils() {
+  }
+
+  /**
+   * @param data The leaf data
+   *
+   * @return The leaf hash
+   */
+  public static byte[] leafHash(byte[] data) {
+
+    Preconditions.checkNotNull(data, "'data' must be present");
+
+    MessageDigest digest = newDigest();
+    digest.update(LEAF_PREFIX);
+    digest.update(data);
+
+    return digest.digest();
+
+  }
+
+  /**
+   * @param left  The hash of the left subtree
+   * @param right The hash of the right subtree
+   *
+   * @return The node hash
+   */
+  public static byte[] nodeHash(byte[] left, byte[] right) {
+
+    MessageDigest digest = newDigest();
+    digest.update(NODE_PREFIX);
+    digest.update(left);
+    digest.update(right);
+
+    return digest.digest();
+
+  }
+
+  /**
+   * @param n The number of leaves (at least 2)
+   *
+   * @return The number of leaves in the left subtree (the largest power of two less than n)
+   */
+  public static long split(long n) {
+
+    Preconditions.checkArgument(n > 1, "'n' must be greater than one");
+
+    return Long.highestOneBit(n - 1);
+
+  }
+
+  /**
+   * @param leafIndex The index of the leaf
+   * @param treeSize  The number of leaves in the tree
+   * @param leafHash  The hash of the leaf
+   * @param proof     The audit path from the leaf to the root
+   * @param root      The published root of the tree
+   *
+   * @return True if the leaf is in the tree at the index
+   */
+  public static boolean verifyInclusion(long leafIndex, long treeSize, byte[] leafHash, List<byte[]> proof, byte[] root) {
+
+    Preconditions.checkNotNull(leafHash, "'leafHash' must be present");
+    Preconditions.checkNotNull(proof, "'proof' must be present");
+    Preconditions.checkNotNull(root, "'root' must be present");
+
+    if (leafIndex < 0 || leafIndex >= treeSize) {
+      return false;
+    }
+
+    long fn = leafIndex;
+    long sn = treeSize - 1;
+    byte[] r = leafHash;
+
+    for (byte[] p : proof) {
+      if (sn == 0) {
+        return false;
+      }
+      if ((fn & 1) == 1 || fn == sn) {
+        r = nodeHash(p, r);
+        // Skip the levels where this node has no sibling on the right
+        while ((fn & 1) == 0 && fn != 0) {
+          fn >>= 1;
+          sn >>= 1;
+        }
+      } else {
+        r = nodeHash(r, p);
+      }
+      fn >>= 1;
+      sn >>= 1;
+    }
+
+    return sn == 0 && Arrays.equals(r, root);
+
+  }
+
+  /**
+   * @param firstSize  The number of leaves in the earlier tree
+   * @param secondSize The number of leaves in the later tree
+   * @param firstRoot  The published root of the earlier tree
+   * @param secondRoot The published root of the later tree
+   * @param proof      The consistency proof between them
+   *
+   * @return True if the later tree is the earlier tree with leaves appended
+   */
+  public static boolean verifyConsistency(long firstSize, long secondSize, byte[] firstRoot, byte[] secondRoot, List<byte[]> proof) {
+
+    Preconditions.checkNotNull(firstRoot, "'firstRoot' must be present");
+    Preconditions.checkNotNull(secondRoot, "'secondRoot' must be present");
+    Preconditions.checkNotNull(proof, "'proof' must be present");
+
+    if (firstSize <= 0 || firstSize > secondSize) {
+      return false;
+    }
+    if (firstSize == secondSize) {
+      return proof.isEmpty() && Arrays.equals(firstRoot, secondRoot);
+    }
+    if (proof.isEmpty()) {
+      return false;
+    }
+
+    // The earlier root is the first node of the path when the earlier tree is complete
+    int start = 0;
+    byte[] first = proof.get(0);
+    if (Long.bitCount(firstSize) == 1) {
+      first = firstRoot;
+    } else {
+      start = 1;
+    }
+
+    long fn = firstSize - 1;
+    long sn = secondSize - 1;
+    while ((fn & 1) == 1) {
+      fn >>= 1;
+      sn >>= 1;
+    }
+
+    byte[] fr = first;
+    byte[] sr = first;
+    for (int i = start; i < proof.size(); i++) {
+      byte[] c = proof.get(i);
+      if (sn == 0) {
+        return false;
+      }
+      if ((fn & 1) == 1 || fn == sn) {
+        fr = nodeHash(c, fr);
+        sr = nodeHash(c, sr);
+        while ((fn & 1) == 0 && fn != 0) {
+          fn >>= 1;
+          sn >>= 1;
+        }
+      } else {
+        sr = nodeHash(sr, c);
+      }
+      fn >>= 1;
+      sn >>= 1;
+    }
+
+    return sn == 0 && Arrays.equals(fr, firstRoot) && Arrays.equals(sr, secondRoot);
+
+  }
+
+  private static MessageDigest newDigest() {
+
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+
+  }
+
+}
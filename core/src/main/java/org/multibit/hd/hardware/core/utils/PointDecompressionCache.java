@@ -0,0 +1,131 @@
+package org.multibit.hd.hardware.core.utils;
+
+import com.google.common.base.Preconditions;
+import org.bitcoinj.core.ECKey;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Cache to provide the following to applications:</p>
+ * <ul>
+ * <li>Decompression of SEC1 compressed (33 byte) secp256k1 points at most once per point</li>
+ * </ul>
+ * <p>Decompressing a point costs a modular square root which, for a ring of thousands of voters
+ * sent compressed, dominates preparing the ring. The members of a ring are the same for every
+ * vote in an election so the host keeps the uncompressed form of the most recently used points.</p>
+ * <p>Caches are thread safe.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class PointDecompressionCache {
+
+  private final int maxEntries;
+
+  /**
+   * The uncompressed points by compressed point in least recently used order (guarded by itself)
+   */
+  private final Map<ByteBuffer, byte[]> points;
+
+  private long hits = 0;
+
+  private long misses = 0;
+
+  /**
+   * @param maxEntries The number of points to keep
+   */
+  public PointDecompressionCache(final int maxEntries) {
+
+    Preconditions.checkArgument(maxEntries > 0, "'maxEntries' must be greater than zero");
+
+    this.maxEntries = maxEntries;
+    this.points = new LinkedHashMap<ByteBuffer, byte[]>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<ByteBuffer, byte[]> eldest) {
+        return size() > maxEntries;
+      }
+    };
+
+  }
+
+  /**
+   * @param point A compressed (33 byte) or uncompressed (65 byte) point
+   *
+   * @return The uncompressed point (a new array, not checked against the curve when given uncompressed)
+   *
+   * @throws IllegalArgumentException If the point is not on the curve
+   */
+  public byte[] decompress(byte[] point) {
+
+    Preconditions.checkNotNull(point, "'point' must be present");
+
+    if (point.length != RingSignatureUtils.COMPRESSED_POINT_LENGTH) {
+      return Arrays.copyOf(point, point.length);
+    }
+
+    ByteBuffer key = ByteBuffer.wrap(Arrays.copyOf(point, point.length));
+
+    synchronized (points) {
+      byte[] uncompressed = points.get(key);
+      if (uncompressed != null) {
+        hits++;
+        return Arrays.copyOf(uncompressed, uncompressed.length);
+      }
+      misses++;
+    }
+
+    // Decompress outside the lock so other threads are not held up by the square root
+    byte[] uncompressed = ECKey.CURVE.getCurve().decodePoint(point).getEncoded(false);
+
+    synchronized (points) {
+      points.put(key, uncompressed);
+    }
+
+    return Arrays.copyOf(uncompressed, uncompressed.length);
+
+  }
+
+  /**
+   * @return The number of points held
+   */
+  public int size() {
+
+    synchronized (points) {
+      return points.size();
+    }
+
+  }
+
+  /**
+   * @return The maximum number of points held
+   */
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  /**
+   * @return The number of decompressions answered from the cache
+   */
+  public long getHitCount() {
+
+    synchronized (points) {
+      return hits;
+    }
+
+  }
+
+  /**
+   * @return The number of decompressions that needed a square root
+   */
+  public long getMissCount() {
+
+    synchronized (points) {
+      return misses;
+    }
+
+  }
+
+}
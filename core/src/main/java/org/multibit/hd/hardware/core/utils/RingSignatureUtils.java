@@ -0,0 +1,517 @@
+package org.multibit.hd.hardware.core.utils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import org.bitcoinj.core.ECKey;
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+import org.spongycastle.math.ec.ECAlgorithms;
+import org.spongycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>Utility class to provide the following to applications:</p>
+ * <ul>
+ * <li>Linkable spontaneous anonymous group (LSAG) ring signatures over secp256k1</li>
+ * </ul>
+ * <p>The scheme follows Liu, Wei and Wong (2004) with SHA-256 as the hash:</p>
+ * <ul>
+ * <li>Ring keys are 65 byte uncompressed or 33 byte compressed (SEC1) points, scalars are 32 byte big endian values</li>
+ * <li>h = H2(L) maps SHA-256 of the concatenated ring to a curve point by try and increment on the x coordinate</li>
+ * <li>The key image is Yt = x.h for the signer's private key x (identical for every signature by the same key over the same ring)</li>
+ * <li>c(i+1) = H1(L, Yt, m, s(i).G + c(i).Y(i), s(i).h + c(i).Yt) taken modulo the group order</li>
+ * </ul>
+ * <p>The signature is (c0, s0..s(n-1), Yt).</p>
+ * <p>The hashes always consume the uncompressed form of the ring so a signature does not depend on
+ * how the ring travelled. Compressed keys are decompressed through a shared
+ * {@link PointDecompressionCache} so each member costs one square root per process.</p>
+ * <p>To verify many signatures over the same ring use a
+ * {@link org.multibit.hd.hardware.core.RingSignatureVerifier} which keeps the work that depends
+ * only on the ring.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class RingSignatureUtils {
+
+  /**
+   * The length of an encoded scalar
+   */
+  public static final int SCALAR_LENGTH = 32;
+
+  /**
+   * The length of an uncompressed point
+   */
+  public static final int POINT_LENGTH = 65;
+
+  /**
+   * The length of a compressed point
+   */
+  public static final int COMPRESSED_POINT_LENGTH = 33;
+
+  /**
+   * The number of decompressed ring members to keep (about 10MB)
+   */
+  public static final int DECOMPRESSION_CACHE_SIZE = 1 << 16;
+
+  private static final PointDecompressionCache POINTS = new PointDecompressionCache(DECOMPRESSION_CACHE_SIZE);
+
+  private static final BigInteger ORDER = ECKey.CURVE.getN();
+
+  private static final BigInteger FIELD_PRIME = ECKey.CURVE.getCurve().getField().getCharacteristic();
+
+  /**
+   * Utilities have private constructors
+   */
+  private RingSignatureUtils() {
+  }
+
+  /**
+   * <p>Create a ring signature</p>
+   *
+   * @param ring       The public keys forming the ring
+   * @param pi         The index of the signer's public key in the ring
+   * @param privateKey The signer's private key
+   * @param message    The message to sign
+   * @param random     The source of the nonces
+   *
+   * @return The ring signature
+   */
+  public static MessageRingSignature sign(List<byte[]> ring, int pi, BigInteger privateKey, byte[] message, SecureRandom random) {
+
+    Preconditions.checkNotNull(ring, "'ring' must be present");
+    Preconditions.checkElementIndex(pi, ring.size(), "'pi'");
+    Preconditions.checkNotNull(privateKey, "'privateKey' must be present");
+    Preconditions.checkNotNull(message, "'message' must be present");
+
+    int n = ring.size();
+
+    ECPoint[] keys = decodeRing(ring);
+    Preconditions.checkArgument(keys[pi].equals(ECKey.CURVE.getG().multiply(privateKey).normalize()), "'privateKey' does not match the ring at 'pi'");
+
+    MessageDigest ringDigest = newRingDigest(ring);
+    ECPoint h = hashToPoint(ringDigest);
+    ECPoint keyImage = h.multiply(privateKey).normalize();
+
+    MessageDigest prefix = newChallengeDigest(ringDigest, keyImage, message);
+
+    BigInteger[] c = new BigInteger[n];
+    BigInteger[] s = new BigInteger[n];
+
+    BigInteger u = randomScalar(random);
+    c[(pi + 1) % n] = challenge(prefix, ECKey.CURVE.getG().multiply(u), h.multiply(u));
+
+    for (int i = (pi + 1) % n; i != pi; i = (i + 1) % n) {
+      s[i] = randomScalar(random);
+      ECPoint a = ECAlgorithms.sumOfTwoMultiplies(ECKey.CURVE.getG(), s[i], keys[i], c[i]);
+      ECPoint b = ECAlgorithms.sumOfTwoMultiplies(h, s[i], keyImage, c[i]);
+      c[(i + 1) % n] = challenge(prefix, a, b);
+    }
+
+    // Close the ring
+    s[pi] = u.subtract(privateKey.multiply(c[pi])).mod(ORDER);
+
+    List<ByteString> encodedS = Lists.newArrayListWithCapacity(n);
+    for (BigInteger si : s) {
+      encodedS.add(ByteString.copyFrom(encodeScalar(si)));
+    }
+
+    return new MessageRingSignature(
+      encodeScalar(c[0]),
+      encodedS,
+      n,
+      encodeScalar(keyImage.getAffineXCoord().toBigInteger()),
+      encodeScalar(keyImage.getAffineYCoord().toBigInteger())
+    );
+
+  }
+
+  /**
+   * <p>Verify a ring signature by recomputing the ring of challenges</p>
+   *
+   * @param ring      The public keys forming the ring
+   * @param message   The signed message
+   * @param signature The ring signature
+   *
+   * @return True if the signature is valid for the ring and message
+   */
+  public static boolean verify(List<byte[]> ring, byte[] message, MessageRingSignature signature) {
+
+    Preconditions.checkNotNull(ring, "'ring' must be present");
+    Preconditions.checkNotNull(message, "'message' must be present");
+    Preconditions.checkNotNull(signature, "'signature' must be present");
+
+    int n = ring.size();
+    if (n == 0 || signature.getN() != n) {
+      return false;
+    }
+
+    // Reject malformed values before any curve arithmetic
+    BigInteger c0 = new BigInteger(1, signature.getC());
+    if (c0.compareTo(ORDER) >= 0) {
+      return false;
+    }
+
+    byte[][] encodedS = signature.getS();
+    if (encodedS.length != n) {
+      return false;
+    }
+    BigInteger[] s = new BigInteger[n];
+    for (int i = 0; i < n; i++) {
+      s[i] = new BigInteger(1, encodedS[i]);
+      if (s[i].compareTo(ORDER) >= 0) {
+        return false;
+      }
+    }
+
+    ECPoint[] keys;
+    ECPoint keyImage;
+    try {
+      keys = decodeRing(ring);
+      keyImage = decodeKeyImage(signature.getYtx(), signature.getYty());
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+
+    MessageDigest ringDigest = newRingDigest(ring);
+    ECPoint h = hashToPoint(ringDigest);
+    MessageDigest prefix = newChallengeDigest(ringDigest, keyImage, message);
+
+    BigInteger c = c0;
+    for (int i = 0; i < n; i++) {
+      ECPoint a = ECAlgorithms.sumOfTwoMultiplies(ECKey.CURVE.getG(), s[i], keys[i], c);
+      ECPoint b = ECAlgorithms.sumOfTwoMultiplies(h, s[i], keyImage, c);
+      c = challenge(prefix, a, b);
+    }
+
+    return c.equals(c0);
+
+  }
+
+  /**
+   * <p>Map a ring to a curve point with no known discrete logarithm (H2)</p>
+   *
+   * @param ring The public keys forming the ring
+   *
+   * @return The point h
+   */
+  public static ECPoint hashToPoint(List<byte[]> ring) {
+
+    Preconditions.checkNotNull(ring, "'ring' must be present");
+
+    return hashToPoint(newRingDigest(ring));
+
+  }
+
+  /**
+   * <p>Map a ring to a curve point with no known discrete logarithm (H2)</p>
+   *
+   * @param ringDigest A digest over the ring (see {@link #newRingDigest(List)}, not modified)
+   *
+   * @return The point h
+   */
+  public static ECPoint hashToPoint(MessageDigest ringDigest) {
+
+    Preconditions.checkNotNull(ringDigest, "'ringDigest' must be present");
+
+    MessageDigest digest = copy(ringDigest);
+    byte[] seed = digest.digest();
+
+    byte[] encoded = new byte[SCALAR_LENGTH + 1];
+    encoded[0] = 0x02;
+    for (int counter = 0; ; counter++) {
+
+      digest.update(seed);
+      digest.update(new byte[]{(byte) (counter >>> 24), (byte) (counter >>> 16), (byte) (counter >>> 8), (byte) counter});
+      BigInteger x = new BigInteger(1, digest.digest());
+
+      if (x.compareTo(FIELD_PRIME) >= 0) {
+        continue;
+      }
+
+      System.arraycopy(encodeScalar(x), 0, encoded, 1, SCALAR_LENGTH);
+      try {
+        return ECKey.CURVE.getCurve().decodePoint(encoded).normalize();
+      } catch (IllegalArgumentException e) {
+        // Not on the curve (about half of all x values) so try the next
+      }
+    }
+
+  }
+
+  /**
+   * @param ytx The x coordinate of the key image
+   * @param yty The y coordinate of the key image
+   *
+   * @return The key image as a point
+   *
+   * @throws IllegalArgumentException If the coordinates are not on the curve
+   */
+  public static ECPoint decodeKeyImage(byte[] ytx, byte[] yty) {
+
+    byte[] encoded = new byte[POINT_LENGTH];
+    encoded[0] = 0x04;
+    System.arraycopy(encodeScalar(new BigInteger(1, ytx)), 0, encoded, 1, SCALAR_LENGTH);
+    System.arraycopy(encodeScalar(new BigInteger(1, yty)), 0, encoded, 1 + SCALAR_LENGTH, SCALAR_LENGTH);
+
+    return ECKey.CURVE.getCurve().decodePoint(encoded);
+
+  }
+
+  /**
+   * @param point A compressed or uncompressed point
+   *
+   * @return The 33 byte compressed point (a new array)
+   *
+   * @throws IllegalArgumentException If the point is not a SEC1 encoding
+   */
+  public static byte[] compress(byte[] point) {
+
+    Preconditions.checkNotNull(point, "'point' must be present");
+
+    if (point.length == COMPRESSED_POINT_LENGTH && (point[0] == 0x02 || point[0] == 0x03)) {
+      return Arrays.copyOf(point, point.length);
+    }
+    Preconditions.checkArgument(point.length == POINT_LENGTH && point[0] == 0x04, "'point' must be a SEC1 encoding");
+
+    // The prefix carries the parity of y so no field arithmetic is needed
+    byte[] compressed = Arrays.copyOf(point, COMPRESSED_POINT_LENGTH);
+    compressed[0] = (byte) (0x02 | (point[POINT_LENGTH - 1] & 1));
+
+    return compressed;
+
+  }
+
+  /**
+   * @param point A compressed or uncompressed point
+   *
+   * @return The 65 byte uncompressed point (a new array)
+   *
+   * @throws IllegalArgumentException If the point is not on the curve
+   */
+  public static byte[] decompress(byte[] point) {
+
+    return POINTS.decompress(point);
+
+  }
+
+  /**
+   * @param ring The public keys forming the ring
+   *
+   * @return The ring as compressed points (about half the size on the wire)
+   */
+  public static List<byte[]> compressRing(List<byte[]> ring) {
+
+    Preconditions.checkNotNull(ring, "'ring' must be present");
+
+    List<byte[]> compressed = Lists.newArrayListWithCapacity(ring.size());
+    for (byte[] key : ring) {
+      compressed.add(compress(key));
+    }
+
+    return compressed;
+
+  }
+
+  /**
+   * @param value The non-negative value
+   *
+   * @return The value as a 32 byte big endian array
+   */
+  public static byte[] encodeScalar(BigInteger value) {
+
+    byte[] bytes = value.toByteArray();
+    if (bytes.length == SCALAR_LENGTH) {
+      return bytes;
+    }
+
+    byte[] encoded = new byte[SCALAR_LENGTH];
+    if (bytes.length > SCALAR_LENGTH) {
+      // Drop the sign byte
+      System.arraycopy(bytes, bytes.length - SCALAR_LENGTH, encoded, 0, SCALAR_LENGTH);
+    } else {
+      System.arraycopy(bytes, 0, encoded, SCALAR_LENGTH - bytes.length, bytes.length);
+    }
+
+    return encoded;
+
+  }
+
+  /**
+   * @param ring The public keys
+   *
+   * @return The decoded points
+   *
+   * @throws IllegalArgumentException If a key is not on the curve
+   */
+  public static ECPoint[] decodeRing(List<byte[]> ring) {
+
+    ECPoint[] keys = new ECPoint[ring.size()];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = ECKey.CURVE.getCurve().decodePoint(uncompressed(ring.get(i)));
+    }
+
+    return keys;
+
+  }
+
+  /**
+   * @param ring The public keys forming the ring
+   *
+   * @return A SHA-256 digest that has consumed the concatenated uncompressed ring (the start of both H1 and H2)
+   */
+  public static MessageDigest newRingDigest(List<byte[]> ring) {
+
+    MessageDigest digest = newRingDigest();
+    for (byte[] key : ring) {
+      updateRingDigest(digest, key);
+    }
+
+    return digest;
+
+  }
+
+  /**
+   * <p>Start a digest over a ring that arrives a few members at a time</p>
+   *
+   * @return A SHA-256 digest to pass each member to in ring order (see {@link #updateRingDigest(MessageDigest, byte[])})
+   */
+  public static MessageDigest newRingDigest() {
+
+    return newDigest();
+
+  }
+
+  /**
+   * @param ringDigest The digest over the members so far (modified)
+   * @param key        The next member of the ring (compressed or uncompressed)
+   *
+   * @throws IllegalArgumentException If a compressed key is not on the curve
+   */
+  public static void updateRingDigest(MessageDigest ringDigest, byte[] key) {
+
+    ringDigest.update(uncompressed(key));
+
+  }
+
+  /**
+   * <p>Identify a ring regardless of how its keys are encoded (e.g. to reference a ring a device already holds)</p>
+   *
+   * @param ring The public keys forming the ring
+   *
+   * @return The SHA-256 of the concatenated uncompressed ring
+   */
+  public static byte[] ringDigest(List<byte[]> ring) {
+
+    Preconditions.checkNotNull(ring, "'ring' must be present");
+
+    return newRingDigest(ring).digest();
+
+  }
+
+  /**
+   * @param ringDigest A digest over the ring (not modified)
+   *
+   * @return The SHA-256 of the concatenated uncompressed ring
+   */
+  public static byte[] ringDigest(MessageDigest ringDigest) {
+
+    Preconditions.checkNotNull(ringDigest, "'ringDigest' must be present");
+
+    return copy(ringDigest).digest();
+
+  }
+
+  /**
+   * @param ringDigest A digest over the ring (not modified)
+   * @param keyImage   The key image
+   * @param message    The message
+   *
+   * @return A digest over the parts of H1 that are the same at every step of the ring
+   */
+  public static MessageDigest newChallengeDigest(MessageDigest ringDigest, ECPoint keyImage, byte[] message) {
+
+    MessageDigest digest = copy(ringDigest);
+    digest.update(keyImage.getEncoded(false));
+    digest.update(message);
+
+    return digest;
+
+  }
+
+  /**
+   * @param prefix The digest over the ring, key image and message (not modified)
+   * @param a      The first commitment
+   * @param b      The second commitment
+   *
+   * @return The challenge H1 modulo the group order
+   */
+  public static BigInteger challenge(MessageDigest prefix, ECPoint a, ECPoint b) {
+
+    MessageDigest digest = copy(prefix);
+    digest.update(a.normalize().getEncoded(false));
+    digest.update(b.normalize().getEncoded(false));
+
+    return new BigInteger(1, digest.digest()).mod(ORDER);
+
+  }
+
+  /**
+   * @param key A ring member
+   *
+   * @return The key itself unless it is compressed
+   */
+  private static byte[] uncompressed(byte[] key) {
+
+    return key.length == COMPRESSED_POINT_LENGTH ? POINTS.decompress(key) : key;
+
+  }
+
+  /**
+   * @param random The source of randomness
+   *
+   * @return A scalar in [1, n)
+   */
+  public static BigInteger randomScalar(SecureRandom random) {
+
+    BigInteger value;
+    do {
+      value = new BigInteger(ORDER.bitLength(), random);
+    } while (value.signum() == 0 || value.compareTo(ORDER) >= 0);
+
+    return value;
+
+  }
+
+  /**
+   * @param digest The digest to copy (not modified)
+   *
+   * @return An independent digest in the same state
+   */
+  private static MessageDigest copy(MessageDigest digest) {
+
+    try {
+      return (MessageDigest) digest.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException("SHA-256 digest cannot be cloned", e);
+    }
+
+  }
+
+  private static MessageDigest newDigest() {
+
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+
+  }
+
+}
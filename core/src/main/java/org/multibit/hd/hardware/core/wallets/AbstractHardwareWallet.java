@@ -1,7 +1,14 @@
 package org.multibit.hd.hardware.core.wallets;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.protobuf.Message;
 import org.multibit.hd.hardware.core.HardwareWalletSpecification;
+import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.events.MessageEventMailbox;
+import org.multibit.hd.hardware.core.events.MessageEventType;
+import org.multibit.hd.hardware.core.events.MessageEvents;
+import org.multibit.hd.hardware.core.messages.HardwareWalletMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,6 +27,11 @@ public abstract class AbstractHardwareWallet implements HardwareWallet {
 
   protected HardwareWalletSpecification specification;
 
+  /**
+   * Correlates device responses with the requests awaiting them
+   */
+  private final MessageEventMailbox mailbox = new MessageEventMailbox();
+
   @Override
   public void applySpecification(HardwareWalletSpecification specification) {
 
@@ -50,4 +62,39 @@ public abstract class AbstractHardwareWallet implements HardwareWallet {
     return specification;
   }
 
+  /**
+   * @return The mailbox receiving every event read from this device
+   */
+  public MessageEventMailbox getMailbox() {
+    return mailbox;
+  }
+
+  /**
+   * <p>Deliver an event read from the device to any caller awaiting it and then to the event bus</p>
+   *
+   * @param event The message event
+   */
+  protected void fireMessageEvent(MessageEvent event) {
+
+    mailbox.offer(event);
+    MessageEvents.fireMessageEvent(event);
+
+  }
+
+  /**
+   * <p>Deliver a device status change to any caller awaiting a response and then to the event bus</p>
+   *
+   * @param messageEventType The message type (e.g. DEVICE_DETACHED)
+   */
+  protected void fireMessageEvent(MessageEventType messageEventType) {
+
+    fireMessageEvent(
+      new MessageEvent(
+        messageEventType,
+        Optional.<HardwareWalletMessage>absent(),
+        Optional.<Message>absent(),
+        name()));
+
+  }
+
 }
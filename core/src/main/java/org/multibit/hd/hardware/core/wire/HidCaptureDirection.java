@@ -0,0 +1,27 @@
+package org.multibit.hd.hardware.core.wire;
+
+/**
+ * <p>Enum to provide the following to HID captures:</p>
+ * <ul>
+ * <li>The direction of a recorded HID report relative to the host</li>
+ * </ul>
+ *
+ * @since 0.0.1
+ *
+ */
+public enum HidCaptureDirection {
+
+  /**
+   * Read from the device
+   */
+  READ,
+
+  /**
+   * Written to the device
+   */
+  WRITE,
+
+  // End of enum
+  ;
+
+}
@@ -0,0 +1,130 @@
+package org.multibit.hd.hardware.core.wire;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * <p>Reader to provide the following to HID replay:</p>
+ * <ul>
+ * <li>Decoding of a capture written by {@link HidCaptureRecorder}</li>
+ * </ul>
+ *
+ * @since 0.0.1
+ *
+ */
+public class HidCaptureReader {
+
+  /**
+   * Utilities have private constructors
+   */
+  private HidCaptureReader() {
+  }
+
+  /**
+   * @param file The capture file
+   *
+   * @return The records in the order they were captured
+   *
+   * @throws IOException If the file cannot be read or is not a capture
+   */
+  public static List<HidCaptureRecord> read(File file) throws IOException {
+
+    Preconditions.checkNotNull(file, "'file' must be present");
+
+    try (InputStream in = new FileInputStream(file)) {
+      return read(in);
+    }
+
+  }
+
+  /**
+   * @param inputStream The capture (not closed)
+   *
+   * @return The records in the order they were captured
+   *
+   * @throws IOException If the stream cannot be read or is not a capture
+   */
+  public static List<HidCaptureRecord> read(InputStream inputStream) throws IOException {
+
+    Preconditions.checkNotNull(inputStream, "'inputStream' must be present");
+
+    DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+
+    if (in.readInt() != HidCaptureRecorder.MAGIC) {
+      throw new IOException("Not a HID capture");
+    }
+    int version = in.readUnsignedByte();
+    if (version != HidCaptureRecorder.VERSION) {
+      throw new IOException("Unsupported HID capture version: " + version);
+    }
+    int packetLength = in.readUnsignedShort();
+    // Start time is informational only
+    in.readLong();
+
+    HidCaptureDirection[] directions = HidCaptureDirection.values();
+
+    ImmutableList.Builder<HidCaptureRecord> records = ImmutableList.builder();
+    long timestamp = 0;
+    while (true) {
+
+      int direction = in.read();
+      if (direction == -1) {
+        // End of capture
+        break;
+      }
+      if (direction >= directions.length) {
+        throw new IOException("Unknown direction: " + direction);
+      }
+
+      timestamp += readVarint(in);
+
+      int length = in.readUnsignedByte();
+      if (length > packetLength) {
+        throw new IOException("Report length " + length + " exceeds " + packetLength);
+      }
+
+      byte[] packet = new byte[length];
+      in.readFully(packet);
+
+      records.add(new HidCaptureRecord(directions[direction], timestamp, packet));
+    }
+
+    return records.build();
+
+  }
+
+  /**
+   * @param in The stream positioned at an unsigned varint
+   *
+   * @return The value
+   *
+   * @throws IOException If the stream ends part way through the value
+   */
+  private static long readVarint(DataInputStream in) throws IOException {
+
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.read();
+      if (b == -1) {
+        throw new EOFException("Truncated HID capture");
+      }
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+
+    throw new IOException("Malformed varint");
+
+  }
+
+}
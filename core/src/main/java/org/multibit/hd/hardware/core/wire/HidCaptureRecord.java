@@ -0,0 +1,111 @@
+package org.multibit.hd.hardware.core.wire;
+
+import com.google.common.base.Preconditions;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Arrays;
+
+/**
+ * <p>Value object to provide the following to HID replay:</p>
+ * <ul>
+ * <li>A single HID report read from a capture</li>
+ * </ul>
+ *
+ * @since 0.0.1
+ *
+ */
+public class HidCaptureRecord {
+
+  private final HidCaptureDirection direction;
+
+  private final long timestampNanos;
+
+  private final byte[] packet;
+
+  /**
+   * @param direction      The direction of the report
+   * @param timestampNanos The time since the capture started in nanoseconds
+   * @param packet         The report bytes (only those received are present)
+   */
+  public HidCaptureRecord(HidCaptureDirection direction, long timestampNanos, byte[] packet) {
+
+    Preconditions.checkNotNull(direction, "'direction' must be present");
+    Preconditions.checkNotNull(packet, "'packet' must be present");
+
+    this.direction = direction;
+    this.timestampNanos = timestampNanos;
+    this.packet = Arrays.copyOf(packet, packet.length);
+
+  }
+
+  /**
+   * @return The direction of the report
+   */
+  public HidCaptureDirection getDirection() {
+    return direction;
+  }
+
+  /**
+   * @return The time since the capture started in nanoseconds
+   */
+  public long getTimestampNanos() {
+    return timestampNanos;
+  }
+
+  /**
+   * @return A copy of the report bytes
+   */
+  public byte[] getPacket() {
+    return Arrays.copyOf(packet, packet.length);
+  }
+
+  /**
+   * @return The number of report bytes
+   */
+  public int getLength() {
+    return packet.length;
+  }
+
+  /**
+   * <p>Copy the report into a buffer without allocating</p>
+   *
+   * @param buffer The buffer (at least {@link #getLength()} bytes)
+   *
+   * @return The number of bytes copied
+   */
+  public int copyTo(byte[] buffer) {
+
+    System.arraycopy(packet, 0, buffer, 0, packet.length);
+
+    return packet.length;
+  }
+
+  /**
+   * @param buffer The buffer holding a report
+   * @param length The number of bytes to compare
+   *
+   * @return True if the report matches the buffer
+   */
+  public boolean matches(byte[] buffer, int length) {
+
+    if (length != packet.length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (packet[i] != buffer[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this)
+      .append("direction", direction)
+      .append("timestampNanos", timestampNanos)
+      .append("length", packet.length)
+      .toString();
+  }
+}
@@ -0,0 +1,290 @@
+package org.multibit.hd.hardware.core.wire;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import org.multibit.commons.concurrent.SafeExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Recorder to provide the following to hardware wallets:</p>
+ * <ul>
+ * <li>Capture of timestamped HID reports in both directions to a compact binary file</li>
+ * <li>Negligible overhead on the device threads through a preallocated ring buffer</li>
+ * </ul>
+ * <p>Recording copies the report into a free slot and returns. A background thread drains the
+ * slots to the stream so the device threads never wait for I/O. If the ring fills faster than
+ * it drains the report is counted as dropped rather than slowing the device.</p>
+ * <p>The format is a header (magic "HCAP", version, report length, start time in epoch
+ * milliseconds) followed by one record per report: the direction, the time since the previous
+ * record in nanoseconds as an unsigned varint, the length and the report bytes. See
+ * {@link HidCaptureReader}.</p>
+ * <p>Captures contain everything sent to and from the device so treat them as sensitive.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class HidCaptureRecorder implements Closeable {
+
+  private static final Logger log = LoggerFactory.getLogger(HidCaptureRecorder.class);
+
+  /**
+   * "HCAP" in ASCII
+   */
+  public static final int MAGIC = 0x48434150;
+
+  public static final int VERSION = 1;
+
+  /**
+   * Enough for several seconds of continuous traffic between drains
+   */
+  public static final int DEFAULT_SLOTS = 4096;
+
+  /**
+   * The interval between drains of the ring buffer
+   */
+  private static final long DRAIN_INTERVAL_MILLIS = 50;
+
+  private static final int PACKET_LENGTH = HidPacketReassembler.PACKET_LENGTH;
+
+  private final int slots;
+
+  /**
+   * The report bytes of every slot laid out contiguously
+   */
+  private final byte[] packets;
+
+  private final int[] lengths;
+
+  private final byte[] directions;
+
+  private final long[] timestamps;
+
+  /**
+   * The next slot to drain (guarded by this)
+   */
+  private long head = 0;
+
+  /**
+   * The next slot to fill (guarded by this)
+   */
+  private long tail = 0;
+
+  private long dropped = 0;
+
+  private boolean closed = false;
+
+  /**
+   * The timestamp of the last drained record (drain thread only)
+   */
+  private long lastTimestamp;
+
+  /**
+   * Varint scratch buffer (drain thread only)
+   */
+  private final byte[] varint = new byte[10];
+
+  private final long startNanos;
+
+  private final DataOutputStream out;
+
+  private final ListeningScheduledExecutorService drainService;
+
+  /**
+   * @param file The capture file (overwritten)
+   *
+   * @throws IOException If the file cannot be created
+   */
+  public HidCaptureRecorder(File file) throws IOException {
+    this(new FileOutputStream(file), DEFAULT_SLOTS);
+  }
+
+  /**
+   * @param outputStream The destination of the capture (closed with the recorder)
+   * @param slots        The number of reports the ring buffer holds between drains
+   *
+   * @throws IOException If the header cannot be written
+   */
+  public HidCaptureRecorder(OutputStream outputStream, int slots) throws IOException {
+
+    Preconditions.checkNotNull(outputStream, "'outputStream' must be present");
+    Preconditions.checkArgument(slots > 0, "'slots' must be positive");
+
+    this.slots = slots;
+    this.packets = new byte[slots * PACKET_LENGTH];
+    this.lengths = new int[slots];
+    this.directions = new byte[slots];
+    this.timestamps = new long[slots];
+
+    this.out = new DataOutputStream(new BufferedOutputStream(outputStream));
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+    out.writeShort(PACKET_LENGTH);
+    out.writeLong(System.currentTimeMillis());
+
+    this.startNanos = System.nanoTime();
+    this.lastTimestamp = 0;
+
+    drainService = SafeExecutors.newSingleThreadScheduledExecutor("hid-capture");
+    drainService.scheduleWithFixedDelay(
+      new Runnable() {
+        @Override
+        public void run() {
+          try {
+            drain();
+          } catch (IOException e) {
+            log.error("Failed to write HID capture", e);
+          }
+        }
+      }, DRAIN_INTERVAL_MILLIS, DRAIN_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+  }
+
+  /**
+   * <p>Record a HID report</p>
+   *
+   * @param direction The direction of the report
+   * @param packet    The report buffer (copied so it may be reused straight away)
+   * @param length    The number of bytes in the report
+   *
+   * @return False if the report was dropped
+   */
+  public boolean record(HidCaptureDirection direction, byte[] packet, int length) {
+
+    long now = System.nanoTime();
+
+    synchronized (this) {
+
+      if (closed) {
+        return false;
+      }
+
+      if (tail - head == slots) {
+        dropped++;
+        return false;
+      }
+
+      int slot = (int) (tail % slots);
+      int copied = Math.min(length, PACKET_LENGTH);
+      System.arraycopy(packet, 0, packets, slot * PACKET_LENGTH, copied);
+      lengths[slot] = copied;
+      directions[slot] = (byte) direction.ordinal();
+      timestamps[slot] = now - startNanos;
+      tail++;
+
+    }
+
+    return true;
+
+  }
+
+  /**
+   * @return The number of reports dropped because the ring buffer was full
+   */
+  public synchronized long getDropped() {
+    return dropped;
+  }
+
+  /**
+   * <p>Stop recording and write any remaining reports</p>
+   *
+   * @throws IOException If the capture cannot be written
+   */
+  @Override
+  public void close() throws IOException {
+
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    }
+
+    drainService.shutdown();
+    try {
+      drainService.awaitTermination(1, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    drain();
+    out.close();
+
+    if (dropped > 0) {
+      log.warn("HID capture dropped {} reports", dropped);
+    }
+
+  }
+
+  /**
+   * <p>Write the filled slots to the stream</p>
+   * <p>Producers cannot overwrite a slot until the head passes it so the copy happens outside the lock</p>
+   *
+   * @throws IOException If the capture cannot be written
+   */
+  private void drain() throws IOException {
+
+    long from;
+    long to;
+    synchronized (this) {
+      from = head;
+      to = tail;
+    }
+
+    if (from == to) {
+      return;
+    }
+
+    // Only one drain may run at a time
+    synchronized (out) {
+
+      for (long position = from; position < to; position++) {
+
+        int slot = (int) (position % slots);
+
+        out.writeByte(directions[slot]);
+        writeVarint(timestamps[slot] - lastTimestamp);
+        out.writeByte(lengths[slot]);
+        out.write(packets, slot * PACKET_LENGTH, lengths[slot]);
+
+        lastTimestamp = timestamps[slot];
+
+      }
+      out.flush();
+
+    }
+
+    synchronized (this) {
+      head = to;
+    }
+
+  }
+
+  /**
+   * @param value The unsigned value to write in 7 bit groups (least significant first)
+   *
+   * @throws IOException If the capture cannot be written
+   */
+  private void writeVarint(long value) throws IOException {
+
+    int length = 0;
+    while ((value & ~0x7FL) != 0) {
+      varint[length++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    varint[length++] = (byte) value;
+
+    out.write(varint, 0, length);
+
+  }
+
+}
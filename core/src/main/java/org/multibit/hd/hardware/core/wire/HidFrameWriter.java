@@ -0,0 +1,196 @@
+package org.multibit.hd.hardware.core.wire;
+
+import com.google.common.base.Preconditions;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * <p>Framer to provide the following to hardware wallets:</p>
+ * <ul>
+ * <li>Streaming of the "##" header and the protobuf message into HID reports as they fill</li>
+ * </ul>
+ * <p>Messages are never assembled in an intermediate buffer so there is no upper
+ * bound on their size beyond what the device will accept.</p>
+ * <p>The protobuf message is serialized through a single {@link CodedOutputStream}
+ * sized to one report payload and drained straight into a reusable report buffer,
+ * so a long running writer does not allocate per message or per report. If the sink fails
+ * part way through a message the partial report and anything the coded output stream still
+ * holds are discarded so the next message starts with a clean frame.</p>
+ * <p>Instances are not thread safe.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class HidFrameWriter {
+
+  private static final Logger log = LoggerFactory.getLogger(HidFrameWriter.class);
+
+  /**
+   * The payload available in each report after the '?' marker
+   */
+  public static final int PAYLOAD_LENGTH = HidPacketReassembler.PACKET_LENGTH - 1;
+
+  private final HidPacketSink sink;
+
+  private final byte[] packet = new byte[HidPacketReassembler.PACKET_LENGTH];
+
+  private final FrameOutputStream frameOutputStream = new FrameOutputStream();
+
+  /**
+   * Reused for every message since it is flushed at the end of each one (replaced after a failure)
+   */
+  private CodedOutputStream codedOutputStream = newCodedOutputStream();
+
+  private int position = 1;
+  private int packetCount = 0;
+
+  /**
+   * @param sink The sink to receive each report as it fills
+   */
+  public HidFrameWriter(HidPacketSink sink) {
+
+    Preconditions.checkNotNull(sink, "'sink' must be present");
+
+    this.sink = sink;
+
+  }
+
+  /**
+   * <p>Write the message as a sequence of HID reports</p>
+   *
+   * @param messageType The wire message type
+   * @param message     The protobuf message
+   *
+   * @return The number of reports written
+   *
+   * @throws IOException If the sink fails
+   */
+  public int write(int messageType, Message message) throws IOException {
+
+    Preconditions.checkNotNull(message, "'message' must be present");
+
+    position = 1;
+    packetCount = 0;
+
+    try {
+      writeFrame(messageType, message);
+    } catch (IOException | RuntimeException e) {
+      // Drop the bytes of the failed message still buffered for the sink
+      codedOutputStream = newCodedOutputStream();
+      position = 1;
+      throw e;
+    }
+
+    return packetCount;
+
+  }
+
+  /**
+   * @param messageType The wire message type
+   * @param message     The protobuf message
+   *
+   * @throws IOException If the sink fails
+   */
+  private void writeFrame(int messageType, Message message) throws IOException {
+
+    int msgSize = message.getSerializedSize();
+
+    // Marker bytes
+    codedOutputStream.writeRawByte('#');
+    codedOutputStream.writeRawByte('#');
+
+    // Header code
+    codedOutputStream.writeRawByte((messageType >> 8) & 0xFF);
+    codedOutputStream.writeRawByte(messageType & 0xFF);
+
+    // Message size
+    codedOutputStream.writeRawByte((msgSize >> 24) & 0xFF);
+    codedOutputStream.writeRawByte((msgSize >> 16) & 0xFF);
+    codedOutputStream.writeRawByte((msgSize >> 8) & 0xFF);
+    codedOutputStream.writeRawByte(msgSize & 0xFF);
+
+    // Message payload
+    message.writeTo(codedOutputStream);
+    codedOutputStream.flush();
+
+    // Packet padding
+    if (position > 1) {
+      Arrays.fill(packet, position, packet.length, (byte) 0);
+      flushPacket();
+    }
+
+  }
+
+  /**
+   * @return A coded output stream draining into the reports
+   */
+  private CodedOutputStream newCodedOutputStream() {
+    return CodedOutputStream.newInstance(frameOutputStream, PAYLOAD_LENGTH);
+  }
+
+  /**
+   * <p>Write the current report to the sink</p>
+   *
+   * @throws IOException If the sink fails
+   */
+  private void flushPacket() throws IOException {
+
+    packet[0] = 63; // Length
+
+    if (log.isTraceEnabled()) {
+      // Describe the packet
+      StringBuilder s = new StringBuilder("Packet [").append(packetCount).append("]: ");
+      for (byte b : packet) {
+        s.append(String.format(" %02x", b));
+      }
+
+      // There is a security risk to raising this logging level beyond trace
+      log.trace("> {}", s);
+    }
+
+    sink.write(packet);
+
+    packetCount++;
+    position = 1;
+
+  }
+
+  /**
+   * Adapts the framer so the coded output stream drains directly into the reports
+   */
+  private class FrameOutputStream extends OutputStream {
+
+    @Override
+    public void write(int b) throws IOException {
+
+      packet[position++] = (byte) b;
+      if (position == packet.length) {
+        flushPacket();
+      }
+
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+
+      while (len > 0) {
+        int chunk = Math.min(len, packet.length - position);
+        System.arraycopy(b, off, packet, position, chunk);
+        position += chunk;
+        off += chunk;
+        len -= chunk;
+        if (position == packet.length) {
+          flushPacket();
+        }
+      }
+
+    }
+  }
+
+}
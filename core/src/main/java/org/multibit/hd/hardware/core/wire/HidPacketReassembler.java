@@ -0,0 +1,252 @@
+package org.multibit.hd.hardware.core.wire;
+
+import com.google.common.base.Preconditions;
+import com.google.protobuf.CodedInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * <p>Reassembler to provide the following to hardware wallets:</p>
+ * <ul>
+ * <li>Synchronisation on the "?##" header of the first HID report of a message</li>
+ * <li>Reassembly of the protobuf payload spread over the continuation reports</li>
+ * <li>A view of the payload for the protobuf parser without further copying</li>
+ * </ul>
+ * <p>Each device should own a single instance. The report and payload buffers are reused
+ * for every message so the steady state read path does not allocate. The payload buffer
+ * only grows when a message declares a size larger than anything seen before.</p>
+ * <p>Instances are not thread safe and the payload is only valid until the next read.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class HidPacketReassembler {
+
+  private static final Logger log = LoggerFactory.getLogger(HidPacketReassembler.class);
+
+  /**
+   * HID reports are always 64 bytes with the first byte acting as a marker ('?' is ASCII 63)
+   */
+  public static final int PACKET_LENGTH = 64;
+
+  /**
+   * The report marker followed by the "##" header, the 2 byte message type and the 4 byte message size
+   */
+  private static final int HEADER_LENGTH = 9;
+
+  /**
+   * Large enough for the majority of messages without growing
+   */
+  private static final int DEFAULT_CAPACITY = 1024;
+
+  private final byte[] packet = new byte[PACKET_LENGTH];
+
+  private byte[] payload;
+
+  private int messageType = -1;
+  private int messageSize = 0;
+  private int position = 0;
+
+  /**
+   * Create a reassembler with the default payload capacity
+   */
+  public HidPacketReassembler() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param initialCapacity The initial payload capacity in bytes (grows on demand)
+   */
+  public HidPacketReassembler(int initialCapacity) {
+
+    Preconditions.checkArgument(initialCapacity > 0, "'initialCapacity' must be positive");
+
+    this.payload = new byte[initialCapacity];
+
+  }
+
+  /**
+   * <p>Read HID reports from the source until a complete message is available</p>
+   *
+   * @param source        The packet source
+   * @param timeoutMillis The time to wait for the first report in milliseconds (0 to block)
+   *
+   * @return The number of bytes received in the final report: -1 for a device failure, 0 for a timeout (including part way through a message, which is discarded) otherwise a complete message is available
+   *
+   * @throws IOException If the source fails
+   */
+  public int read(HidPacketSource source, int timeoutMillis) throws IOException {
+
+    Preconditions.checkNotNull(source, "'source' must be present");
+
+    reset();
+
+    int received;
+
+    // Keep reading until synchronized on "##"
+    for (; ; ) {
+
+      // Check for timeout against the read operation
+      // This allows the executing thread to terminate in a timely manner without
+      // a response from the device
+      received = source.read(packet, timeoutMillis);
+
+      if (received <= 0) {
+        // Hardware problem or timeout
+        return received;
+      }
+
+      // There is a security risk to raising this logging level beyond trace
+      logPacket("<", 0, received);
+
+      if (received < HEADER_LENGTH) {
+        continue;
+      }
+
+      // Synchronize the buffer on start of new message ('?' is ASCII 63)
+      if (packet[0] != (byte) '?' || packet[1] != (byte) '#' || packet[2] != (byte) '#') {
+        // Reject packet
+        log.debug("Rejecting message (not synchronized)");
+        continue;
+      }
+
+      // Evaluate the header information (short, int)
+      int type = ((packet[3] & 0xFF) << 8) + (packet[4] & 0xFF);
+      int size = ((packet[5] & 0xFF) << 24) + ((packet[6] & 0xFF) << 16) + ((packet[7] & 0xFF) << 8) + (packet[8] & 0xFF);
+
+      if (size < 0) {
+        log.warn("< Malformed message size. Ignoring.");
+        continue;
+      }
+
+      messageType = type;
+      messageSize = size;
+
+      // Treat remainder of packet as the protobuf message payload
+      append(HEADER_LENGTH);
+
+      break;
+    }
+
+    if (log.isTraceEnabled()) {
+      // There is a security risk to raising this logging level beyond trace
+      log.trace("< Type: '{}' Message size: '{}' bytes", messageType, messageSize);
+    }
+
+    int count = 0;
+    while (position < messageSize) {
+
+      received = source.read(packet, 0);
+      count++;
+
+      if (received <= 0) {
+        // Hardware problem or a source giving up part way through a message (the report holds nothing new)
+        reset();
+        return received;
+      }
+
+      // There is a security risk to raising this logging level beyond trace
+      logPacket("<", count, received);
+
+      if (packet[0] != (byte) '?') {
+        log.warn("< Malformed packet length. Expected: '3f' Actual: '{}'. Ignoring.", String.format("%02x", packet[0]));
+        continue;
+      }
+
+      // Append the packet payload to the message buffer
+      append(1);
+    }
+
+    log.debug("Packet complete");
+
+    return received;
+
+  }
+
+  /**
+   * @return The wire message type from the header of the last complete message (-1 if none)
+   */
+  public int getMessageType() {
+    return messageType;
+  }
+
+  /**
+   * @return The size of the last complete message payload in bytes
+   */
+  public int getMessageSize() {
+    return messageSize;
+  }
+
+  /**
+   * @return The backing payload array (only the first {@link #getMessageSize()} bytes are valid)
+   */
+  public byte[] getPayload() {
+    return payload;
+  }
+
+  /**
+   * @return A coded input stream reading the last complete message payload directly from the backing array
+   */
+  public CodedInputStream newCodedInputStream() {
+    return CodedInputStream.newInstance(payload, 0, messageSize);
+  }
+
+  /**
+   * <p>Discard any partially assembled message</p>
+   */
+  public void reset() {
+
+    messageType = -1;
+    messageSize = 0;
+    position = 0;
+
+  }
+
+  /**
+   * @param offset The offset into the current report where the payload starts
+   */
+  private void append(int offset) {
+
+    int length = PACKET_LENGTH - offset;
+
+    if (position + length > payload.length) {
+      // Grow geometrically so a series of large messages settles quickly
+      byte[] grown = new byte[Math.max(position + length, payload.length * 2)];
+      System.arraycopy(payload, 0, grown, 0, position);
+      payload = grown;
+      log.debug("Payload buffer grown to {} bytes", payload.length);
+    }
+
+    System.arraycopy(packet, offset, payload, position, length);
+    position += length;
+
+  }
+
+  /**
+   * @param prefix   The logging prefix (usually ">" for write and "<" for read)
+   * @param count    The packet count
+   * @param received The number of bytes received
+   */
+  private void logPacket(String prefix, int count, int received) {
+
+    // Only do work if required
+    // There is a security issue to revealing this information for certain packets
+    // so be cautious in raising it in Production
+    if (log.isTraceEnabled()) {
+      StringBuilder s = new StringBuilder(prefix)
+        .append(" Packet [")
+        .append(count)
+        .append("] (")
+        .append(received)
+        .append(" bytes):");
+      for (byte b : packet) {
+        s.append(String.format(" %02x", b));
+      }
+      log.trace("{}", s);
+    }
+
+  }
+
+}
@@ -0,0 +1,25 @@
+package org.multibit.hd.hardware.core.wire;
+
+import java.io.IOException;
+
+/**
+ * <p>Interface to provide the following to the {@link HidFrameWriter}:</p>
+ * <ul>
+ * <li>Access to a transport accepting fixed length HID reports (USB, socket etc)</li>
+ * </ul>
+ *
+ * @since 0.0.1
+ *
+ */
+public interface HidPacketSink {
+
+  /**
+   * <p>Write a single HID report</p>
+   *
+   * @param packet The report to write (always {@link HidPacketReassembler#PACKET_LENGTH} bytes and reused by the writer once this returns)
+   *
+   * @throws IOException If the underlying transport fails
+   */
+  void write(byte[] packet) throws IOException;
+
+}
@@ -0,0 +1,28 @@
+package org.multibit.hd.hardware.core.wire;
+
+import java.io.IOException;
+
+/**
+ * <p>Interface to provide the following to the {@link HidPacketReassembler}:</p>
+ * <ul>
+ * <li>Access to a transport delivering fixed length HID reports (USB, socket, capture file etc)</li>
+ * </ul>
+ *
+ * @since 0.0.1
+ *
+ */
+public interface HidPacketSource {
+
+  /**
+   * <p>Read a single HID report into the given buffer</p>
+   *
+   * @param packet        The buffer to fill (always {@link HidPacketReassembler#PACKET_LENGTH} bytes and owned by the caller)
+   * @param timeoutMillis The maximum time to wait for a report in milliseconds (0 to block until one arrives)
+   *
+   * @return The number of bytes received, 0 for a timeout or -1 for a device failure
+   *
+   * @throws IOException If the underlying transport fails
+   */
+  int read(byte[] packet, int timeoutMillis) throws IOException;
+
+}
@@ -0,0 +1,52 @@
+package org.multibit.hd.hardware.core.wire;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * <p>Packet source to provide the following to the {@link HidPacketReassembler}:</p>
+ * <ul>
+ * <li>HID reports read from a stream (e.g. a relay socket)</li>
+ * </ul>
+ * <p>Streams do not preserve report boundaries so each read blocks until a full report is available.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class InputStreamPacketSource implements HidPacketSource {
+
+  private final InputStream in;
+
+  /**
+   * @param in The input stream containing HID reports (must be open)
+   */
+  public InputStreamPacketSource(InputStream in) {
+
+    Preconditions.checkNotNull(in, "'in' must be present");
+
+    this.in = in;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>The timeout is ignored since streams block</p>
+   */
+  @Override
+  public int read(byte[] packet, int timeoutMillis) throws IOException {
+
+    int total = 0;
+    while (total < packet.length) {
+      int received = in.read(packet, total, packet.length - total);
+      if (received == -1) {
+        // End of stream
+        return -1;
+      }
+      total += received;
+    }
+
+    return total;
+  }
+
+}
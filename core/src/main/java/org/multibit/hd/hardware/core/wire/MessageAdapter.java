@@ -0,0 +1,26 @@
+package org.multibit.hd.hardware.core.wire;
+
+import com.google.protobuf.Message;
+import org.multibit.hd.hardware.core.messages.HardwareWalletMessage;
+
+/**
+ * <p>Interface to provide the following to a {@link WireMessageRegistry}:</p>
+ * <ul>
+ * <li>Adaptation of a device specific protobuf message into a Core message</li>
+ * </ul>
+ *
+ * @param <T> The protobuf message type
+ *
+ * @since 0.0.1
+ *
+ */
+public interface MessageAdapter<T extends Message> {
+
+  /**
+   * @param message The protobuf message from the wire
+   *
+   * @return The adapted Core message
+   */
+  HardwareWalletMessage adapt(T message);
+
+}
@@ -0,0 +1,41 @@
+package org.multibit.hd.hardware.core.wire;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * <p>Packet sink to provide the following to the {@link HidFrameWriter}:</p>
+ * <ul>
+ * <li>HID reports written to a stream (e.g. a relay socket)</li>
+ * </ul>
+ *
+ * @since 0.0.1
+ *
+ */
+public class OutputStreamPacketSink implements HidPacketSink {
+
+  private final OutputStream out;
+
+  /**
+   * @param out The output stream to receive HID reports (must be open)
+   */
+  public OutputStreamPacketSink(OutputStream out) {
+
+    Preconditions.checkNotNull(out, "'out' must be present");
+
+    this.out = out;
+  }
+
+  @Override
+  public void write(byte[] packet) throws IOException {
+
+    out.write(packet);
+
+    // Flush to ensure bytes are available immediately
+    out.flush();
+
+  }
+
+}
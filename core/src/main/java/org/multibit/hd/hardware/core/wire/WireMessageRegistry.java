@@ -0,0 +1,49 @@
+package org.multibit.hd.hardware.core.wire;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.Message;
+import org.multibit.hd.hardware.core.events.MessageEvent;
+
+import java.io.IOException;
+
+/**
+ * <p>Interface to provide the following to hardware wallet implementations:</p>
+ * <ul>
+ * <li>Resolution of the wire message type for an outgoing protobuf message</li>
+ * <li>Parsing and adaptation of an incoming protobuf message by its wire message type</li>
+ * </ul>
+ * <p>Each hardware wallet registers its own table once at startup (see {@link WireMessageTable})</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public interface WireMessageRegistry {
+
+  /**
+   * @param message The protobuf message
+   *
+   * @return The wire message type to place in the header
+   *
+   * @throws IllegalArgumentException If the message is not registered
+   */
+  int getMessageType(Message message);
+
+  /**
+   * @param messageType The wire message type from the header
+   *
+   * @return True if the message type is registered
+   */
+  boolean isRegistered(int messageType);
+
+  /**
+   * @param messageType The wire message type from the header
+   * @param input       The coded input stream positioned over the message payload
+   * @param source      The client name acting as the source (e.g. "TREZOR", "KEEP_KEY" etc)
+   *
+   * @return The low level message event containing the raw and adapted message, or null if the message type is not registered
+   *
+   * @throws IOException If the payload could not be parsed
+   */
+  MessageEvent parse(int messageType, CodedInputStream input, String source) throws IOException;
+
+}
@@ -0,0 +1,132 @@
+package org.multibit.hd.hardware.core.wire;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.events.MessageEventType;
+import org.multibit.hd.hardware.core.messages.HardwareWalletMessage;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * <p>Registry to provide the following to hardware wallet implementations:</p>
+ * <ul>
+ * <li>A table mapping message class to wire message type to parser, adapter and {@link MessageEventType}</li>
+ * </ul>
+ * <p>Wire message types are small integers so incoming messages are dispatched through
+ * arrays indexed by type rather than a switch or a reflective enum lookup.</p>
+ * <p>All registrations should take place in a static initializer before the table is
+ * shared. After that it is effectively immutable and safe for concurrent use.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class WireMessageTable implements WireMessageRegistry {
+
+  private final Map<Class<?>, Integer> messageTypes = Maps.newHashMap();
+
+  private Parser<?>[] parsers = new Parser<?>[0];
+  private MessageEventType[] eventTypes = new MessageEventType[0];
+  private MessageAdapter<?>[] adapters = new MessageAdapter<?>[0];
+
+  /**
+   * <p>Register a message that requires no adaptation (usually a client request)</p>
+   *
+   * @param messageType  The wire message type
+   * @param messageClass The protobuf message class
+   * @param parser       The protobuf parser for the message class
+   * @param eventType    The message event type
+   * @param <T>          The protobuf message type
+   *
+   * @return The table for chaining
+   */
+  public <T extends Message> WireMessageTable register(int messageType, Class<T> messageClass, Parser<T> parser, MessageEventType eventType) {
+
+    return register(messageType, messageClass, parser, eventType, null);
+
+  }
+
+  /**
+   * <p>Register a message with an adapter to a Core message (usually a device response)</p>
+   *
+   * @param messageType  The wire message type
+   * @param messageClass The protobuf message class
+   * @param parser       The protobuf parser for the message class
+   * @param eventType    The message event type
+   * @param adapter      The adapter to a Core message (null if none is required)
+   * @param <T>          The protobuf message type
+   *
+   * @return The table for chaining
+   */
+  public <T extends Message> WireMessageTable register(int messageType, Class<T> messageClass, Parser<T> parser, MessageEventType eventType, MessageAdapter<T> adapter) {
+
+    Preconditions.checkArgument(messageType >= 0 && messageType <= 0xFFFF, "'messageType' must fit in the header");
+    Preconditions.checkNotNull(messageClass, "'messageClass' must be present");
+    Preconditions.checkNotNull(parser, "'parser' must be present");
+    Preconditions.checkNotNull(eventType, "'eventType' must be present");
+    Preconditions.checkState(!messageTypes.containsKey(messageClass), "'messageClass' is already registered");
+    Preconditions.checkState(!isRegistered(messageType), "'messageType' is already registered");
+
+    if (messageType >= parsers.length) {
+      parsers = Arrays.copyOf(parsers, messageType + 1);
+      eventTypes = Arrays.copyOf(eventTypes, messageType + 1);
+      adapters = Arrays.copyOf(adapters, messageType + 1);
+    }
+
+    messageTypes.put(messageClass, messageType);
+    parsers[messageType] = parser;
+    eventTypes[messageType] = eventType;
+    adapters[messageType] = adapter;
+
+    return this;
+
+  }
+
+  @Override
+  public int getMessageType(Message message) {
+
+    Integer messageType = messageTypes.get(message.getClass());
+
+    if (messageType == null) {
+      throw new IllegalArgumentException("Unknown message class: " + message.getClass().getName());
+    }
+
+    return messageType;
+
+  }
+
+  @Override
+  public boolean isRegistered(int messageType) {
+
+    return messageType >= 0 && messageType < parsers.length && parsers[messageType] != null;
+
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public MessageEvent parse(int messageType, CodedInputStream input, String source) throws IOException {
+
+    if (!isRegistered(messageType)) {
+      return null;
+    }
+
+    Message message = (Message) parsers[messageType].parseFrom(input);
+
+    HardwareWalletMessage hardwareWalletMessage = null;
+    MessageAdapter<Message> adapter = (MessageAdapter<Message>) adapters[messageType];
+    if (adapter != null) {
+      hardwareWalletMessage = adapter.adapt(message);
+    }
+
+    // Wrap the type and message into an event
+    return new MessageEvent(eventTypes[messageType], Optional.fromNullable(hardwareWalletMessage), Optional.of(message), source);
+
+  }
+
+}
@@ -0,0 +1,135 @@
+package org.multibit.hd.hardware.core;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+public class KeyImageSetTest {
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void testPutIfAbsent() throws Exception {
+
+    KeyImageSet testObject = new KeyImageSet(10);
+
+    byte[] x = newCoordinate();
+    byte[] y = newCoordinate();
+
+    assertThat(testObject.contains(x, y)).isFalse();
+    assertThat(testObject.putIfAbsent(x, y)).isTrue();
+    assertThat(testObject.contains(x, y)).isTrue();
+
+    // A second vote with the same key image (in a different array)
+    assertThat(testObject.putIfAbsent(x.clone(), y.clone())).isFalse();
+    assertThat(testObject.size()).isEqualTo(1);
+
+    // Same x but a different y is a different key image
+    assertThat(testObject.contains(x, newCoordinate())).isFalse();
+
+  }
+
+  @Test
+  public void testGrow() throws Exception {
+
+    KeyImageSet testObject = new KeyImageSet(0);
+    assertThat(testObject.capacity()).isEqualTo(1024);
+
+    byte[][] xs = new byte[2000][];
+    byte[][] ys = new byte[2000][];
+    for (int i = 0; i < xs.length; i++) {
+      xs[i] = newCoordinate();
+      ys[i] = newCoordinate();
+      assertThat(testObject.putIfAbsent(xs[i], ys[i])).isTrue();
+    }
+
+    assertThat(testObject.size()).isEqualTo(2000);
+    assertThat(testObject.capacity()).isEqualTo(4096);
+    for (int i = 0; i < xs.length; i++) {
+      assertThat(testObject.contains(xs[i], ys[i])).isTrue();
+    }
+
+  }
+
+  @Test
+  public void testSnapshotAndRestore() throws Exception {
+
+    File file = File.createTempFile("key-images", ".bin");
+    file.deleteOnExit();
+
+    KeyImageSet original = new KeyImageSet(100);
+    byte[][] xs = new byte[100][];
+    byte[][] ys = new byte[100][];
+    for (int i = 0; i < xs.length; i++) {
+      xs[i] = newCoordinate();
+      ys[i] = newCoordinate();
+      original.putIfAbsent(xs[i], ys[i]);
+    }
+    original.snapshot(file);
+    long length = file.length();
+
+    KeyImageSet testObject = KeyImageSet.restore(file);
+
+    assertThat(testObject.size()).isEqualTo(100);
+    assertThat(testObject.capacity()).isEqualTo(original.capacity());
+    for (int i = 0; i < xs.length; i++) {
+      assertThat(testObject.putIfAbsent(xs[i], ys[i])).isFalse();
+    }
+
+    // Additions after a restore stay in memory
+    byte[] x = newCoordinate();
+    byte[] y = newCoordinate();
+    assertThat(testObject.putIfAbsent(x, y)).isTrue();
+    assertThat(KeyImageSet.restore(file).contains(x, y)).isFalse();
+    assertThat(file.length()).isEqualTo(length);
+
+    // A snapshot can replace the file it was restored from
+    testObject.snapshot(file);
+    assertThat(KeyImageSet.restore(file).size()).isEqualTo(101);
+
+  }
+
+  @Test
+  public void testRestoreRejectsOtherFiles() throws Exception {
+
+    File file = File.createTempFile("key-images", ".bin");
+    file.deleteOnExit();
+
+    try {
+      KeyImageSet.restore(file);
+      fail("Expected an IOException");
+    } catch (IOException e) {
+      // Expected
+    }
+
+  }
+
+  @Test
+  public void testZeroKeyImage() throws Exception {
+
+    KeyImageSet testObject = new KeyImageSet(10);
+
+    try {
+      testObject.putIfAbsent(new byte[32], new byte[32]);
+      fail("Expected an IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+
+  }
+
+  private byte[] newCoordinate() {
+
+    byte[] coordinate = new byte[KeyImageSet.COORDINATE_LENGTH];
+    random.nextBytes(coordinate);
+
+    return coordinate;
+
+  }
+
+}
@@ -0,0 +1,147 @@
+package org.multibit.hd.hardware.core;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.BaseEncoding;
+import org.junit.Test;
+import org.multibit.hd.hardware.core.utils.MerkleTreeUtils;
+
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class MerkleTreeTest {
+
+  private static final BaseEncoding HEX = BaseEncoding.base16().lowerCase();
+
+  /**
+   * The leaves of the Certificate Transparency test vectors
+   */
+  private static final String[] LEAVES = {
+    "",
+    "00",
+    "10",
+    "2021",
+    "3031",
+    "40414243",
+    "5051525354555657",
+    "606162636465666768696a6b6c6d6e6f"
+  };
+
+  /**
+   * The root of the tree of the first 1 to 8 leaves
+   */
+  private static final String[] ROOTS = {
+    "6e340b9cffb37a989ca544e6bb780a2c78901d3fb33738768511a30617afa01d",
+    "fac54203e7cc696cf0dfcb42c92a1d9dbaf70ad9e621f4bd8d98662f00e3c125",
+    "aeb6bcfe274b70a14fb067a5e5578264db0fa9b51af5e0ba159158f329e06e77",
+    "d37ee418976dd95753c1c73862b9398fa2a2cf9b4ff0fdfe8b30cd95209614b7",
+    "4e3bbb1f7b478dcfe71fb631631519a3bca12c9aefca1612bfce4c13a86264d4",
+    "76e67dadbcdf1e10e1b74ddc608abd2f98dfb16fbce75277b5232a127f2087ef",
+    "ddb89be403809e325750d3d263cd78929c2942b7942a34b77e122c9594a74c8c",
+    "5dc9da79a70659a9ad559cb701ded9a2ab9d823aad2f4960cfe370eff4604328"
+  };
+
+  @Test
+  public void testRoots() throws Exception {
+
+    MerkleTree testObject = new MerkleTree();
+    assertThat(HEX.encode(testObject.getRoot())).isEqualTo("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+
+    for (int i = 0; i < LEAVES.length; i++) {
+      assertThat(testObject.append(HEX.decode(LEAVES[i]))).isEqualTo(i);
+      assertThat(HEX.encode(testObject.getRoot())).isEqualTo(ROOTS[i]);
+    }
+
+    // Earlier roots are still available
+    for (int i = 0; i < LEAVES.length; i++) {
+      assertThat(HEX.encode(testObject.getRoot(i + 1))).isEqualTo(ROOTS[i]);
+    }
+
+  }
+
+  @Test
+  public void testInclusionProofs() throws Exception {
+
+    MerkleTree testObject = newTree(40);
+
+    for (int treeSize = 1; treeSize <= 40; treeSize++) {
+      byte[] root = testObject.getRoot(treeSize);
+      for (int leafIndex = 0; leafIndex < treeSize; leafIndex++) {
+        List<byte[]> proof = testObject.getInclusionProof(leafIndex, treeSize);
+        byte[] leafHash = MerkleTreeUtils.leafHash(leaf(leafIndex));
+
+        assertThat(proof.size()).isLessThanOrEqualTo(64 - Long.numberOfLeadingZeros(treeSize - 1));
+        assertThat(MerkleTreeUtils.verifyInclusion(leafIndex, treeSize, leafHash, proof, root)).isTrue();
+
+        // Another leaf, index or root must fail
+        assertThat(MerkleTreeUtils.verifyInclusion(leafIndex, treeSize, MerkleTreeUtils.leafHash(leaf(leafIndex + 1)), proof, root)).isFalse();
+        if (treeSize > 1) {
+          assertThat(MerkleTreeUtils.verifyInclusion((leafIndex + 1) % treeSize, treeSize, leafHash, proof, root)).isFalse();
+          assertThat(MerkleTreeUtils.verifyInclusion(leafIndex, treeSize, leafHash, proof, testObject.getRoot(treeSize - 1))).isFalse();
+        }
+      }
+    }
+
+  }
+
+  @Test
+  public void testConsistencyProofs() throws Exception {
+
+    MerkleTree testObject = newTree(40);
+
+    for (int secondSize = 1; secondSize <= 40; secondSize++) {
+      byte[] secondRoot = testObject.getRoot(secondSize);
+      for (int firstSize = 1; firstSize <= secondSize; firstSize++) {
+        byte[] firstRoot = testObject.getRoot(firstSize);
+        List<byte[]> proof = testObject.getConsistencyProof(firstSize, secondSize);
+
+        assertThat(MerkleTreeUtils.verifyConsistency(firstSize, secondSize, firstRoot, secondRoot, proof)).isTrue();
+
+        // A rewritten earlier tree must fail
+        byte[] otherRoot = testObject.getRoot(firstSize - 1);
+        assertThat(MerkleTreeUtils.verifyConsistency(firstSize, secondSize, otherRoot, secondRoot, proof)).isFalse();
+
+        if (!proof.isEmpty()) {
+          List<byte[]> tampered = Lists.newArrayList(proof);
+          byte[] hash = tampered.get(tampered.size() - 1).clone();
+          hash[0] ^= 1;
+          tampered.set(tampered.size() - 1, hash);
+          assertThat(MerkleTreeUtils.verifyConsistency(firstSize, secondSize, firstRoot, secondRoot, tampered)).isFalse();
+        }
+      }
+    }
+
+  }
+
+  @Test
+  public void testLargeTree() throws Exception {
+
+    // Crosses several blocks of leaf hashes
+    MerkleTree testObject = newTree(5000);
+
+    byte[] root = testObject.getRoot();
+    List<byte[]> proof = testObject.getInclusionProof(1234, 5000);
+    assertThat(proof).hasSize(13);
+    assertThat(MerkleTreeUtils.verifyInclusion(1234, 5000, MerkleTreeUtils.leafHash(leaf(1234)), proof, root)).isTrue();
+
+    List<byte[]> consistency = testObject.getConsistencyProof(4321, 5000);
+    assertThat(MerkleTreeUtils.verifyConsistency(4321, 5000, testObject.getRoot(4321), root, consistency)).isTrue();
+
+  }
+
+  private MerkleTree newTree(int size) {
+
+    MerkleTree tree = new MerkleTree();
+    for (int i = 0; i < size; i++) {
+      tree.append(leaf(i));
+    }
+
+    return tree;
+
+  }
+
+  private static byte[] leaf(int i) {
+    return new byte[]{(byte) (i >> 8), (byte) i, 0x56};
+  }
+
+}
@@ -0,0 +1,138 @@
+package org.multibit.hd.hardware.core;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import org.bitcoinj.core.ECKey;
+import org.junit.After;
+import org.junit.Test;
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+import org.multibit.hd.hardware.core.utils.RingSignatureUtils;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class RingSignatureBatchVerifierTest {
+
+  private final SecureRandom random = new SecureRandom();
+
+  private final RingSignatureBatchVerifier testObject = new RingSignatureBatchVerifier(2);
+
+  @After
+  public void tearDown() throws Exception {
+
+    testObject.shutdown();
+
+  }
+
+  @Test
+  public void testMixedBatch() throws Exception {
+
+    List<BigInteger> firstKeys = Lists.newArrayList();
+    List<byte[]> firstRing = newRing(3, firstKeys);
+    List<BigInteger> secondKeys = Lists.newArrayList();
+    List<byte[]> secondRing = newRing(2, secondKeys);
+
+    byte[] yes = "Yes".getBytes(Charsets.UTF_8);
+    byte[] no = "No".getBytes(Charsets.UTF_8);
+
+    List<RingSignedMessage> batch = Lists.newArrayList();
+    for (int i = 0; i < 3; i++) {
+      batch.add(new RingSignedMessage(firstRing, yes, RingSignatureUtils.sign(firstRing, i, firstKeys.get(i), yes, random)));
+    }
+    MessageRingSignature signedNo = RingSignatureUtils.sign(secondRing, 1, secondKeys.get(1), no, random);
+    batch.add(new RingSignedMessage(secondRing, no, signedNo));
+    // Claimed for the wrong message
+    batch.add(new RingSignedMessage(secondRing, yes, signedNo));
+    // Claimed for the wrong ring
+    batch.add(new RingSignedMessage(firstRing, no, signedNo));
+
+    RingSignatureBatchResult result = testObject.verify(batch);
+
+    assertThat(result.size()).isEqualTo(6);
+    assertThat(result.getValidCount()).isEqualTo(4);
+    assertThat(result.getInvalidCount()).isEqualTo(2);
+    for (int i = 0; i < 4; i++) {
+      assertThat(result.isValid(i)).isTrue();
+    }
+    assertThat(result.isValid(4)).isFalse();
+    assertThat(result.isValid(5)).isFalse();
+    assertThat(result.getThroughput() > 0).isTrue();
+
+  }
+
+  @Test
+  public void testEqualRingsInDifferentLists() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(2, privateKeys);
+    List<byte[]> copy = Lists.newArrayList(ring);
+
+    MessageRingSignature signature = RingSignatureUtils.sign(ring, 0, privateKeys.get(0), new byte[]{1}, random);
+
+    List<RingSignedMessage> batch = Lists.newArrayList();
+    batch.add(new RingSignedMessage(ring, new byte[]{1}, signature));
+    batch.add(new RingSignedMessage(copy, new byte[]{1}, signature));
+
+    RingSignatureBatchResult result = testObject.verify(batch);
+
+    assertThat(result.getValidCount()).isEqualTo(2);
+
+  }
+
+  @Test
+  public void testInvalidRing() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(2, privateKeys);
+    MessageRingSignature signature = RingSignatureUtils.sign(ring, 0, privateKeys.get(0), new byte[]{1}, random);
+
+    // Not a point on the curve
+    List<byte[]> invalidRing = Lists.newArrayList(ring);
+    byte[] corrupt = invalidRing.get(1).clone();
+    corrupt[64] ^= 1;
+    invalidRing.set(1, corrupt);
+
+    List<RingSignedMessage> batch = Lists.newArrayList();
+    batch.add(new RingSignedMessage(invalidRing, new byte[]{1}, signature));
+    batch.add(new RingSignedMessage(ring, new byte[]{1}, signature));
+
+    RingSignatureBatchResult result = testObject.verify(batch);
+
+    assertThat(result.isValid(0)).isFalse();
+    assertThat(result.isValid(1)).isTrue();
+
+  }
+
+  @Test
+  public void testEmptyBatch() throws Exception {
+
+    RingSignatureBatchResult result = testObject.verify(Lists.<RingSignedMessage>newArrayList());
+
+    assertThat(result.size()).isEqualTo(0);
+    assertThat(result.getThroughput()).isEqualTo(0.0);
+
+  }
+
+  /**
+   * @param size        The number of keys
+   * @param privateKeys Populated with the private keys
+   *
+   * @return The uncompressed public keys
+   */
+  private List<byte[]> newRing(int size, List<BigInteger> privateKeys) {
+
+    List<byte[]> ring = Lists.newArrayList();
+    for (int i = 0; i < size; i++) {
+      BigInteger privateKey = new BigInteger(256, random).mod(ECKey.CURVE.getN());
+      privateKeys.add(privateKey);
+      ring.add(ECKey.CURVE.getG().multiply(privateKey).normalize().getEncoded(false));
+    }
+
+    return ring;
+
+  }
+
+}
@@ -0,0 +1,136 @@
+package org.multibit.hd.hardware.core;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import org.bitcoinj.core.ECKey;
+import org.junit.Test;
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+import org.multibit.hd.hardware.core.utils.RingSignatureUtils;
+import org.spongycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class RingSignatureVerifierTest {
+
+  private final SecureRandom random = new SecureRandom();
+
+  @Test
+  public void testVerifyManySignatures() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(6, privateKeys);
+
+    RingSignatureVerifier verifier = new RingSignatureVerifier(ring);
+    assertThat(verifier.getRingSize()).isEqualTo(6);
+
+    for (int pi = 0; pi < ring.size(); pi++) {
+      byte[] message = ("Candidate " + pi).getBytes(Charsets.UTF_8);
+      MessageRingSignature signature = RingSignatureUtils.sign(ring, pi, privateKeys.get(pi), message, random);
+
+      assertThat(verifier.verify(message, signature)).isTrue();
+      assertThat(verifier.verify("Other".getBytes(Charsets.UTF_8), signature)).isFalse();
+    }
+
+  }
+
+  @Test
+  public void testGeneratorTable() throws Exception {
+
+    ECPoint g = ECKey.CURVE.getG();
+    ECPoint addend = g.multiply(BigInteger.valueOf(7));
+
+    // Empty, single, top and full windows then random scalars
+    List<BigInteger> scalars = Lists.newArrayList(
+      BigInteger.ZERO,
+      BigInteger.ONE,
+      BigInteger.valueOf(0xff),
+      BigInteger.ONE.shiftLeft(255),
+      ECKey.CURVE.getN().subtract(BigInteger.ONE)
+    );
+    for (int i = 0; i < 10; i++) {
+      scalars.add(new BigInteger(256, random).mod(ECKey.CURVE.getN()));
+    }
+
+    for (BigInteger k : scalars) {
+      assertThat(RingSignatureVerifier.multiplyGeneratorAndAdd(k, addend).normalize())
+        .isEqualTo(g.multiply(k).add(addend).normalize());
+    }
+
+  }
+
+  @Test
+  public void testWrongRing() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(3, privateKeys);
+    List<byte[]> otherRing = newRing(3, Lists.<BigInteger>newArrayList());
+
+    MessageRingSignature signature = RingSignatureUtils.sign(ring, 1, privateKeys.get(1), new byte[]{1}, random);
+
+    assertThat(new RingSignatureVerifier(otherRing).verify(new byte[]{1}, signature)).isFalse();
+    assertThat(new RingSignatureVerifier(ring.subList(0, 2)).verify(new byte[]{1}, signature)).isFalse();
+
+  }
+
+  @Test
+  public void testTamperedSignature() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(4, privateKeys);
+    byte[] message = new byte[]{7};
+
+    MessageRingSignature signature = RingSignatureUtils.sign(ring, 3, privateKeys.get(3), message, random);
+    RingSignatureVerifier verifier = new RingSignatureVerifier(ring);
+
+    // Flip a bit in one of the responses
+    List<ByteString> s = Lists.newArrayList();
+    for (byte[] si : signature.getS()) {
+      s.add(ByteString.copyFrom(si));
+    }
+    byte[] tampered = signature.getS()[0];
+    tampered[31] ^= 1;
+    s.set(0, ByteString.copyFrom(tampered));
+
+    MessageRingSignature tamperedS = new MessageRingSignature(signature.getC(), s, 4, signature.getYtx(), signature.getYty());
+    assertThat(verifier.verify(message, tamperedS)).isFalse();
+
+    // A key image that is not on the curve
+    byte[] badYty = signature.getYty();
+    badYty[31] ^= 1;
+    List<ByteString> originalS = Lists.newArrayList();
+    for (byte[] si : signature.getS()) {
+      originalS.add(ByteString.copyFrom(si));
+    }
+    MessageRingSignature badKeyImage = new MessageRingSignature(signature.getC(), originalS, 4, signature.getYtx(), badYty);
+    assertThat(verifier.verify(message, badKeyImage)).isFalse();
+
+    // The original still verifies
+    assertThat(verifier.verify(message, signature)).isTrue();
+
+  }
+
+  /**
+   * @param size        The number of keys
+   * @param privateKeys Populated with the private keys
+   *
+   * @return The uncompressed public keys
+   */
+  private List<byte[]> newRing(int size, List<BigInteger> privateKeys) {
+
+    List<byte[]> ring = Lists.newArrayList();
+    for (int i = 0; i < size; i++) {
+      BigInteger privateKey = new BigInteger(256, random).mod(ECKey.CURVE.getN());
+      privateKeys.add(privateKey);
+      ring.add(ECKey.CURVE.getG().multiply(privateKey).normalize().getEncoded(false));
+    }
+
+    return ring;
+
+  }
+
+}
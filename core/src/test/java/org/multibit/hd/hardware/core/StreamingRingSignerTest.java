@@ -0,0 +1,191 @@
+package org.multibit.hd.hardware.core;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import org.bitcoinj.core.ECKey;
+import org.junit.Test;
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+import org.multibit.hd.hardware.core.utils.RingSignatureUtils;
+import org.spongycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+public class StreamingRingSignerTest {
+
+  private final SecureRandom random = new SecureRandom();
+
+  @Test
+  public void testSignInChunks() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(7, privateKeys);
+    byte[] message = "Candidate A".getBytes(Charsets.UTF_8);
+
+    // Every position of the signer and chunks that do and do not divide the ring
+    for (int pi = 0; pi < ring.size(); pi++) {
+      for (int chunk : new int[]{1, 3, 7, 10}) {
+        MessageRingSignature signature = sign(ring, pi, privateKeys.get(pi), message, chunk);
+        assertThat(RingSignatureUtils.verify(ring, message, signature)).isTrue();
+      }
+    }
+
+  }
+
+  @Test
+  public void testSameKeyImageAsSign() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(4, privateKeys);
+
+    MessageRingSignature streamed = sign(ring, 1, privateKeys.get(1), new byte[]{1}, 2);
+    MessageRingSignature whole = RingSignatureUtils.sign(ring, 1, privateKeys.get(1), new byte[]{2}, random);
+
+    assertThat(streamed.getYtilda()).isEqualTo(whole.getYtilda());
+
+  }
+
+  @Test
+  public void testCompressedRing() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(5, privateKeys);
+    List<byte[]> compressedRing = RingSignatureUtils.compressRing(ring);
+    byte[] message = "Candidate B".getBytes(Charsets.UTF_8);
+
+    MessageRingSignature signature = sign(compressedRing, 4, privateKeys.get(4), message, 2);
+
+    assertThat(RingSignatureUtils.verify(ring, message, signature)).isTrue();
+
+  }
+
+  @Test
+  public void testRingDigest() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(5, privateKeys);
+
+    StreamingRingSigner testObject = new StreamingRingSigner(5, 3, privateKeys.get(3), new byte[0], random);
+    testObject.update(ring.subList(0, 2));
+    testObject.update(RingSignatureUtils.compressRing(ring.subList(2, 5)));
+
+    assertThat(testObject.getRingDigest()).isEqualTo(RingSignatureUtils.ringDigest(ring));
+
+  }
+
+  @Test
+  public void testSingleMemberRing() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(1, privateKeys);
+
+    StreamingRingSigner testObject = new StreamingRingSigner(1, 0, privateKeys.get(0), new byte[0], random);
+    testObject.update(ring);
+
+    // The digest pass closes a ring of one
+    assertThat(testObject.isComplete()).isTrue();
+
+    MessageRingSignature signature = sign(ring, 0, privateKeys.get(0), new byte[0], 1);
+    assertThat(RingSignatureUtils.verify(ring, new byte[0], signature)).isTrue();
+
+  }
+
+  @Test
+  public void testWrongPrivateKey() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(3, privateKeys);
+
+    StreamingRingSigner testObject = new StreamingRingSigner(3, 1, privateKeys.get(0), new byte[0], random);
+    testObject.update(ring.subList(0, 1));
+
+    try {
+      testObject.update(ring.subList(1, 3));
+      fail("Expected an IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+
+  }
+
+  @Test
+  public void testChunkMustNotCrossPi() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(4, privateKeys);
+
+    StreamingRingSigner testObject = new StreamingRingSigner(4, 2, privateKeys.get(2), new byte[0], random);
+    testObject.update(ring);
+
+    // The challenge pass starts after pi and stops at the end of the ring
+    assertThat(testObject.getIndex()).isEqualTo(3);
+    assertThat(testObject.getCount(10)).isEqualTo(1);
+    testObject.update(ring.subList(3, 4));
+
+    // Then wraps round and stops before pi
+    assertThat(testObject.getIndex()).isEqualTo(0);
+    assertThat(testObject.getCount(10)).isEqualTo(2);
+
+    try {
+      testObject.update(ring.subList(0, 3));
+      fail("Expected an IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+
+  }
+
+  /**
+   * @return The ring signature assembled the way a host does from the s values streamed by a device
+   */
+  private MessageRingSignature sign(List<byte[]> ring, int pi, BigInteger privateKey, byte[] message, int chunk) {
+
+    StreamingRingSigner signer = new StreamingRingSigner(ring.size(), pi, privateKey, message, random);
+
+    byte[][] s = new byte[ring.size()][];
+    while (!signer.isComplete()) {
+      int index = signer.getIndex();
+      int count = signer.getCount(chunk);
+      List<byte[]> values = signer.update(ring.subList(index, index + count));
+      for (int i = 0; i < values.size(); i++) {
+        s[index + i] = values.get(i);
+      }
+    }
+    s[pi] = signer.getSPi();
+
+    List<ByteString> encodedS = Lists.newArrayList();
+    for (byte[] si : s) {
+      encodedS.add(ByteString.copyFrom(si));
+    }
+
+    ECPoint keyImage = signer.getKeyImage();
+
+    return new MessageRingSignature(
+      signer.getC0(),
+      encodedS,
+      ring.size(),
+      RingSignatureUtils.encodeScalar(keyImage.getAffineXCoord().toBigInteger()),
+      RingSignatureUtils.encodeScalar(keyImage.getAffineYCoord().toBigInteger())
+    );
+
+  }
+
+  private List<byte[]> newRing(int size, List<BigInteger> privateKeys) {
+
+    List<byte[]> ring = Lists.newArrayList();
+    for (int i = 0; i < size; i++) {
+      BigInteger privateKey = new BigInteger(256, random).mod(ECKey.CURVE.getN());
+      privateKeys.add(privateKey);
+      ring.add(ECKey.CURVE.getG().multiply(privateKey).normalize().getEncoded(false));
+    }
+
+    return ring;
+
+  }
+
+}
@@ -0,0 +1,248 @@
+package org.multibit.hd.hardware.core;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+public class VoteLedgerTest {
+
+  private static final int N = 3;
+
+  /**
+   * A segment of 3 records for a ring of 3 (16 + 3 * 208 bytes)
+   */
+  private static final int SEGMENT_SIZE = 640;
+
+  private final Random random = new Random(42);
+
+  private File directory;
+
+  @Before
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("vote-ledger").toFile();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    directory.delete();
+
+  }
+
+  @Test
+  public void testAppendAndReplay() throws Exception {
+
+    List<byte[][]> keyImages = Lists.newArrayList();
+
+    VoteLedger testObject = new VoteLedger(directory, N, SEGMENT_SIZE);
+    for (int i = 0; i < 7; i++) {
+      keyImages.add(append(testObject, i % 2));
+    }
+    assertThat(testObject.size()).isEqualTo(7);
+    testObject.close();
+
+    // Three segments of three records
+    assertThat(directory.listFiles()).hasSize(3);
+
+    VoteLedger reopened = new VoteLedger(directory, N, SEGMENT_SIZE);
+    List<byte[][]> replayed = replay(reopened);
+
+    assertThat(replayed).hasSize(7);
+    for (int i = 0; i < 7; i++) {
+      assertThat(replayed.get(i)[0][0]).isEqualTo((byte) (i % 2));
+      assertThat(replayed.get(i)[1]).isEqualTo(keyImages.get(i)[0]);
+      assertThat(replayed.get(i)[2]).isEqualTo(keyImages.get(i)[1]);
+    }
+
+    // Appending carries on after the recovered votes
+    append(reopened, 1);
+    assertThat(reopened.size()).isEqualTo(8);
+    reopened.close();
+
+  }
+
+  @Test
+  public void testWriteAndSync() throws Exception {
+
+    VoteLedger testObject = new VoteLedger(directory, N, SEGMENT_SIZE);
+
+    long first = testObject.write(0, newScalar(), new byte[][]{newScalar(), newScalar(), newScalar()}, newScalar(), newScalar());
+    long second = testObject.write(1, newScalar(), new byte[][]{newScalar(), newScalar(), newScalar()}, newScalar(), newScalar());
+    assertThat(first).isEqualTo(0);
+    assertThat(second).isEqualTo(1);
+    assertThat(testObject.size()).isEqualTo(2);
+    assertThat(testObject.getDurableSize()).isEqualTo(0);
+
+    // Syncing a vote covers every vote written before it
+    testObject.sync(second);
+    assertThat(testObject.getDurableSize()).isEqualTo(2);
+    testObject.sync(first);
+    assertThat(testObject.getDurableSize()).isEqualTo(2);
+
+    append(testObject, 0);
+    assertThat(testObject.getDurableSize()).isEqualTo(3);
+    testObject.close();
+
+  }
+
+  @Test
+  public void testRecoverTornRecord() throws Exception {
+
+    VoteLedger testObject = new VoteLedger(directory, N, SEGMENT_SIZE);
+    for (int i = 0; i < 5; i++) {
+      append(testObject, 0);
+    }
+    testObject.close();
+
+    // Damage the second record of the second segment (the fifth vote)
+    try (RandomAccessFile file = new RandomAccessFile(new File(directory, "votes-00000001.ledger"), "rw")) {
+      file.seek(16 + 208 + 100);
+      file.write(~file.read() & 0xff);
+    }
+
+    VoteLedger recovered = new VoteLedger(directory, N, SEGMENT_SIZE);
+    assertThat(recovered.size()).isEqualTo(4);
+    assertThat(replay(recovered)).hasSize(4);
+
+    // The damaged record is replaced by the next vote
+    append(recovered, 1);
+    recovered.close();
+
+    VoteLedger reopened = new VoteLedger(directory, N, SEGMENT_SIZE);
+    List<byte[][]> replayed = replay(reopened);
+    assertThat(replayed).hasSize(5);
+    assertThat(replayed.get(4)[0][0]).isEqualTo((byte) 1);
+    reopened.close();
+
+  }
+
+  @Test
+  public void testRemoveSegmentsAfterTornRecord() throws Exception {
+
+    VoteLedger testObject = new VoteLedger(directory, N, SEGMENT_SIZE);
+    for (int i = 0; i < 7; i++) {
+      append(testObject, 0);
+    }
+    testObject.close();
+
+    // Damage the first record of the second segment so the third was never acknowledged
+    try (RandomAccessFile file = new RandomAccessFile(new File(directory, "votes-00000001.ledger"), "rw")) {
+      file.seek(16);
+      file.writeInt(0);
+    }
+
+    VoteLedger recovered = new VoteLedger(directory, N, SEGMENT_SIZE);
+    assertThat(recovered.size()).isEqualTo(3);
+    assertThat(new File(directory, "votes-00000002.ledger").exists()).isFalse();
+    recovered.close();
+
+  }
+
+  @Test
+  public void testShortScalars() throws Exception {
+
+    VoteLedger testObject = new VoteLedger(directory, N, SEGMENT_SIZE);
+
+    // A BigInteger encoding may be short or carry a sign byte
+    byte[] x = new byte[33];
+    x[1] = (byte) 0x80;
+    byte[] y = new byte[]{1};
+    testObject.append(0, new byte[]{1}, new byte[][]{{1}, {2}, {3}}, x, y);
+
+    List<byte[][]> replayed = replay(testObject);
+    assertThat(replayed.get(0)[1][0]).isEqualTo((byte) 0x80);
+    assertThat(replayed.get(0)[2][31]).isEqualTo((byte) 1);
+
+    // More than 32 significant bytes
+    byte[] tooLong = new byte[33];
+    tooLong[0] = 1;
+    try {
+      testObject.append(0, new byte[]{1}, new byte[][]{{1}, {2}, {3}}, tooLong, y);
+      fail("Expected an IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    testObject.close();
+
+  }
+
+  @Test
+  public void testRejectOtherRing() throws Exception {
+
+    VoteLedger testObject = new VoteLedger(directory, N, SEGMENT_SIZE);
+    append(testObject, 0);
+    testObject.close();
+
+    try {
+      new VoteLedger(directory, N + 1, SEGMENT_SIZE);
+      fail("Expected an IOException");
+    } catch (IOException e) {
+      // Expected
+    }
+
+  }
+
+  /**
+   * @return The key image (x, y) of the vote
+   */
+  private byte[][] append(VoteLedger ledger, int candidate) throws IOException {
+
+    byte[][] s = new byte[N][];
+    for (int i = 0; i < N; i++) {
+      s[i] = newScalar();
+    }
+    byte[] x = newScalar();
+    byte[] y = newScalar();
+
+    ledger.append(candidate, newScalar(), s, x, y);
+
+    return new byte[][]{x, y};
+
+  }
+
+  /**
+   * @return The candidate (as a single byte), x and y of each vote
+   */
+  private List<byte[][]> replay(VoteLedger ledger) {
+
+    final List<byte[][]> votes = Lists.newArrayList();
+    ledger.replay(
+      new VoteLedger.Visitor() {
+        @Override
+        public void visit(long sequence, int candidate, byte[] keyImageX, byte[] keyImageY) {
+          assertThat(sequence).isEqualTo(votes.size());
+          votes.add(new byte[][]{{(byte) candidate}, keyImageX, keyImageY});
+        }
+      });
+
+    return votes;
+
+  }
+
+  private byte[] newScalar() {
+
+    byte[] scalar = new byte[VoteLedger.SCALAR_LENGTH];
+    random.nextBytes(scalar);
+
+    return scalar;
+
+  }
+
+}
@@ -0,0 +1,134 @@
+package org.multibit.hd.hardware.core.events;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class BoundedEventQueueTest {
+
+  /**
+   * Events are strings and the key is the first character (the "type")
+   */
+  private static final BoundedEventQueue.CoalesceKey<String> FIRST_CHARACTER = new BoundedEventQueue.CoalesceKey<String>() {
+    @Override
+    public Object keyOf(String event) {
+      return event.charAt(0);
+    }
+  };
+
+  @Test
+  public void testDropOldest() throws Exception {
+
+    BoundedEventQueue<String> testObject = new BoundedEventQueue<>(2, OverflowPolicy.DROP_OLDEST, FIRST_CHARACTER);
+
+    assertThat(testObject.offer("a1", true)).isTrue();
+    assertThat(testObject.offer("b1", true)).isTrue();
+    assertThat(testObject.offer("c1", true)).isTrue();
+
+    assertThat(testObject.take()).isEqualTo("b1");
+    assertThat(testObject.take()).isEqualTo("c1");
+
+    EventQueueStatistics statistics = testObject.getStatistics();
+    assertThat(statistics.getDropped()).isEqualTo(1);
+    assertThat(statistics.getHighWaterMark()).isEqualTo(2);
+    assertThat(statistics.getDepth()).isEqualTo(0);
+
+  }
+
+  @Test
+  public void testCoalesce() throws Exception {
+
+    BoundedEventQueue<String> testObject = new BoundedEventQueue<>(3, OverflowPolicy.COALESCE, FIRST_CHARACTER);
+
+    testObject.offer("f1", true);
+    testObject.offer("b1", true);
+    testObject.offer("f2", true);
+
+    // Replaces the latest "f" in place
+    testObject.offer("f3", true);
+    // Nothing to coalesce with so the oldest is dropped
+    testObject.offer("x1", true);
+
+    assertThat(testObject.take()).isEqualTo("b1");
+    assertThat(testObject.take()).isEqualTo("f3");
+    assertThat(testObject.take()).isEqualTo("x1");
+
+    EventQueueStatistics statistics = testObject.getStatistics();
+    assertThat(statistics.getCoalesced()).isEqualTo(1);
+    assertThat(statistics.getDropped()).isEqualTo(1);
+
+  }
+
+  @Test
+  public void testBlock() throws Exception {
+
+    final BoundedEventQueue<String> testObject = new BoundedEventQueue<>(1, OverflowPolicy.BLOCK, FIRST_CHARACTER);
+
+    testObject.offer("a1", true);
+
+    // The consumer thread must not wait for itself
+    assertThat(testObject.offer("a2", false)).isFalse();
+
+    final CountDownLatch offered = new CountDownLatch(1);
+    new Thread() {
+      @Override
+      public void run() {
+        testObject.offer("b1", true);
+        offered.countDown();
+      }
+    }.start();
+
+    assertThat(offered.await(100, TimeUnit.MILLISECONDS)).isFalse();
+
+    assertThat(testObject.take()).isEqualTo("a1");
+    assertThat(offered.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(testObject.take()).isEqualTo("b1");
+
+    assertThat(testObject.getStatistics().getBlocked()).isEqualTo(1);
+    assertThat(testObject.getStatistics().getDropped()).isEqualTo(0);
+
+  }
+
+  @Test
+  public void testClose() throws Exception {
+
+    BoundedEventQueue<String> testObject = new BoundedEventQueue<>(4, OverflowPolicy.BLOCK, FIRST_CHARACTER);
+
+    testObject.offer("a1", true);
+    testObject.close();
+
+    assertThat(testObject.offer("a2", true)).isFalse();
+
+    // Queued events are still delivered
+    assertThat(testObject.take()).isEqualTo("a1");
+    assertThat(testObject.take()).isNull();
+
+  }
+
+  @Test
+  public void testConfigure() throws Exception {
+
+    BoundedEventQueue<String> testObject = new BoundedEventQueue<>(2, OverflowPolicy.DROP_OLDEST, FIRST_CHARACTER);
+
+    testObject.offer("a1", true);
+    testObject.take();
+    testObject.offer("b1", true);
+    testObject.offer("c1", true);
+
+    // Grow across the wrap point
+    testObject.configure(4, OverflowPolicy.DROP_OLDEST);
+    testObject.offer("d1", true);
+    testObject.offer("e1", true);
+
+    assertThat(testObject.getStatistics().getDropped()).isEqualTo(0);
+    assertThat(testObject.take()).isEqualTo("b1");
+    assertThat(testObject.take()).isEqualTo("c1");
+    assertThat(testObject.take()).isEqualTo("d1");
+    assertThat(testObject.take()).isEqualTo("e1");
+
+  }
+
+}
@@ -0,0 +1,226 @@
+package org.multibit.hd.hardware.core.events;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.protobuf.Message;
+import org.junit.Before;
+import org.junit.Test;
+import org.multibit.hd.hardware.core.HardwareWalletException;
+import org.multibit.hd.hardware.core.messages.HardwareWalletMessage;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+public class MessageEventMailboxTest {
+
+  private MessageEventMailbox testObject;
+
+  @Before
+  public void setUp() throws Exception {
+
+    testObject = new MessageEventMailbox();
+
+  }
+
+  @Test
+  public void testResponsesInOrder() throws Exception {
+
+    ListenableFuture<MessageEvent> first = testObject.expect(1, TimeUnit.SECONDS);
+    ListenableFuture<MessageEvent> second = testObject.expect(1, TimeUnit.SECONDS);
+
+    MessageEvent success = newEvent(MessageEventType.SUCCESS);
+    MessageEvent publicKey = newEvent(MessageEventType.PUBLIC_KEY_65);
+
+    assertThat(testObject.offer(success)).isTrue();
+    assertThat(testObject.offer(publicKey)).isTrue();
+
+    assertThat(first.get()).isSameAs(success);
+    assertThat(second.get()).isSameAs(publicKey);
+    assertThat(testObject.size()).isEqualTo(0);
+
+  }
+
+  @Test
+  public void testUnsolicited() throws Exception {
+
+    assertThat(testObject.offer(newEvent(MessageEventType.FEATURES))).isFalse();
+
+    // Status changes are never responses
+    ListenableFuture<MessageEvent> response = testObject.expect(1, TimeUnit.SECONDS);
+    assertThat(testObject.offer(newEvent(MessageEventType.DEVICE_CONNECTED))).isFalse();
+    assertThat(response.isDone()).isFalse();
+
+  }
+
+  @Test
+  public void testTimeoutLeavesTombstone() throws Exception {
+
+    // A request the device answers too late
+    ListenableFuture<MessageEvent> slow = testObject.expect(10, TimeUnit.MILLISECONDS);
+    assertTimedOut(slow);
+    assertThat(testObject.size()).isEqualTo(0);
+
+    ListenableFuture<MessageEvent> first = testObject.expect(1, TimeUnit.SECONDS);
+    ListenableFuture<MessageEvent> second = testObject.expect(1, TimeUnit.SECONDS);
+
+    // The late response is swallowed so later requests still receive their own responses
+    assertThat(testObject.offer(newEvent(MessageEventType.FAILURE))).isFalse();
+    assertThat(first.isDone()).isFalse();
+
+    MessageEvent success = newEvent(MessageEventType.SUCCESS);
+    MessageEvent features = newEvent(MessageEventType.FEATURES);
+    assertThat(testObject.offer(success)).isTrue();
+    assertThat(testObject.offer(features)).isTrue();
+
+    assertThat(first.get()).isSameAs(success);
+    assertThat(second.get()).isSameAs(features);
+
+  }
+
+  @Test
+  public void testTombstoneExpires() throws Exception {
+
+    testObject = new MessageEventMailbox(50);
+
+    // A request the device never answers
+    ListenableFuture<MessageEvent> unanswered = testObject.expect(10, TimeUnit.MILLISECONDS);
+    assertTimedOut(unanswered);
+
+    // Give the tombstone time to go
+    Thread.sleep(500);
+
+    ListenableFuture<MessageEvent> next = testObject.expect(1, TimeUnit.SECONDS);
+    MessageEvent success = newEvent(MessageEventType.SUCCESS);
+    assertThat(testObject.offer(success)).isTrue();
+    assertThat(next.get()).isSameAs(success);
+
+  }
+
+  @Test
+  public void testLateResponseMatchedByType() throws Exception {
+
+    ListenableFuture<MessageEvent> slow = testObject.expect(10, TimeUnit.MILLISECONDS, ImmutableSet.of(MessageEventType.MESSAGE_RING_SIGNATURE));
+    assertTimedOut(slow);
+
+    ListenableFuture<MessageEvent> next = testObject.expect(1, TimeUnit.SECONDS, ImmutableSet.of(MessageEventType.SUCCESS));
+
+    // The late response must not be attributed to the next request
+    assertThat(testObject.offer(newEvent(MessageEventType.MESSAGE_RING_SIGNATURE))).isFalse();
+    assertThat(next.isDone()).isFalse();
+
+    MessageEvent success = newEvent(MessageEventType.SUCCESS);
+    assertThat(testObject.offer(success)).isTrue();
+    assertThat(next.get()).isSameAs(success);
+
+  }
+
+  @Test
+  public void testResponsesMatchedByType() throws Exception {
+
+    ListenableFuture<MessageEvent> publicKey = testObject.expect(1, TimeUnit.SECONDS, ImmutableSet.of(MessageEventType.PUBLIC_KEY_65));
+    ListenableFuture<MessageEvent> ping = testObject.expect(1, TimeUnit.SECONDS, ImmutableSet.of(MessageEventType.SUCCESS));
+
+    MessageEvent success = newEvent(MessageEventType.SUCCESS);
+    testObject.offer(success);
+    assertThat(ping.get()).isSameAs(success);
+    assertThat(publicKey.isDone()).isFalse();
+
+    // A failure answers the oldest typed slot
+    MessageEvent failure = newEvent(MessageEventType.FAILURE);
+    testObject.offer(failure);
+    assertThat(publicKey.get()).isSameAs(failure);
+
+  }
+
+  @Test
+  public void testCancel() throws Exception {
+
+    ListenableFuture<MessageEvent> cancelled = testObject.expect(0, TimeUnit.SECONDS);
+    ListenableFuture<MessageEvent> next = testObject.expect(0, TimeUnit.SECONDS);
+
+    assertThat(cancelled.cancel(false)).isTrue();
+    assertThat(testObject.size()).isEqualTo(1);
+
+    // The cancelled request was written so its response still arrives first
+    assertThat(testObject.offer(newEvent(MessageEventType.SUCCESS))).isFalse();
+    assertThat(next.isDone()).isFalse();
+
+    MessageEvent buttonRequest = newEvent(MessageEventType.BUTTON_REQUEST);
+    testObject.offer(buttonRequest);
+    assertThat(next.get()).isSameAs(buttonRequest);
+
+  }
+
+  @Test
+  public void testDeviceFailure() throws Exception {
+
+    ListenableFuture<MessageEvent> first = testObject.expect(0, TimeUnit.SECONDS);
+    ListenableFuture<MessageEvent> second = testObject.expect(0, TimeUnit.SECONDS);
+
+    testObject.offer(newEvent(MessageEventType.DEVICE_DETACHED));
+
+    assertFailedWith(first, HardwareWalletException.class);
+    assertFailedWith(second, HardwareWalletException.class);
+    assertThat(testObject.size()).isEqualTo(0);
+
+  }
+
+  @Test
+  public void testAbandon() throws Exception {
+
+    ListenableFuture<MessageEvent> first = testObject.expect(0, TimeUnit.SECONDS);
+    ListenableFuture<MessageEvent> unwritten = testObject.expect(0, TimeUnit.SECONDS);
+
+    testObject.abandon(unwritten, "Write failed");
+
+    assertFailedWith(unwritten, HardwareWalletException.class);
+    assertThat(testObject.size()).isEqualTo(1);
+
+    MessageEvent success = newEvent(MessageEventType.SUCCESS);
+    testObject.offer(success);
+    assertThat(first.get()).isSameAs(success);
+
+    // Only outstanding slots of this mailbox can be abandoned
+    try {
+      testObject.abandon(new MessageEventMailbox().expect(0, TimeUnit.SECONDS), "Other mailbox");
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+
+  }
+
+  private static void assertTimedOut(ListenableFuture<MessageEvent> future) throws Exception {
+
+    try {
+      future.get(1, TimeUnit.SECONDS);
+      fail("Expected timeout");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause()).isInstanceOf(TimeoutException.class);
+    }
+
+  }
+
+  private static void assertFailedWith(ListenableFuture<MessageEvent> future, Class<? extends Throwable> type) throws InterruptedException {
+
+    try {
+      future.get();
+      fail("Expected failure");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause()).isInstanceOf(type);
+    }
+
+  }
+
+  private static MessageEvent newEvent(MessageEventType type) {
+
+    return new MessageEvent(type, Optional.<HardwareWalletMessage>absent(), Optional.<Message>absent(), "TREZOR");
+
+  }
+
+}
@@ -0,0 +1,101 @@
+package org.multibit.hd.hardware.core.events;
+
+import com.google.common.collect.Queues;
+import com.google.common.eventbus.Subscribe;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class MessageEventsTest {
+
+  private RingBufferEventDispatcher<MessageEvent> first;
+  private RingBufferEventDispatcher<MessageEvent> second;
+
+  @Before
+  public void setUp() throws Exception {
+
+    first = new RingBufferEventDispatcher<>("test-first");
+    second = new RingBufferEventDispatcher<>("test-second");
+
+  }
+
+  @After
+  public void tearDown() throws Exception {
+
+    MessageEvents.unregister("TREZOR/1", first);
+    MessageEvents.unregister("TREZOR/2", second);
+    MessageEvents.unsubscribeAll();
+
+    first.shutdown();
+    second.shutdown();
+
+  }
+
+  @Test
+  public void testDeviceDispatchers() throws Exception {
+
+    RecordingListener firstListener = new RecordingListener();
+    RecordingListener secondListener = new RecordingListener();
+    RecordingListener global = new RecordingListener();
+
+    first.addListener(firstListener);
+    second.addListener(secondListener);
+    MessageEvents.register("TREZOR/1", first);
+    MessageEvents.register("TREZOR/2", second);
+    MessageEvents.subscribe(global);
+
+    MessageEvents.fireMessageEvent(MessageEventType.DEVICE_CONNECTED, "TREZOR/2");
+
+    MessageEvent event = secondListener.events.poll(1, TimeUnit.SECONDS);
+    assertThat(event).isNotNull();
+    assertThat(event.getSource()).isEqualTo("TREZOR/2");
+
+    // Guava subscribers see all devices
+    assertThat(global.events.poll(1, TimeUnit.SECONDS)).isNotNull();
+
+    // Other devices see nothing
+    assertThat(firstListener.events.poll(100, TimeUnit.MILLISECONDS)).isNull();
+
+  }
+
+  @Test
+  public void testUnregister() throws Exception {
+
+    RecordingListener listener = new RecordingListener();
+
+    first.addListener(listener);
+    MessageEvents.register("TREZOR/1", first);
+
+    // A different dispatcher does not remove the registration
+    MessageEvents.unregister("TREZOR/1", second);
+    MessageEvents.fireMessageEvent(MessageEventType.DEVICE_CONNECTED, "TREZOR/1");
+    assertThat(listener.events.poll(1, TimeUnit.SECONDS)).isNotNull();
+
+    MessageEvents.unregister("TREZOR/1", first);
+    MessageEvents.fireMessageEvent(MessageEventType.DEVICE_CONNECTED, "TREZOR/1");
+    assertThat(listener.events.poll(100, TimeUnit.MILLISECONDS)).isNull();
+
+  }
+
+  public static class RecordingListener implements EventListener<MessageEvent> {
+
+    private final BlockingQueue<MessageEvent> events = Queues.newLinkedBlockingQueue();
+
+    @Override
+    public void onEvent(MessageEvent event) {
+      events.add(event);
+    }
+
+    @Subscribe
+    public void onMessageEvent(MessageEvent event) {
+      onEvent(event);
+    }
+
+  }
+
+}
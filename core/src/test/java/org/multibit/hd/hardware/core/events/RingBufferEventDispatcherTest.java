@@ -0,0 +1,274 @@
+package org.multibit.hd.hardware.core.events;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Queues;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class RingBufferEventDispatcherTest {
+
+  private static final BoundedEventQueue.CoalesceKey<Integer> HUNDREDS = new BoundedEventQueue.CoalesceKey<Integer>() {
+    @Override
+    public Object keyOf(Integer event) {
+      return event / 100;
+    }
+  };
+
+  private RingBufferEventDispatcher<Integer> testObject;
+
+  @Before
+  public void setUp() throws Exception {
+
+    // Small enough to wrap and fill many times
+    testObject = new RingBufferEventDispatcher<>("test-ring", 8);
+
+  }
+
+  @After
+  public void tearDown() throws Exception {
+
+    testObject.shutdown();
+
+  }
+
+  @Test
+  public void testOrderAcrossWraps() throws Exception {
+
+    final List<Integer> received = Collections.synchronizedList(Lists.<Integer>newArrayList());
+    final CountDownLatch done = new CountDownLatch(1000);
+
+    testObject.addListener(
+      new EventListener<Integer>() {
+        @Override
+        public void onEvent(Integer event) {
+          received.add(event);
+          done.countDown();
+        }
+      });
+
+    for (int i = 0; i < 1000; i++) {
+      testObject.dispatch(i);
+    }
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    for (int i = 0; i < 1000; i++) {
+      assertThat(received.get(i)).isEqualTo(i);
+    }
+
+  }
+
+  @Test
+  public void testDispatchFromListener() throws Exception {
+
+    final CountDownLatch done = new CountDownLatch(1);
+
+    // Filling the buffer from the consumer thread must not deadlock
+    testObject.addListener(
+      new EventListener<Integer>() {
+        @Override
+        public void onEvent(Integer event) {
+          if (event == 0) {
+            for (int i = 1; i <= 20; i++) {
+              testObject.dispatch(i);
+            }
+          }
+          if (event == 20) {
+            done.countDown();
+          }
+        }
+      });
+
+    testObject.dispatch(0);
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+
+  }
+
+  @Test
+  public void testDispatchFromListenerWhenFull() throws Exception {
+
+    final List<Integer> received = Collections.synchronizedList(Lists.<Integer>newArrayList());
+    final CountDownLatch filled = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(1);
+
+    testObject.addListener(
+      new EventListener<Integer>() {
+        @Override
+        public void onEvent(Integer event) {
+          received.add(event);
+          if (event == 0) {
+            // Wait for the producer to fill the buffer then add more than it holds
+            try {
+              filled.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            for (int i = 100; i < 120; i++) {
+              testObject.dispatch(i);
+            }
+          }
+          if (event == 119) {
+            done.countDown();
+          }
+        }
+      });
+
+    testObject.dispatch(0);
+    for (int i = 1; i <= 8; i++) {
+      testObject.dispatch(i);
+    }
+    filled.countDown();
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+
+    // Nothing overtakes the queued events and nothing is lost
+    assertThat(received).hasSize(29);
+    for (int i = 0; i <= 8; i++) {
+      assertThat(received.get(i)).isEqualTo(i);
+    }
+    for (int i = 0; i < 20; i++) {
+      assertThat(received.get(9 + i)).isEqualTo(100 + i);
+    }
+    assertThat(testObject.getStatistics().getDropped()).isEqualTo(0);
+
+  }
+
+  @Test
+  public void testDropOldest() throws Exception {
+
+    RingBufferEventDispatcher<Integer> dropping = new RingBufferEventDispatcher<>("test-drop", 8, OverflowPolicy.DROP_OLDEST, HUNDREDS);
+    try {
+      List<Integer> received = fillWhileBlocked(dropping, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+      // The producer never waited and the two oldest were discarded
+      assertThat(received).isEqualTo(Lists.newArrayList(0, 3, 4, 5, 6, 7, 8, 9, 10));
+      assertThat(dropping.getStatistics().getDropped()).isEqualTo(2);
+      assertThat(dropping.getStatistics().getBlocked()).isEqualTo(0);
+    } finally {
+      dropping.shutdown();
+    }
+
+  }
+
+  @Test
+  public void testCoalesce() throws Exception {
+
+    RingBufferEventDispatcher<Integer> coalescing = new RingBufferEventDispatcher<>("test-coalesce", 8, OverflowPolicy.COALESCE, HUNDREDS);
+    try {
+      List<Integer> received = fillWhileBlocked(coalescing, 100, 101, 102, 103, 104, 105, 106, 107, 108, 200);
+
+      // 108 replaces the latest of its hundred and 200 has none so the oldest goes
+      assertThat(received).isEqualTo(Lists.newArrayList(0, 101, 102, 103, 104, 105, 106, 108, 200));
+      assertThat(coalescing.getStatistics().getCoalesced()).isEqualTo(1);
+      assertThat(coalescing.getStatistics().getDropped()).isEqualTo(1);
+    } finally {
+      coalescing.shutdown();
+    }
+
+  }
+
+  @Test
+  public void testFailingListener() throws Exception {
+
+    final BlockingQueue<Integer> received = Queues.newLinkedBlockingQueue();
+
+    testObject.addListener(
+      new EventListener<Integer>() {
+        @Override
+        public void onEvent(Integer event) {
+          throw new IllegalStateException("Expected");
+        }
+      });
+    testObject.addListener(
+      new EventListener<Integer>() {
+        @Override
+        public void onEvent(Integer event) {
+          received.add(event);
+        }
+      });
+
+    testObject.dispatch(1);
+
+    assertThat(received.poll(1, TimeUnit.SECONDS)).isEqualTo(1);
+
+  }
+
+  @Test
+  public void testShutdownDrains() throws Exception {
+
+    final CountDownLatch done = new CountDownLatch(5);
+
+    testObject.addListener(
+      new EventListener<Integer>() {
+        @Override
+        public void onEvent(Integer event) {
+          done.countDown();
+        }
+      });
+
+    for (int i = 0; i < 5; i++) {
+      testObject.dispatch(i);
+    }
+    testObject.shutdown();
+
+    assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+
+  }
+
+  /**
+   * @param dispatcher The dispatcher (8 slots)
+   * @param events     The events to dispatch while the listener is held on event 0
+   *
+   * @return The events received once the listener is released
+   */
+  private List<Integer> fillWhileBlocked(RingBufferEventDispatcher<Integer> dispatcher, int... events) throws Exception {
+
+    final List<Integer> received = Collections.synchronizedList(Lists.<Integer>newArrayList());
+    final CountDownLatch taken = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    dispatcher.addListener(
+      new EventListener<Integer>() {
+        @Override
+        public void onEvent(Integer event) {
+          received.add(event);
+          if (event == 0) {
+            taken.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        }
+      });
+
+    dispatcher.dispatch(0);
+    assertThat(taken.await(1, TimeUnit.SECONDS)).isTrue();
+
+    for (int event : events) {
+      dispatcher.dispatch(event);
+    }
+    release.countDown();
+
+    // Wait for the buffer to drain
+    long deadline = System.currentTimeMillis() + 5000;
+    while (dispatcher.getStatistics().getDepth() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Thread.sleep(50);
+
+    return Lists.newArrayList(received);
+
+  }
+
+}
@@ -0,0 +1,241 @@
+package org.multibit.hd.hardware.core.fsm;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Queues;
+import com.google.common.eventbus.Subscribe;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.multibit.hd.hardware.core.HardwareWalletClient;
+import org.multibit.hd.hardware.core.events.HardwareWalletEvent;
+import org.multibit.hd.hardware.core.events.HardwareWalletEventType;
+import org.multibit.hd.hardware.core.events.HardwareWalletEvents;
+import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.events.MessageEventType;
+import org.multibit.hd.hardware.core.messages.Failure;
+import org.multibit.hd.hardware.core.messages.FailureType;
+import org.multibit.hd.hardware.core.messages.Features;
+import org.multibit.hd.hardware.core.messages.HardwareWalletMessage;
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+import org.multibit.hd.hardware.core.messages.RingSignRequest;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConfirmStreamRingSignMessageStateTest {
+
+  private static final String NAME = "TEST";
+
+  private HardwareWalletClient client;
+
+  private HardwareWalletContext context;
+
+  private List<byte[]> ring;
+
+  private final BlockingQueue<HardwareWalletEvent> events = Queues.newLinkedBlockingQueue();
+
+  @Before
+  public void setUp() throws Exception {
+
+    client = mock(HardwareWalletClient.class);
+    when(client.name()).thenReturn(NAME);
+    when(client.attach()).thenReturn(true);
+
+    context = new HardwareWalletContext(client);
+    context.setFeatures(new Features());
+
+    ring = Lists.newArrayList();
+    for (int i = 0; i < 4; i++) {
+      ring.add(new byte[]{0x02, (byte) i});
+    }
+
+    context.beginStreamRingSignMessageUseCase(ring, 0, new byte[]{1, 2, 3});
+
+    HardwareWalletEvents.subscribe(this);
+
+  }
+
+  @After
+  public void tearDown() throws Exception {
+
+    HardwareWalletEvents.unsubscribe(this);
+
+    // Release the message event dispatcher
+    context.resetToStopped();
+
+  }
+
+  @Test
+  public void testRequestWithinRing() throws Exception {
+
+    RingSignRequest request = new RingSignRequest(0, 4, Optional.<Integer>absent(), Lists.<byte[]>newArrayList());
+    context.getState().transition(client, context, newEvent(MessageEventType.RING_SIGN_REQUEST, request));
+
+    verify(client).ringSignAck(request, ring);
+    verify(client, never()).cancel();
+    assertThat(context.getState()).isInstanceOf(ConfirmStreamRingSignMessageState.class);
+
+  }
+
+  @Test
+  public void testRequestOutsideRing() throws Exception {
+
+    // The client refuses to send members outside the ring
+    when(client.ringSignAck(any(RingSignRequest.class), anyListOf(byte[].class)))
+      .thenThrow(new IllegalArgumentException("Device requested ring members outside the ring."));
+
+    RingSignRequest request = new RingSignRequest(2, 5, Optional.<Integer>absent(), Lists.<byte[]>newArrayList());
+    context.getState().transition(client, context, newEvent(MessageEventType.RING_SIGN_REQUEST, request));
+
+    // The operation is cancelled on the device
+    verify(client).cancel();
+    assertThat(context.getState()).isInstanceOf(ConfirmStreamRingSignMessageState.class);
+
+    // The device answer returns to idle
+    Failure failure = new Failure(FailureType.ACTION_CANCELLED, "Cancelled");
+    context.getState().transition(client, context, newEvent(MessageEventType.FAILURE, failure));
+
+    assertThat(context.getState()).isInstanceOf(InitialisedState.class);
+    assertThat(context.getRing().isPresent()).isFalse();
+
+  }
+
+  @Test
+  public void testMergeStreamedS() throws Exception {
+
+    // The device streams the s values of members 1 and 2 then returns 0 and 3
+    streamS(1, 2);
+    context.getState().transition(client, context, newEvent(MessageEventType.MESSAGE_RING_SIGNATURE, newSignature(4, 0, 3)));
+
+    HardwareWalletEvent event = nextEvent(HardwareWalletEventType.MESSAGE_RING_SIGNATURE);
+    byte[][] s = ((MessageRingSignature) event.getMessage().get()).getS();
+    assertThat(s).hasSize(4);
+    for (int i = 0; i < s.length; i++) {
+      assertThat(s[i]).isEqualTo(new byte[]{(byte) i});
+    }
+    assertThat(context.getState()).isInstanceOf(ConfirmStreamRingSignMessageState.class);
+
+  }
+
+  @Test
+  public void testMergeTooManyS() throws Exception {
+
+    // Member 1 is both streamed and returned
+    streamS(1, 2);
+    context.getState().transition(client, context, newEvent(MessageEventType.MESSAGE_RING_SIGNATURE, newSignature(4, 0, 1, 3)));
+
+    assertFailed();
+
+  }
+
+  @Test
+  public void testMergeTooFewS() throws Exception {
+
+    // Member 3 is never sent
+    streamS(1, 2);
+    context.getState().transition(client, context, newEvent(MessageEventType.MESSAGE_RING_SIGNATURE, newSignature(4, 0)));
+
+    assertFailed();
+
+  }
+
+  @Test
+  public void testMergeOutsideRing() throws Exception {
+
+    // Members 3 and 4 are streamed so the counts add up but 4 is not in the ring
+    streamS(3, 2);
+    context.getState().transition(client, context, newEvent(MessageEventType.MESSAGE_RING_SIGNATURE, newSignature(4, 0, 1)));
+
+    assertFailed();
+
+  }
+
+  @Test
+  public void testMergeWrongRingSize() throws Exception {
+
+    context.getState().transition(client, context, newEvent(MessageEventType.MESSAGE_RING_SIGNATURE, newSignature(5, 0, 1, 2, 3, 4)));
+
+    assertFailed();
+
+  }
+
+  /**
+   * @param sIndex The ring index of the first s value
+   * @param count  The number of s values streamed (each s value is its ring index)
+   */
+  private void streamS(int sIndex, int count) {
+
+    List<byte[]> s = Lists.newArrayList();
+    for (int i = sIndex; i < sIndex + count; i++) {
+      s.add(new byte[]{(byte) i});
+    }
+    RingSignRequest request = new RingSignRequest(0, 1, Optional.of(sIndex), s);
+    context.getState().transition(client, context, newEvent(MessageEventType.RING_SIGN_REQUEST, request));
+
+  }
+
+  /**
+   * @param n       The ring size claimed by the device
+   * @param indices The ring indices of the s values returned (each s value is its ring index)
+   *
+   * @return The final signature from the device
+   */
+  private MessageRingSignature newSignature(int n, int... indices) {
+
+    List<ByteString> s = Lists.newArrayList();
+    for (int i : indices) {
+      s.add(ByteString.copyFrom(new byte[]{(byte) i}));
+    }
+
+    return new MessageRingSignature(new byte[32], s, n, new byte[32], new byte[32]);
+
+  }
+
+  private void assertFailed() throws InterruptedException {
+
+    nextEvent(HardwareWalletEventType.SHOW_OPERATION_FAILED);
+
+    assertThat(context.getState()).isInstanceOf(InitialisedState.class);
+    assertThat(context.getRing().isPresent()).isFalse();
+
+  }
+
+  /**
+   * @param eventType The event type expected
+   *
+   * @return The first event of that type
+   */
+  private HardwareWalletEvent nextEvent(HardwareWalletEventType eventType) throws InterruptedException {
+
+    while (true) {
+      HardwareWalletEvent event = events.poll(5, TimeUnit.SECONDS);
+      assertThat(event).isNotNull();
+      if (event.getEventType() == eventType) {
+        return event;
+      }
+    }
+
+  }
+
+  @Subscribe
+  public void onHardwareWalletEvent(HardwareWalletEvent event) {
+    events.add(event);
+  }
+
+  private MessageEvent newEvent(MessageEventType eventType, HardwareWalletMessage message) {
+    return new MessageEvent(eventType, Optional.of(message), Optional.<Message>absent(), NAME);
+  }
+
+}
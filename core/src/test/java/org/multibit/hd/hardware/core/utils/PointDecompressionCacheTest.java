@@ -0,0 +1,59 @@
+package org.multibit.hd.hardware.core.utils;
+
+import org.bitcoinj.core.ECKey;
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+public class PointDecompressionCacheTest {
+
+  @Test
+  public void testDecompress() throws Exception {
+
+    PointDecompressionCache testObject = new PointDecompressionCache(2);
+
+    byte[] first = new ECKey().getPubKeyPoint().getEncoded(false);
+    byte[] second = new ECKey().getPubKeyPoint().getEncoded(false);
+    byte[] third = new ECKey().getPubKeyPoint().getEncoded(false);
+
+    assertThat(testObject.decompress(RingSignatureUtils.compress(first))).isEqualTo(first);
+    assertThat(testObject.decompress(RingSignatureUtils.compress(first))).isEqualTo(first);
+    assertThat(testObject.getHitCount()).isEqualTo(1);
+    assertThat(testObject.getMissCount()).isEqualTo(1);
+
+    // Uncompressed points pass straight through
+    assertThat(testObject.decompress(second)).isEqualTo(second);
+    assertThat(testObject.size()).isEqualTo(1);
+
+    // The least recently used point is dropped
+    testObject.decompress(RingSignatureUtils.compress(second));
+    testObject.decompress(RingSignatureUtils.compress(third));
+    assertThat(testObject.size()).isEqualTo(2);
+    testObject.decompress(RingSignatureUtils.compress(first));
+    assertThat(testObject.getMissCount()).isEqualTo(4);
+
+  }
+
+  @Test
+  public void testNotOnCurve() throws Exception {
+
+    PointDecompressionCache testObject = new PointDecompressionCache(2);
+
+    // x = 5 has no square root on secp256k1
+    byte[] point = new byte[RingSignatureUtils.COMPRESSED_POINT_LENGTH];
+    point[0] = 0x02;
+    point[point.length - 1] = 5;
+
+    try {
+      testObject.decompress(point);
+      fail("Expected an IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+
+    assertThat(testObject.size()).isEqualTo(0);
+
+  }
+
+}
@@ -0,0 +1,204 @@
+package org.multibit.hd.hardware.core.utils;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import org.bitcoinj.core.ECKey;
+import org.junit.Test;
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+public class RingSignatureUtilsTest {
+
+  private final SecureRandom random = new SecureRandom();
+
+  @Test
+  public void testSignAndVerify() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(5, privateKeys);
+    byte[] message = "Candidate A".getBytes(Charsets.UTF_8);
+
+    MessageRingSignature signature = RingSignatureUtils.sign(ring, 2, privateKeys.get(2), message, random);
+
+    assertThat(signature.getN()).isEqualTo(5);
+    assertThat(signature.getC().length).isEqualTo(RingSignatureUtils.SCALAR_LENGTH);
+    assertThat(RingSignatureUtils.verify(ring, message, signature)).isTrue();
+
+    // Another message must not verify
+    assertThat(RingSignatureUtils.verify(ring, "Candidate B".getBytes(Charsets.UTF_8), signature)).isFalse();
+
+  }
+
+  @Test
+  public void testLinkability() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(3, privateKeys);
+
+    MessageRingSignature first = RingSignatureUtils.sign(ring, 0, privateKeys.get(0), new byte[]{1}, random);
+    MessageRingSignature second = RingSignatureUtils.sign(ring, 0, privateKeys.get(0), new byte[]{2}, random);
+    MessageRingSignature other = RingSignatureUtils.sign(ring, 1, privateKeys.get(1), new byte[]{1}, random);
+
+    // The same signer always produces the same key image
+    assertThat(first.getYtx()).isEqualTo(second.getYtx());
+    assertThat(first.getYty()).isEqualTo(second.getYty());
+    assertThat(first.getYtx()).isNotEqualTo(other.getYtx());
+
+  }
+
+  @Test
+  public void testSingleMemberRing() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(1, privateKeys);
+
+    MessageRingSignature signature = RingSignatureUtils.sign(ring, 0, privateKeys.get(0), new byte[0], random);
+
+    assertThat(RingSignatureUtils.verify(ring, new byte[0], signature)).isTrue();
+
+  }
+
+  @Test
+  public void testCompressedRing() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(4, privateKeys);
+    List<byte[]> compressedRing = RingSignatureUtils.compressRing(ring);
+
+    for (int i = 0; i < ring.size(); i++) {
+      assertThat(compressedRing.get(i).length).isEqualTo(RingSignatureUtils.COMPRESSED_POINT_LENGTH);
+      assertThat(compressedRing.get(i)).isEqualTo(ECKey.CURVE.getCurve().decodePoint(ring.get(i)).getEncoded(true));
+      assertThat(RingSignatureUtils.decompress(compressedRing.get(i))).isEqualTo(ring.get(i));
+    }
+
+    // Signatures do not depend on the encoding of the ring
+    byte[] message = "Candidate A".getBytes(Charsets.UTF_8);
+    MessageRingSignature signature = RingSignatureUtils.sign(compressedRing, 1, privateKeys.get(1), message, random);
+
+    assertThat(RingSignatureUtils.verify(compressedRing, message, signature)).isTrue();
+    assertThat(RingSignatureUtils.verify(ring, message, signature)).isTrue();
+    assertThat(signature.getCompressedYtilda()).isEqualTo(RingSignatureUtils.compress(signature.getYtilda()));
+
+  }
+
+  @Test
+  public void testMalformedSignature() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(3, privateKeys);
+    byte[] message = new byte[]{7};
+
+    MessageRingSignature signature = RingSignatureUtils.sign(ring, 1, privateKeys.get(1), message, random);
+    List<ByteString> s = Lists.newArrayList();
+    for (byte[] si : signature.getS()) {
+      s.add(ByteString.copyFrom(si));
+    }
+
+    // Fewer responses than members is rejected rather than read beyond the end
+    MessageRingSignature shortS = new MessageRingSignature(signature.getC(), s.subList(0, 2), 3, signature.getYtx(), signature.getYty());
+    assertThat(RingSignatureUtils.verify(ring, message, shortS)).isFalse();
+
+    // A challenge that is not reduced modulo the order
+    BigInteger c0 = new BigInteger(1, signature.getC()).add(ECKey.CURVE.getN());
+    MessageRingSignature bigC = new MessageRingSignature(c0.toByteArray(), s, 3, signature.getYtx(), signature.getYty());
+    assertThat(RingSignatureUtils.verify(ring, message, bigC)).isFalse();
+
+    // A response that is not reduced modulo the order
+    List<ByteString> bigS = Lists.newArrayList(s);
+    bigS.set(0, ByteString.copyFrom(new BigInteger(1, signature.getS()[0]).add(ECKey.CURVE.getN()).toByteArray()));
+    assertThat(RingSignatureUtils.verify(ring, message, new MessageRingSignature(signature.getC(), bigS, 3, signature.getYtx(), signature.getYty()))).isFalse();
+
+    // The original still verifies
+    assertThat(RingSignatureUtils.verify(ring, message, signature)).isTrue();
+
+  }
+
+  @Test
+  public void testKeyImageCoordinates() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(1, privateKeys);
+    MessageRingSignature signature = RingSignatureUtils.sign(ring, 0, privateKeys.get(0), new byte[0], random);
+    byte[] ytilda = signature.getYtilda();
+
+    // A 33 byte compressed point with no y is not a coordinate
+    MessageRingSignature compressed = new MessageRingSignature(
+      signature.getC(),
+      Lists.<ByteString>newArrayList(),
+      0,
+      RingSignatureUtils.compress(ytilda),
+      new byte[0]);
+    try {
+      compressed.getYtilda();
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    try {
+      compressed.getCompressedYtilda();
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+
+    // Coordinates without their leading zero bytes are padded
+    byte[] ytx = new byte[32];
+    ytx[31] = 1;
+    MessageRingSignature shortX = new MessageRingSignature(
+      signature.getC(),
+      Lists.<ByteString>newArrayList(),
+      0,
+      new byte[]{1},
+      signature.getYty());
+    assertThat(Arrays.copyOfRange(shortX.getYtilda(), 1, 33)).isEqualTo(ytx);
+    assertThat(Arrays.copyOfRange(shortX.getCompressedYtilda(), 1, 33)).isEqualTo(ytx);
+
+  }
+
+  @Test
+  public void testRingDigest() throws Exception {
+
+    List<BigInteger> privateKeys = Lists.newArrayList();
+    List<byte[]> ring = newRing(3, privateKeys);
+
+    byte[] ringDigest = RingSignatureUtils.ringDigest(ring);
+
+    assertThat(ringDigest.length).isEqualTo(32);
+    assertThat(RingSignatureUtils.ringDigest(RingSignatureUtils.newRingDigest(ring))).isEqualTo(ringDigest);
+
+    // The encoding of the keys does not change the ring
+    assertThat(RingSignatureUtils.ringDigest(RingSignatureUtils.compressRing(ring))).isEqualTo(ringDigest);
+
+    // The order does
+    assertThat(RingSignatureUtils.ringDigest(Lists.reverse(ring))).isNotEqualTo(ringDigest);
+
+  }
+
+  /**
+   * @param size        The number of keys
+   * @param privateKeys Populated with the private keys
+   *
+   * @return The uncompressed public keys
+   */
+  private List<byte[]> newRing(int size, List<BigInteger> privateKeys) {
+
+    List<byte[]> ring = Lists.newArrayList();
+    for (int i = 0; i < size; i++) {
+      BigInteger privateKey = new BigInteger(256, random).mod(ECKey.CURVE.getN());
+      privateKeys.add(privateKey);
+      ring.add(ECKey.CURVE.getG().multiply(privateKey).normalize().getEncoded(false));
+    }
+
+    return ring;
+
+  }
+
+}
@@ -0,0 +1,62 @@
+package org.multibit.hd.hardware.core.wire;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class HidCaptureRecorderTest {
+
+  @Test
+  public void testRoundTrip() throws Exception {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    HidCaptureRecorder testObject = new HidCaptureRecorder(out, 4);
+
+    byte[] packet = new byte[HidPacketReassembler.PACKET_LENGTH];
+
+    // More reports than slots so the ring wraps across drains
+    for (int i = 0; i < 10; i++) {
+      packet[0] = (byte) '?';
+      packet[1] = (byte) i;
+      testObject.record(i % 2 == 0 ? HidCaptureDirection.WRITE : HidCaptureDirection.READ, packet, i == 9 ? 20 : packet.length);
+      if (i % 4 == 3) {
+        // Allow the drain to catch up
+        Thread.sleep(120);
+      }
+    }
+
+    testObject.close();
+
+    // Closed recorders ignore further reports
+    assertThat(testObject.record(HidCaptureDirection.READ, packet, packet.length)).isFalse();
+
+    List<HidCaptureRecord> records = HidCaptureReader.read(new ByteArrayInputStream(out.toByteArray()));
+
+    assertThat(testObject.getDropped()).isEqualTo(0);
+    assertThat(records).hasSize(10);
+
+    long previous = 0;
+    for (int i = 0; i < records.size(); i++) {
+      HidCaptureRecord record = records.get(i);
+      assertThat(record.getDirection()).isEqualTo(i % 2 == 0 ? HidCaptureDirection.WRITE : HidCaptureDirection.READ);
+      assertThat(record.getPacket()[1]).isEqualTo((byte) i);
+      assertThat(record.getTimestampNanos() >= previous).isTrue();
+      previous = record.getTimestampNanos();
+    }
+    assertThat(records.get(9).getLength()).isEqualTo(20);
+
+  }
+
+  @Test(expected = IOException.class)
+  public void testNotACapture() throws Exception {
+
+    HidCaptureReader.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+
+  }
+
+}
@@ -0,0 +1,135 @@
+package org.multibit.hd.hardware.core.wire;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.DescriptorProtos;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+public class HidFrameWriterTest {
+
+  /**
+   * Message type for RingSignMessage
+   */
+  private static final int MESSAGE_TYPE = 60;
+
+  /**
+   * Messages larger than the original fixed 32Kb buffer must survive a round trip
+   */
+  @Test
+  public void testRoundTripLargeMessage() throws Exception {
+
+    char[] name = new char[100000];
+    Arrays.fill(name, 'x');
+
+    // Any protobuf message will do
+    DescriptorProtos.FileDescriptorProto message = DescriptorProtos.FileDescriptorProto
+      .newBuilder()
+      .setName(new String(name))
+      .build();
+
+    final List<byte[]> packets = Lists.newArrayList();
+    HidFrameWriter testObject = new HidFrameWriter(
+      new HidPacketSink() {
+        @Override
+        public void write(byte[] packet) {
+          packets.add(packet.clone());
+        }
+      });
+
+    int count = testObject.write(MESSAGE_TYPE, message);
+
+    assertThat(count).isEqualTo(packets.size());
+    assertThat(count).isEqualTo((message.getSerializedSize() + 8 + 62) / 63);
+    assertThat(packets.get(0)[0]).isEqualTo((byte) '?');
+
+    // Read it back
+    final Iterator<byte[]> iterator = packets.iterator();
+    HidPacketReassembler reassembler = new HidPacketReassembler();
+    reassembler.read(
+      new HidPacketSource() {
+        @Override
+        public int read(byte[] packet, int timeoutMillis) {
+          if (!iterator.hasNext()) {
+            return 0;
+          }
+          System.arraycopy(iterator.next(), 0, packet, 0, packet.length);
+          return packet.length;
+        }
+      }, 1000);
+
+    assertThat(reassembler.getMessageType()).isEqualTo(MESSAGE_TYPE);
+    assertThat(reassembler.getMessageSize()).isEqualTo(message.getSerializedSize());
+    assertThat(DescriptorProtos.FileDescriptorProto.parseFrom(reassembler.newCodedInputStream())).isEqualTo(message);
+
+  }
+
+  /**
+   * A message after a failed one must not carry any of its bytes
+   */
+  @Test
+  public void testWriteAfterSinkFailure() throws Exception {
+
+    char[] name = new char[1000];
+    Arrays.fill(name, 'x');
+    DescriptorProtos.FileDescriptorProto failed = DescriptorProtos.FileDescriptorProto
+      .newBuilder()
+      .setName(new String(name))
+      .build();
+    DescriptorProtos.FileDescriptorProto message = DescriptorProtos.FileDescriptorProto
+      .newBuilder()
+      .setName("Message")
+      .build();
+
+    // Fails on the second report then accepts everything
+    final List<byte[]> packets = Lists.newArrayList();
+    HidFrameWriter testObject = new HidFrameWriter(
+      new HidPacketSink() {
+        private int writes = 0;
+
+        @Override
+        public void write(byte[] packet) throws IOException {
+          if (++writes == 2) {
+            throw new IOException("Expected");
+          }
+          packets.add(packet.clone());
+        }
+      });
+
+    try {
+      testObject.write(MESSAGE_TYPE, failed);
+      fail("Expected IOException");
+    } catch (IOException e) {
+      assertThat(e.getMessage()).isEqualTo("Expected");
+    }
+    packets.clear();
+
+    assertThat(testObject.write(MESSAGE_TYPE, message)).isEqualTo(1);
+    assertThat(packets).hasSize(1);
+
+    final Iterator<byte[]> iterator = packets.iterator();
+    HidPacketReassembler reassembler = new HidPacketReassembler();
+    reassembler.read(
+      new HidPacketSource() {
+        @Override
+        public int read(byte[] packet, int timeoutMillis) {
+          if (!iterator.hasNext()) {
+            return 0;
+          }
+          System.arraycopy(iterator.next(), 0, packet, 0, packet.length);
+          return packet.length;
+        }
+      }, 1000);
+
+    assertThat(reassembler.getMessageType()).isEqualTo(MESSAGE_TYPE);
+    assertThat(DescriptorProtos.FileDescriptorProto.parseFrom(reassembler.newCodedInputStream())).isEqualTo(message);
+
+  }
+
+}
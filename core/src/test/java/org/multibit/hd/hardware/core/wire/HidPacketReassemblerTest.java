@@ -0,0 +1,202 @@
+package org.multibit.hd.hardware.core.wire;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class HidPacketReassemblerTest {
+
+  /**
+   * Message type for MessageRingSignature
+   */
+  private static final int MESSAGE_TYPE = 61;
+
+  @Test
+  public void testReassembleMultiplePackets() throws Exception {
+
+    byte[] payload = newPayload(500);
+    PacketArraySource source = new PacketArraySource(frame(MESSAGE_TYPE, payload));
+
+    HidPacketReassembler testObject = new HidPacketReassembler(16);
+
+    assertThat(testObject.read(source, 1000)).isEqualTo(HidPacketReassembler.PACKET_LENGTH);
+    assertThat(testObject.getMessageType()).isEqualTo(MESSAGE_TYPE);
+    assertThat(testObject.getMessageSize()).isEqualTo(payload.length);
+    assertThat(Arrays.copyOfRange(testObject.getPayload(), 0, payload.length)).isEqualTo(payload);
+
+  }
+
+  @Test
+  public void testSynchronizeOnHeader() throws Exception {
+
+    byte[] payload = newPayload(10);
+    byte[][] packets = frame(MESSAGE_TYPE, payload);
+
+    // Precede the message with a continuation packet from an earlier message
+    byte[] noise = new byte[HidPacketReassembler.PACKET_LENGTH];
+    noise[0] = (byte) '?';
+    noise[1] = (byte) 0x55;
+
+    PacketArraySource source = new PacketArraySource(noise, packets[0]);
+
+    HidPacketReassembler testObject = new HidPacketReassembler();
+
+    assertThat(testObject.read(source, 1000)).isEqualTo(HidPacketReassembler.PACKET_LENGTH);
+    assertThat(testObject.getMessageType()).isEqualTo(MESSAGE_TYPE);
+    assertThat(Arrays.copyOfRange(testObject.getPayload(), 0, payload.length)).isEqualTo(payload);
+
+  }
+
+  @Test
+  public void testTimeout() throws Exception {
+
+    HidPacketReassembler testObject = new HidPacketReassembler();
+
+    assertThat(testObject.read(new PacketArraySource(), 1000)).isEqualTo(0);
+    assertThat(testObject.getMessageType()).isEqualTo(-1);
+
+  }
+
+  @Test
+  public void testAbortPartWayThroughMessage() throws Exception {
+
+    byte[][] truncated = frame(MESSAGE_TYPE, newPayload(500));
+    byte[] payload = newPayload(100);
+    byte[][] next = frame(MESSAGE_TYPE + 1, payload);
+
+    // The source gives up after 3 of the 9 reports (e.g. a replay disconnected)
+    PacketArraySource source = new PacketArraySource(truncated[0], truncated[1], truncated[2]);
+
+    HidPacketReassembler testObject = new HidPacketReassembler();
+
+    assertThat(testObject.read(source, 1000)).isEqualTo(0);
+    assertThat(testObject.getMessageType()).isEqualTo(-1);
+    assertThat(testObject.getMessageSize()).isEqualTo(0);
+
+    // The next message is not polluted by the stale report
+    assertThat(testObject.read(new PacketArraySource(next), 1000)).isEqualTo(HidPacketReassembler.PACKET_LENGTH);
+    assertThat(testObject.getMessageType()).isEqualTo(MESSAGE_TYPE + 1);
+    assertThat(Arrays.copyOfRange(testObject.getPayload(), 0, payload.length)).isEqualTo(payload);
+
+  }
+
+  /**
+   * Reading messages once the buffers have settled must not allocate per message
+   */
+  @Test
+  public void testSteadyStateAllocation() throws Exception {
+
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+      // Cannot measure on this JVM
+      return;
+    }
+    com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+    if (!allocationMXBean.isThreadAllocatedMemorySupported() || !allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+      // Cannot measure on this JVM
+      return;
+    }
+
+    // A typical ring signature response spans many packets
+    PacketArraySource source = new PacketArraySource(frame(MESSAGE_TYPE, newPayload(3500)));
+    HidPacketReassembler testObject = new HidPacketReassembler();
+
+    // Allow the payload buffer to settle and the JIT to warm up
+    for (int i = 0; i < 10000; i++) {
+      source.rewind();
+      testObject.read(source, 1000);
+    }
+
+    int messages = 10000;
+    long threadId = Thread.currentThread().getId();
+    long before = allocationMXBean.getThreadAllocatedBytes(threadId);
+
+    for (int i = 0; i < messages; i++) {
+      source.rewind();
+      testObject.read(source, 1000);
+    }
+
+    long allocated = allocationMXBean.getThreadAllocatedBytes(threadId) - before;
+
+    // A single 32Kb buffer per message would be over 300Mb so this leaves plenty of room for measurement noise
+    assertThat(allocated).isLessThan(messages);
+
+  }
+
+  /**
+   * @param length The payload length
+   *
+   * @return A payload with a recognisable pattern
+   */
+  private static byte[] newPayload(int length) {
+
+    byte[] payload = new byte[length];
+    for (int i = 0; i < length; i++) {
+      payload[i] = (byte) (i * 7);
+    }
+    return payload;
+
+  }
+
+  /**
+   * @param type    The message type
+   * @param payload The message payload
+   *
+   * @return The HID reports for the message
+   */
+  private static byte[][] frame(int type, byte[] payload) {
+
+    byte[] stream = new byte[payload.length + 8];
+    stream[0] = '#';
+    stream[1] = '#';
+    stream[2] = (byte) (type >> 8);
+    stream[3] = (byte) type;
+    stream[4] = (byte) (payload.length >> 24);
+    stream[5] = (byte) (payload.length >> 16);
+    stream[6] = (byte) (payload.length >> 8);
+    stream[7] = (byte) payload.length;
+    System.arraycopy(payload, 0, stream, 8, payload.length);
+
+    int count = (stream.length + 62) / 63;
+    byte[][] packets = new byte[count][HidPacketReassembler.PACKET_LENGTH];
+    for (int i = 0; i < count; i++) {
+      packets[i][0] = '?';
+      System.arraycopy(stream, i * 63, packets[i], 1, Math.min(63, stream.length - i * 63));
+    }
+    return packets;
+
+  }
+
+  /**
+   * Replays a fixed set of packets and reports a timeout when exhausted
+   */
+  private static class PacketArraySource implements HidPacketSource {
+
+    private final byte[][] packets;
+    private int index = 0;
+
+    private PacketArraySource(byte[]... packets) {
+      this.packets = packets;
+    }
+
+    private void rewind() {
+      index = 0;
+    }
+
+    @Override
+    public int read(byte[] packet, int timeoutMillis) {
+
+      if (index == packets.length) {
+        return 0;
+      }
+      System.arraycopy(packets[index], 0, packet, 0, HidPacketReassembler.PACKET_LENGTH);
+      index++;
+      return HidPacketReassembler.PACKET_LENGTH;
+    }
+  }
+
+}
@@ -0,0 +1,82 @@
+package org.multibit.hd.hardware.core.wire;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.DescriptorProtos;
+import org.junit.Before;
+import org.junit.Test;
+import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.events.MessageEventType;
+import org.multibit.hd.hardware.core.messages.HardwareWalletMessage;
+import org.multibit.hd.hardware.core.messages.Success;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class WireMessageTableTest {
+
+  private WireMessageTable testObject;
+
+  @Before
+  public void setUp() throws Exception {
+
+    // Any protobuf messages will do
+    testObject = new WireMessageTable()
+      .register(1, DescriptorProtos.FileOptions.class, DescriptorProtos.FileOptions.PARSER, MessageEventType.PING)
+      .register(63, DescriptorProtos.FileDescriptorProto.class, DescriptorProtos.FileDescriptorProto.PARSER, MessageEventType.SUCCESS,
+        new MessageAdapter<DescriptorProtos.FileDescriptorProto>() {
+          @Override
+          public HardwareWalletMessage adapt(DescriptorProtos.FileDescriptorProto message) {
+            return new Success(message.getName());
+          }
+        });
+
+  }
+
+  @Test
+  public void testGetMessageType() throws Exception {
+
+    assertThat(testObject.getMessageType(DescriptorProtos.FileOptions.getDefaultInstance())).isEqualTo(1);
+    assertThat(testObject.getMessageType(DescriptorProtos.FileDescriptorProto.getDefaultInstance())).isEqualTo(63);
+
+    assertThat(testObject.isRegistered(1)).isTrue();
+    assertThat(testObject.isRegistered(2)).isFalse();
+    assertThat(testObject.isRegistered(1000)).isFalse();
+
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetMessageType_Unknown() throws Exception {
+
+    testObject.getMessageType(DescriptorProtos.MessageOptions.getDefaultInstance());
+
+  }
+
+  @Test
+  public void testParse() throws Exception {
+
+    byte[] payload = DescriptorProtos.FileDescriptorProto.newBuilder().setName("test").build().toByteArray();
+
+    MessageEvent event = testObject.parse(63, CodedInputStream.newInstance(payload, 0, payload.length), "TREZOR");
+
+    assertThat(event.getEventType()).isEqualTo(MessageEventType.SUCCESS);
+    assertThat(event.getSource()).isEqualTo("TREZOR");
+    assertThat(event.getRawMessage().get()).isInstanceOf(DescriptorProtos.FileDescriptorProto.class);
+    assertThat(((Success) event.getMessage().get()).getMessage()).isEqualTo("test");
+
+    // No adapter
+    event = testObject.parse(1, CodedInputStream.newInstance(new byte[0], 0, 0), "TREZOR");
+    assertThat(event.getEventType()).isEqualTo(MessageEventType.PING);
+    assertThat(event.getMessage().isPresent()).isFalse();
+
+    // Unknown
+    assertThat(testObject.parse(2, CodedInputStream.newInstance(new byte[0], 0, 0), "TREZOR")).isNull();
+
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRegister_Duplicate() throws Exception {
+
+    testObject.register(2, DescriptorProtos.FileOptions.class, DescriptorProtos.FileOptions.PARSER, MessageEventType.PING);
+
+  }
+
+}
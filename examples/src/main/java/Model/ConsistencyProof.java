@@ -0,0 +1,40 @@
+package Model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.multibit.hd.hardware.core.utils.MerkleTreeUtils;
+
+/**
+ * The proof that a later tree of votes counted only appended votes to an earlier one
+ */
+public class ConsistencyProof implements Serializable{
+	private static final long serialVersionUID = 1L;
+
+	public int first;
+	public int second;
+	public byte[] secondRoot;
+	public List<byte[]> proof;
+
+	/**
+	 * @param first      The number of votes in the earlier tree
+	 * @param second     The number of votes in the later tree
+	 * @param secondRoot The root of the later tree
+	 * @param proof      The consistency proof between the trees
+	 */
+	public ConsistencyProof (int first, int second, byte[] secondRoot, List<byte[]> proof) {
+		this.first = first;
+		this.second = second;
+		this.secondRoot = secondRoot;
+		this.proof = proof;
+	}
+
+	/**
+	 * @param firstRoot The root the voter holds for the earlier tree
+	 *
+	 * @return True if the later tree holds every vote of the earlier tree in the same order
+	 */
+	public boolean verify(byte[] firstRoot) {
+		return MerkleTreeUtils.verifyConsistency(first, second, firstRoot, secondRoot, proof);
+	}
+}
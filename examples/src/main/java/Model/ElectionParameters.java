@@ -3,6 +3,8 @@ package Model;
 import java.io.Serializable;
 import java.util.List;
 
+import org.multibit.hd.hardware.core.utils.RingSignatureUtils;
+
 public class ElectionParameters implements Serializable{
 	private static final long serialVersionUID = 1L;
 	
@@ -18,6 +20,13 @@ public class ElectionParameters implements Serializable{
 		this.pi = pi;
 	}
 	
+	/**
+	 * @return The ring as 33 byte compressed points (about half the size to send to the device)
+	 */
+	public List<byte[]> getCompressedL() {
+		return RingSignatureUtils.compressRing(L);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -0,0 +1,26 @@
+package Model;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A page of the votes counted in commit order
+ */
+public class ElectionResultsPage implements Serializable{
+	private static final long serialVersionUID = 1L;
+
+	public List<VoteItem> votes;
+	public int nextCursor;
+	public boolean more;
+
+	/**
+	 * @param votes      The votes from the cursor asked for
+	 * @param nextCursor The cursor of the page that follows
+	 * @param more       True if more votes had been counted when the page was read
+	 */
+	public ElectionResultsPage (List<VoteItem> votes, int nextCursor, boolean more) {
+		this.votes = votes;
+		this.nextCursor = nextCursor;
+		this.more = more;
+	}
+}
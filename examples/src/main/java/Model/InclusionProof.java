@@ -0,0 +1,56 @@
+package Model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.multibit.hd.hardware.core.utils.MerkleTreeUtils;
+
+import com.google.common.base.Charsets;
+import com.google.common.primitives.Bytes;
+
+/**
+ * The audit path from a counted vote to the root of the tree of votes counted
+ */
+public class InclusionProof implements Serializable{
+	private static final long serialVersionUID = 1L;
+
+	public int leafIndex;
+	public int treeSize;
+	public byte[] root;
+	public List<byte[]> path;
+	public String message;
+
+	/**
+	 * @param leafIndex The index of the vote in commit order
+	 * @param treeSize  The number of votes in the tree
+	 * @param root      The root of the tree
+	 * @param path      The audit path from the vote to the root (nearest the vote first)
+	 * @param message   The candidate counted for the key image
+	 */
+	public InclusionProof (int leafIndex, int treeSize, byte[] root, List<byte[]> path, String message) {
+		this.leafIndex = leafIndex;
+		this.treeSize = treeSize;
+		this.root = root;
+		this.path = path;
+		this.message = message;
+	}
+
+	/**
+	 * @param Yt      The uncompressed key image of a vote
+	 * @param message The candidate of the vote
+	 *
+	 * @return The leaf of the vote in the tree (the key image followed by the UTF-8 candidate)
+	 */
+	public static byte[] leafData(byte[] Yt, String message) {
+		return Bytes.concat(Yt, message.getBytes(Charsets.UTF_8));
+	}
+
+	/**
+	 * @param Yt The uncompressed key image of the voter
+	 *
+	 * @return True if the vote with the key image and candidate is in the tree with the root
+	 */
+	public boolean verify(byte[] Yt) {
+		return MerkleTreeUtils.verifyInclusion(leafIndex, treeSize, MerkleTreeUtils.leafHash(leafData(Yt, message)), path, root);
+	}
+}
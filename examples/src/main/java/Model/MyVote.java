@@ -1,6 +1,12 @@
 package Model;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+
+import com.google.protobuf.ByteString;
 
 public class MyVote implements Serializable{
 
@@ -27,4 +33,15 @@ public class MyVote implements Serializable{
 		System.arraycopy(yty, 0, ytbytes, 33, 32);
 		return ytbytes;
 	}
+
+	/**
+	 * @return The vote as a ring signature for verification (e.g. with a RingSignatureBatchVerifier)
+	 */
+	public MessageRingSignature toMessageRingSignature() {
+		List<ByteString> sList = new ArrayList<ByteString>(s.length);
+		for (byte[] si : s) {
+			sList.add(ByteString.copyFrom(si));
+		}
+		return new MessageRingSignature(c, sList, n, ytx, yty);
+	}
 }
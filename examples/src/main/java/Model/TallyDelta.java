@@ -0,0 +1,34 @@
+package Model;
+
+import java.io.Serializable;
+
+/**
+ * The votes of the candidates that changed between two versions of the tally
+ */
+public class TallyDelta implements Serializable{
+	private static final long serialVersionUID = 1L;
+
+	public int version;
+	public int[] candidates;
+	public int[] votes;
+
+	/**
+	 * @param version    The version of the tally (the number of votes counted)
+	 * @param candidates The index in M of each candidate that changed
+	 * @param votes      The votes for each candidate that changed (same order as candidates)
+	 */
+	public TallyDelta (int version, int[] candidates, int[] votes) {
+		this.version = version;
+		this.candidates = candidates;
+		this.votes = votes;
+	}
+
+	/**
+	 * @param tally The votes for each candidate at an earlier version (brought up to this version)
+	 */
+	public void applyTo(int[] tally) {
+		for (int i = 0; i < candidates.length; i++) {
+			tally[candidates[i]] = votes[i];
+		}
+	}
+}
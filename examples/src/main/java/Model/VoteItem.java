@@ -1,6 +1,7 @@
 package Model;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 public class VoteItem implements Serializable{
 	private static final long serialVersionUID = 1L;
@@ -14,6 +15,6 @@ public class VoteItem implements Serializable{
 	}
 
 	public boolean isLinked(byte[] ytilda) {
-		return Yt.equals(ytilda);
+		return Arrays.equals(Yt, ytilda);
 	}
 }
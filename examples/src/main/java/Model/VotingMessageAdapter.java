@@ -0,0 +1,330 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.base.Preconditions;
+import com.google.protobuf.ByteString;
+
+import Model.protobuf.VotingProtocol;
+
+/**
+ * <p>Adapter to provide the following to the voting protocol:</p>
+ * <ul>
+ * <li>Conversion between the Model objects and the voting messages sent over the wire</li>
+ * </ul>
+ * <p>Text is always UTF-8.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public final class VotingMessageAdapter {
+
+	/**
+	 * Utilities have private constructors
+	 */
+	private VotingMessageAdapter() {
+	}
+
+	public static VotingProtocol.Failure adaptFailure(Failure source) {
+
+		return VotingProtocol.Failure.newBuilder()
+				.setText(ByteString.copyFromUtf8(source.text))
+				.build();
+	}
+
+	public static Failure adaptFailure(VotingProtocol.Failure source) {
+
+		return new Failure(source.getText().toStringUtf8());
+	}
+
+	public static VotingProtocol.PublicKey adaptPublicKey(MyPublicKey source) {
+
+		return VotingProtocol.PublicKey.newBuilder()
+				.setPublicKey(ByteString.copyFrom(source.bytes))
+				.build();
+	}
+
+	public static MyPublicKey adaptPublicKey(VotingProtocol.PublicKey source) {
+
+		return new MyPublicKey(source.getPublicKey().toByteArray());
+	}
+
+	public static VotingProtocol.ElectionParameters adaptElectionParameters(ElectionParameters source) {
+
+		VotingProtocol.ElectionParameters.Builder builder = VotingProtocol.ElectionParameters.newBuilder()
+				.setQuestion(ByteString.copyFromUtf8(source.question))
+				.setPi(source.pi);
+		for (byte[] key : source.L) {
+			builder.addL(ByteString.copyFrom(key));
+		}
+		for (String candidate : source.M) {
+			builder.addM(ByteString.copyFromUtf8(candidate));
+		}
+
+		return builder.build();
+	}
+
+	public static ElectionParameters adaptElectionParameters(VotingProtocol.ElectionParameters source) {
+
+		List<byte[]> L = new ArrayList<byte[]>(source.getLCount());
+		for (ByteString key : source.getLList()) {
+			L.add(key.toByteArray());
+		}
+		List<String> M = new ArrayList<String>(source.getMCount());
+		for (ByteString candidate : source.getMList()) {
+			M.add(candidate.toStringUtf8());
+		}
+
+		return new ElectionParameters(L, source.getQuestion().toStringUtf8(), M, source.getPi());
+	}
+
+	public static VotingProtocol.Vote adaptVote(MyVote source) {
+
+		VotingProtocol.Vote.Builder builder = VotingProtocol.Vote.newBuilder()
+				.setC(ByteString.copyFrom(source.c))
+				.setN(source.n)
+				.setYtDotX(ByteString.copyFrom(source.ytx))
+				.setYtDotY(ByteString.copyFrom(source.yty));
+		for (byte[] si : source.s) {
+			builder.addS(ByteString.copyFrom(si));
+		}
+
+		return builder.build();
+	}
+
+	public static MyVote adaptVote(VotingProtocol.Vote source) {
+
+		byte[][] s = new byte[source.getSCount()][];
+		for (int i = 0; i < s.length; i++) {
+			s[i] = source.getS(i).toByteArray();
+		}
+
+		return new MyVote(
+				source.getC().toByteArray(),
+				s,
+				source.getN(),
+				source.getYtDotX().toByteArray(),
+				source.getYtDotY().toByteArray());
+	}
+
+	public static VotingProtocol.VoteResult adaptVoteResult(boolean accepted) {
+
+		return VotingProtocol.VoteResult.newBuilder()
+				.setAccepted(accepted ? 1 : 0)
+				.build();
+	}
+
+	public static boolean adaptVoteResult(VotingProtocol.VoteResult source) {
+
+		return source.getAccepted() != 0;
+	}
+
+	/**
+	 * @param raw True for every vote with its key image (ElectionResults), false for the summary (ElectionSummary)
+	 */
+	public static VotingProtocol.GetElectionResults adaptGetElectionResults(boolean raw) {
+
+		return VotingProtocol.GetElectionResults.newBuilder()
+				.setRaw(raw ? 1 : 0)
+				.build();
+	}
+
+	public static boolean adaptGetElectionResults(VotingProtocol.GetElectionResults source) {
+
+		return source.getRaw() != 0;
+	}
+
+	public static VotingProtocol.ElectionSummary adaptElectionSummary(String source) {
+
+		return VotingProtocol.ElectionSummary.newBuilder()
+				.setText(ByteString.copyFromUtf8(source))
+				.build();
+	}
+
+	public static String adaptElectionSummary(VotingProtocol.ElectionSummary source) {
+
+		return source.getText().toStringUtf8();
+	}
+
+	public static VotingProtocol.ElectionResults adaptElectionResults(ElectionResults source) {
+
+		VotingProtocol.ElectionResults.Builder builder = VotingProtocol.ElectionResults.newBuilder();
+		for (VoteItem item : source.votes) {
+			builder.addMessage(ByteString.copyFromUtf8(item.message));
+			builder.addYt(ByteString.copyFrom(item.Yt));
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * @throws IllegalArgumentException If the number of candidates and key images differ
+	 */
+	public static ElectionResults adaptElectionResults(VotingProtocol.ElectionResults source) {
+
+		Preconditions.checkArgument(source.getMessageCount() == source.getYtCount(), "Every vote must have a key image");
+
+		List<VoteItem> votes = new ArrayList<VoteItem>(source.getMessageCount());
+		for (int i = 0; i < source.getMessageCount(); i++) {
+			votes.add(new VoteItem(source.getMessage(i).toStringUtf8(), source.getYt(i).toByteArray()));
+		}
+
+		return new ElectionResults(votes);
+	}
+
+	/**
+	 * @param version The version of the tally already held (0 for none)
+	 */
+	public static VotingProtocol.GetTally adaptGetTally(int version) {
+
+		return VotingProtocol.GetTally.newBuilder()
+				.setVersion(version)
+				.build();
+	}
+
+	public static int adaptGetTally(VotingProtocol.GetTally source) {
+
+		return source.getVersion();
+	}
+
+	public static VotingProtocol.Tally adaptTallyDelta(TallyDelta source) {
+
+		VotingProtocol.Tally.Builder builder = VotingProtocol.Tally.newBuilder()
+				.setVersion(source.version);
+		for (int i = 0; i < source.candidates.length; i++) {
+			builder.addCandidate(source.candidates[i]);
+			builder.addVotes(source.votes[i]);
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * @throws IllegalArgumentException If the number of candidates and votes differ
+	 */
+	public static TallyDelta adaptTallyDelta(VotingProtocol.Tally source) {
+
+		Preconditions.checkArgument(source.getCandidateCount() == source.getVotesCount(), "Every candidate must have votes");
+
+		int[] candidates = new int[source.getCandidateCount()];
+		int[] votes = new int[source.getVotesCount()];
+		for (int i = 0; i < candidates.length; i++) {
+			candidates[i] = source.getCandidate(i);
+			votes[i] = source.getVotes(i);
+		}
+
+		return new TallyDelta(source.getVersion(), candidates, votes);
+	}
+
+	/**
+	 * @param cursor The index in commit order of the first vote wanted
+	 * @param limit  The most votes wanted
+	 */
+	public static VotingProtocol.GetElectionResultsPage adaptGetElectionResultsPage(int cursor, int limit) {
+
+		return VotingProtocol.GetElectionResultsPage.newBuilder()
+				.setCursor(cursor)
+				.setLimit(limit)
+				.build();
+	}
+
+	public static VotingProtocol.ElectionResultsPage adaptElectionResultsPage(ElectionResultsPage source) {
+
+		VotingProtocol.ElectionResultsPage.Builder builder = VotingProtocol.ElectionResultsPage.newBuilder()
+				.setNextCursor(source.nextCursor)
+				.setMore(source.more ? 1 : 0);
+		for (VoteItem item : source.votes) {
+			builder.addMessage(ByteString.copyFromUtf8(item.message));
+			builder.addYt(ByteString.copyFrom(item.Yt));
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * @throws IllegalArgumentException If the number of candidates and key images differ
+	 */
+	public static ElectionResultsPage adaptElectionResultsPage(VotingProtocol.ElectionResultsPage source) {
+
+		Preconditions.checkArgument(source.getMessageCount() == source.getYtCount(), "Every vote must have a key image");
+
+		List<VoteItem> votes = new ArrayList<VoteItem>(source.getMessageCount());
+		for (int i = 0; i < source.getMessageCount(); i++) {
+			votes.add(new VoteItem(source.getMessage(i).toStringUtf8(), source.getYt(i).toByteArray()));
+		}
+
+		return new ElectionResultsPage(votes, source.getNextCursor(), source.getMore() != 0);
+	}
+
+	/**
+	 * @param Yt       The uncompressed key image of the vote
+	 * @param treeSize The size of the tree to prove against (0 for the current tree)
+	 */
+	public static VotingProtocol.GetInclusionProof adaptGetInclusionProof(byte[] Yt, int treeSize) {
+
+		return VotingProtocol.GetInclusionProof.newBuilder()
+				.setYt(ByteString.copyFrom(Yt))
+				.setTreeSize(treeSize)
+				.build();
+	}
+
+	public static VotingProtocol.InclusionProof adaptInclusionProof(InclusionProof source) {
+
+		VotingProtocol.InclusionProof.Builder builder = VotingProtocol.InclusionProof.newBuilder()
+				.setLeafIndex(source.leafIndex)
+				.setTreeSize(source.treeSize)
+				.setRoot(ByteString.copyFrom(source.root))
+				.setMessage(ByteString.copyFromUtf8(source.message));
+		for (byte[] hash : source.path) {
+			builder.addPath(ByteString.copyFrom(hash));
+		}
+
+		return builder.build();
+	}
+
+	public static InclusionProof adaptInclusionProof(VotingProtocol.InclusionProof source) {
+
+		List<byte[]> path = new ArrayList<byte[]>(source.getPathCount());
+		for (ByteString hash : source.getPathList()) {
+			path.add(hash.toByteArray());
+		}
+
+		return new InclusionProof(source.getLeafIndex(), source.getTreeSize(), source.getRoot().toByteArray(), path, source.getMessage().toStringUtf8());
+	}
+
+	/**
+	 * @param first  The size of the tree the voter holds the root of
+	 * @param second The size of the later tree (0 for the current tree)
+	 */
+	public static VotingProtocol.GetConsistencyProof adaptGetConsistencyProof(int first, int second) {
+
+		return VotingProtocol.GetConsistencyProof.newBuilder()
+				.setFirst(first)
+				.setSecond(second)
+				.build();
+	}
+
+	public static VotingProtocol.ConsistencyProof adaptConsistencyProof(ConsistencyProof source) {
+
+		VotingProtocol.ConsistencyProof.Builder builder = VotingProtocol.ConsistencyProof.newBuilder()
+				.setFirst(source.first)
+				.setSecond(source.second)
+				.setSecondRoot(ByteString.copyFrom(source.secondRoot));
+		for (byte[] hash : source.proof) {
+			builder.addProof(ByteString.copyFrom(hash));
+		}
+
+		return builder.build();
+	}
+
+	public static ConsistencyProof adaptConsistencyProof(VotingProtocol.ConsistencyProof source) {
+
+		List<byte[]> proof = new ArrayList<byte[]>(source.getProofCount());
+		for (ByteString hash : source.getProofList()) {
+			proof.add(hash.toByteArray());
+		}
+
+		return new ConsistencyProof(source.getFirst(), source.getSecond(), source.getSecondRoot().toByteArray(), proof);
+	}
+}
@@ -0,0 +1,85 @@
+package Model;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.io.ByteStreams;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+
+/**
+ * <p>Reader to provide the following to voters and the voting server:</p>
+ * <ul>
+ * <li>Framed voting messages read from a stream (see {@link VotingMessageRegistry})</li>
+ * </ul>
+ * <p>Unlike Java serialization only the voting messages can be read and nothing is instantiated by
+ * reflection. The payload length is checked before anything is allocated. Readers are not thread safe.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class VotingMessageReader implements Closeable {
+
+	private final DataInputStream in;
+
+	/**
+	 * @param in The stream to read from (e.g. a socket input stream)
+	 */
+	public VotingMessageReader(InputStream in) {
+
+		Preconditions.checkNotNull(in, "'in' must be present");
+
+		this.in = new DataInputStream(new BufferedInputStream(in));
+
+	}
+
+	/**
+	 * <p>Block until the next message arrives</p>
+	 *
+	 * @return The voting message (see {@link VotingMessageAdapter})
+	 *
+	 * @throws EOFException If the stream ends
+	 * @throws IOException If the stream fails or the frame is not a voting message of this version
+	 */
+	public Message read() throws IOException {
+
+		int version = in.read();
+		if (version < 0) {
+			throw new EOFException("End of voting messages");
+		}
+		if (version != VotingMessageRegistry.VERSION) {
+			throw new IOException("Unsupported voting protocol version " + version);
+		}
+
+		int messageType = in.readUnsignedShort();
+		int length = in.readInt();
+		if (length < 0 || length > VotingMessageRegistry.MAX_PAYLOAD_LENGTH) {
+			throw new IOException("Invalid voting message length " + length);
+		}
+
+		Optional<Parser<? extends Message>> parser = VotingMessageRegistry.getParser(messageType);
+		if (!parser.isPresent()) {
+			// Stay in step with the stream so the caller can carry on
+			ByteStreams.skipFully(in, length);
+			throw new IOException("Unknown voting message type " + messageType);
+		}
+
+		byte[] payload = new byte[length];
+		in.readFully(payload);
+
+		return parser.get().parseFrom(payload);
+
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+}
@@ -0,0 +1,109 @@
+package Model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+
+import Model.protobuf.VotingProtocol;
+
+/**
+ * <p>Registry to provide the following to the voting protocol:</p>
+ * <ul>
+ * <li>The wire identifier and parser of each voting message</li>
+ * <li>The framing shared by {@link VotingMessageWriter} and {@link VotingMessageReader}</li>
+ * </ul>
+ * <p>Each message is framed as a version byte, a 2 byte message type and a 4 byte payload length
+ * (both big endian) followed by the protobuf encoded message. A peer speaking a different version
+ * is rejected on its first message.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public final class VotingMessageRegistry {
+
+	/**
+	 * The version of the voting protocol written in every frame
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * The version, message type and payload length
+	 */
+	public static final int HEADER_LENGTH = 7;
+
+	/**
+	 * The largest payload accepted (a ring of over 250,000 uncompressed keys)
+	 */
+	public static final int MAX_PAYLOAD_LENGTH = 16 * 1024 * 1024;
+
+	private static final Map<Integer, Parser<? extends Message>> parsers = new HashMap<>();
+
+	private static final Map<Class<? extends Message>, Integer> messageTypes = new HashMap<>();
+
+	static {
+
+		register(VotingProtocol.VotingMessageType.MessageType_Failure_VALUE, VotingProtocol.Failure.class, VotingProtocol.Failure.PARSER);
+		register(VotingProtocol.VotingMessageType.MessageType_PublicKey_VALUE, VotingProtocol.PublicKey.class, VotingProtocol.PublicKey.PARSER);
+		register(VotingProtocol.VotingMessageType.MessageType_ElectionParameters_VALUE, VotingProtocol.ElectionParameters.class, VotingProtocol.ElectionParameters.PARSER);
+		register(VotingProtocol.VotingMessageType.MessageType_Vote_VALUE, VotingProtocol.Vote.class, VotingProtocol.Vote.PARSER);
+		register(VotingProtocol.VotingMessageType.MessageType_VoteResult_VALUE, VotingProtocol.VoteResult.class, VotingProtocol.VoteResult.PARSER);
+		register(VotingProtocol.VotingMessageType.MessageType_GetElectionResults_VALUE, VotingProtocol.GetElectionResults.class, VotingProtocol.GetElectionResults.PARSER);
+		register(VotingProtocol.VotingMessageType.MessageType_ElectionSummary_VALUE, VotingProtocol.ElectionSummary.class, VotingProtocol.ElectionSummary.PARSER);
+		register(VotingProtocol.VotingMessageType.MessageType_ElectionResults_VALUE, VotingProtocol.ElectionResults.class, VotingProtocol.ElectionResults.PARSER);
+		register(VotingProtocol.VotingMessageType.MessageType_GetTally_VALUE, VotingProtocol.GetTally.class, VotingProtocol.GetTally.PARSER);
+		register(VotingProtocol.VotingMessageType.MessageType_Tally_VALUE, VotingProtocol.Tally.class, VotingProtocol.Tally.PARSER);
+		register(VotingProtocol.VotingMessageType.MessageType_GetElectionResultsPage_VALUE, VotingProtocol.GetElectionResultsPage.class, VotingProtocol.GetElectionResultsPage.PARSER);
+		register(VotingProtocol.VotingMessageType.MessageType_ElectionResultsPage_VALUE, VotingProtocol.ElectionResultsPage.class, VotingProtocol.ElectionResultsPage.PARSER);
+		register(VotingProtocol.VotingMessageType.MessageType_GetInclusionProof_VALUE, VotingProtocol.GetInclusionProof.class, VotingProtocol.GetInclusionProof.PARSER);
+		register(VotingProtocol.VotingMessageType.MessageType_InclusionProof_VALUE, VotingProtocol.InclusionProof.class, VotingProtocol.InclusionProof.PARSER);
+		register(VotingProtocol.VotingMessageType.MessageType_GetConsistencyProof_VALUE, VotingProtocol.GetConsistencyProof.class, VotingProtocol.GetConsistencyProof.PARSER);
+		register(VotingProtocol.VotingMessageType.MessageType_ConsistencyProof_VALUE, VotingProtocol.ConsistencyProof.class, VotingProtocol.ConsistencyProof.PARSER);
+
+	}
+
+	/**
+	 * Utilities have private constructors
+	 */
+	private VotingMessageRegistry() {
+	}
+
+	/**
+	 * @param message The voting message
+	 *
+	 * @return The wire identifier of the message
+	 *
+	 * @throws IllegalArgumentException If the message is not part of the voting protocol
+	 */
+	public static int getMessageType(Message message) {
+
+		Integer messageType = messageTypes.get(message.getClass());
+		if (messageType == null) {
+			throw new IllegalArgumentException("Not a voting message: " + message.getClass().getSimpleName());
+		}
+
+		return messageType;
+
+	}
+
+	/**
+	 * @param messageType The wire identifier
+	 *
+	 * @return The parser for the message (absent if not part of the voting protocol)
+	 */
+	public static Optional<Parser<? extends Message>> getParser(int messageType) {
+
+		return Optional.<Parser<? extends Message>>fromNullable(parsers.get(messageType));
+
+	}
+
+	private static void register(int messageType, Class<? extends Message> messageClass, Parser<? extends Message> parser) {
+
+		parsers.put(messageType, parser);
+		messageTypes.put(messageClass, messageType);
+
+	}
+
+}
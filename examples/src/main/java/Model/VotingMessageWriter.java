@@ -0,0 +1,64 @@
+package Model;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.google.common.base.Preconditions;
+import com.google.protobuf.Message;
+
+/**
+ * <p>Writer to provide the following to voters and the voting server:</p>
+ * <ul>
+ * <li>Framed voting messages written straight to a stream (see {@link VotingMessageRegistry})</li>
+ * </ul>
+ * <p>Each message is flushed as soon as it is written. Writers are not thread safe.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class VotingMessageWriter implements Closeable {
+
+	private final DataOutputStream out;
+
+	/**
+	 * @param out The stream to write to (e.g. a socket output stream)
+	 */
+	public VotingMessageWriter(OutputStream out) {
+
+		Preconditions.checkNotNull(out, "'out' must be present");
+
+		this.out = new DataOutputStream(new BufferedOutputStream(out));
+
+	}
+
+	/**
+	 * @param message The voting message (see {@link VotingMessageAdapter})
+	 *
+	 * @throws IOException If the stream fails
+	 * @throws IllegalArgumentException If the message is not part of the voting protocol or too large
+	 */
+	public void write(Message message) throws IOException {
+
+		Preconditions.checkNotNull(message, "'message' must be present");
+
+		int messageType = VotingMessageRegistry.getMessageType(message);
+		int length = message.getSerializedSize();
+		Preconditions.checkArgument(length <= VotingMessageRegistry.MAX_PAYLOAD_LENGTH, "'message' is too large to send");
+
+		out.writeByte(VotingMessageRegistry.VERSION);
+		out.writeShort(messageType);
+		out.writeInt(length);
+		message.writeTo(out);
+		out.flush();
+
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+
+}
@@ -1,13 +1,21 @@
 import com.google.common.base.Optional;
 import com.google.common.eventbus.Subscribe;
 import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.protobuf.Message;
 
+import Model.ConsistencyProof;
 import Model.ElectionParameters;
-import Model.ElectionResults;
+import Model.ElectionResultsPage;
 import Model.Failure;
+import Model.InclusionProof;
 import Model.MyPublicKey;
 import Model.MyVote;
+import Model.TallyDelta;
 import Model.VoteItem;
+import Model.VotingMessageAdapter;
+import Model.VotingMessageReader;
+import Model.VotingMessageWriter;
+import Model.protobuf.VotingProtocol;
 
 import org.bitcoinj.core.Address;
 import org.bitcoinj.core.ECKey;
@@ -30,9 +38,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.net.Socket;
+import java.util.Arrays;
 import java.util.InputMismatchException;
 import java.util.List;
 import java.util.Scanner;
@@ -60,14 +67,25 @@ public class MyExample {
 	private MessageRingSignature vote;
 	private ElectionParameters electionParameters;
 
+	// The votes for each candidate as of tallyVersion (kept up to date by option 6)
+	private int[] tally;
+	private int tallyVersion = 0;
+
+	// The last tree of votes counted this voter has checked (kept up to date by option 10)
+	private int treeSize = 0;
+	private byte[] treeRoot;
+
 	private org.multibit.hd.hardware.core.messages.PublicKey65 myPublicKey;
 
 	private static String hostname;
 	private static int port = 7777;
+
+	// Votes asked for in each page of raw results
+	private static final int RESULTS_PAGE_SIZE = 1000;
 	private static Socket socket;
 
-	private static ObjectOutputStream oos;
-	private static ObjectInputStream ois;
+	private static VotingMessageWriter writer;
+	private static VotingMessageReader reader;
 
 	private Thread userThread;
 	private Scanner keyboard = new Scanner(System.in);
@@ -109,8 +127,8 @@ public class MyExample {
 
 			socket = new Socket(hostname, port);
 
-			oos = new ObjectOutputStream(socket.getOutputStream());
-			ois = new ObjectInputStream(socket.getInputStream());
+			writer = new VotingMessageWriter(socket.getOutputStream());
+			reader = new VotingMessageReader(socket.getInputStream());
 
 		} catch (IOException e) {
 			System.out.println("can't connect to server");
@@ -294,6 +312,9 @@ public class MyExample {
 				if (vote != null)
 					System.out.println("Press 8 for printing Y tilda");
 
+				if (vote != null)
+					System.out.println("Press 10 for checking your vote was counted");
+
 				System.out.println("Press 9 for closing application");
 
 				try {
@@ -312,14 +333,16 @@ public class MyExample {
 								System.out.println("Did not receive public key from Trezor. Do that first!");
 								break;
 							}
-							oos.writeObject(new MyPublicKey(myPublicKey.getPublicKey()));
-							Object received;
-							if ((received = ois.readObject()) != null) {
-								if (received instanceof ElectionParameters) {
-									electionParameters = (ElectionParameters) received;
+							writer.write(VotingMessageAdapter.adaptPublicKey(new MyPublicKey(myPublicKey.getPublicKey())));
+							Message received;
+							if ((received = reader.read()) != null) {
+								if (received instanceof VotingProtocol.ElectionParameters) {
+									electionParameters = VotingMessageAdapter.adaptElectionParameters((VotingProtocol.ElectionParameters) received);
+									tally = new int[electionParameters.M.size()];
+									tallyVersion = 0;
 									System.out.println("Election parameters received !");
-								} else if (received instanceof Failure) {
-									Failure fail = (Failure) received;
+								} else if (received instanceof VotingProtocol.Failure) {
+									Failure fail = VotingMessageAdapter.adaptFailure((VotingProtocol.Failure) received);
 									System.out.println(fail.text);
 								} else
 									throw new ClassNotFoundException();
@@ -377,47 +400,77 @@ public class MyExample {
 							}
 							MyVote myVote = new MyVote(vote.getC(), vote.getS(), vote.getN(), vote.getYtx(),
 									vote.getYty());
-							oos.writeObject(myVote);
-							if ((received = ois.readObject()) != null) {
-								if (received instanceof Boolean) {
-									boolean accepted = (Boolean) received;
+							writer.write(VotingMessageAdapter.adaptVote(myVote));
+							if ((received = reader.read()) != null) {
+								if (received instanceof VotingProtocol.VoteResult) {
+									boolean accepted = VotingMessageAdapter.adaptVoteResult((VotingProtocol.VoteResult) received);
 									if (accepted)
 										System.out.println("your vote was accepted");
 									else
 										System.out.println("your vote was NOT accepted");
-								} else if (received instanceof Failure) {
-									Failure fail = (Failure) received;
+								} else if (received instanceof VotingProtocol.Failure) {
+									Failure fail = VotingMessageAdapter.adaptFailure((VotingProtocol.Failure) received);
 									System.out.println(fail.text);
 								} else
 									throw new ClassNotFoundException();
 							}
 							break;
 						case 6: // ask for election results
-							oos.writeObject("results");
-							if ((received = ois.readObject()) != null) {
-								if (received instanceof String) {
-									String result = (String) received;
+							if (electionParameters != null) {
+								// Only the candidates whose votes changed since the last poll are sent
+								writer.write(VotingMessageAdapter.adaptGetTally(tallyVersion));
+								if ((received = reader.read()) != null) {
+									if (received instanceof VotingProtocol.Tally) {
+										TallyDelta delta = VotingMessageAdapter.adaptTallyDelta((VotingProtocol.Tally) received);
+										delta.applyTo(tally);
+										tallyVersion = delta.version;
+										System.out.println("Results are : ");
+										System.out.println(electionParameters.question);
+										for (int i = 0; i < tally.length; i++) {
+											System.out.println(electionParameters.M.get(i) + " : " + tally[i]);
+										}
+									} else if (received instanceof VotingProtocol.Failure) {
+										Failure fail = VotingMessageAdapter.adaptFailure((VotingProtocol.Failure) received);
+										System.out.println(fail.text);
+									} else
+										throw new ClassNotFoundException();
+								}
+								break;
+							}
+							// Without the candidates only the summary can be shown
+							writer.write(VotingMessageAdapter.adaptGetElectionResults(false));
+							if ((received = reader.read()) != null) {
+								if (received instanceof VotingProtocol.ElectionSummary) {
+									String result = VotingMessageAdapter.adaptElectionSummary((VotingProtocol.ElectionSummary) received);
 									System.out.println("Results are : ");
 									System.out.println(result);
-								} else if (received instanceof Failure) {
-									Failure fail = (Failure) received;
+								} else if (received instanceof VotingProtocol.Failure) {
+									Failure fail = VotingMessageAdapter.adaptFailure((VotingProtocol.Failure) received);
 									System.out.println(fail.text);
 								} else
 									throw new ClassNotFoundException();
 							}
 							break;
 						case 7: // ask for election results raw
-							oos.writeObject("results raw");
-							if ((received = ois.readObject()) != null) {
-								if (received instanceof ElectionResults) {
-									ElectionResults results = (ElectionResults) received;
-									System.out.println("Results are : ");
-									for (VoteItem item : results.votes) {
+							// Page through the votes so only one page is held at a time
+							System.out.println("Results are : ");
+							int cursor = 0;
+							boolean more = true;
+							while (more) {
+								writer.write(VotingMessageAdapter.adaptGetElectionResultsPage(cursor, RESULTS_PAGE_SIZE));
+								if ((received = reader.read()) == null)
+									break;
+								if (received instanceof VotingProtocol.ElectionResultsPage) {
+									ElectionResultsPage page = VotingMessageAdapter.adaptElectionResultsPage((VotingProtocol.ElectionResultsPage) received);
+									for (VoteItem item : page.votes) {
 										System.out.println(bytesToHex(item.Yt) + " : " + item.message);
 									}
-								} else if (received instanceof Failure) {
-									Failure fail = (Failure) received;
+									cursor = page.nextCursor;
+									more = page.more;
+								} else if (received instanceof VotingProtocol.Failure) {
+									Failure fail = VotingMessageAdapter.adaptFailure((VotingProtocol.Failure) received);
 									System.out.println(fail.text);
+									more = false;
 								} else
 									throw new ClassNotFoundException();
 							}
@@ -439,6 +492,51 @@ public class MyExample {
 						case 9: // system.exit
 							System.exit(1);
 							break;
+						case 10: // check the vote is in the tree of votes counted
+							if (vote == null) {
+								System.out.println("You have to sign your vote first.");
+								break;
+							}
+							byte[] yt = new MyVote(vote.getC(), vote.getS(), vote.getN(), vote.getYtx(), vote.getYty()).getYtilda();
+							writer.write(VotingMessageAdapter.adaptGetInclusionProof(yt, 0));
+							if ((received = reader.read()) == null)
+								break;
+							if (received instanceof VotingProtocol.InclusionProof) {
+								InclusionProof inclusion = VotingMessageAdapter.adaptInclusionProof((VotingProtocol.InclusionProof) received);
+								if (!inclusion.verify(yt) || !inclusion.message.equals(message)) {
+									System.out.println("The server could not prove your vote was counted !!!");
+									break;
+								}
+								// The tree must only have grown since the last root checked
+								if (treeRoot != null) {
+									writer.write(VotingMessageAdapter.adaptGetConsistencyProof(treeSize, inclusion.treeSize));
+									if ((received = reader.read()) == null)
+										break;
+									if (received instanceof VotingProtocol.ConsistencyProof) {
+										ConsistencyProof consistency = VotingMessageAdapter.adaptConsistencyProof((VotingProtocol.ConsistencyProof) received);
+										if (consistency.second != inclusion.treeSize || !Arrays.equals(consistency.secondRoot, inclusion.root)
+												|| !consistency.verify(treeRoot)) {
+											System.out.println("The server changed votes it had already counted !!!");
+											break;
+										}
+									} else if (received instanceof VotingProtocol.Failure) {
+										Failure fail = VotingMessageAdapter.adaptFailure((VotingProtocol.Failure) received);
+										System.out.println(fail.text);
+										break;
+									} else
+										throw new ClassNotFoundException();
+								}
+								treeSize = inclusion.treeSize;
+								treeRoot = inclusion.root;
+								System.out.println("Your vote for " + inclusion.message + " is vote " + (inclusion.leafIndex + 1) + " of "
+										+ inclusion.treeSize + " counted");
+								System.out.println("Root : " + bytesToHex(inclusion.root));
+							} else if (received instanceof VotingProtocol.Failure) {
+								Failure fail = VotingMessageAdapter.adaptFailure((VotingProtocol.Failure) received);
+								System.out.println(fail.text);
+							} else
+								throw new ClassNotFoundException();
+							break;
 						default:
 							throw new InputMismatchException();
 						}
@@ -447,7 +545,7 @@ public class MyExample {
 					System.out.println("Please use the options provided");
 				} catch (IOException e) {
 					System.out.println("Server communication problem !!!");
-				} catch (ClassNotFoundException e) {
+				} catch (ClassNotFoundException | IllegalArgumentException e) {
 					System.out.println("Server sent you something that you should not receive !!!");
 				}
 			}
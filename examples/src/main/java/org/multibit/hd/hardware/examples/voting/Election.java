@@ -0,0 +1,440 @@
+package org.multibit.hd.hardware.examples.voting;
+
+import Model.ConsistencyProof;
+import Model.ElectionParameters;
+import Model.ElectionResults;
+import Model.ElectionResultsPage;
+import Model.InclusionProof;
+import Model.MyVote;
+import Model.VoteItem;
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.multibit.hd.hardware.core.KeyImageSet;
+import org.multibit.hd.hardware.core.MerkleTree;
+import org.multibit.hd.hardware.core.RingSignatureVerifier;
+import org.multibit.hd.hardware.core.VoteLedger;
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+import org.multibit.hd.hardware.core.utils.RingSignatureUtils;
+import org.spongycastle.math.ec.ECPoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Election to provide the following to the voting server:</p>
+ * <ul>
+ * <li>The electorate (the ring), the question and the candidates</li>
+ * <li>Verification of ring signed votes and rejection of second votes by their key image</li>
+ * <li>The running tally (see {@link Tally}) and the votes counted so far</li>
+ * <li>A {@link MerkleTree} over the votes counted so a voter can check their vote from a short proof</li>
+ * </ul>
+ * <p>A vote does not say which candidate it is for so it is verified against each candidate in
+ * turn (as UTF-8) until one matches.</p>
+ * <p>With a {@link VoteLedger} a vote is on disk before it is counted and a restarted election
+ * replays the ledger to recover its key images, votes and tally. If the ledger cannot be written the
+ * vote is refused and so is every vote after it (the voter's key image stays taken until a restart
+ * recovers from the ledger).</p>
+ * <p>Each vote is a leaf of the tree (see {@link InclusionProof#leafData(byte[], String)}) in
+ * ledger order so a restarted election rebuilds the same roots. Votes are written to the ledger in
+ * turn but only counted once on disk and, since a flush covers every vote before it, they are
+ * counted in the order written without holding a lock while waiting for the disk.</p>
+ * <p>Elections are thread safe.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class Election {
+
+  private final ImmutableList<byte[]> ring;
+
+  private final String question;
+
+  private final ImmutableList<String> candidates;
+
+  /**
+   * The candidates as signed by the voters
+   */
+  private final byte[][] messages;
+
+  /**
+   * The index of each voter in the ring by uncompressed public key
+   */
+  private final Map<ByteBuffer, Integer> indices;
+
+  private final RingSignatureVerifier verifier;
+
+  private final KeyImageSet keyImages;
+
+  private final Tally tally;
+
+  /**
+   * The votes counted in commit order (guarded by itself)
+   */
+  private final List<VoteItem> votes = new ArrayList<>();
+
+  /**
+   * The index of each vote counted in commit order by uncompressed key image (guarded by votes)
+   */
+  private final Map<ByteBuffer, Integer> positions = new HashMap<>();
+
+  /**
+   * The votes counted in commit order as leaves (appended holding votes)
+   */
+  private final MerkleTree tree = new MerkleTree();
+
+  /**
+   * The votes written to the ledger but not yet counted in ledger order (guarded by itself)
+   */
+  private final Deque<PendingVote> pending = new ArrayDeque<>();
+
+  private final Optional<VoteLedger> ledger;
+
+  /**
+   * @param ring       The uncompressed public keys of the electorate
+   * @param question   The question
+   * @param candidates The candidates
+   *
+   * @throws IllegalArgumentException If the ring is empty, contains a key twice or a key is not on the curve
+   */
+  public Election(List<byte[]> ring, String question, List<String> candidates) {
+    this(ring, question, candidates, Optional.<VoteLedger>absent());
+  }
+
+  /**
+   * @param ring       The uncompressed public keys of the electorate
+   * @param question   The question
+   * @param candidates The candidates
+   * @param ledger     The ledger to record accepted votes in (replayed before the election starts)
+   *
+   * @throws IllegalArgumentException If the ring is empty, contains a key twice or a key is not on the curve
+   * @throws IllegalStateException    If the ledger holds a vote twice or for an unknown candidate
+   */
+  public Election(List<byte[]> ring, String question, List<String> candidates, Optional<VoteLedger> ledger) {
+
+    Preconditions.checkNotNull(question, "'question' must be present");
+    Preconditions.checkNotNull(candidates, "'candidates' must be present");
+    Preconditions.checkArgument(!candidates.isEmpty(), "'candidates' must not be empty");
+    Preconditions.checkNotNull(ledger, "'ledger' must be present");
+
+    this.verifier = new RingSignatureVerifier(ring);
+    this.question = question;
+    this.candidates = ImmutableList.copyOf(candidates);
+
+    ImmutableList.Builder<byte[]> builder = ImmutableList.builder();
+    this.indices = new HashMap<>(ring.size() * 2);
+    for (int i = 0; i < verifier.getRingSize(); i++) {
+      byte[] key = verifier.getPublicKey(i);
+      builder.add(key);
+      Preconditions.checkArgument(indices.put(ByteBuffer.wrap(key), i) == null, "'ring' must not contain a key twice");
+    }
+    this.ring = builder.build();
+
+    this.messages = new byte[candidates.size()][];
+    for (int i = 0; i < messages.length; i++) {
+      messages[i] = candidates.get(i).getBytes(Charsets.UTF_8);
+    }
+
+    this.keyImages = new KeyImageSet(ring.size());
+    this.tally = new Tally(candidates.size());
+    this.ledger = ledger;
+
+    if (ledger.isPresent()) {
+      Preconditions.checkArgument(ledger.get().getN() == this.ring.size(), "'ledger' must be for a ring of the same size");
+      ledger.get().replay(
+        new VoteLedger.Visitor() {
+          @Override
+          public void visit(long sequence, int candidate, byte[] keyImageX, byte[] keyImageY) {
+            recover(sequence, candidate, keyImageX, keyImageY);
+          }
+        });
+    }
+
+  }
+
+  /**
+   * @return The public keys forming the ring
+   */
+  public List<byte[]> getRing() {
+    return ring;
+  }
+
+  public String getQuestion() {
+    return question;
+  }
+
+  public List<String> getCandidates() {
+    return candidates;
+  }
+
+  /**
+   * @param publicKey The uncompressed public key of a voter
+   *
+   * @return The index of the voter in the ring (absent if not part of the electorate)
+   */
+  public Optional<Integer> indexOf(byte[] publicKey) {
+
+    Preconditions.checkNotNull(publicKey, "'publicKey' must be present");
+
+    return Optional.fromNullable(indices.get(ByteBuffer.wrap(publicKey)));
+
+  }
+
+  /**
+   * @param pi The index of the voter in the ring
+   *
+   * @return The election parameters for the voter
+   */
+  public ElectionParameters getParameters(int pi) {
+
+    Preconditions.checkElementIndex(pi, ring.size(), "'pi'");
+
+    return new ElectionParameters(ring, question, candidates, pi);
+
+  }
+
+  /**
+   * <p>Verification dominates so call this from a worker thread</p>
+   *
+   * @param vote The ring signed vote
+   *
+   * @return True if the vote was counted, false if it is not valid for any candidate or the voter has already voted
+   */
+  public boolean cast(MyVote vote) {
+
+    Preconditions.checkNotNull(vote, "'vote' must be present");
+
+    MessageRingSignature signature = vote.toMessageRingSignature();
+    for (int i = 0; i < messages.length; i++) {
+      if (verifier.verify(messages[i], signature)) {
+        return count(i, signature);
+      }
+    }
+
+    return false;
+
+  }
+
+  /**
+   * @return The number of votes counted
+   */
+  public long getVoteCount() {
+    return keyImages.size();
+  }
+
+  /**
+   * @return The question followed by each candidate with their votes
+   */
+  public String getSummary() {
+
+    int[] counts = tally.getVotes();
+
+    StringBuilder sb = new StringBuilder();
+    sb.append(question).append("\n");
+    for (int i = 0; i < candidates.size(); i++) {
+      sb.append(candidates.get(i)).append(" : ").append(counts[i]).append("\n");
+    }
+
+    return sb.toString();
+
+  }
+
+  /**
+   * @return The votes for each candidate as they are counted
+   */
+  public Tally getTally() {
+    return tally;
+  }
+
+  /**
+   * @return Every vote counted so far with its key image
+   */
+  public ElectionResults getResults() {
+
+    synchronized (votes) {
+      return new ElectionResults(Lists.newArrayList(votes));
+    }
+
+  }
+
+  /**
+   * <p>Votes are only ever appended so a cursor stays valid as more are counted</p>
+   *
+   * @param cursor The index in commit order of the first vote wanted
+   * @param limit  The most votes wanted
+   *
+   * @return The votes from the cursor (empty once the cursor reaches the votes counted)
+   */
+  public ElectionResultsPage getResults(int cursor, int limit) {
+
+    Preconditions.checkArgument(cursor >= 0, "'cursor' must not be negative");
+    Preconditions.checkArgument(limit > 0, "'limit' must be greater than zero");
+
+    synchronized (votes) {
+      int from = Math.min(cursor, votes.size());
+      int to = (int) Math.min((long) from + limit, votes.size());
+      return new ElectionResultsPage(Lists.newArrayList(votes.subList(from, to)), to, to < votes.size());
+    }
+
+  }
+
+  /**
+   * @param Yt       The uncompressed key image of a vote
+   * @param treeSize The size of the tree to prove against (0 for the current tree)
+   *
+   * @return The audit path of the vote (absent if no vote with the key image is in the tree)
+   *
+   * @throws IllegalArgumentException If the tree has never been that size
+   */
+  public Optional<InclusionProof> getInclusionProof(byte[] Yt, int treeSize) {
+
+    Preconditions.checkNotNull(Yt, "'Yt' must be present");
+
+    synchronized (votes) {
+      int size = treeSize == 0 ? votes.size() : treeSize;
+      Preconditions.checkArgument(size >= 0 && size <= votes.size(), "'treeSize' must not exceed the votes counted");
+
+      Integer leafIndex = positions.get(ByteBuffer.wrap(Yt));
+      if (leafIndex == null || leafIndex >= size) {
+        return Optional.absent();
+      }
+
+      return Optional.of(new InclusionProof(leafIndex, size, tree.getRoot(size), tree.getInclusionProof(leafIndex, size), votes.get(leafIndex).message));
+    }
+
+  }
+
+  /**
+   * @param first  The size of the tree the voter holds the root of
+   * @param second The size of the later tree (0 for the current tree)
+   *
+   * @return The consistency proof between the trees
+   *
+   * @throws IllegalArgumentException If the sizes are out of order or the tree has never been that size
+   */
+  public ConsistencyProof getConsistencyProof(int first, int second) {
+
+    // The tree only grows so a size once valid stays valid
+    long current = tree.size();
+    int size = second == 0 ? (int) current : second;
+    Preconditions.checkArgument(size <= current, "'second' must not exceed the votes counted");
+    Preconditions.checkArgument(first > 0 && first <= size, "'first' must be between 1 and 'second'");
+
+    return new ConsistencyProof(first, size, tree.getRoot(size), tree.getConsistencyProof(first, size));
+
+  }
+
+  /**
+   * @param candidate The index of the candidate the signature is valid for
+   * @param signature The verified signature
+   *
+   * @return True if this is the first vote with the key image
+   */
+  private boolean count(int candidate, MessageRingSignature signature) {
+
+    // Use the canonical coordinates since the verifier accepts short encodings
+    ECPoint keyImage = RingSignatureUtils.decodeKeyImage(signature.getYtx(), signature.getYty()).normalize();
+    byte[] x = RingSignatureUtils.encodeScalar(keyImage.getAffineXCoord().toBigInteger());
+    byte[] y = RingSignatureUtils.encodeScalar(keyImage.getAffineYCoord().toBigInteger());
+
+    if (!keyImages.putIfAbsent(x, y)) {
+      return false;
+    }
+
+    VoteItem vote = new VoteItem(candidates.get(candidate), keyImage.getEncoded(false));
+    if (!ledger.isPresent()) {
+      commit(candidate, vote);
+      return true;
+    }
+
+    // Write in the same order as the votes are queued
+    long sequence;
+    synchronized (pending) {
+      try {
+        sequence = ledger.get().write(candidate, signature.getC(), signature.getS(), x, y);
+      } catch (IOException e) {
+        throw new IllegalStateException("Could not record the vote in the ledger", e);
+      }
+      pending.add(new PendingVote(sequence, candidate, vote));
+    }
+
+    // Usually another thread's flush has already covered this vote
+    ledger.get().sync(sequence);
+
+    // Count every queued vote now on disk (including this one unless another thread has)
+    synchronized (pending) {
+      long durable = ledger.get().getDurableSize();
+      while (!pending.isEmpty() && pending.peek().sequence < durable) {
+        PendingVote next = pending.poll();
+        commit(next.candidate, next.vote);
+      }
+    }
+
+    return true;
+
+  }
+
+  /**
+   * <p>Add a vote to the votes, the tree and then the tally (in ledger order if there is one)</p>
+   *
+   * @param candidate The index of the candidate
+   * @param vote      The vote
+   */
+  private void commit(int candidate, VoteItem vote) {
+
+    // Add the vote before the tally moves on so the votes always cover the version
+    synchronized (votes) {
+      positions.put(ByteBuffer.wrap(vote.Yt), votes.size());
+      votes.add(vote);
+      tree.append(InclusionProof.leafData(vote.Yt, vote.message));
+    }
+    tally.commit(candidate);
+
+  }
+
+  /**
+   * <p>Count a vote replayed from the ledger</p>
+   */
+  private void recover(long sequence, int candidate, byte[] x, byte[] y) {
+
+    Preconditions.checkState(candidate < candidates.size(), "Vote %s in the ledger is for an unknown candidate", sequence);
+    Preconditions.checkState(keyImages.putIfAbsent(x, y), "Vote %s in the ledger is a second vote", sequence);
+
+    // The uncompressed key image as counted
+    byte[] keyImage = new byte[1 + x.length + y.length];
+    keyImage[0] = 0x04;
+    System.arraycopy(x, 0, keyImage, 1, x.length);
+    System.arraycopy(y, 0, keyImage, 1 + x.length, y.length);
+
+    commit(candidate, new VoteItem(candidates.get(candidate), keyImage));
+
+  }
+
+  /**
+   * <p>A vote written to the ledger and waiting for the disk</p>
+   */
+  private static class PendingVote {
+
+    private final long sequence;
+
+    private final int candidate;
+
+    private final VoteItem vote;
+
+    private PendingVote(long sequence, int candidate, VoteItem vote) {
+      this.sequence = sequence;
+      this.candidate = candidate;
+      this.vote = vote;
+    }
+
+  }
+
+}
@@ -0,0 +1,831 @@
+package org.multibit.hd.hardware.examples.voting;
+
+import Model.Failure;
+import Model.InclusionProof;
+import Model.MyVote;
+import Model.VotingMessageAdapter;
+import Model.VotingMessageRegistry;
+import Model.protobuf.VotingProtocol;
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.collect.Lists;
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+import org.multibit.commons.concurrent.SafeExecutors;
+import org.multibit.hd.hardware.core.VoteLedger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Server to provide the following to voters running MyExample:</p>
+ * <ul>
+ * <li>The voting protocol (see {@link VotingMessageRegistry}) for an {@link Election}</li>
+ * <li>Tens of thousands of concurrent connections on a single selector thread</li>
+ * <li>Vote verification on a pool of worker threads</li>
+ * </ul>
+ * <p>The selector thread accepts, reads, parses and writes. Everything except a vote or a request for
+ * the raw results is answered straight away. Those are handed to a worker and the connection stops
+ * reading until the worker has answered, so each connection has at most one request on a worker and
+ * requests are answered in order. A connection also stops reading while a response waits for the
+ * socket to drain so a voter that sends requests without reading the answers cannot make the server
+ * queue responses for it.</p>
+ * <p>Only a vote may be larger than {@link #MAX_REQUEST_LENGTH} and even a vote is limited to what
+ * the ring of the election needs. The read buffer grows with the bytes that arrive rather than with
+ * the declared length so a peer cannot reserve memory it never sends.</p>
+ * <p>The election parameters (mostly the ring) are encoded once. Each voter is sent that encoding
+ * followed by their own pi since protobuf merges a field appended to a message.</p>
+ * <p>Voters polling for results are sent the changes to the {@link Tally} since the version they
+ * hold. The raw results are only encoded again (on a worker) once more votes have been counted. Voters paging
+ * through the raw results with a cursor are sent at most {@link #MAX_PAGE_SIZE} votes at a time.</p>
+ * <p>Inclusion and consistency proofs are O(log n) hashes so they are answered on the selector thread.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class VotingServer {
+
+  private static final Logger log = LoggerFactory.getLogger(VotingServer.class);
+
+  /**
+   * The port MyExample connects to
+   */
+  public static final int DEFAULT_PORT = 7777;
+
+  /**
+   * The read buffer of an idle connection (doubled while a larger frame arrives)
+   */
+  private static final int READ_BUFFER_SIZE = 1024;
+
+  /**
+   * The largest payload of any request except a vote
+   */
+  public static final int MAX_REQUEST_LENGTH = 256;
+
+  /**
+   * The largest encoding of each s value in a vote (tag, length and a 33 byte scalar)
+   */
+  private static final int VOTE_BYTES_PER_MEMBER = 36;
+
+  /**
+   * The most votes sent in a page of results
+   */
+  public static final int MAX_PAGE_SIZE = 1000;
+
+  /**
+   * Connections waiting to be accepted by the selector thread
+   */
+  private static final int BACKLOG = 4096;
+
+  private final Election election;
+
+  /**
+   * The largest vote payload accepted (a vote over the whole ring)
+   */
+  private final int maxVoteLength;
+
+  /**
+   * The election parameters without pi (read only, duplicated for each voter)
+   */
+  private final ByteBuffer electionParameters;
+
+  private final ExecutorService workerService;
+
+  private final Selector selector;
+
+  private final ServerSocketChannel serverChannel;
+
+  /**
+   * Connections with a response from a worker for the selector thread to pick up
+   */
+  private final Queue<Connection> answered = new ConcurrentLinkedQueue<>();
+
+  private final AtomicInteger connectionCount = new AtomicInteger();
+
+  private ExecutorService selectorService = null;
+
+  /**
+   * Guards the raw results frame while a worker encodes it
+   */
+  private final Object resultsLock = new Object();
+
+  /**
+   * The version of the tally the raw results frame was built at (guarded by the results lock)
+   */
+  private int resultsVersion = -1;
+
+  /**
+   * Every vote counted with its key image ready to write (guarded by the results lock)
+   */
+  private ByteBuffer resultsFrame = null;
+
+  /**
+   * @param election The election
+   * @param address  The address to listen on (port 0 for any free port)
+   * @param workers  The number of threads verifying votes
+   *
+   * @throws IOException If the address cannot be bound
+   */
+  public VotingServer(Election election, InetSocketAddress address, int workers) throws IOException {
+
+    Preconditions.checkNotNull(election, "'election' must be present");
+    Preconditions.checkNotNull(address, "'address' must be present");
+    Preconditions.checkArgument(workers > 0, "'workers' must be greater than zero");
+
+    this.election = election;
+    this.maxVoteLength = (int) Math.min(
+      VotingMessageRegistry.MAX_PAYLOAD_LENGTH,
+      MAX_REQUEST_LENGTH + (long) election.getRing().size() * VOTE_BYTES_PER_MEMBER
+    );
+    this.electionParameters = ByteBuffer.wrap(
+      VotingMessageAdapter.adaptElectionParameters(election.getParameters(0))
+        .toBuilder()
+        .clearPi()
+        .buildPartial()
+        .toByteArray()
+    ).asReadOnlyBuffer();
+
+    this.workerService = Executors.newFixedThreadPool(
+      workers,
+      new ThreadFactoryBuilder().setNameFormat("voting-worker-%d").setDaemon(true).build()
+    );
+
+    this.selector = Selector.open();
+    this.serverChannel = ServerSocketChannel.open();
+    serverChannel.configureBlocking(false);
+    serverChannel.socket().setReuseAddress(true);
+    serverChannel.socket().bind(address, BACKLOG);
+    serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+  }
+
+  /**
+   * <p>Start accepting voters</p>
+   */
+  public synchronized void start() {
+
+    Preconditions.checkState(selectorService == null, "The server has already started");
+
+    selectorService = SafeExecutors.newSingleThreadExecutor("voting-server");
+    selectorService.submit(
+      new Runnable() {
+        @Override
+        public void run() {
+          runSelector();
+        }
+      });
+
+    log.info("Voting server listening on port {} for an electorate of {}", getPort(), election.getRing().size());
+
+  }
+
+  /**
+   * <p>Close every connection and stop the threads (the server cannot be restarted)</p>
+   */
+  public synchronized void stop() {
+
+    // Stop the selector thread first so the keys can be closed from here
+    if (selectorService != null) {
+      selectorService.shutdownNow();
+      selector.wakeup();
+      try {
+        selectorService.awaitTermination(1, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    try {
+      // Closing the selector only cancels the keys so close each voter connection
+      for (SelectionKey key : selector.keys()) {
+        if (key.attachment() instanceof Connection) {
+          ((Connection) key.attachment()).close();
+        }
+      }
+      selector.close();
+      serverChannel.close();
+    } catch (IOException e) {
+      log.warn("Could not cleanly close the voting server", e);
+    }
+
+    workerService.shutdownNow();
+    try {
+      workerService.awaitTermination(1, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+  }
+
+  /**
+   * @return The port the server is listening on
+   */
+  public int getPort() {
+    return serverChannel.socket().getLocalPort();
+  }
+
+  /**
+   * @return The number of connected voters
+   */
+  public int getConnectionCount() {
+    return connectionCount.get();
+  }
+
+  public Election getElection() {
+    return election;
+  }
+
+  /**
+   * <p>Accept, read and write on the selector thread until the server stops</p>
+   */
+  private void runSelector() {
+
+    try {
+      while (selector.isOpen() && !Thread.currentThread().isInterrupted()) {
+
+        selector.select();
+
+        // Pick up the votes the workers have answered
+        Connection connection;
+        while ((connection = answered.poll()) != null) {
+          connection.resume();
+        }
+
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+
+          if (!key.isValid()) {
+            continue;
+          }
+
+          if (key.isAcceptable()) {
+            accept();
+            continue;
+          }
+
+          connection = (Connection) key.attachment();
+          try {
+            if (key.isReadable()) {
+              connection.read();
+            }
+            if (key.isValid() && key.isWritable()) {
+              connection.drain();
+            }
+          } catch (IOException e) {
+            log.debug("Closing voter connection: {}", e.getMessage());
+            connection.close();
+          }
+        }
+      }
+    } catch (ClosedSelectorException e) {
+      // The server has stopped
+    } catch (IOException e) {
+      log.error("Voting server failed", e);
+    }
+
+  }
+
+  /**
+   * <p>Every vote is only encoded again once more have been counted (on a worker thread)</p>
+   *
+   * @return The raw results ready to write
+   */
+  private ByteBuffer getResultsFrame() {
+
+    synchronized (resultsLock) {
+      // Read the version first since the votes always cover it
+      int version = election.getTally().getVersion();
+      if (version != resultsVersion) {
+        resultsFrame = frame(VotingMessageAdapter.adaptElectionResults(election.getResults())).asReadOnlyBuffer();
+        resultsVersion = version;
+      }
+
+      return resultsFrame.duplicate();
+    }
+
+  }
+
+  /**
+   * @param messageType The wire identifier
+   *
+   * @return The largest payload accepted for the message
+   */
+  private int getMaxLength(int messageType) {
+
+    if (messageType == VotingProtocol.VotingMessageType.MessageType_Vote_VALUE) {
+      return maxVoteLength;
+    }
+
+    return MAX_REQUEST_LENGTH;
+
+  }
+
+  /**
+   * <p>Accept every pending connection</p>
+   */
+  private void accept() throws IOException {
+
+    SocketChannel channel;
+    while ((channel = serverChannel.accept()) != null) {
+      channel.configureBlocking(false);
+      channel.socket().setTcpNoDelay(true);
+      Connection connection = new Connection(channel);
+      connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+      connectionCount.incrementAndGet();
+    }
+
+  }
+
+  /**
+   * @param message The voting message
+   *
+   * @return The framed message ready to write
+   */
+  private static ByteBuffer frame(Message message) {
+
+    int length = message.getSerializedSize();
+    byte[] frame = new byte[VotingMessageRegistry.HEADER_LENGTH + length];
+    header(frame, VotingMessageRegistry.getMessageType(message), length);
+
+    CodedOutputStream out = CodedOutputStream.newInstance(frame, VotingMessageRegistry.HEADER_LENGTH, length);
+    try {
+      message.writeTo(out);
+      out.checkNoSpaceLeft();
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not encode a voting message", e);
+    }
+
+    return ByteBuffer.wrap(frame);
+
+  }
+
+  /**
+   * @param frame       The frame to write the header into
+   * @param messageType The wire identifier
+   * @param length      The payload length
+   */
+  private static void header(byte[] frame, int messageType, int length) {
+
+    ByteBuffer.wrap(frame)
+      .put((byte) VotingMessageRegistry.VERSION)
+      .putShort((short) messageType)
+      .putInt(length);
+
+  }
+
+  /**
+   * <p>The state of one voter's connection (only touched by the selector thread unless noted)</p>
+   */
+  private class Connection {
+
+    private final SocketChannel channel;
+
+    private SelectionKey key;
+
+    /**
+     * The bytes read but not yet parsed (in write mode)
+     */
+    private ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+    /**
+     * The buffers waiting to be written in order
+     */
+    private final Queue<ByteBuffer> out = new ArrayDeque<>();
+
+    /**
+     * The answer to a request from a worker (written by a worker)
+     */
+    private volatile ByteBuffer answer = null;
+
+    /**
+     * True while a worker answers a request (reading stops)
+     */
+    private boolean waiting = false;
+
+    private Connection(SocketChannel channel) {
+      this.channel = channel;
+    }
+
+    /**
+     * <p>Read what is available and answer every complete frame</p>
+     */
+    private void read() throws IOException {
+
+      if (channel.read(in) < 0) {
+        close();
+        return;
+      }
+
+      process();
+
+    }
+
+    /**
+     * <p>Answer complete frames until a request is handed to a worker, a response is waiting for the socket or more bytes are needed</p>
+     */
+    private void process() throws IOException {
+
+      while (!waiting && out.isEmpty() && in.position() >= VotingMessageRegistry.HEADER_LENGTH) {
+
+        int version = in.get(0) & 0xff;
+        int messageType = in.getShort(1) & 0xffff;
+        int length = in.getInt(3);
+        if (version != VotingMessageRegistry.VERSION) {
+          throw new IOException("Unsupported voting protocol version " + version);
+        }
+        if (length < 0 || length > getMaxLength(messageType)) {
+          throw new IOException("Invalid voting message length " + length + " for type " + messageType);
+        }
+
+        int frameLength = VotingMessageRegistry.HEADER_LENGTH + length;
+        if (in.position() < frameLength) {
+          if (!in.hasRemaining()) {
+            // Only make room for more once the bytes have arrived
+            ByteBuffer larger = ByteBuffer.allocate(Math.min(in.capacity() * 2, frameLength));
+            in.flip();
+            larger.put(in);
+            in = larger;
+          }
+          return;
+        }
+
+        Optional<Parser<? extends Message>> parser = VotingMessageRegistry.getParser(messageType);
+        Message message = null;
+        if (parser.isPresent()) {
+          try {
+            message = parser.get().parseFrom(in.array(), VotingMessageRegistry.HEADER_LENGTH, length);
+          } catch (InvalidProtocolBufferException e) {
+            log.debug("Malformed voting message: {}", e.getMessage());
+          }
+        }
+
+        // Drop the frame and go back to a small buffer once a large frame has been read
+        in.flip();
+        in.position(frameLength);
+        if (!in.hasRemaining() && in.capacity() > READ_BUFFER_SIZE) {
+          in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        } else {
+          in.compact();
+        }
+
+        if (message == null) {
+          send(frame(failure("Unknown or malformed message")));
+        } else {
+          answer(message);
+        }
+      }
+
+    }
+
+    /**
+     * @param message The request from the voter
+     */
+    private void answer(Message message) throws IOException {
+
+      if (message instanceof VotingProtocol.PublicKey) {
+        Optional<Integer> pi = election.indexOf(((VotingProtocol.PublicKey) message).getPublicKey().toByteArray());
+        if (!pi.isPresent()) {
+          send(frame(failure("You are not part of the electorate")));
+          return;
+        }
+        sendElectionParameters(pi.get());
+        return;
+      }
+
+      if (message instanceof VotingProtocol.Vote) {
+        final MyVote vote = VotingMessageAdapter.adaptVote((VotingProtocol.Vote) message);
+        answerOnWorker(
+          new Supplier<ByteBuffer>() {
+            @Override
+            public ByteBuffer get() {
+              return verify(vote);
+            }
+          });
+        return;
+      }
+
+      if (message instanceof VotingProtocol.GetTally) {
+        int version = VotingMessageAdapter.adaptGetTally((VotingProtocol.GetTally) message);
+        send(frame(VotingMessageAdapter.adaptTallyDelta(election.getTally().getDelta(version))));
+        return;
+      }
+
+      if (message instanceof VotingProtocol.GetElectionResultsPage) {
+        VotingProtocol.GetElectionResultsPage request = (VotingProtocol.GetElectionResultsPage) message;
+        // A cursor beyond 2^31 arrives negative
+        if (request.getCursor() < 0) {
+          send(frame(failure("Invalid cursor")));
+          return;
+        }
+        int limit = request.getLimit() > 0 && request.getLimit() < MAX_PAGE_SIZE ? request.getLimit() : MAX_PAGE_SIZE;
+        send(frame(VotingMessageAdapter.adaptElectionResultsPage(election.getResults(request.getCursor(), limit))));
+        return;
+      }
+
+      if (message instanceof VotingProtocol.GetInclusionProof) {
+        VotingProtocol.GetInclusionProof request = (VotingProtocol.GetInclusionProof) message;
+        Optional<InclusionProof> proof;
+        try {
+          proof = election.getInclusionProof(request.getYt().toByteArray(), request.getTreeSize());
+        } catch (IllegalArgumentException e) {
+          send(frame(failure("Invalid tree size")));
+          return;
+        }
+        if (!proof.isPresent()) {
+          send(frame(failure("No vote with your key image has been counted")));
+          return;
+        }
+        send(frame(VotingMessageAdapter.adaptInclusionProof(proof.get())));
+        return;
+      }
+
+      if (message instanceof VotingProtocol.GetConsistencyProof) {
+        VotingProtocol.GetConsistencyProof request = (VotingProtocol.GetConsistencyProof) message;
+        try {
+          send(frame(VotingMessageAdapter.adaptConsistencyProof(election.getConsistencyProof(request.getFirst(), request.getSecond()))));
+        } catch (IllegalArgumentException e) {
+          send(frame(failure("Invalid tree size")));
+        }
+        return;
+      }
+
+      if (message instanceof VotingProtocol.GetElectionResults) {
+        if (VotingMessageAdapter.adaptGetElectionResults((VotingProtocol.GetElectionResults) message)) {
+          // Encoding every vote would stall the other connections
+          answerOnWorker(
+            new Supplier<ByteBuffer>() {
+              @Override
+              public ByteBuffer get() {
+                return getResultsFrame();
+              }
+            });
+        } else {
+          send(frame(VotingMessageAdapter.adaptElectionSummary(election.getSummary())));
+        }
+        return;
+      }
+
+      send(frame(failure("Unexpected message")));
+
+    }
+
+    /**
+     * <p>Stop reading and answer on a worker thread then hand the answer back to the selector thread</p>
+     *
+     * @param work Builds the answer on the worker thread
+     */
+    private void answerOnWorker(final Supplier<ByteBuffer> work) {
+
+      waiting = true;
+      updateInterest();
+      try {
+        workerService.execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              try {
+                answer = work.get();
+              } catch (RuntimeException e) {
+                // Answer anyway so the connection carries on reading
+                log.warn("Could not answer a voter", e);
+                answer = frame(failure("Your request could not be answered"));
+              }
+              answered.add(Connection.this);
+              selector.wakeup();
+            }
+          });
+      } catch (RejectedExecutionException e) {
+        // The server is stopping
+        close();
+      }
+
+    }
+
+    /**
+     * <p>Verify and count a vote (on a worker thread)</p>
+     *
+     * @param vote The vote
+     *
+     * @return The answer ready to write
+     */
+    private ByteBuffer verify(MyVote vote) {
+
+      Message result;
+      try {
+        result = VotingMessageAdapter.adaptVoteResult(election.cast(vote));
+      } catch (RuntimeException e) {
+        log.debug("Vote could not be verified: {}", e.getMessage());
+        result = failure("Your vote could not be verified");
+      }
+
+      return frame(result);
+
+    }
+
+    /**
+     * <p>Send the answer from a worker and carry on reading (on the selector thread)</p>
+     */
+    private void resume() {
+
+      if (!key.isValid()) {
+        return;
+      }
+
+      ByteBuffer frame = answer;
+      answer = null;
+      waiting = false;
+
+      try {
+        send(frame);
+        if (key.isValid()) {
+          // The voter may have sent more before the request was answered
+          process();
+        }
+      } catch (IOException e) {
+        log.debug("Closing voter connection: {}", e.getMessage());
+        close();
+      }
+
+    }
+
+    /**
+     * @param pi The index of the voter in the ring
+     */
+    private void sendElectionParameters(int pi) throws IOException {
+
+      int piLength = CodedOutputStream.computeUInt32Size(VotingProtocol.ElectionParameters.PI_FIELD_NUMBER, pi);
+      int length = electionParameters.remaining() + piLength;
+
+      byte[] header = new byte[VotingMessageRegistry.HEADER_LENGTH];
+      header(header, VotingProtocol.VotingMessageType.MessageType_ElectionParameters_VALUE, length);
+
+      byte[] piField = new byte[piLength];
+      CodedOutputStream.newInstance(piField).writeUInt32(VotingProtocol.ElectionParameters.PI_FIELD_NUMBER, pi);
+
+      out.add(ByteBuffer.wrap(header));
+      out.add(electionParameters.duplicate());
+      send(ByteBuffer.wrap(piField));
+
+    }
+
+    /**
+     * @param frame The last buffer of a response
+     */
+    private void send(ByteBuffer frame) throws IOException {
+
+      out.add(frame);
+      write();
+
+    }
+
+    /**
+     * <p>Write as much as the socket takes and wait for it to drain if necessary</p>
+     */
+    private void write() throws IOException {
+
+      while (!out.isEmpty()) {
+        ByteBuffer buffer = out.peek();
+        channel.write(buffer);
+        if (buffer.hasRemaining()) {
+          break;
+        }
+        out.poll();
+      }
+
+      updateInterest();
+
+    }
+
+    /**
+     * <p>Carry on writing once the socket drains then answer anything read in the meantime</p>
+     */
+    private void drain() throws IOException {
+
+      write();
+      if (key.isValid()) {
+        process();
+      }
+
+    }
+
+    /**
+     * <p>Read only while nothing waits to be written or answered by a worker</p>
+     */
+    private void updateInterest() {
+
+      if (!key.isValid()) {
+        return;
+      }
+
+      if (!out.isEmpty()) {
+        key.interestOps(SelectionKey.OP_WRITE);
+      } else if (waiting) {
+        key.interestOps(0);
+      } else {
+        key.interestOps(SelectionKey.OP_READ);
+      }
+
+    }
+
+    private void close() {
+
+      if (!channel.isOpen()) {
+        return;
+      }
+
+      key.cancel();
+      try {
+        channel.close();
+      } catch (IOException e) {
+        log.debug("Could not cleanly close voter connection");
+      }
+      connectionCount.decrementAndGet();
+
+    }
+
+  }
+
+  /**
+   * @param text The reason
+   *
+   * @return The failure message
+   */
+  private static VotingProtocol.Failure failure(String text) {
+
+    return VotingMessageAdapter.adaptFailure(new Failure(text));
+
+  }
+
+  /**
+   * <p>Run a voting server</p>
+   *
+   * @param args Optionally "-ledger directory" to keep the votes on disk, then [0]: A file of the
+   *             uncompressed public keys of the electorate in hex (one per line), [1]: The question,
+   *             [2...]: The candidates
+   *
+   * @throws Exception If the server cannot start
+   */
+  public static void main(String[] args) throws Exception {
+
+    Optional<File> ledgerDirectory = Optional.absent();
+    if (args.length >= 2 && "-ledger".equals(args[0])) {
+      ledgerDirectory = Optional.of(new File(args[1]));
+      args = Arrays.copyOfRange(args, 2, args.length);
+    }
+
+    Preconditions.checkState(args.length >= 3, "Required arguments [0]: electorate file, [1]: question, [2...]: candidates.");
+
+    List<byte[]> ring = Lists.newArrayList();
+    for (String line : Files.readLines(new File(args[0]), Charsets.UTF_8)) {
+      if (!line.trim().isEmpty()) {
+        ring.add(BaseEncoding.base16().decode(line.trim().toUpperCase()));
+      }
+    }
+
+    Optional<VoteLedger> ledger = Optional.absent();
+    if (ledgerDirectory.isPresent()) {
+      ledger = Optional.of(new VoteLedger(ledgerDirectory.get(), ring.size()));
+      log.info("Recovered {} votes from the ledger", ledger.get().size());
+    }
+
+    Election election = new Election(ring, args[1], Arrays.asList(args).subList(2, args.length), ledger);
+
+    VotingServer server = new VotingServer(
+      election,
+      new InetSocketAddress(DEFAULT_PORT),
+      Runtime.getRuntime().availableProcessors()
+    );
+    server.start();
+
+  }
+
+}
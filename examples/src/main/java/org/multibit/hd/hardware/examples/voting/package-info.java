@@ -0,0 +1,6 @@
+/**
+ *
+ * A reference voting server for the ring signed votes cast by MyExample
+ *
+ */
+package org.multibit.hd.hardware.examples.voting;
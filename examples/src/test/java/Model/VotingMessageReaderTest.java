@@ -0,0 +1,264 @@
+package Model;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.DescriptorProtos;
+import com.google.protobuf.Message;
+
+import Model.protobuf.VotingProtocol;
+
+public class VotingMessageReaderTest {
+
+	private static final ByteString KEY = ByteString.copyFrom(new byte[65]);
+
+	private static final ByteString HASH = ByteString.copyFrom(new byte[32]);
+
+	@Test
+	public void testRoundTripEveryMessageType() throws Exception {
+
+		List<Message> messages = newMessages();
+
+		// Every message in the protocol is covered
+		for (Message message : messages) {
+			VotingMessageRegistry.getMessageType(message);
+		}
+		assertThat(messages).hasSize(VotingProtocol.VotingMessageType.values().length);
+
+		byte[] stream = write(messages.toArray(new Message[messages.size()]));
+
+		VotingMessageReader testObject = new VotingMessageReader(new ByteArrayInputStream(stream));
+		for (Message message : messages) {
+			assertThat(testObject.read()).isEqualTo(message);
+		}
+
+		try {
+			testObject.read();
+			fail("Expected EOFException");
+		} catch (EOFException e) {
+			// The stream has ended
+		}
+
+	}
+
+	@Test
+	public void testTruncatedHeader() throws Exception {
+
+		byte[] frame = write(newFailure("Truncated"));
+
+		// Cut off part way through the message type and the length
+		for (int length : new int[]{2, 5}) {
+			VotingMessageReader testObject = new VotingMessageReader(new ByteArrayInputStream(Arrays.copyOf(frame, length)));
+			try {
+				testObject.read();
+				fail("Expected EOFException for a header of " + length + " bytes");
+			} catch (EOFException e) {
+				// Not enough bytes for a header
+			}
+		}
+
+	}
+
+	@Test
+	public void testTruncatedPayload() throws Exception {
+
+		byte[] frame = write(newFailure("Truncated"));
+
+		VotingMessageReader testObject = new VotingMessageReader(new ByteArrayInputStream(Arrays.copyOf(frame, frame.length - 1)));
+		try {
+			testObject.read();
+			fail("Expected EOFException");
+		} catch (EOFException e) {
+			// The payload is short
+		}
+
+	}
+
+	@Test
+	public void testOversizedLength() throws Exception {
+
+		for (int length : new int[]{VotingMessageRegistry.MAX_PAYLOAD_LENGTH + 1, Integer.MAX_VALUE, -1}) {
+			byte[] header = header(VotingMessageRegistry.VERSION, VotingProtocol.VotingMessageType.MessageType_Vote_VALUE, length);
+
+			// Rejected from the header alone so nothing is allocated
+			VotingMessageReader testObject = new VotingMessageReader(new ByteArrayInputStream(header));
+			try {
+				testObject.read();
+				fail("Expected IOException for a length of " + length);
+			} catch (EOFException e) {
+				fail("Read beyond the header for a length of " + length);
+			} catch (IOException e) {
+				assertThat(e.getMessage()).isEqualTo("Invalid voting message length " + length);
+			}
+		}
+
+	}
+
+	@Test
+	public void testUnknownMessageType() throws Exception {
+
+		byte[] payload = new byte[]{1, 2, 3};
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		stream.write(header(VotingMessageRegistry.VERSION, 999, payload.length));
+		stream.write(payload);
+		Message message = newFailure("After");
+		stream.write(write(message));
+
+		VotingMessageReader testObject = new VotingMessageReader(new ByteArrayInputStream(stream.toByteArray()));
+		try {
+			testObject.read();
+			fail("Expected IOException");
+		} catch (IOException e) {
+			assertThat(e.getMessage()).isEqualTo("Unknown voting message type 999");
+		}
+
+		// The unknown payload was skipped so the next message still reads
+		assertThat(testObject.read()).isEqualTo(message);
+
+	}
+
+	@Test
+	public void testUnsupportedVersion() throws Exception {
+
+		byte[] frame = write(newFailure("Version"));
+		frame[0] = (byte) (VotingMessageRegistry.VERSION + 1);
+
+		VotingMessageReader testObject = new VotingMessageReader(new ByteArrayInputStream(frame));
+		try {
+			testObject.read();
+			fail("Expected IOException");
+		} catch (IOException e) {
+			assertThat(e.getMessage()).isEqualTo("Unsupported voting protocol version " + (VotingMessageRegistry.VERSION + 1));
+		}
+
+	}
+
+	@Test
+	public void testWriteNotVotingMessage() throws Exception {
+
+		VotingMessageWriter testObject = new VotingMessageWriter(new ByteArrayOutputStream());
+		try {
+			testObject.write(DescriptorProtos.FileDescriptorProto.getDefaultInstance());
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			assertThat(e.getMessage()).startsWith("Not a voting message");
+		}
+
+	}
+
+	/**
+	 * @return One of each voting message
+	 */
+	private static List<Message> newMessages() {
+
+		List<Message> messages = Lists.newArrayList();
+
+		messages.add(newFailure("Failure"));
+		messages.add(VotingProtocol.PublicKey.newBuilder().setPublicKey(KEY).build());
+		messages.add(VotingProtocol.ElectionParameters.newBuilder()
+				.addL(KEY)
+				.addL(KEY)
+				.setQuestion(utf8("Question"))
+				.addM(utf8("Candidate 1"))
+				.addM(utf8("Candidate 2"))
+				.setPi(1)
+				.build());
+		messages.add(VotingProtocol.Vote.newBuilder()
+				.setC(HASH)
+				.addS(HASH)
+				.addS(HASH)
+				.setN(2)
+				.setYtDotX(HASH)
+				.setYtDotY(HASH)
+				.build());
+		messages.add(VotingProtocol.VoteResult.newBuilder().setAccepted(1).build());
+		messages.add(VotingProtocol.GetElectionResults.newBuilder().setRaw(1).build());
+		messages.add(VotingProtocol.ElectionSummary.newBuilder().setText(utf8("Summary")).build());
+		messages.add(VotingProtocol.ElectionResults.newBuilder()
+				.addMessage(utf8("Candidate 1"))
+				.addYt(KEY)
+				.build());
+		messages.add(VotingProtocol.GetTally.newBuilder().setVersion(3).build());
+		messages.add(VotingProtocol.Tally.newBuilder()
+				.setVersion(4)
+				.addCandidate(0)
+				.addVotes(4)
+				.build());
+		messages.add(VotingProtocol.GetElectionResultsPage.newBuilder().setCursor(10).setLimit(20).build());
+		messages.add(VotingProtocol.ElectionResultsPage.newBuilder()
+				.addMessage(utf8("Candidate 2"))
+				.addYt(KEY)
+				.setNextCursor(11)
+				.setMore(0)
+				.build());
+		messages.add(VotingProtocol.GetInclusionProof.newBuilder().setYt(KEY).setTreeSize(5).build());
+		messages.add(VotingProtocol.InclusionProof.newBuilder()
+				.setLeafIndex(2)
+				.setTreeSize(5)
+				.setRoot(HASH)
+				.addPath(HASH)
+				.setMessage(utf8("Candidate 1"))
+				.build());
+		messages.add(VotingProtocol.GetConsistencyProof.newBuilder().setFirst(3).setSecond(5).build());
+		messages.add(VotingProtocol.ConsistencyProof.newBuilder()
+				.setFirst(3)
+				.setSecond(5)
+				.setSecondRoot(HASH)
+				.addProof(HASH)
+				.build());
+
+		return messages;
+
+	}
+
+	private static VotingProtocol.Failure newFailure(String text) {
+		return VotingProtocol.Failure.newBuilder().setText(utf8(text)).build();
+	}
+
+	private static ByteString utf8(String text) {
+		return ByteString.copyFromUtf8(text);
+	}
+
+	/**
+	 * @param messages The messages to frame
+	 *
+	 * @return The framed messages as written by a writer
+	 */
+	private static byte[] write(Message... messages) throws IOException {
+
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		VotingMessageWriter writer = new VotingMessageWriter(stream);
+		for (Message message : messages) {
+			writer.write(message);
+		}
+
+		return stream.toByteArray();
+
+	}
+
+	/**
+	 * @return A frame header
+	 */
+	private static byte[] header(int version, int messageType, int length) {
+
+		return ByteBuffer.allocate(VotingMessageRegistry.HEADER_LENGTH)
+				.put((byte) version)
+				.putShort((short) messageType)
+				.putInt(length)
+				.array();
+
+	}
+
+}
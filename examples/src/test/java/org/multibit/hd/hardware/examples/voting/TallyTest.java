@@ -0,0 +1,86 @@
+package org.multibit.hd.hardware.examples.voting;
+
+import Model.TallyDelta;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class TallyTest {
+
+  private static final int CANDIDATES = 5;
+
+  @Test
+  public void testDeltaFromEveryVersion() throws Exception {
+
+    Tally testObject = new Tally(CANDIDATES);
+    Random random = new Random(0);
+
+    // A client's view of the tally at each version it could hold
+    int[][] held = new int[101][];
+    held[0] = new int[CANDIDATES];
+
+    for (int version = 1; version < held.length; version++) {
+      // Leave the last candidate without votes
+      assertThat(testObject.commit(random.nextInt(CANDIDATES - 1))).isEqualTo(version);
+      held[version] = testObject.getVotes();
+
+      // Catching up from any earlier version gives the full snapshot
+      for (int since = 0; since <= version; since++) {
+        int[] client = Arrays.copyOf(held[since], CANDIDATES);
+
+        TallyDelta delta = testObject.getDelta(since);
+        delta.applyTo(client);
+
+        assertThat(delta.version).isEqualTo(version);
+        assertThat(client).isEqualTo(testObject.getVotes());
+      }
+    }
+
+  }
+
+  @Test
+  public void testDeltaOnlyChanged() throws Exception {
+
+    Tally testObject = new Tally(CANDIDATES);
+    testObject.commit(0);
+    testObject.commit(1);
+    testObject.commit(1);
+
+    TallyDelta delta = testObject.getDelta(1);
+
+    assertThat(delta.version).isEqualTo(3);
+    assertThat(delta.candidates).isEqualTo(new int[]{1});
+    assertThat(delta.votes).isEqualTo(new int[]{2});
+
+    // Nothing has changed since the current version
+    assertThat(testObject.getDelta(3).candidates).isEmpty();
+
+  }
+
+  @Test
+  public void testStaleVersion() throws Exception {
+
+    Tally testObject = new Tally(CANDIDATES);
+    testObject.commit(2);
+    testObject.commit(3);
+
+    // The client holds a version from a tally this one never reached (e.g. before a restart)
+    for (int since : new int[]{3, 1000, -1}) {
+      int[] client = new int[]{7, 7, 7, 7, 7};
+
+      TallyDelta delta = testObject.getDelta(since);
+      delta.applyTo(client);
+
+      // Every candidate is sent so nothing from the other tally survives
+      assertThat(delta.candidates).isEqualTo(new int[]{0, 1, 2, 3, 4});
+      assertThat(delta.version).isEqualTo(2);
+      assertThat(client).isEqualTo(testObject.getVotes());
+      assertThat(client).isEqualTo(new int[]{0, 0, 1, 1, 0});
+    }
+
+  }
+
+}
@@ -0,0 +1,225 @@
+package org.multibit.hd.hardware.examples.voting;
+
+import Model.MyVote;
+import Model.VotingMessageAdapter;
+import Model.VotingMessageReader;
+import Model.VotingMessageWriter;
+import Model.protobuf.VotingProtocol;
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import org.bitcoinj.core.ECKey;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+import org.multibit.hd.hardware.core.utils.RingSignatureUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+public class VotingServerTest {
+
+  private static final List<String> CANDIDATES = Arrays.asList("Candidate 1", "Candidate 2");
+
+  private static final int TIMEOUT_MILLIS = 10000;
+
+  private List<ECKey> keys;
+
+  private List<byte[]> ring;
+
+  private VotingServer testObject;
+
+  private Socket socket;
+
+  private VotingMessageWriter writer;
+
+  private VotingMessageReader reader;
+
+  @Before
+  public void setUp() throws Exception {
+
+    keys = Lists.newArrayList();
+    ring = Lists.newArrayList();
+    for (int i = 0; i < 3; i++) {
+      ECKey key = new ECKey();
+      keys.add(key);
+      ring.add(key.getPubKeyPoint().getEncoded(false));
+    }
+
+    testObject = new VotingServer(
+      new Election(ring, "Question", CANDIDATES),
+      new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+      1);
+    testObject.start();
+
+    socket = new Socket(InetAddress.getLoopbackAddress(), testObject.getPort());
+    socket.setSoTimeout(TIMEOUT_MILLIS);
+    socket.setTcpNoDelay(true);
+    writer = new VotingMessageWriter(socket.getOutputStream());
+    reader = new VotingMessageReader(socket.getInputStream());
+
+  }
+
+  @After
+  public void tearDown() throws Exception {
+
+    testObject.stop();
+    socket.close();
+
+  }
+
+  @Test
+  public void testVote() throws Exception {
+
+    writer.write(publicKey(1));
+
+    VotingProtocol.ElectionParameters parameters = (VotingProtocol.ElectionParameters) reader.read();
+    assertThat(parameters.getPi()).isEqualTo(1);
+    assertThat(parameters.getLCount()).isEqualTo(ring.size());
+    assertThat(parameters.getQuestion().toStringUtf8()).isEqualTo("Question");
+
+    writer.write(vote(1, CANDIDATES.get(1)));
+
+    VotingProtocol.VoteResult result = (VotingProtocol.VoteResult) reader.read();
+    assertThat(VotingMessageAdapter.adaptVoteResult(result)).isTrue();
+    assertThat(testObject.getElection().getTally().getVotes()).isEqualTo(new int[]{0, 1});
+
+    // The same voter cannot vote again
+    writer.write(vote(1, CANDIDATES.get(0)));
+
+    result = (VotingProtocol.VoteResult) reader.read();
+    assertThat(VotingMessageAdapter.adaptVoteResult(result)).isFalse();
+    assertThat(testObject.getElection().getTally().getVotes()).isEqualTo(new int[]{0, 1});
+
+  }
+
+  @Test
+  public void testNotInElectorate() throws Exception {
+
+    writer.write(VotingProtocol.PublicKey.newBuilder()
+      .setPublicKey(ByteString.copyFrom(new ECKey().getPubKeyPoint().getEncoded(false)))
+      .build());
+
+    assertThat(reader.read()).isInstanceOf(VotingProtocol.Failure.class);
+
+  }
+
+  @Test
+  public void testFragmentedFrames() throws Exception {
+
+    // Two requests sent a byte at a time so headers and payloads arrive in pieces
+    byte[] frames = frames(publicKey(2), vote(2, CANDIDATES.get(0)));
+
+    OutputStream out = socket.getOutputStream();
+    for (byte b : frames) {
+      out.write(b);
+      out.flush();
+      Thread.sleep(1);
+    }
+
+    VotingProtocol.ElectionParameters parameters = (VotingProtocol.ElectionParameters) reader.read();
+    assertThat(parameters.getPi()).isEqualTo(2);
+
+    VotingProtocol.VoteResult result = (VotingProtocol.VoteResult) reader.read();
+    assertThat(VotingMessageAdapter.adaptVoteResult(result)).isTrue();
+    assertThat(testObject.getElection().getTally().getVotes()).isEqualTo(new int[]{1, 0});
+
+  }
+
+  @Test
+  public void testPipelinedRequests() throws Exception {
+
+    // Everything in one write and answered in order even though the vote goes to a worker
+    socket.getOutputStream().write(frames(publicKey(0), vote(0, CANDIDATES.get(1)), VotingProtocol.GetTally.newBuilder().setVersion(0).build()));
+
+    assertThat(reader.read()).isInstanceOf(VotingProtocol.ElectionParameters.class);
+    assertThat(reader.read()).isInstanceOf(VotingProtocol.VoteResult.class);
+
+    VotingProtocol.Tally tally = (VotingProtocol.Tally) reader.read();
+    assertThat(tally.getVersion()).isEqualTo(1);
+    assertThat(tally.getCandidateList()).containsExactly(1);
+    assertThat(tally.getVotesList()).containsExactly(1);
+
+  }
+
+  @Test
+  public void testStopClosesConnections() throws Exception {
+
+    writer.write(publicKey(0));
+    assertThat(reader.read()).isInstanceOf(VotingProtocol.ElectionParameters.class);
+
+    testObject.stop();
+
+    try {
+      reader.read();
+      fail("Expected IOException");
+    } catch (IOException e) {
+      // The server closed the connection
+    }
+    assertThat(testObject.getConnectionCount()).isEqualTo(0);
+
+  }
+
+  private VotingProtocol.PublicKey publicKey(int pi) {
+
+    return VotingProtocol.PublicKey.newBuilder()
+      .setPublicKey(ByteString.copyFrom(ring.get(pi)))
+      .build();
+
+  }
+
+  /**
+   * @param pi        The index of the voter in the ring
+   * @param candidate The candidate to vote for
+   *
+   * @return A ring signed vote
+   */
+  private VotingProtocol.Vote vote(int pi, String candidate) {
+
+    MessageRingSignature signature = RingSignatureUtils.sign(
+      ring,
+      pi,
+      keys.get(pi).getPrivKey(),
+      candidate.getBytes(StandardCharsets.UTF_8),
+      new SecureRandom());
+
+    return VotingMessageAdapter.adaptVote(
+      new MyVote(
+        signature.getC(),
+        signature.getS(),
+        signature.getN(),
+        signature.getYtx(),
+        signature.getYty()));
+
+  }
+
+  /**
+   * @param messages The messages to frame
+   *
+   * @return The framed messages as written by a writer
+   */
+  private static byte[] frames(Message... messages) throws IOException {
+
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    VotingMessageWriter frameWriter = new VotingMessageWriter(stream);
+    for (Message message : messages) {
+      frameWriter.write(message);
+    }
+
+    return stream.toByteArray();
+
+  }
+
+}
@@ -1,8 +1,11 @@
 package org.multibit.hd.hardware.keepkey.clients;
 
 import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.Message;
 import com.keepkey.protobuf.KeepKeyMessage;
@@ -14,6 +17,8 @@ import org.bitcoinj.wallet.KeyChain;
 import org.multibit.hd.hardware.core.HardwareWalletClient;
 import org.multibit.hd.hardware.core.domain.Identity;
 import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.events.MessageEventMailbox;
+import org.multibit.hd.hardware.core.events.MessageEventType;
 import org.multibit.hd.hardware.core.messages.TxRequest;
 import org.multibit.hd.hardware.core.utils.IdentityUtils;
 import org.multibit.hd.hardware.core.utils.TransactionUtils;
@@ -24,6 +29,7 @@ import org.slf4j.LoggerFactory;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -39,6 +45,11 @@ public abstract class AbstractKeepKeyHardwareWalletClient implements HardwareWal
 
   private static final Logger log = LoggerFactory.getLogger(AbstractKeepKeyHardwareWalletClient.class);
 
+  /**
+   * Ensures response slots are reserved in the same order as messages are written
+   */
+  private final Object writeLock = new Object();
+
   @Override
   public Optional<MessageEvent> initialise() {
     return sendMessage(
@@ -651,6 +662,63 @@ public abstract class AbstractKeepKeyHardwareWalletClient implements HardwareWal
   }
 
 
+  @Override
+  public ListenableFuture<MessageEvent> call(Message message) {
+    return call(message, 5, TimeUnit.SECONDS);
+  }
+
+  @Override
+  public ListenableFuture<MessageEvent> call(Message message, int duration, TimeUnit timeUnit) {
+    return call(message, duration, timeUnit, ImmutableSet.<MessageEventType>of());
+  }
+
+  @Override
+  public ListenableFuture<MessageEvent> call(Message message, int duration, TimeUnit timeUnit, Set<MessageEventType> responseTypes) {
+
+    Preconditions.checkNotNull(message, "'message' must be present");
+
+    MessageEventMailbox mailbox = getMailbox();
+
+    synchronized (writeLock) {
+      // Reserve the slot first since the response may arrive before the write returns
+      ListenableFuture<MessageEvent> response = mailbox.expect(duration, timeUnit, responseTypes);
+      if (!writeMessage(message)) {
+        mailbox.abandon(response, "Failed to write " + message.getClass().getSimpleName());
+      }
+      return response;
+    }
+  }
+
+  /**
+   * <p>Write a message whose response is only delivered through the event bus (no mailbox slot is reserved).</p>
+   *
+   * @param message The message to send to the hardware wallet
+   *
+   * @return True if the message was written
+   */
+  protected boolean send(Message message) {
+
+    Preconditions.checkNotNull(message, "'message' must be present");
+
+    synchronized (writeLock) {
+      return writeMessage(message);
+    }
+  }
+
+  /**
+   * @return The mailbox receiving every response read from the device
+   */
+  protected abstract MessageEventMailbox getMailbox();
+
+  /**
+   * <p>Write a message to the device without waiting for a response.</p>
+   *
+   * @param message The message to send to the hardware wallet
+   *
+   * @return True if the message was written
+   */
+  protected abstract boolean writeMessage(Message message);
+
   /**
    * <p>Send a message to the device that should have a near-immediate (under 5 second) response.</p>
    * <p>If the response times out a FAILURE message should be generated.</p>
@@ -4,6 +4,7 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.protobuf.Message;
 import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.events.MessageEventMailbox;
 import org.multibit.hd.hardware.core.events.MessageEventType;
 import org.multibit.hd.hardware.core.events.MessageEvents;
 import org.multibit.hd.hardware.core.messages.Features;
@@ -44,7 +45,7 @@ public class KeepKeyHardwareWalletClient extends AbstractKeepKeyHardwareWalletCl
 
   @Override
   public String name() {
-    return "KEEP_KEY";
+    return keepKey.name();
   }
 
   @Override
@@ -116,15 +117,30 @@ public class KeepKeyHardwareWalletClient extends AbstractKeepKeyHardwareWalletCl
   @Override
   protected Optional<MessageEvent> sendMessage(Message message, int duration, TimeUnit timeUnit) {
 
+    // The response is delivered through the event bus
+    send(message);
+
+    return Optional.absent();
+
+  }
+
+  @Override
+  protected MessageEventMailbox getMailbox() {
+    return keepKey.getMailbox();
+  }
+
+  @Override
+  protected boolean writeMessage(Message message) {
+
     if (!isKeepKeyValid) {
       log.warn("KeepKey is not valid.");
-      return Optional.absent();
+      return false;
     }
 
     // Write the message
     keepKey.writeMessage(message);
 
-    return Optional.absent();
+    return true;
 
   }
 
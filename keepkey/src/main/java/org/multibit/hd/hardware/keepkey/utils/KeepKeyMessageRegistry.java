@@ -0,0 +1,174 @@
+package org.multibit.hd.hardware.keepkey.utils;
+
+import com.google.protobuf.Message;
+import com.keepkey.protobuf.KeepKeyMessage;
+import org.multibit.hd.hardware.core.events.MessageEventType;
+import org.multibit.hd.hardware.core.messages.HardwareWalletMessage;
+import org.multibit.hd.hardware.core.wire.MessageAdapter;
+import org.multibit.hd.hardware.core.wire.WireMessageRegistry;
+import org.multibit.hd.hardware.core.wire.WireMessageTable;
+
+/**
+ * <p>Registry to provide the following to KeepKey hardware wallets:</p>
+ * <ul>
+ * <li>The table of KeepKey wire messages with their parsers, adapters and event types</li>
+ * </ul>
+ * <p>The table is built once when the class loads. Supporting a new message only
+ * requires a single registration here.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public final class KeepKeyMessageRegistry {
+
+  private static final WireMessageTable messageTable = new WireMessageTable();
+
+  static {
+
+    messageTable
+      .register(KeepKeyMessage.MessageType.MessageType_Initialize_VALUE, KeepKeyMessage.Initialize.class, KeepKeyMessage.Initialize.PARSER, MessageEventType.INITALISE)
+      .register(KeepKeyMessage.MessageType.MessageType_Ping_VALUE, KeepKeyMessage.Ping.class, KeepKeyMessage.Ping.PARSER, MessageEventType.PING)
+      .register(KeepKeyMessage.MessageType.MessageType_Success_VALUE, KeepKeyMessage.Success.class, KeepKeyMessage.Success.PARSER, MessageEventType.SUCCESS,
+        new MessageAdapter<KeepKeyMessage.Success>() {
+          @Override
+          public HardwareWalletMessage adapt(KeepKeyMessage.Success message) {
+            return KeepKeyMessageAdapter.adaptSuccess(message);
+          }
+        })
+      .register(KeepKeyMessage.MessageType.MessageType_Failure_VALUE, KeepKeyMessage.Failure.class, KeepKeyMessage.Failure.PARSER, MessageEventType.FAILURE,
+        new MessageAdapter<KeepKeyMessage.Failure>() {
+          @Override
+          public HardwareWalletMessage adapt(KeepKeyMessage.Failure message) {
+            return KeepKeyMessageAdapter.adaptFailure(message);
+          }
+        })
+      .register(KeepKeyMessage.MessageType.MessageType_ChangePin_VALUE, KeepKeyMessage.ChangePin.class, KeepKeyMessage.ChangePin.PARSER, MessageEventType.CHANGE_PIN)
+      .register(KeepKeyMessage.MessageType.MessageType_WipeDevice_VALUE, KeepKeyMessage.WipeDevice.class, KeepKeyMessage.WipeDevice.PARSER, MessageEventType.WIPE_DEVICE)
+      .register(KeepKeyMessage.MessageType.MessageType_FirmwareErase_VALUE, KeepKeyMessage.FirmwareErase.class, KeepKeyMessage.FirmwareErase.PARSER, MessageEventType.FIRMWARE_ERASE)
+      .register(KeepKeyMessage.MessageType.MessageType_FirmwareUpload_VALUE, KeepKeyMessage.FirmwareUpload.class, KeepKeyMessage.FirmwareUpload.PARSER, MessageEventType.FIRMWARE_UPLOAD)
+      .register(KeepKeyMessage.MessageType.MessageType_GetEntropy_VALUE, KeepKeyMessage.GetEntropy.class, KeepKeyMessage.GetEntropy.PARSER, MessageEventType.GET_ENTROPY)
+      .register(KeepKeyMessage.MessageType.MessageType_Entropy_VALUE, KeepKeyMessage.Entropy.class, KeepKeyMessage.Entropy.PARSER, MessageEventType.ENTROPY)
+      .register(KeepKeyMessage.MessageType.MessageType_GetPublicKey_VALUE, KeepKeyMessage.GetPublicKey.class, KeepKeyMessage.GetPublicKey.PARSER, MessageEventType.GET_PUBLIC_KEY)
+      .register(KeepKeyMessage.MessageType.MessageType_PublicKey_VALUE, KeepKeyMessage.PublicKey.class, KeepKeyMessage.PublicKey.PARSER, MessageEventType.PUBLIC_KEY,
+        new MessageAdapter<KeepKeyMessage.PublicKey>() {
+          @Override
+          public HardwareWalletMessage adapt(KeepKeyMessage.PublicKey message) {
+            return KeepKeyMessageAdapter.adaptPublicKey(message);
+          }
+        })
+      .register(KeepKeyMessage.MessageType.MessageType_LoadDevice_VALUE, KeepKeyMessage.LoadDevice.class, KeepKeyMessage.LoadDevice.PARSER, MessageEventType.LOAD_DEVICE)
+      .register(KeepKeyMessage.MessageType.MessageType_ResetDevice_VALUE, KeepKeyMessage.ResetDevice.class, KeepKeyMessage.ResetDevice.PARSER, MessageEventType.RESET_DEVICE)
+      .register(KeepKeyMessage.MessageType.MessageType_SignTx_VALUE, KeepKeyMessage.SignTx.class, KeepKeyMessage.SignTx.PARSER, MessageEventType.SIGN_TX)
+      .register(KeepKeyMessage.MessageType.MessageType_SimpleSignTx_VALUE, KeepKeyMessage.SimpleSignTx.class, KeepKeyMessage.SimpleSignTx.PARSER, MessageEventType.SIMPLE_SIGN_TX)
+      .register(KeepKeyMessage.MessageType.MessageType_Features_VALUE, KeepKeyMessage.Features.class, KeepKeyMessage.Features.PARSER, MessageEventType.FEATURES,
+        new MessageAdapter<KeepKeyMessage.Features>() {
+          @Override
+          public HardwareWalletMessage adapt(KeepKeyMessage.Features message) {
+            return KeepKeyMessageAdapter.adaptFeatures(message);
+          }
+        })
+      .register(KeepKeyMessage.MessageType.MessageType_PinMatrixRequest_VALUE, KeepKeyMessage.PinMatrixRequest.class, KeepKeyMessage.PinMatrixRequest.PARSER, MessageEventType.PIN_MATRIX_REQUEST,
+        new MessageAdapter<KeepKeyMessage.PinMatrixRequest>() {
+          @Override
+          public HardwareWalletMessage adapt(KeepKeyMessage.PinMatrixRequest message) {
+            return KeepKeyMessageAdapter.adaptPinMatrixRequest(message);
+          }
+        })
+      .register(KeepKeyMessage.MessageType.MessageType_PinMatrixAck_VALUE, KeepKeyMessage.PinMatrixAck.class, KeepKeyMessage.PinMatrixAck.PARSER, MessageEventType.PIN_MATRIX_ACK)
+      .register(KeepKeyMessage.MessageType.MessageType_Cancel_VALUE, KeepKeyMessage.Cancel.class, KeepKeyMessage.Cancel.PARSER, MessageEventType.CANCEL)
+      .register(KeepKeyMessage.MessageType.MessageType_TxRequest_VALUE, KeepKeyMessage.TxRequest.class, KeepKeyMessage.TxRequest.PARSER, MessageEventType.TX_REQUEST,
+        new MessageAdapter<KeepKeyMessage.TxRequest>() {
+          @Override
+          public HardwareWalletMessage adapt(KeepKeyMessage.TxRequest message) {
+            return KeepKeyMessageAdapter.adaptTxRequest(message);
+          }
+        })
+      .register(KeepKeyMessage.MessageType.MessageType_TxAck_VALUE, KeepKeyMessage.TxAck.class, KeepKeyMessage.TxAck.PARSER, MessageEventType.TX_ACK)
+      .register(KeepKeyMessage.MessageType.MessageType_CipherKeyValue_VALUE, KeepKeyMessage.CipherKeyValue.class, KeepKeyMessage.CipherKeyValue.PARSER, MessageEventType.CIPHER_KEY_VALUE)
+      .register(KeepKeyMessage.MessageType.MessageType_CipheredKeyValue_VALUE, KeepKeyMessage.CipheredKeyValue.class, KeepKeyMessage.CipheredKeyValue.PARSER, MessageEventType.CIPHERED_KEY_VALUE,
+        new MessageAdapter<KeepKeyMessage.CipheredKeyValue>() {
+          @Override
+          public HardwareWalletMessage adapt(KeepKeyMessage.CipheredKeyValue message) {
+            return KeepKeyMessageAdapter.adaptCipheredKeyValue(message);
+          }
+        })
+      .register(KeepKeyMessage.MessageType.MessageType_ClearSession_VALUE, KeepKeyMessage.ClearSession.class, KeepKeyMessage.ClearSession.PARSER, MessageEventType.CLEAR_SESSION)
+      .register(KeepKeyMessage.MessageType.MessageType_ApplySettings_VALUE, KeepKeyMessage.ApplySettings.class, KeepKeyMessage.ApplySettings.PARSER, MessageEventType.APPLY_SETTINGS)
+      .register(KeepKeyMessage.MessageType.MessageType_ButtonRequest_VALUE, KeepKeyMessage.ButtonRequest.class, KeepKeyMessage.ButtonRequest.PARSER, MessageEventType.BUTTON_REQUEST,
+        new MessageAdapter<KeepKeyMessage.ButtonRequest>() {
+          @Override
+          public HardwareWalletMessage adapt(KeepKeyMessage.ButtonRequest message) {
+            return KeepKeyMessageAdapter.adaptButtonRequest(message);
+          }
+        })
+      .register(KeepKeyMessage.MessageType.MessageType_ButtonAck_VALUE, KeepKeyMessage.ButtonAck.class, KeepKeyMessage.ButtonAck.PARSER, MessageEventType.BUTTON_ACK)
+      .register(KeepKeyMessage.MessageType.MessageType_GetAddress_VALUE, KeepKeyMessage.GetAddress.class, KeepKeyMessage.GetAddress.PARSER, MessageEventType.GET_ADDRESS)
+      .register(KeepKeyMessage.MessageType.MessageType_Address_VALUE, KeepKeyMessage.Address.class, KeepKeyMessage.Address.PARSER, MessageEventType.ADDRESS,
+        new MessageAdapter<KeepKeyMessage.Address>() {
+          @Override
+          public HardwareWalletMessage adapt(KeepKeyMessage.Address message) {
+            return KeepKeyMessageAdapter.adaptAddress(message);
+          }
+        })
+      .register(KeepKeyMessage.MessageType.MessageType_EntropyRequest_VALUE, KeepKeyMessage.EntropyRequest.class, KeepKeyMessage.EntropyRequest.PARSER, MessageEventType.ENTROPY_REQUEST)
+      .register(KeepKeyMessage.MessageType.MessageType_EntropyAck_VALUE, KeepKeyMessage.EntropyAck.class, KeepKeyMessage.EntropyAck.PARSER, MessageEventType.ENTROPY_ACK)
+      .register(KeepKeyMessage.MessageType.MessageType_SignMessage_VALUE, KeepKeyMessage.SignMessage.class, KeepKeyMessage.SignMessage.PARSER, MessageEventType.SIGN_MESSAGE)
+      .register(KeepKeyMessage.MessageType.MessageType_VerifyMessage_VALUE, KeepKeyMessage.VerifyMessage.class, KeepKeyMessage.VerifyMessage.PARSER, MessageEventType.VERIFY_MESSAGE)
+      .register(KeepKeyMessage.MessageType.MessageType_MessageSignature_VALUE, KeepKeyMessage.MessageSignature.class, KeepKeyMessage.MessageSignature.PARSER, MessageEventType.MESSAGE_SIGNATURE,
+        new MessageAdapter<KeepKeyMessage.MessageSignature>() {
+          @Override
+          public HardwareWalletMessage adapt(KeepKeyMessage.MessageSignature message) {
+            return KeepKeyMessageAdapter.adaptMessageSignature(message);
+          }
+        })
+      .register(KeepKeyMessage.MessageType.MessageType_EncryptMessage_VALUE, KeepKeyMessage.EncryptMessage.class, KeepKeyMessage.EncryptMessage.PARSER, MessageEventType.ENCRYPT_MESSAGE)
+      .register(KeepKeyMessage.MessageType.MessageType_EncryptedMessage_VALUE, KeepKeyMessage.EncryptedMessage.class, KeepKeyMessage.EncryptedMessage.PARSER, MessageEventType.ENCRYPTED_MESSAGE)
+      .register(KeepKeyMessage.MessageType.MessageType_DecryptMessage_VALUE, KeepKeyMessage.DecryptMessage.class, KeepKeyMessage.DecryptMessage.PARSER, MessageEventType.DECRYPT_MESSAGE)
+      .register(KeepKeyMessage.MessageType.MessageType_DecryptedMessage_VALUE, KeepKeyMessage.DecryptedMessage.class, KeepKeyMessage.DecryptedMessage.PARSER, MessageEventType.DECRYPTED_MESSAGE)
+      .register(KeepKeyMessage.MessageType.MessageType_PassphraseRequest_VALUE, KeepKeyMessage.PassphraseRequest.class, KeepKeyMessage.PassphraseRequest.PARSER, MessageEventType.PASSPHRASE_REQUEST)
+      .register(KeepKeyMessage.MessageType.MessageType_PassphraseAck_VALUE, KeepKeyMessage.PassphraseAck.class, KeepKeyMessage.PassphraseAck.PARSER, MessageEventType.PASSPHRASE_ACK)
+      .register(KeepKeyMessage.MessageType.MessageType_EstimateTxSize_VALUE, KeepKeyMessage.EstimateTxSize.class, KeepKeyMessage.EstimateTxSize.PARSER, MessageEventType.ESTIMATE_TX_SIZE)
+      .register(KeepKeyMessage.MessageType.MessageType_TxSize_VALUE, KeepKeyMessage.TxSize.class, KeepKeyMessage.TxSize.PARSER, MessageEventType.TX_SIZE)
+      .register(KeepKeyMessage.MessageType.MessageType_RecoveryDevice_VALUE, KeepKeyMessage.RecoveryDevice.class, KeepKeyMessage.RecoveryDevice.PARSER, MessageEventType.RECOVER_DEVICE)
+      .register(KeepKeyMessage.MessageType.MessageType_WordRequest_VALUE, KeepKeyMessage.WordRequest.class, KeepKeyMessage.WordRequest.PARSER, MessageEventType.WORD_REQUEST)
+      .register(KeepKeyMessage.MessageType.MessageType_WordAck_VALUE, KeepKeyMessage.WordAck.class, KeepKeyMessage.WordAck.PARSER, MessageEventType.WORD_ACK)
+      .register(KeepKeyMessage.MessageType.MessageType_SignIdentity_VALUE, KeepKeyMessage.SignIdentity.class, KeepKeyMessage.SignIdentity.PARSER, MessageEventType.SIGN_IDENTITY)
+      .register(KeepKeyMessage.MessageType.MessageType_SignedIdentity_VALUE, KeepKeyMessage.SignedIdentity.class, KeepKeyMessage.SignedIdentity.PARSER, MessageEventType.SIGNED_IDENTITY,
+        new MessageAdapter<KeepKeyMessage.SignedIdentity>() {
+          @Override
+          public HardwareWalletMessage adapt(KeepKeyMessage.SignedIdentity message) {
+            return KeepKeyMessageAdapter.adaptSignedIdentity(message);
+          }
+        })
+      .register(KeepKeyMessage.MessageType.MessageType_GetFeatures_VALUE, KeepKeyMessage.GetFeatures.class, KeepKeyMessage.GetFeatures.PARSER, MessageEventType.GET_FEATURES)
+      .register(KeepKeyMessage.MessageType.MessageType_DebugLinkDecision_VALUE, KeepKeyMessage.DebugLinkDecision.class, KeepKeyMessage.DebugLinkDecision.PARSER, MessageEventType.DEBUG_LINK_DECISION)
+      .register(KeepKeyMessage.MessageType.MessageType_DebugLinkGetState_VALUE, KeepKeyMessage.DebugLinkGetState.class, KeepKeyMessage.DebugLinkGetState.PARSER, MessageEventType.DEBUG_LINK_GET_STATE)
+      .register(KeepKeyMessage.MessageType.MessageType_DebugLinkState_VALUE, KeepKeyMessage.DebugLinkState.class, KeepKeyMessage.DebugLinkState.PARSER, MessageEventType.DEBUG_LINK_STATE)
+      .register(KeepKeyMessage.MessageType.MessageType_DebugLinkStop_VALUE, KeepKeyMessage.DebugLinkStop.class, KeepKeyMessage.DebugLinkStop.PARSER, MessageEventType.DEBUG_LINK_STOP)
+      .register(KeepKeyMessage.MessageType.MessageType_DebugLinkLog_VALUE, KeepKeyMessage.DebugLinkLog.class, KeepKeyMessage.DebugLinkLog.PARSER, MessageEventType.DEBUG_LINK_LOG);
+
+  }
+
+  /**
+   * Utilities should not have public constructors
+   */
+  private KeepKeyMessageRegistry() {
+  }
+
+  /**
+   * @return The KeepKey wire message registry
+   */
+  public static WireMessageRegistry getInstance() {
+    return messageTable;
+  }
+
+  /**
+   * @param message The KeepKey protobuf message
+   *
+   * @return The wire message type for the header
+   */
+  public static int getMessageType(Message message) {
+    return messageTable.getMessageType(message);
+  }
+
+}
@@ -2,15 +2,16 @@ package org.multibit.hd.hardware.keepkey.wallets;
 
 import com.google.common.base.Optional;
 import com.google.protobuf.Message;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.multibit.hd.hardware.core.HardwareWalletSpecification;
 import org.multibit.hd.hardware.core.events.MessageEvent;
 import org.multibit.hd.hardware.core.wallets.AbstractHardwareWallet;
+import org.multibit.hd.hardware.core.wire.HidFrameWriter;
+import org.multibit.hd.hardware.core.wire.HidPacketSink;
 import org.multibit.hd.hardware.keepkey.utils.KeepKeyMessageUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.ByteBuffer;
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -25,6 +26,21 @@ public abstract class AbstractKeepKeyHardwareWallet extends AbstractHardwareWall
 
   private static final Logger log = LoggerFactory.getLogger(AbstractKeepKeyHardwareWallet.class);
 
+  /**
+   * Hands each HID report to the device as soon as it fills
+   */
+  private final HidPacketSink deviceSink = new HidPacketSink() {
+    @Override
+    public void write(byte[] packet) {
+      writeToDevice(packet);
+    }
+  };
+
+  /**
+   * Serializes messages directly into a single reusable HID report
+   */
+  private final HidFrameWriter frameWriter = new HidFrameWriter(deviceSink);
+
   @Override
   public HardwareWalletSpecification getDefaultSpecification() {
 
@@ -51,35 +67,16 @@ public abstract class AbstractKeepKeyHardwareWallet extends AbstractHardwareWall
   }
 
   @Override
-  @SuppressFBWarnings(value = {"SBSC_USE_STRINGBUFFER_CONCATENATION"}, justification = "Only occurs at trace")
   public void writeMessage(Message message) {
 
-    ByteBuffer messageBuffer = KeepKeyMessageUtils.formatAsHIDPackets(message);
-
-    int packets = messageBuffer.position() / 63;
-    log.debug("Writing {} packets", packets);
-    messageBuffer.rewind();
-
-    // HID requires 64 byte packets with 63 bytes of payload
-    for (int i = 0; i < packets; i++) {
-
-      byte[] buffer = new byte[64];
-      buffer[0] = 63; // Length
-      messageBuffer.get(buffer, 1, 63); // Payload
-
-      if (log.isTraceEnabled()) {
-        // Describe the packet
-        String s = "Packet [" + i + "]: ";
-        for (int j = 0; j < 64; j++) {
-          s += String.format(" %02x", buffer[j]);
-        }
-
-        // There is a security risk to raising this logging level beyond trace
-        log.trace("> {}", s);
+    // Only one message can be framed at a time since the report buffer is shared
+    synchronized (frameWriter) {
+      try {
+        int packets = frameWriter.write(KeepKeyMessageUtils.getMessageType(message), message);
+        log.debug("Wrote {} packets", packets);
+      } catch (IOException e) {
+        log.error("Failed to write message", e);
       }
-
-      writeToDevice(buffer);
-
     }
   }
 
@@ -94,7 +91,8 @@ public abstract class AbstractKeepKeyHardwareWallet extends AbstractHardwareWall
   protected abstract Optional<MessageEvent> readFromDevice(int duration, TimeUnit timeUnit);
 
   /**
-   * <p>Write a complete message buffer to the device.</p>
+   * <p>Write a single HID report to the device.</p>
+   * <p>The buffer is reused for the next report so implementations must not retain it.</p>
    *
    * @param buffer The buffer that will be written to the device
    *
@@ -4,22 +4,21 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.protobuf.Message;
-import com.keepkey.protobuf.KeepKeyMessage;
 import org.hid4java.*;
 import org.hid4java.event.HidServicesEvent;
 import org.multibit.commons.concurrent.SafeExecutors;
 import org.multibit.hd.hardware.core.HardwareWalletSpecification;
 import org.multibit.hd.hardware.core.events.MessageEvent;
 import org.multibit.hd.hardware.core.events.MessageEventType;
-import org.multibit.hd.hardware.core.events.MessageEvents;
 import org.multibit.hd.hardware.core.messages.HardwareWalletMessage;
+import org.multibit.hd.hardware.core.wire.HidPacketReassembler;
+import org.multibit.hd.hardware.core.wire.HidPacketSource;
 import org.multibit.hd.hardware.keepkey.utils.KeepKeyMessageUtils;
 import org.multibit.hd.hardware.keepkey.wallets.AbstractKeepKeyHardwareWallet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.ByteBuffer;
-import java.util.Arrays;
+import java.io.IOException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -61,6 +60,27 @@ public class KeepKeyV1HidHardwareWallet extends AbstractKeepKeyHardwareWallet im
    */
   private ExecutorService monitorHidExecutorService;
 
+  /**
+   * Reassemble HID packets into messages reusing the same buffers for every read
+   */
+  private final HidPacketReassembler reassembler = new HidPacketReassembler();
+
+  /**
+   * Adapt the located device for the reassembler
+   */
+  private final HidPacketSource packetSource = new HidPacketSource() {
+    @Override
+    public int read(byte[] packet, int timeoutMillis) {
+
+      // A timeout allows the executing thread to terminate in a timely manner without
+      // a response from the device
+      if (timeoutMillis != 0) {
+        return locatedDevice.get().read(packet, timeoutMillis);
+      }
+      return locatedDevice.get().read(packet);
+    }
+  };
+
   /**
    * Default constructor for use with dynamic binding
    */
@@ -109,9 +129,13 @@ public class KeepKeyV1HidHardwareWallet extends AbstractKeepKeyHardwareWallet im
 
   }
 
+  /**
+   * @return The device ID which includes the serial number when one is configured (e.g. "KEEP_KEY/0123456789ABCDEF")
+   * so that several devices can be in use at once
+   */
   @Override
   public String name() {
-    return "KEEP_KEY";
+    return serialNumber.isPresent() ? "KEEP_KEY/" + serialNumber.get() : "KEEP_KEY";
   }
 
   @Override
@@ -183,7 +207,7 @@ public class KeepKeyV1HidHardwareWallet extends AbstractKeepKeyHardwareWallet im
     log.info("Hard detach complete. HID events are stopped.");
 
     // Let everyone know
-    MessageEvents.fireMessageEvent(MessageEventType.DEVICE_DETACHED_HARD, name());
+    fireMessageEvent(MessageEventType.DEVICE_DETACHED_HARD);
 
   }
 
@@ -201,7 +225,7 @@ public class KeepKeyV1HidHardwareWallet extends AbstractKeepKeyHardwareWallet im
 
       if (!locatedDevice.isPresent()) {
         log.debug("Failed to locate. Device must be detached.");
-        MessageEvents.fireMessageEvent(MessageEventType.DEVICE_DETACHED, name());
+        fireMessageEvent(MessageEventType.DEVICE_DETACHED);
         return false;
       }
 
@@ -234,11 +258,13 @@ public class KeepKeyV1HidHardwareWallet extends AbstractKeepKeyHardwareWallet im
 
             if (messageEvent.isPresent()) {
               if (MessageEventType.DEVICE_FAILED.equals(messageEvent.get().getEventType())) {
+                // Callers awaiting a response will not receive one
+                getMailbox().offer(messageEvent.get());
                 // Stop reading messages on this thread for a short while to allow recovery time
                 Uninterruptibles.sleepUninterruptibly(1, TimeUnit.SECONDS);
               } else {
                 // Fire the event
-                MessageEvents.fireMessageEvent(messageEvent.get());
+                fireMessageEvent(messageEvent.get());
               }
             }
           }
@@ -295,92 +321,30 @@ public class KeepKeyV1HidHardwareWallet extends AbstractKeepKeyHardwareWallet im
       return Optional.absent();
     }
 
-    ByteBuffer messageBuffer = ByteBuffer.allocate(32768);
-
-    KeepKeyMessage.MessageType type;
-    int msgSize;
     int received;
-
-    // Keep reading until synchronized on "##"
-    for (; ; ) {
-      byte[] buffer = new byte[PACKET_LENGTH];
-
-      // Check for timeout against the read operation
-      // This allows the executing thread to terminate in a timely manner without
-      // a response from the device
-      if (duration != 0) {
-        received = locatedDevice.get().read(buffer, (int) timeUnit.toMillis(duration));
-      } else {
-        received = locatedDevice.get().read(buffer);
-      }
-
-      // There is a security risk to raising this logging level beyond trace
-      log.trace("< {} bytes", received);
-
-      if (received == -1) {
-        // Hardware problem
-        return Optional.of(
-          new MessageEvent(
-            MessageEventType.DEVICE_FAILED,
-            Optional.<HardwareWalletMessage>absent(),
-            Optional.<Message>absent(),
-            name()));
-      }
-
-      if (received == 0) {
-        return Optional.absent();
-      }
-
-      KeepKeyMessageUtils.logPacket("<", 0, buffer);
-
-      if (received < 9) {
-        continue;
-      }
-
-      // Synchronize the buffer on start of new message ('?' is ASCII 63)
-      if (buffer[0] != (byte) '?' || buffer[1] != (byte) '#' || buffer[2] != (byte) '#') {
-        // Reject packet
-        log.debug("Rejecting message (not synchronized)");
-        continue;
-      }
-
-      // Evaluate the header information (short, int)
-      type = KeepKeyMessage.MessageType.valueOf((buffer[3] << 8 & 0xFF) + buffer[4]);
-      msgSize = ((buffer[5] & 0xFF) << 24) + ((buffer[6] & 0xFF) << 16) + ((buffer[7] & 0xFF) << 8) + (buffer[8] & 0xFF);
-
-      // Treat remainder of packet as the protobuf message payload
-      messageBuffer.put(buffer, 9, buffer.length - 9);
-
-      break;
+    try {
+      received = reassembler.read(packetSource, (int) timeUnit.toMillis(duration));
+    } catch (IOException e) {
+      log.warn("Unexpected failure reading from HID device", e);
+      received = -1;
     }
 
-    // There is a security risk to raising this logging level beyond trace
-    log.trace("< Type: '{}' Message size: '{}' bytes", type.name(), msgSize);
-
-    int packet = 0;
-    while (messageBuffer.position() < msgSize) {
-
-      byte[] buffer = new byte[PACKET_LENGTH];
-      received = locatedDevice.get().read(buffer);
-      packet++;
-
-      // There is a security risk to raising this logging level beyond trace
-      log.trace("< (cont) {} bytes", received);
-      KeepKeyMessageUtils.logPacket("<", packet, buffer);
-
-      if (buffer[0] != (byte) '?') {
-        log.warn("< Malformed packet length. Expected: '3f' Actual: '{}'. Ignoring.", String.format("%02x", buffer[0]));
-        continue;
-      }
-
-      // Append the packet payload to the message buffer
-      messageBuffer.put(buffer, 1, buffer.length - 1);
+    if (received < 0) {
+      // Hardware problem
+      return Optional.of(
+        new MessageEvent(
+          MessageEventType.DEVICE_FAILED,
+          Optional.<HardwareWalletMessage>absent(),
+          Optional.<Message>absent(),
+          name()));
     }
 
-    log.debug("Packet complete");
+    if (received == 0) {
+      return Optional.absent();
+    }
 
-    // Parse the message
-    return Optional.fromNullable(KeepKeyMessageUtils.parse(type, Arrays.copyOfRange(messageBuffer.array(), 0, msgSize)));
+    // Parse the message directly from the reassembly buffer
+    return Optional.fromNullable(KeepKeyMessageUtils.parse(reassembler, name()));
 
   }
 
@@ -394,9 +358,10 @@ public class KeepKeyV1HidHardwareWallet extends AbstractKeepKeyHardwareWallet im
 
     // Check if it is a device we're interested in that was attached
     if (vendorId.get().equals(attachedVendorId) &&
-      productId.get().equals(attachedProductId)) {
+      productId.get().equals(attachedProductId) &&
+      isConfiguredSerialNumber(attachedDevice.getSerialNumber())) {
       // Inform others of this event
-      MessageEvents.fireMessageEvent(MessageEventType.DEVICE_ATTACHED, name());
+      fireMessageEvent(MessageEventType.DEVICE_ATTACHED);
     }
 
   }
@@ -411,17 +376,27 @@ public class KeepKeyV1HidHardwareWallet extends AbstractKeepKeyHardwareWallet im
 
     // Check if it is a device we're interested in that was detached
     if (vendorId.get().equals(detachedVendorId) &&
-      productId.get().equals(detachedProductId)) {
+      productId.get().equals(detachedProductId) &&
+      isConfiguredSerialNumber(attachedDevice.getSerialNumber())) {
       // Inform others of this event
-      MessageEvents.fireMessageEvent(MessageEventType.DEVICE_DETACHED, name());
+      fireMessageEvent(MessageEventType.DEVICE_DETACHED);
     }
 
   }
 
+  /**
+   * @param deviceSerialNumber The serial number reported by the HID device (may be null)
+   *
+   * @return True if no serial number is configured or it matches the device
+   */
+  private boolean isConfiguredSerialNumber(String deviceSerialNumber) {
+    return !serialNumber.isPresent() || serialNumber.get().equals(deviceSerialNumber);
+  }
+
   @Override
   public void hidFailure(HidServicesEvent event) {
 
-    MessageEvents.fireMessageEvent(MessageEventType.DEVICE_FAILED, name());
+    fireMessageEvent(MessageEventType.DEVICE_FAILED);
 
   }
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package org.multibit.hd.hardware.trezor.clients;
 
 import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.Message;
 import com.satoshilabs.trezor.protobuf.TrezorMessage;
+import com.satoshilabs.trezor.protobuf.TrezorRingSign;
 import com.satoshilabs.trezor.protobuf.TrezorType;
 import org.bitcoinj.core.*;
 import org.bitcoinj.crypto.ChildNumber;
@@ -14,6 +18,9 @@ import org.bitcoinj.wallet.KeyChain;
 import org.multibit.hd.hardware.core.HardwareWalletClient;
 import org.multibit.hd.hardware.core.domain.Identity;
 import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.events.MessageEventMailbox;
+import org.multibit.hd.hardware.core.events.MessageEventType;
+import org.multibit.hd.hardware.core.messages.RingSignRequest;
 import org.multibit.hd.hardware.core.messages.TxRequest;
 import org.multibit.hd.hardware.core.utils.IdentityUtils;
 import org.multibit.hd.hardware.core.utils.TransactionUtils;
@@ -24,6 +31,7 @@ import org.slf4j.LoggerFactory;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -40,6 +48,11 @@ public abstract class AbstractTrezorHardwareWalletClient implements HardwareWall
 
 	private static final Logger log = LoggerFactory.getLogger(AbstractTrezorHardwareWalletClient.class);
 
+	/**
+	 * Ensures response slots are reserved in the same order as messages are written
+	 */
+	private final Object writeLock = new Object();
+
 	@Override
 	public Optional<MessageEvent> initialise() {
 		return sendMessage(TrezorMessage.Initialize.newBuilder().build());
@@ -402,6 +415,48 @@ public abstract class AbstractTrezorHardwareWalletClient implements HardwareWall
 
 		return sendMessage(builder.build());
 	}
+
+	@Override
+	public Optional<MessageEvent> ringSignMessageStreamed(int n, int pi, byte[] message) {
+
+		// An empty ring asks the device to pull the members with RingSignRequest
+		return sendMessage(TrezorMessage.RingSignMessage.newBuilder()
+				.setN(n)
+				.setPi(pi)
+				.setMessage(ByteString.copyFrom(message))
+				.build());
+	}
+
+	@Override
+	public Optional<MessageEvent> ringSignAck(RingSignRequest ringSignRequest, List<byte[]> L) {
+
+		int index = ringSignRequest.getIndex();
+		int count = ringSignRequest.getCount();
+
+		if (index < 0 || count < 1 || index + count > L.size()) {
+			log.error("Device requested ring members {} to {} of a ring of {}", index, index + count - 1, L.size());
+			throw new IllegalArgumentException("Device requested ring members outside the ring.");
+		}
+
+		TrezorRingSign.RingSignAck.Builder builder = TrezorRingSign.RingSignAck.newBuilder();
+		for (byte[] pk : L.subList(index, index + count)) {
+			builder.addL(ByteString.copyFrom(pk));
+		}
+
+		return sendMessage(builder.build());
+	}
+
+	@Override
+	public Optional<MessageEvent> ringSignMessageCached(byte[] ringDigest, int n, int pi, byte[] message) {
+
+		// The device falls back to pulling the ring with RingSignRequest if it does not hold it
+		return sendMessage(TrezorRingSign.RingSignCachedMessage.newBuilder()
+				.setRingDigest(ByteString.copyFrom(ringDigest))
+				.setN(n)
+				.setPi(pi)
+				.setMessage(ByteString.copyFrom(message))
+				.build());
+	}
 	
 	/* Get Public Key 65 */
 	@Override
@@ -467,6 +522,70 @@ public abstract class AbstractTrezorHardwareWalletClient implements HardwareWall
 				.setIdentity(identityType).build());
 	}
 
+	@Override
+	public ListenableFuture<MessageEvent> call(Message message) {
+		return call(message, 5, TimeUnit.SECONDS);
+	}
+
+	@Override
+	public ListenableFuture<MessageEvent> call(Message message, int duration, TimeUnit timeUnit) {
+		return call(message, duration, timeUnit, ImmutableSet.<MessageEventType>of());
+	}
+
+	@Override
+	public ListenableFuture<MessageEvent> call(Message message, int duration, TimeUnit timeUnit,
+			Set<MessageEventType> responseTypes) {
+
+		Preconditions.checkNotNull(message, "'message' must be present");
+
+		MessageEventMailbox mailbox = getMailbox();
+
+		synchronized (writeLock) {
+			// Reserve the slot first since the response may arrive before the write returns
+			ListenableFuture<MessageEvent> response = mailbox.expect(duration, timeUnit, responseTypes);
+			if (!writeMessage(message)) {
+				mailbox.abandon(response, "Failed to write " + message.getClass().getSimpleName());
+			}
+			return response;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Write a message whose response is only delivered through the event bus (no mailbox slot is reserved).
+	 * </p>
+	 *
+	 * @param message
+	 *            The message to send to the hardware wallet
+	 *
+	 * @return True if the message was written
+	 */
+	protected boolean send(Message message) {
+
+		Preconditions.checkNotNull(message, "'message' must be present");
+
+		synchronized (writeLock) {
+			return writeMessage(message);
+		}
+	}
+
+	/**
+	 * @return The mailbox receiving every response read from the device
+	 */
+	protected abstract MessageEventMailbox getMailbox();
+
+	/**
+	 * <p>
+	 * Write a message to the device without waiting for a response.
+	 * </p>
+	 *
+	 * @param message
+	 *            The message to send to the hardware wallet
+	 *
+	 * @return True if the message was written
+	 */
+	protected abstract boolean writeMessage(Message message);
+
 	/**
 	 * <p>
 	 * Send a message to the device that should have a near-immediate (under 5
@@ -4,6 +4,7 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.protobuf.Message;
 import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.events.MessageEventMailbox;
 import org.multibit.hd.hardware.core.events.MessageEventType;
 import org.multibit.hd.hardware.core.events.MessageEvents;
 import org.multibit.hd.hardware.core.messages.Features;
@@ -117,15 +118,30 @@ public class TrezorHardwareWalletClient extends AbstractTrezorHardwareWalletClie
   @Override
   protected Optional<MessageEvent> sendMessage(Message message, int duration, TimeUnit timeUnit) {
 
+    // The response is delivered through the event bus
+    send(message);
+
+    return Optional.absent();
+
+  }
+
+  @Override
+  protected MessageEventMailbox getMailbox() {
+    return trezor.getMailbox();
+  }
+
+  @Override
+  protected boolean writeMessage(Message message) {
+
     if (!isTrezorValid) {
       log.warn("Trezor is not valid.");
-      return Optional.absent();
+      return false;
     }
 
     // Write the message
     trezor.writeMessage(message);
 
-    return Optional.absent();
+    return true;
 
   }
 
@@ -6,9 +6,13 @@ import com.google.protobuf.Message;
 import org.multibit.commons.concurrent.SafeExecutors;
 import org.multibit.hd.hardware.core.HardwareWalletException;
 import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.events.MessageEventMailbox;
 import org.multibit.hd.hardware.core.events.MessageEventType;
 import org.multibit.hd.hardware.core.events.MessageEvents;
 import org.multibit.hd.hardware.core.messages.Features;
+import org.multibit.hd.hardware.core.wire.HidPacketReassembler;
+import org.multibit.hd.hardware.core.wire.HidPacketSource;
+import org.multibit.hd.hardware.core.wire.InputStreamPacketSource;
 import org.multibit.hd.hardware.trezor.utils.TrezorMessageUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,6 +66,11 @@ public class TrezorRelayClient extends AbstractTrezorHardwareWalletClient {
   // Provide a thread for monitoring the output from the server
   protected final ExecutorService serverMonitorService = SafeExecutors.newSingleThreadExecutor("server-monitor");
 
+  /**
+   * Correlates responses from the server with the requests awaiting them
+   */
+  private final MessageEventMailbox mailbox = new MessageEventMailbox();
+
 
   /**
    * @param relayServerLocation The location of the RelayServer
@@ -187,16 +196,23 @@ public class TrezorRelayClient extends AbstractTrezorHardwareWalletClient {
 
       @Override
       public void run() {
+
+        // Reuse the same buffers for every message on this connection
+        HidPacketSource source = new InputStreamPacketSource(inputFromServer);
+        HidPacketReassembler reassembler = new HidPacketReassembler();
+
         while (true) {
           try {
             // Blocking read to get the client message (e.g. "Initialize") formatted as HID packets for simplicity
             log.debug("Waiting for server message...");
-            MessageEvent messageFromServer = TrezorMessageUtils.parseAsHIDPackets(inputFromServer);
+            MessageEvent messageFromServer = TrezorMessageUtils.parseAsHIDPackets(source, reassembler);
 
+            mailbox.offer(messageFromServer);
             MessageEvents.fireMessageEvent(messageFromServer);
 
           } catch (HardwareWalletException | IOException e) {
             log.error("Failed to read back from server", e);
+            mailbox.failAll(e);
             break;
           }
         }
@@ -205,41 +221,45 @@ public class TrezorRelayClient extends AbstractTrezorHardwareWalletClient {
     });
   }
 
-  /**
-   * Send a message to an output stream
-   *
-   * @param message the message to serialise and send to the OutputStream
-   */
   @Override
   public Optional<MessageEvent> sendMessage(Message message) {
 
-    Preconditions.checkNotNull(message, "Message must be present");
+    return sendMessage(message, 1, TimeUnit.SECONDS);
+  }
 
-    try {
-      // Apply the message to the data output stream
-      TrezorMessageUtils.writeAsHIDPackets(message, outputToServer);
+  @Override
+  public Optional<MessageEvent> sendMessage(Message message, int duration, TimeUnit timeUnit) {
 
-    } catch (IOException e) {
-      log.warn("I/O error during write. Closing socket.", e);
-    }
+    // The response is delivered through the event bus
+    send(message);
 
     return Optional.absent();
   }
 
   @Override
-  public Optional<MessageEvent> sendMessage(Message message, int duration, TimeUnit timeUnit) {
+  protected MessageEventMailbox getMailbox() {
+    return mailbox;
+  }
+
+  /**
+   * Send a message to an output stream
+   *
+   * @param message the message to serialise and send to the OutputStream
+   */
+  @Override
+  protected boolean writeMessage(Message message) {
 
     Preconditions.checkNotNull(message, "Message must be present");
 
     try {
       // Apply the message to the data output stream
       TrezorMessageUtils.writeAsHIDPackets(message, outputToServer);
-
+      return true;
     } catch (IOException e) {
       log.warn("I/O error during write. Closing socket.", e);
+      return false;
     }
 
-    return Optional.absent();
   }
 
   @Override
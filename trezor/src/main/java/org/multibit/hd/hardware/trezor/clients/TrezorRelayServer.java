@@ -5,12 +5,14 @@ import com.google.common.collect.Queues;
 import com.google.common.eventbus.Subscribe;
 import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.protobuf.Message;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.multibit.commons.concurrent.SafeExecutors;
 import org.multibit.hd.hardware.core.events.HardwareWalletEvents;
 import org.multibit.hd.hardware.core.events.MessageEvent;
 import org.multibit.hd.hardware.core.events.MessageEventType;
 import org.multibit.hd.hardware.core.wallets.HardwareWallet;
+import org.multibit.hd.hardware.core.wire.HidPacketReassembler;
+import org.multibit.hd.hardware.core.wire.HidPacketSource;
+import org.multibit.hd.hardware.core.wire.InputStreamPacketSource;
 import org.multibit.hd.hardware.trezor.utils.TrezorMessageUtils;
 import org.multibit.hd.hardware.trezor.wallets.v1.TrezorV1HidHardwareWallet;
 import org.slf4j.Logger;
@@ -19,7 +21,6 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.nio.ByteBuffer;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -195,12 +196,17 @@ public class TrezorRelayServer {
 
         @Override
         public void run() {
+
+          // Reuse the same buffers for every message on this connection
+          HidPacketSource source = new InputStreamPacketSource(inputFromClient);
+          HidPacketReassembler reassembler = new HidPacketReassembler();
+
           while (true) {
             try {
               // Blocking read to get the client message (e.g. "Initialize") formatted as HID packets for simplicity
               log.debug("Waiting for client message...");
 
-              MessageEvent messageFromClient = TrezorMessageUtils.parseAsHIDPackets(inputFromClient);
+              MessageEvent messageFromClient = TrezorMessageUtils.parseAsHIDPackets(source, reassembler);
 
               // Send the Message to the trezor (serialising again to protobuf)
               log.debug("Writing message to hardware wallet");
@@ -222,40 +228,13 @@ public class TrezorRelayServer {
    *
    * @param message the message to serialise and send to the OutputStream
    */
-  @SuppressFBWarnings(value = {"SBSC_USE_STRINGBUFFER_CONCATENATION"}, justification = "Only occurs at trace")
   public void writeMessage(Message message, OutputStream out) {
 
-    ByteBuffer messageBuffer = TrezorMessageUtils.formatAsHIDPackets(message);
-
-    int packets = messageBuffer.position() / 63;
-    log.debug("Writing {} packets", packets);
-    messageBuffer.rewind();
-
-    // HID requires 64 byte packets with 63 bytes of payload
-    for (int i = 0; i < packets; i++) {
-
-      byte[] buffer = new byte[64];
-      buffer[0] = 63; // Length
-      messageBuffer.get(buffer, 1, 63); // Payload
-
-      if (log.isTraceEnabled()) {
-        // Describe the packet
-        String s = "Packet [" + i + "]: ";
-        for (int j = 0; j < 64; j++) {
-          s += String.format(" %02x", buffer[j]);
-        }
-
-        // There is a security risk to raising this logging level beyond trace
-        log.trace("> Client {}", s);
-      }
-
-      try {
-        out.write(buffer);
-        out.flush();
-      } catch (IOException e) {
-        log.error("Failed to write to client output stream.", e.getMessage());
-      }
-
+    try {
+      // Stream the message directly into HID packets
+      TrezorMessageUtils.writeAsHIDPackets(message, out);
+    } catch (IOException e) {
+      log.error("Failed to write to client output stream.", e.getMessage());
     }
 
   }
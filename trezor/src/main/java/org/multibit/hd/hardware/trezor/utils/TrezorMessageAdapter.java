@@ -1,12 +1,19 @@
 package org.multibit.hd.hardware.trezor.utils;
 
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
 import com.satoshilabs.trezor.protobuf.TrezorMessage;
+import com.satoshilabs.trezor.protobuf.TrezorRingSign;
 import com.satoshilabs.trezor.protobuf.TrezorType;
 import org.bitcoinj.core.Base58;
 import org.bitcoinj.core.Sha256Hash;
 import org.multibit.hd.hardware.core.messages.*;
+import org.multibit.hd.hardware.core.utils.RingSignatureUtils;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
 
 import static com.google.common.base.Preconditions.checkState;
 
@@ -424,12 +431,57 @@ public class TrezorMessageAdapter {
 	  return new PublicKey65(source.getPublicKey().toByteArray());
   }
   
-  /* Message Ring Signature */
+  /**
+   * <p>The key image arrives either as two 32 byte coordinates or as a 33 byte compressed point in
+   * YtDotX with YtDotY empty (the device answers in the encoding of the ring it was given)</p>
+   *
+   * @param source The source message
+   *
+   * @return The adapted Core message
+   */
   public static MessageRingSignature adaptMessageRingSignature(TrezorMessage.MessageRingSignature source) {
-	  return new MessageRingSignature(source.getC().toByteArray()
-			  						 ,source.getSList()
-			  						 ,source.getN()
-			  						 ,source.getYtDotX().toByteArray()
-			  						 ,source.getYtDotY().toByteArray());
+
+    byte[] ytx = source.getYtDotX().toByteArray();
+    byte[] yty = source.getYtDotY().toByteArray();
+
+    if (yty.length == 0 && ytx.length == RingSignatureUtils.COMPRESSED_POINT_LENGTH) {
+      try {
+        byte[] ytilda = RingSignatureUtils.decompress(ytx);
+        ytx = Arrays.copyOfRange(ytilda, 1, 33);
+        yty = Arrays.copyOfRange(ytilda, 33, 65);
+      } catch (IllegalArgumentException e) {
+        // Not on the curve so leave it for verification to reject
+      }
+    }
+
+    return new MessageRingSignature(
+      source.getC().toByteArray(),
+      source.getSList(),
+      source.getN(),
+      ytx,
+      yty
+    );
+
+  }
+
+  /**
+   * @param source The source message
+   *
+   * @return The adapted Core message
+   */
+  public static RingSignRequest adaptRingSignRequest(TrezorRingSign.RingSignRequest source) {
+
+    List<byte[]> s = Lists.newArrayListWithCapacity(source.getSCount());
+    for (ByteString si : source.getSList()) {
+      s.add(si.toByteArray());
+    }
+
+    return new RingSignRequest(
+      source.getIndex(),
+      source.getCount(),
+      source.hasSIndex() ? Optional.of(source.getSIndex()) : Optional.<Integer>absent(),
+      s
+    );
+
   }
 }
@@ -0,0 +1,206 @@
+package org.multibit.hd.hardware.trezor.utils;
+
+import com.google.protobuf.Message;
+import com.satoshilabs.trezor.protobuf.TrezorMessage;
+import com.satoshilabs.trezor.protobuf.TrezorRingSign;
+import org.multibit.hd.hardware.core.events.MessageEventType;
+import org.multibit.hd.hardware.core.messages.HardwareWalletMessage;
+import org.multibit.hd.hardware.core.wire.MessageAdapter;
+import org.multibit.hd.hardware.core.wire.WireMessageRegistry;
+import org.multibit.hd.hardware.core.wire.WireMessageTable;
+
+/**
+ * <p>Registry to provide the following to Trezor hardware wallets:</p>
+ * <ul>
+ * <li>The table of Trezor wire messages with their parsers, adapters and event types</li>
+ * </ul>
+ * <p>The table is built once when the class loads. Supporting a new message only
+ * requires a single registration here.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public final class TrezorMessageRegistry {
+
+  private static final WireMessageTable messageTable = new WireMessageTable();
+
+  static {
+
+    messageTable
+      .register(TrezorMessage.MessageType.MessageType_Initialize_VALUE, TrezorMessage.Initialize.class, TrezorMessage.Initialize.PARSER, MessageEventType.INITALISE)
+      .register(TrezorMessage.MessageType.MessageType_Ping_VALUE, TrezorMessage.Ping.class, TrezorMessage.Ping.PARSER, MessageEventType.PING)
+      .register(TrezorMessage.MessageType.MessageType_Success_VALUE, TrezorMessage.Success.class, TrezorMessage.Success.PARSER, MessageEventType.SUCCESS,
+        new MessageAdapter<TrezorMessage.Success>() {
+          @Override
+          public HardwareWalletMessage adapt(TrezorMessage.Success message) {
+            return TrezorMessageAdapter.adaptSuccess(message);
+          }
+        })
+      .register(TrezorMessage.MessageType.MessageType_Failure_VALUE, TrezorMessage.Failure.class, TrezorMessage.Failure.PARSER, MessageEventType.FAILURE,
+        new MessageAdapter<TrezorMessage.Failure>() {
+          @Override
+          public HardwareWalletMessage adapt(TrezorMessage.Failure message) {
+            return TrezorMessageAdapter.adaptFailure(message);
+          }
+        })
+      .register(TrezorMessage.MessageType.MessageType_ChangePin_VALUE, TrezorMessage.ChangePin.class, TrezorMessage.ChangePin.PARSER, MessageEventType.CHANGE_PIN)
+      .register(TrezorMessage.MessageType.MessageType_WipeDevice_VALUE, TrezorMessage.WipeDevice.class, TrezorMessage.WipeDevice.PARSER, MessageEventType.WIPE_DEVICE)
+      .register(TrezorMessage.MessageType.MessageType_FirmwareErase_VALUE, TrezorMessage.FirmwareErase.class, TrezorMessage.FirmwareErase.PARSER, MessageEventType.FIRMWARE_ERASE)
+      .register(TrezorMessage.MessageType.MessageType_FirmwareUpload_VALUE, TrezorMessage.FirmwareUpload.class, TrezorMessage.FirmwareUpload.PARSER, MessageEventType.FIRMWARE_UPLOAD)
+      .register(TrezorMessage.MessageType.MessageType_GetEntropy_VALUE, TrezorMessage.GetEntropy.class, TrezorMessage.GetEntropy.PARSER, MessageEventType.GET_ENTROPY)
+      .register(TrezorMessage.MessageType.MessageType_Entropy_VALUE, TrezorMessage.Entropy.class, TrezorMessage.Entropy.PARSER, MessageEventType.ENTROPY)
+      .register(TrezorMessage.MessageType.MessageType_GetPublicKey_VALUE, TrezorMessage.GetPublicKey.class, TrezorMessage.GetPublicKey.PARSER, MessageEventType.GET_PUBLIC_KEY)
+      .register(TrezorMessage.MessageType.MessageType_PublicKey_VALUE, TrezorMessage.PublicKey.class, TrezorMessage.PublicKey.PARSER, MessageEventType.PUBLIC_KEY,
+        new MessageAdapter<TrezorMessage.PublicKey>() {
+          @Override
+          public HardwareWalletMessage adapt(TrezorMessage.PublicKey message) {
+            return TrezorMessageAdapter.adaptPublicKey(message);
+          }
+        })
+      .register(TrezorMessage.MessageType.MessageType_LoadDevice_VALUE, TrezorMessage.LoadDevice.class, TrezorMessage.LoadDevice.PARSER, MessageEventType.LOAD_DEVICE)
+      .register(TrezorMessage.MessageType.MessageType_ResetDevice_VALUE, TrezorMessage.ResetDevice.class, TrezorMessage.ResetDevice.PARSER, MessageEventType.RESET_DEVICE)
+      .register(TrezorMessage.MessageType.MessageType_SignTx_VALUE, TrezorMessage.SignTx.class, TrezorMessage.SignTx.PARSER, MessageEventType.SIGN_TX)
+      .register(TrezorMessage.MessageType.MessageType_SimpleSignTx_VALUE, TrezorMessage.SimpleSignTx.class, TrezorMessage.SimpleSignTx.PARSER, MessageEventType.SIMPLE_SIGN_TX)
+      .register(TrezorMessage.MessageType.MessageType_Features_VALUE, TrezorMessage.Features.class, TrezorMessage.Features.PARSER, MessageEventType.FEATURES,
+        new MessageAdapter<TrezorMessage.Features>() {
+          @Override
+          public HardwareWalletMessage adapt(TrezorMessage.Features message) {
+            return TrezorMessageAdapter.adaptFeatures(message);
+          }
+        })
+      .register(TrezorMessage.MessageType.MessageType_PinMatrixRequest_VALUE, TrezorMessage.PinMatrixRequest.class, TrezorMessage.PinMatrixRequest.PARSER, MessageEventType.PIN_MATRIX_REQUEST,
+        new MessageAdapter<TrezorMessage.PinMatrixRequest>() {
+          @Override
+          public HardwareWalletMessage adapt(TrezorMessage.PinMatrixRequest message) {
+            return TrezorMessageAdapter.adaptPinMatrixRequest(message);
+          }
+        })
+      .register(TrezorMessage.MessageType.MessageType_PinMatrixAck_VALUE, TrezorMessage.PinMatrixAck.class, TrezorMessage.PinMatrixAck.PARSER, MessageEventType.PIN_MATRIX_ACK)
+      .register(TrezorMessage.MessageType.MessageType_Cancel_VALUE, TrezorMessage.Cancel.class, TrezorMessage.Cancel.PARSER, MessageEventType.CANCEL)
+      .register(TrezorMessage.MessageType.MessageType_TxRequest_VALUE, TrezorMessage.TxRequest.class, TrezorMessage.TxRequest.PARSER, MessageEventType.TX_REQUEST,
+        new MessageAdapter<TrezorMessage.TxRequest>() {
+          @Override
+          public HardwareWalletMessage adapt(TrezorMessage.TxRequest message) {
+            return TrezorMessageAdapter.adaptTxRequest(message);
+          }
+        })
+      .register(TrezorMessage.MessageType.MessageType_TxAck_VALUE, TrezorMessage.TxAck.class, TrezorMessage.TxAck.PARSER, MessageEventType.TX_ACK)
+      .register(TrezorMessage.MessageType.MessageType_CipherKeyValue_VALUE, TrezorMessage.CipherKeyValue.class, TrezorMessage.CipherKeyValue.PARSER, MessageEventType.CIPHER_KEY_VALUE)
+      .register(TrezorMessage.MessageType.MessageType_CipheredKeyValue_VALUE, TrezorMessage.CipheredKeyValue.class, TrezorMessage.CipheredKeyValue.PARSER, MessageEventType.CIPHERED_KEY_VALUE,
+        new MessageAdapter<TrezorMessage.CipheredKeyValue>() {
+          @Override
+          public HardwareWalletMessage adapt(TrezorMessage.CipheredKeyValue message) {
+            return TrezorMessageAdapter.adaptCipheredKeyValue(message);
+          }
+        })
+      .register(TrezorMessage.MessageType.MessageType_ClearSession_VALUE, TrezorMessage.ClearSession.class, TrezorMessage.ClearSession.PARSER, MessageEventType.CLEAR_SESSION)
+      .register(TrezorMessage.MessageType.MessageType_ApplySettings_VALUE, TrezorMessage.ApplySettings.class, TrezorMessage.ApplySettings.PARSER, MessageEventType.APPLY_SETTINGS)
+      .register(TrezorMessage.MessageType.MessageType_ButtonRequest_VALUE, TrezorMessage.ButtonRequest.class, TrezorMessage.ButtonRequest.PARSER, MessageEventType.BUTTON_REQUEST,
+        new MessageAdapter<TrezorMessage.ButtonRequest>() {
+          @Override
+          public HardwareWalletMessage adapt(TrezorMessage.ButtonRequest message) {
+            return TrezorMessageAdapter.adaptButtonRequest(message);
+          }
+        })
+      .register(TrezorMessage.MessageType.MessageType_ButtonAck_VALUE, TrezorMessage.ButtonAck.class, TrezorMessage.ButtonAck.PARSER, MessageEventType.BUTTON_ACK)
+      .register(TrezorMessage.MessageType.MessageType_GetAddress_VALUE, TrezorMessage.GetAddress.class, TrezorMessage.GetAddress.PARSER, MessageEventType.GET_ADDRESS)
+      .register(TrezorMessage.MessageType.MessageType_Address_VALUE, TrezorMessage.Address.class, TrezorMessage.Address.PARSER, MessageEventType.ADDRESS,
+        new MessageAdapter<TrezorMessage.Address>() {
+          @Override
+          public HardwareWalletMessage adapt(TrezorMessage.Address message) {
+            return TrezorMessageAdapter.adaptAddress(message);
+          }
+        })
+      .register(TrezorMessage.MessageType.MessageType_EntropyRequest_VALUE, TrezorMessage.EntropyRequest.class, TrezorMessage.EntropyRequest.PARSER, MessageEventType.ENTROPY_REQUEST)
+      .register(TrezorMessage.MessageType.MessageType_EntropyAck_VALUE, TrezorMessage.EntropyAck.class, TrezorMessage.EntropyAck.PARSER, MessageEventType.ENTROPY_ACK)
+      .register(TrezorMessage.MessageType.MessageType_SignMessage_VALUE, TrezorMessage.SignMessage.class, TrezorMessage.SignMessage.PARSER, MessageEventType.SIGN_MESSAGE)
+      .register(TrezorMessage.MessageType.MessageType_VerifyMessage_VALUE, TrezorMessage.VerifyMessage.class, TrezorMessage.VerifyMessage.PARSER, MessageEventType.VERIFY_MESSAGE)
+      .register(TrezorMessage.MessageType.MessageType_MessageSignature_VALUE, TrezorMessage.MessageSignature.class, TrezorMessage.MessageSignature.PARSER, MessageEventType.MESSAGE_SIGNATURE,
+        new MessageAdapter<TrezorMessage.MessageSignature>() {
+          @Override
+          public HardwareWalletMessage adapt(TrezorMessage.MessageSignature message) {
+            return TrezorMessageAdapter.adaptMessageSignature(message);
+          }
+        })
+      .register(TrezorMessage.MessageType.MessageType_GetPublicKey65_VALUE, TrezorMessage.GetPublicKey65.class, TrezorMessage.GetPublicKey65.PARSER, MessageEventType.GET_PUBLIC_KEY_65)
+      .register(TrezorMessage.MessageType.MessageType_PublicKey65_VALUE, TrezorMessage.PublicKey65.class, TrezorMessage.PublicKey65.PARSER, MessageEventType.PUBLIC_KEY_65,
+        new MessageAdapter<TrezorMessage.PublicKey65>() {
+          @Override
+          public HardwareWalletMessage adapt(TrezorMessage.PublicKey65 message) {
+            return TrezorMessageAdapter.adaptPublicKey65(message);
+          }
+        })
+      .register(TrezorMessage.MessageType.MessageType_RingSignMessage_VALUE, TrezorMessage.RingSignMessage.class, TrezorMessage.RingSignMessage.PARSER, MessageEventType.RING_SIGN_MESSAGE)
+      .register(TrezorMessage.MessageType.MessageType_MessageRingSignature_VALUE, TrezorMessage.MessageRingSignature.class, TrezorMessage.MessageRingSignature.PARSER, MessageEventType.MESSAGE_RING_SIGNATURE,
+        new MessageAdapter<TrezorMessage.MessageRingSignature>() {
+          @Override
+          public HardwareWalletMessage adapt(TrezorMessage.MessageRingSignature message) {
+            return TrezorMessageAdapter.adaptMessageRingSignature(message);
+          }
+        })
+      .register(TrezorRingSign.RingSignMessageType.MessageType_RingSignRequest_VALUE, TrezorRingSign.RingSignRequest.class, TrezorRingSign.RingSignRequest.PARSER, MessageEventType.RING_SIGN_REQUEST,
+        new MessageAdapter<TrezorRingSign.RingSignRequest>() {
+          @Override
+          public HardwareWalletMessage adapt(TrezorRingSign.RingSignRequest message) {
+            return TrezorMessageAdapter.adaptRingSignRequest(message);
+          }
+        })
+      .register(TrezorRingSign.RingSignMessageType.MessageType_RingSignAck_VALUE, TrezorRingSign.RingSignAck.class, TrezorRingSign.RingSignAck.PARSER, MessageEventType.RING_SIGN_ACK)
+      .register(TrezorRingSign.RingSignMessageType.MessageType_RingSignCachedMessage_VALUE, TrezorRingSign.RingSignCachedMessage.class, TrezorRingSign.RingSignCachedMessage.PARSER, MessageEventType.RING_SIGN_CACHED_MESSAGE)
+      .register(TrezorMessage.MessageType.MessageType_EncryptMessage_VALUE, TrezorMessage.EncryptMessage.class, TrezorMessage.EncryptMessage.PARSER, MessageEventType.ENCRYPT_MESSAGE)
+      .register(TrezorMessage.MessageType.MessageType_EncryptedMessage_VALUE, TrezorMessage.EncryptedMessage.class, TrezorMessage.EncryptedMessage.PARSER, MessageEventType.ENCRYPTED_MESSAGE)
+      .register(TrezorMessage.MessageType.MessageType_DecryptMessage_VALUE, TrezorMessage.DecryptMessage.class, TrezorMessage.DecryptMessage.PARSER, MessageEventType.DECRYPT_MESSAGE)
+      .register(TrezorMessage.MessageType.MessageType_DecryptedMessage_VALUE, TrezorMessage.DecryptedMessage.class, TrezorMessage.DecryptedMessage.PARSER, MessageEventType.DECRYPTED_MESSAGE)
+      .register(TrezorMessage.MessageType.MessageType_PassphraseRequest_VALUE, TrezorMessage.PassphraseRequest.class, TrezorMessage.PassphraseRequest.PARSER, MessageEventType.PASSPHRASE_REQUEST,
+        new MessageAdapter<TrezorMessage.PassphraseRequest>() {
+          @Override
+          public HardwareWalletMessage adapt(TrezorMessage.PassphraseRequest message) {
+            return TrezorMessageAdapter.adaptPassphraseRequest(message);
+          }
+        })
+      .register(TrezorMessage.MessageType.MessageType_PassphraseAck_VALUE, TrezorMessage.PassphraseAck.class, TrezorMessage.PassphraseAck.PARSER, MessageEventType.PASSPHRASE_ACK)
+      .register(TrezorMessage.MessageType.MessageType_EstimateTxSize_VALUE, TrezorMessage.EstimateTxSize.class, TrezorMessage.EstimateTxSize.PARSER, MessageEventType.ESTIMATE_TX_SIZE)
+      .register(TrezorMessage.MessageType.MessageType_TxSize_VALUE, TrezorMessage.TxSize.class, TrezorMessage.TxSize.PARSER, MessageEventType.TX_SIZE)
+      .register(TrezorMessage.MessageType.MessageType_RecoveryDevice_VALUE, TrezorMessage.RecoveryDevice.class, TrezorMessage.RecoveryDevice.PARSER, MessageEventType.RECOVER_DEVICE)
+      .register(TrezorMessage.MessageType.MessageType_WordRequest_VALUE, TrezorMessage.WordRequest.class, TrezorMessage.WordRequest.PARSER, MessageEventType.WORD_REQUEST)
+      .register(TrezorMessage.MessageType.MessageType_WordAck_VALUE, TrezorMessage.WordAck.class, TrezorMessage.WordAck.PARSER, MessageEventType.WORD_ACK)
+      .register(TrezorMessage.MessageType.MessageType_SignIdentity_VALUE, TrezorMessage.SignIdentity.class, TrezorMessage.SignIdentity.PARSER, MessageEventType.SIGN_IDENTITY)
+      .register(TrezorMessage.MessageType.MessageType_SignedIdentity_VALUE, TrezorMessage.SignedIdentity.class, TrezorMessage.SignedIdentity.PARSER, MessageEventType.SIGNED_IDENTITY,
+        new MessageAdapter<TrezorMessage.SignedIdentity>() {
+          @Override
+          public HardwareWalletMessage adapt(TrezorMessage.SignedIdentity message) {
+            return TrezorMessageAdapter.adaptSignedIdentity(message);
+          }
+        })
+      .register(TrezorMessage.MessageType.MessageType_GetFeatures_VALUE, TrezorMessage.GetFeatures.class, TrezorMessage.GetFeatures.PARSER, MessageEventType.GET_FEATURES)
+      .register(TrezorMessage.MessageType.MessageType_DebugLinkDecision_VALUE, TrezorMessage.DebugLinkDecision.class, TrezorMessage.DebugLinkDecision.PARSER, MessageEventType.DEBUG_LINK_DECISION)
+      .register(TrezorMessage.MessageType.MessageType_DebugLinkGetState_VALUE, TrezorMessage.DebugLinkGetState.class, TrezorMessage.DebugLinkGetState.PARSER, MessageEventType.DEBUG_LINK_GET_STATE)
+      .register(TrezorMessage.MessageType.MessageType_DebugLinkState_VALUE, TrezorMessage.DebugLinkState.class, TrezorMessage.DebugLinkState.PARSER, MessageEventType.DEBUG_LINK_STATE)
+      .register(TrezorMessage.MessageType.MessageType_DebugLinkStop_VALUE, TrezorMessage.DebugLinkStop.class, TrezorMessage.DebugLinkStop.PARSER, MessageEventType.DEBUG_LINK_STOP)
+      .register(TrezorMessage.MessageType.MessageType_DebugLinkLog_VALUE, TrezorMessage.DebugLinkLog.class, TrezorMessage.DebugLinkLog.PARSER, MessageEventType.DEBUG_LINK_LOG);
+
+  }
+
+  /**
+   * Utilities should not have public constructors
+   */
+  private TrezorMessageRegistry() {
+  }
+
+  /**
+   * @return The Trezor wire message registry
+   */
+  public static WireMessageRegistry getInstance() {
+    return messageTable;
+  }
+
+  /**
+   * @param message The Trezor protobuf message
+   *
+   * @return The wire message type for the header
+   */
+  public static int getMessageType(Message message) {
+    return messageTable.getMessageType(message);
+  }
+
+}
@@ -5,7 +5,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.protobuf.ByteString;
-import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.Message;
 import com.satoshilabs.trezor.protobuf.TrezorMessage;
 import com.satoshilabs.trezor.protobuf.TrezorType;
@@ -19,9 +19,12 @@ import org.bitcoinj.crypto.ChildNumber;
 import org.bitcoinj.params.MainNetParams;
 import org.bitcoinj.wallet.KeyChain;
 import org.multibit.hd.hardware.core.events.MessageEvent;
-import org.multibit.hd.hardware.core.events.MessageEventType;
-import org.multibit.hd.hardware.core.messages.HardwareWalletMessage;
 import org.multibit.hd.hardware.core.messages.TxRequest;
+import org.multibit.hd.hardware.core.wire.HidFrameWriter;
+import org.multibit.hd.hardware.core.wire.HidPacketReassembler;
+import org.multibit.hd.hardware.core.wire.HidPacketSource;
+import org.multibit.hd.hardware.core.wire.InputStreamPacketSource;
+import org.multibit.hd.hardware.core.wire.OutputStreamPacketSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,7 +32,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -60,272 +62,100 @@ public final class TrezorMessageUtils {
    */
   public static MessageEvent parse(TrezorMessage.MessageType type, byte[] buffer) {
 
-    log.info("Parsing '{}' ({} bytes):", type, buffer.length);
+    return parse(type, buffer, buffer.length);
 
-    logPacket("<>", 0, buffer);
+  }
+
+  /**
+   * @param reassembler The reassembler holding a complete message read from the device
+   *
+   * @return The low level message event containing the data if it could be parsed and adapted
+   */
+  public static MessageEvent parse(HidPacketReassembler reassembler) {
+
+    return parse(reassembler.getMessageType(), reassembler.getPayload(), reassembler.getMessageSize(), "TREZOR");
+
+  }
+
+  /**
+   * @param reassembler The reassembler holding a complete message read from the device
+   * @param source      The device ID acting as the source (e.g. "TREZOR/0123456789ABCDEF")
+   *
+   * @return The low level message event containing the data if it could be parsed and adapted
+   */
+  public static MessageEvent parse(HidPacketReassembler reassembler, String source) {
+
+    return parse(reassembler.getMessageType(), reassembler.getPayload(), reassembler.getMessageSize(), source);
+
+  }
+
+  /**
+   * @param type   The message type
+   * @param buffer The buffer containing the protobuf message
+   * @param length The length of the protobuf message from the start of the buffer
+   *
+   * @return The low level message event containing the data if it could be parsed and adapted
+   */
+  public static MessageEvent parse(TrezorMessage.MessageType type, byte[] buffer, int length) {
+
+    return parse(type.getNumber(), buffer, length);
+
+  }
+
+  /**
+   * <p>Parse the message directly from the buffer without copying it</p>
+   *
+   * @param messageType The wire message type
+   * @param buffer      The buffer containing the protobuf message
+   * @param length      The length of the protobuf message from the start of the buffer
+   *
+   * @return The low level message event containing the data if it could be parsed and adapted
+   */
+  public static MessageEvent parse(int messageType, byte[] buffer, int length) {
+
+    return parse(messageType, buffer, length, "TREZOR");
+
+  }
+
+  /**
+   * <p>Parse the message directly from the buffer without copying it</p>
+   *
+   * @param messageType The wire message type
+   * @param buffer      The buffer containing the protobuf message
+   * @param length      The length of the protobuf message from the start of the buffer
+   * @param source      The device ID acting as the source
+   *
+   * @return The low level message event containing the data if it could be parsed and adapted
+   */
+  public static MessageEvent parse(int messageType, byte[] buffer, int length, String source) {
+
+    log.info("Parsing '{}' ({} bytes):", messageType, length);
+
+    logPacket("<>", 0, buffer, length);
 
     try {
-      Message message;
-      HardwareWalletMessage hardwareWalletMessage = null;
-      MessageEventType messageEventType;
-
-      switch (type) {
-        case MessageType_Initialize:
-          message = TrezorMessage.Initialize.parseFrom(buffer);
-          messageEventType = MessageEventType.INITALISE;
-          break;
-        case MessageType_Ping:
-          message = TrezorMessage.Ping.parseFrom(buffer);
-          messageEventType = MessageEventType.PING;
-          break;
-        case MessageType_Success:
-          message = TrezorMessage.Success.parseFrom(buffer);
-          messageEventType = MessageEventType.SUCCESS;
-          hardwareWalletMessage = TrezorMessageAdapter.adaptSuccess((TrezorMessage.Success) message);
-          break;
-        case MessageType_Failure:
-          message = TrezorMessage.Failure.parseFrom(buffer);
-          messageEventType = MessageEventType.FAILURE;
-          hardwareWalletMessage = TrezorMessageAdapter.adaptFailure((TrezorMessage.Failure) message);
-          break;
-        case MessageType_ChangePin:
-          message = TrezorMessage.ChangePin.parseFrom(buffer);
-          messageEventType = MessageEventType.CHANGE_PIN;
-          break;
-        case MessageType_WipeDevice:
-          message = TrezorMessage.WipeDevice.parseFrom(buffer);
-          messageEventType = MessageEventType.WIPE_DEVICE;
-          break;
-        case MessageType_FirmwareErase:
-          message = TrezorMessage.FirmwareErase.parseFrom(buffer);
-          messageEventType = MessageEventType.FIRMWARE_ERASE;
-          break;
-        case MessageType_FirmwareUpload:
-          message = TrezorMessage.FirmwareUpload.parseFrom(buffer);
-          messageEventType = MessageEventType.FIRMWARE_UPLOAD;
-          break;
-        case MessageType_GetEntropy:
-          message = TrezorMessage.GetEntropy.parseFrom(buffer);
-          messageEventType = MessageEventType.GET_ENTROPY;
-          break;
-        case MessageType_Entropy:
-          message = TrezorMessage.Entropy.parseFrom(buffer);
-          messageEventType = MessageEventType.ENTROPY;
-          break;
-        case MessageType_GetPublicKey:
-          message = TrezorMessage.GetPublicKey.parseFrom(buffer);
-          messageEventType = MessageEventType.GET_PUBLIC_KEY;
-          break;
-        case MessageType_PublicKey:
-          message = TrezorMessage.PublicKey.parseFrom(buffer);
-          messageEventType = MessageEventType.PUBLIC_KEY;
-          hardwareWalletMessage = TrezorMessageAdapter.adaptPublicKey((TrezorMessage.PublicKey) message);
-          break;
-        case MessageType_LoadDevice:
-          message = TrezorMessage.LoadDevice.parseFrom(buffer);
-          messageEventType = MessageEventType.LOAD_DEVICE;
-          break;
-        case MessageType_ResetDevice:
-          message = TrezorMessage.ResetDevice.parseFrom(buffer);
-          messageEventType = MessageEventType.RESET_DEVICE;
-          break;
-        case MessageType_SignTx:
-          message = TrezorMessage.SignTx.parseFrom(buffer);
-          messageEventType = MessageEventType.SIGN_TX;
-          break;
-        case MessageType_SimpleSignTx:
-          message = TrezorMessage.SimpleSignTx.parseFrom(buffer);
-          messageEventType = MessageEventType.SIMPLE_SIGN_TX;
-          break;
-        case MessageType_Features:
-          message = TrezorMessage.Features.parseFrom(buffer);
-          messageEventType = MessageEventType.FEATURES;
-          hardwareWalletMessage = TrezorMessageAdapter.adaptFeatures((TrezorMessage.Features) message);
-          break;
-        case MessageType_PinMatrixRequest:
-          message = TrezorMessage.PinMatrixRequest.parseFrom(buffer);
-          messageEventType = MessageEventType.PIN_MATRIX_REQUEST;
-          hardwareWalletMessage = TrezorMessageAdapter.adaptPinMatrixRequest((TrezorMessage.PinMatrixRequest) message);
-          break;
-        case MessageType_PinMatrixAck:
-          message = TrezorMessage.PinMatrixAck.parseFrom(buffer);
-          messageEventType = MessageEventType.PIN_MATRIX_ACK;
-          break;
-        case MessageType_Cancel:
-          message = TrezorMessage.Cancel.parseFrom(buffer);
-          messageEventType = MessageEventType.CANCEL;
-          break;
-        case MessageType_TxRequest:
-          message = TrezorMessage.TxRequest.parseFrom(buffer);
-          messageEventType = MessageEventType.TX_REQUEST;
-          hardwareWalletMessage = TrezorMessageAdapter.adaptTxRequest((TrezorMessage.TxRequest) message);
-          break;
-        case MessageType_TxAck:
-          message = TrezorMessage.TxAck.parseFrom(buffer);
-          messageEventType = MessageEventType.TX_ACK;
-          break;
-        case MessageType_CipherKeyValue:
-          message = TrezorMessage.CipherKeyValue.parseFrom(buffer);
-          messageEventType = MessageEventType.CIPHER_KEY_VALUE;
-          break;
-        case MessageType_CipheredKeyValue:
-          message = TrezorMessage.CipheredKeyValue.parseFrom(buffer);
-          messageEventType = MessageEventType.CIPHERED_KEY_VALUE;
-          hardwareWalletMessage = TrezorMessageAdapter.adaptCipheredKeyValue((TrezorMessage.CipheredKeyValue) message);
-          break;
-        case MessageType_ClearSession:
-          message = TrezorMessage.ClearSession.parseFrom(buffer);
-          messageEventType = MessageEventType.CLEAR_SESSION;
-          break;
-        case MessageType_ApplySettings:
-          message = TrezorMessage.ApplySettings.parseFrom(buffer);
-          messageEventType = MessageEventType.APPLY_SETTINGS;
-          break;
-        case MessageType_ButtonRequest:
-          message = TrezorMessage.ButtonRequest.parseFrom(buffer);
-          messageEventType = MessageEventType.BUTTON_REQUEST;
-          hardwareWalletMessage = TrezorMessageAdapter.adaptButtonRequest((TrezorMessage.ButtonRequest) message);
-          break;
-        case MessageType_ButtonAck:
-          message = TrezorMessage.ButtonAck.parseFrom(buffer);
-          messageEventType = MessageEventType.BUTTON_ACK;
-          break;
-        case MessageType_GetAddress:
-          message = TrezorMessage.GetAddress.parseFrom(buffer);
-          messageEventType = MessageEventType.GET_ADDRESS;
-          break;
-        case MessageType_Address:
-          message = TrezorMessage.Address.parseFrom(buffer);
-          messageEventType = MessageEventType.ADDRESS;
-          hardwareWalletMessage = TrezorMessageAdapter.adaptAddress((TrezorMessage.Address) message);
-          break;
-        case MessageType_EntropyRequest:
-          message = TrezorMessage.EntropyRequest.parseFrom(buffer);
-          messageEventType = MessageEventType.ENTROPY_REQUEST;
-          break;
-        case MessageType_EntropyAck:
-          message = TrezorMessage.EntropyAck.parseFrom(buffer);
-          messageEventType = MessageEventType.ENTROPY_ACK;
-          break;
-        case MessageType_SignMessage:
-          message = TrezorMessage.SignMessage.parseFrom(buffer);
-          messageEventType = MessageEventType.SIGN_MESSAGE;
-          break;
-        case MessageType_VerifyMessage:
-          message = TrezorMessage.VerifyMessage.parseFrom(buffer);
-          messageEventType = MessageEventType.VERIFY_MESSAGE;
-          break;
-        case MessageType_MessageSignature:
-          message = TrezorMessage.MessageSignature.parseFrom(buffer);
-          messageEventType = MessageEventType.MESSAGE_SIGNATURE;
-          hardwareWalletMessage = TrezorMessageAdapter.adaptMessageSignature((TrezorMessage.MessageSignature) message);
-          break;
-        case MessageType_PublicKey65:
-        	message = TrezorMessage.PublicKey65.parseFrom(buffer);
-        	messageEventType = MessageEventType.PUBLIC_KEY_65;
-        	hardwareWalletMessage = TrezorMessageAdapter.adaptPublicKey65((TrezorMessage.PublicKey65) message);
-        	break;
-        case MessageType_MessageRingSignature:
-        	message = TrezorMessage.MessageRingSignature.parseFrom(buffer);
-        	messageEventType = MessageEventType.MESSAGE_RING_SIGNATURE;
-        	hardwareWalletMessage = TrezorMessageAdapter.adaptMessageRingSignature((TrezorMessage.MessageRingSignature) message);
-        	break;
-        case MessageType_EncryptMessage:
-          message = TrezorMessage.EncryptMessage.parseFrom(buffer);
-          messageEventType = MessageEventType.ENCRYPT_MESSAGE;
-          break;
-        case MessageType_EncryptedMessage:
-          message = TrezorMessage.EncryptedMessage.parseFrom(buffer);
-          messageEventType = MessageEventType.ENCRYPTED_MESSAGE;
-          break;
-        case MessageType_DecryptMessage:
-          message = TrezorMessage.DecryptMessage.parseFrom(buffer);
-          messageEventType = MessageEventType.DECRYPT_MESSAGE;
-          break;
-        case MessageType_DecryptedMessage:
-          message = TrezorMessage.DecryptedMessage.parseFrom(buffer);
-          messageEventType = MessageEventType.DECRYPTED_MESSAGE;
-          break;
-        case MessageType_PassphraseRequest:
-          message = TrezorMessage.PassphraseRequest.parseFrom(buffer);
-          messageEventType = MessageEventType.PASSPHRASE_REQUEST;
-          hardwareWalletMessage = TrezorMessageAdapter.adaptPassphraseRequest((TrezorMessage.PassphraseRequest) message);
-          break;
-        case MessageType_PassphraseAck:
-          message = TrezorMessage.PassphraseAck.parseFrom(buffer);
-          messageEventType = MessageEventType.PASSPHRASE_ACK;
-          break;
-        case MessageType_EstimateTxSize:
-          message = TrezorMessage.EstimateTxSize.parseFrom(buffer);
-          messageEventType = MessageEventType.ESTIMATE_TX_SIZE;
-          break;
-        case MessageType_TxSize:
-          message = TrezorMessage.TxSize.parseFrom(buffer);
-          messageEventType = MessageEventType.TX_SIZE;
-          break;
-        case MessageType_RecoveryDevice:
-          message = TrezorMessage.RecoveryDevice.parseFrom(buffer);
-          messageEventType = MessageEventType.RECOVER_DEVICE;
-          break;
-        case MessageType_WordRequest:
-          message = TrezorMessage.WordRequest.parseFrom(buffer);
-          messageEventType = MessageEventType.WORD_REQUEST;
-          break;
-        case MessageType_WordAck:
-          message = TrezorMessage.WordAck.parseFrom(buffer);
-          messageEventType = MessageEventType.WORD_ACK;
-          break;
-        case MessageType_SignIdentity:
-          message = TrezorMessage.SignIdentity.parseFrom(buffer);
-          messageEventType = MessageEventType.SIGN_IDENTITY;
-          break;
-        case MessageType_SignedIdentity:
-          message = TrezorMessage.SignedIdentity.parseFrom(buffer);
-          messageEventType = MessageEventType.SIGNED_IDENTITY;
-          hardwareWalletMessage = TrezorMessageAdapter.adaptSignedIdentity((TrezorMessage.SignedIdentity) message);
-          break;
-        case MessageType_GetFeatures:
-          message = TrezorMessage.GetFeatures.parseFrom(buffer);
-          messageEventType = MessageEventType.GET_FEATURES;
-          break;
-        case MessageType_DebugLinkDecision:
-          message = TrezorMessage.DebugLinkDecision.parseFrom(buffer);
-          messageEventType = MessageEventType.DEBUG_LINK_DECISION;
-          break;
-        case MessageType_DebugLinkGetState:
-          message = TrezorMessage.DebugLinkGetState.parseFrom(buffer);
-          messageEventType = MessageEventType.DEBUG_LINK_GET_STATE;
-          break;
-        case MessageType_DebugLinkState:
-          message = TrezorMessage.DebugLinkState.parseFrom(buffer);
-          messageEventType = MessageEventType.DEBUG_LINK_STATE;
-          break;
-        case MessageType_DebugLinkStop:
-          message = TrezorMessage.DebugLinkStop.parseFrom(buffer);
-          messageEventType = MessageEventType.DEBUG_LINK_STOP;
-          break;
-        case MessageType_DebugLinkLog:
-          message = TrezorMessage.DebugLinkLog.parseFrom(buffer);
-          messageEventType = MessageEventType.DEBUG_LINK_LOG;
-          break;
-        default:
-          throw new IllegalStateException("Unknown message type: " + type.name());
+      CodedInputStream input = CodedInputStream.newInstance(buffer, 0, length);
+
+      MessageEvent event = TrezorMessageRegistry.getInstance().parse(messageType, input, source);
+
+      if (event == null) {
+        log.warn("Unknown message type: {}", messageType);
+        return null;
       }
 
       // Must be OK to be here
 
-      if (hardwareWalletMessage == null) {
+      if (!event.getMessage().isPresent()) {
         log.warn("Could not adapt message to Core.");
-        log.trace("< Message:\n{}", ToStringBuilder.reflectionToString(message, new TrezorMessageToStringStyle()));
+        log.trace("< Message:\n{}", ToStringBuilder.reflectionToString(event.getRawMessage().get(), new TrezorMessageToStringStyle()));
 
       } else {
-        log.trace("< HardwareMessage:\n{}", ToStringBuilder.reflectionToString(hardwareWalletMessage, new TrezorMessageToStringStyle()));
+        log.trace("< HardwareMessage:\n{}", ToStringBuilder.reflectionToString(event.getMessage().get(), new TrezorMessageToStringStyle()));
       }
 
-      // Wrap the type and message into an event
-      return new MessageEvent(messageEventType, Optional.fromNullable(hardwareWalletMessage), Optional.of(message), "TREZOR");
+      return event;
 
-    } catch (InvalidProtocolBufferException e) {
+    } catch (IOException e) {
       log.error("Could not parse message", e);
     }
 
@@ -339,16 +169,28 @@ public final class TrezorMessageUtils {
    * @param count  The packet count
    * @param buffer The buffer containing the packet to log
    */
-  @SuppressFBWarnings(value = {"SBSC_USE_STRINGBUFFER_CONCATENATION"}, justification = "Only occurs at trace")
   public static void logPacket(String prefix, int count, byte[] buffer) {
 
+    logPacket(prefix, count, buffer, buffer.length);
+
+  }
+
+  /**
+   * @param prefix The logging prefix (usually ">" for write and "<" for read)
+   * @param count  The packet count
+   * @param buffer The buffer containing the packet to log
+   * @param length The number of bytes to log from the start of the buffer
+   */
+  @SuppressFBWarnings(value = {"SBSC_USE_STRINGBUFFER_CONCATENATION"}, justification = "Only occurs at trace")
+  public static void logPacket(String prefix, int count, byte[] buffer, int length) {
+
     // Only do work if required
     // There is a security issue to revealing this information for certain packets
     // so be cautious in raising it in Production
     if (log.isTraceEnabled()) {
       String s = prefix + " Packet [" + count + "]:";
-      for (byte b : buffer) {
-        s += String.format(" %02x", b);
+      for (int i = 0; i < length; i++) {
+        s += String.format(" %02x", buffer[i]);
       }
       log.trace("{}", s);
     }
@@ -363,44 +205,18 @@ public final class TrezorMessageUtils {
    *
    * @throws java.io.IOException If the device disconnects during IO
    */
-  @SuppressFBWarnings(value = {"SBSC_USE_STRINGBUFFER_CONCATENATION"}, justification = "Only occurs at trace")
   public static void writeAsHIDPackets(Message message, OutputStream out) throws IOException {
 
-    // The message presented as a collection of HID packets
-    ByteBuffer messageBuffer = formatAsHIDPackets(message);
-
-    int packets = messageBuffer.position() / 63;
-    log.info("Writing {} packets", packets);
-    messageBuffer.rewind();
-
-    // HID requires 64 byte packets with 63 bytes of payload
-    for (int i = 0; i < packets; i++) {
+    // Stream the message directly into HID packets
+    int packets = new HidFrameWriter(new OutputStreamPacketSink(out)).write(getMessageType(message), message);
 
-      byte[] buffer = new byte[64];
-      buffer[0] = 63; // Length
-      messageBuffer.get(buffer, 1, 63); // Payload
-
-      if (log.isTraceEnabled()) {
-        // Describe the packet
-        String s = "> Packet [" + i + "]: ";
-        for (int j = 0; j < 64; j++) {
-          s += String.format(" %02x", buffer[j]);
-        }
-
-        log.trace(s);
-      }
-
-      out.write(buffer);
-
-      // Flush to ensure bytes are available immediately
-      out.flush();
-
-    }
+    log.info("Wrote {} packets", packets);
 
   }
 
   /**
    * <p>Format a Trezor protobuf message as a byte buffer filled with HID packets</p>
+   * <p>Prefer a {@link HidFrameWriter} which avoids buffering the whole message</p>
    *
    * @param message The Trezor protobuf message
    *
@@ -409,14 +225,13 @@ public final class TrezorMessageUtils {
   public static ByteBuffer formatAsHIDPackets(Message message) {
 
     int msgSize = message.getSerializedSize();
-    String msgName = message.getClass().getSimpleName();
-    int msgId = TrezorMessage.MessageType.valueOf("MessageType_" + msgName).getNumber();
+    int msgId = getMessageType(message);
 
     // There is a security risk to raising this logging level beyond trace
     log.trace("> Message: {}, ({} bytes)", ToStringBuilder.reflectionToString(message, new TrezorMessageToStringStyle()), msgSize);
 
-    // Create the header
-    ByteBuffer messageBuffer = ByteBuffer.allocate(32768);
+    // Create the header (sized for the message padded to whole packets)
+    ByteBuffer messageBuffer = ByteBuffer.allocate(((msgSize + 8 + 62) / 63) * 63);
 
     // Marker bytes
     messageBuffer.put((byte) '#');
@@ -443,6 +258,17 @@ public final class TrezorMessageUtils {
     return messageBuffer;
   }
 
+  /**
+   * @param message The Trezor protobuf message
+   *
+   * @return The wire message type for the header
+   */
+  public static int getMessageType(Message message) {
+
+    return TrezorMessageRegistry.getMessageType(message);
+
+  }
+
   /**
    * <p>Parse the contents of the input stream into a Trezor protobuf message</p>
    *
@@ -452,73 +278,29 @@ public final class TrezorMessageUtils {
    */
   public static MessageEvent parseAsHIDPackets(InputStream in) throws IOException {
 
-    ByteBuffer messageBuffer = ByteBuffer.allocate(32768);
+    return parseAsHIDPackets(new InputStreamPacketSource(in), new HidPacketReassembler());
 
-    TrezorMessage.MessageType type;
-    int msgSize;
-    int received;
-
-    // Keep reading until synchronized on "##"
-    for (; ; ) {
-      byte[] buffer = new byte[64];
-
-      received = in.read(buffer);
-
-      if (received == -1) {
-        throw new IOException("Read buffer is closed");
-      }
-
-      // There is a security risk to raising this logging level beyond trace
-      log.trace("< {} bytes", received);
-      TrezorMessageUtils.logPacket("<", 0, buffer);
-
-      if (received < 9) {
-        continue;
-      }
-
-      // Synchronize the buffer on start of new message ('?' is ASCII 63)
-      if (buffer[0] != (byte) '?' || buffer[1] != (byte) '#' || buffer[2] != (byte) '#') {
-        // Reject packet
-        continue;
-      }
-
-      // Evaluate the header information (short, int)
-      type = TrezorMessage.MessageType.valueOf((buffer[3] << 8 & 0xFF) + buffer[4]);
-      msgSize = ((buffer[5] & 0xFF) << 24) + ((buffer[6] & 0xFF) << 16) + ((buffer[7] & 0xFF) << 8) + (buffer[8] & 0xFF);
-
-      // Treat remainder of packet as the protobuf message payload
-      messageBuffer.put(buffer, 9, buffer.length - 9);
-
-      break;
-    }
-
-    // There is a security risk to raising this logging level beyond trace
-    log.trace("< Type: '{}' Message size: '{}' bytes", type.name(), msgSize);
-
-    int packet = 0;
-    while (messageBuffer.position() < msgSize) {
-
-      byte[] buffer = new byte[64];
-      received = in.read(buffer);
-      packet++;
+  }
 
-      // There is a security risk to raising this logging level beyond trace
-      log.trace("< (cont) {} bytes", received);
-      TrezorMessageUtils.logPacket("<", packet, buffer);
+  /**
+   * <p>Parse the next message from the packet source into a Trezor protobuf message</p>
+   * <p>Long running readers should keep the source and reassembler to avoid allocating buffers for every message</p>
+   *
+   * @param source      The packet source containing Trezor HID packets
+   * @param reassembler The reassembler owned by the reader
+   *
+   * @return The adapted Core message
+   */
+  public static MessageEvent parseAsHIDPackets(HidPacketSource source, HidPacketReassembler reassembler) throws IOException {
 
-      if (buffer[0] != (byte) '?') {
-        log.warn("< Malformed packet length. Expected: '3f' Actual: '{}'. Ignoring.", String.format("%02x", buffer[0]));
-        continue;
-      }
+    int received = reassembler.read(source, 0);
 
-      // Append the packet payload to the message buffer
-      messageBuffer.put(buffer, 1, buffer.length - 1);
+    if (received == -1) {
+      throw new IOException("Read buffer is closed");
     }
 
-    log.debug("Packet complete");
-
     // Parse the message
-    return TrezorMessageUtils.parse(type, Arrays.copyOfRange(messageBuffer.array(), 0, msgSize));
+    return parse(reassembler);
 
   }
 
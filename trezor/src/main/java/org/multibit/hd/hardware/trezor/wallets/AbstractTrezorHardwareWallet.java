@@ -1,16 +1,20 @@
 package org.multibit.hd.hardware.trezor.wallets;
 
 import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
 import com.google.protobuf.Message;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.multibit.hd.hardware.core.HardwareWalletSpecification;
 import org.multibit.hd.hardware.core.events.MessageEvent;
 import org.multibit.hd.hardware.core.wallets.AbstractHardwareWallet;
+import org.multibit.hd.hardware.core.wire.HidCaptureDirection;
+import org.multibit.hd.hardware.core.wire.HidCaptureRecorder;
+import org.multibit.hd.hardware.core.wire.HidFrameWriter;
+import org.multibit.hd.hardware.core.wire.HidPacketSink;
 import org.multibit.hd.hardware.trezor.utils.TrezorMessageUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.ByteBuffer;
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -25,6 +29,27 @@ public abstract class AbstractTrezorHardwareWallet extends AbstractHardwareWalle
 
   private static final Logger log = LoggerFactory.getLogger(AbstractTrezorHardwareWallet.class);
 
+  /**
+   * Hands each HID report to the device as soon as it fills
+   */
+  private final HidPacketSink deviceSink = new HidPacketSink() {
+    @Override
+    public void write(byte[] packet) {
+      writeToDevice(packet);
+      captureWrite(packet);
+    }
+  };
+
+  /**
+   * Serializes messages directly into a single reusable HID report
+   */
+  private final HidFrameWriter frameWriter = new HidFrameWriter(deviceSink);
+
+  /**
+   * Records the HID reports in both directions when present
+   */
+  private volatile Optional<HidCaptureRecorder> captureRecorder = Optional.absent();
+
   @Override
   public HardwareWalletSpecification getDefaultSpecification() {
 
@@ -51,36 +76,58 @@ public abstract class AbstractTrezorHardwareWallet extends AbstractHardwareWalle
   }
 
   @Override
-  @SuppressFBWarnings(value = {"SBSC_USE_STRINGBUFFER_CONCATENATION"}, justification = "Only occurs at trace")
   public void writeMessage(Message message) {
 
-    ByteBuffer messageBuffer = TrezorMessageUtils.formatAsHIDPackets(message);
+    // Only one message can be framed at a time since the report buffer is shared
+    synchronized (frameWriter) {
+      try {
+        int packets = frameWriter.write(TrezorMessageUtils.getMessageType(message), message);
+        log.debug("Wrote {} packets", packets);
+      } catch (IOException e) {
+        log.error("Failed to write message", e);
+      }
+    }
+  }
+
+  /**
+   * <p>Start or stop recording the HID reports exchanged with the device</p>
+   * <p>The caller owns the recorder and is responsible for closing it</p>
+   *
+   * @param captureRecorder The recorder, or absent to stop recording
+   */
+  public void setCaptureRecorder(Optional<HidCaptureRecorder> captureRecorder) {
 
-    int packets = messageBuffer.position() / 63;
-    log.debug("Writing {} packets", packets);
-    messageBuffer.rewind();
+    Preconditions.checkNotNull(captureRecorder, "'captureRecorder' must be present");
 
-    // HID requires 64 byte packets with 63 bytes of payload
-    for (int i = 0; i < packets; i++) {
+    this.captureRecorder = captureRecorder;
 
-      byte[] buffer = new byte[64];
-      buffer[0] = 63; // Length
-      messageBuffer.get(buffer, 1, 63); // Payload
+  }
+
+  /**
+   * <p>Record a HID report read from the device if capture is enabled</p>
+   *
+   * @param packet   The report buffer
+   * @param received The number of bytes received (nothing is recorded for a timeout or failure)
+   */
+  protected void captureRead(byte[] packet, int received) {
 
-      if (log.isTraceEnabled()) {
-        // Describe the packet
-        String s = "Packet [" + i + "]: ";
-        for (int j = 0; j < 64; j++) {
-          s += String.format(" %02x", buffer[j]);
-        }
+    Optional<HidCaptureRecorder> recorder = captureRecorder;
+    if (recorder.isPresent() && received > 0) {
+      recorder.get().record(HidCaptureDirection.READ, packet, received);
+    }
 
-        // There is a security risk to raising this logging level beyond trace
-        log.trace("> {}", s);
-      }
+  }
 
-      writeToDevice(buffer);
+  /**
+   * @param packet The HID report written to the device
+   */
+  private void captureWrite(byte[] packet) {
 
+    Optional<HidCaptureRecorder> recorder = captureRecorder;
+    if (recorder.isPresent()) {
+      recorder.get().record(HidCaptureDirection.WRITE, packet, packet.length);
     }
+
   }
 
   /**
@@ -94,7 +141,8 @@ public abstract class AbstractTrezorHardwareWallet extends AbstractHardwareWalle
   protected abstract Optional<MessageEvent> readFromDevice(int duration, TimeUnit timeUnit);
 
   /**
-   * <p>Write a complete message buffer to the device.</p>
+   * <p>Write a single HID report to the device.</p>
+   * <p>The buffer is reused for the next report so implementations must not retain it.</p>
    *
    * @param buffer The buffer that will be written to the device
    *
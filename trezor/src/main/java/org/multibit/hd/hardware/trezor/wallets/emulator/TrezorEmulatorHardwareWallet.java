@@ -0,0 +1,1210 @@
+package org.multibit.hd.hardware.trezor.wallets.emulator;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.io.BaseEncoding;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import com.satoshilabs.trezor.protobuf.TrezorMessage;
+import com.satoshilabs.trezor.protobuf.TrezorRingSign;
+import com.satoshilabs.trezor.protobuf.TrezorType;
+import org.bitcoinj.core.Address;
+import org.bitcoinj.core.AddressFormatException;
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.NetworkParameters;
+import org.bitcoinj.core.Sha256Hash;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionInput;
+import org.bitcoinj.core.TransactionOutPoint;
+import org.bitcoinj.crypto.ChildNumber;
+import org.bitcoinj.crypto.DeterministicKey;
+import org.bitcoinj.crypto.HDKeyDerivation;
+import org.bitcoinj.params.MainNetParams;
+import org.bitcoinj.wallet.KeyChain;
+import org.multibit.commons.concurrent.SafeExecutors;
+import org.multibit.hd.hardware.core.StreamingRingSigner;
+import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.events.MessageEventType;
+import org.multibit.hd.hardware.core.messages.HardwareWalletMessage;
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+import org.multibit.hd.hardware.core.utils.RingSignatureUtils;
+import org.multibit.hd.hardware.core.wire.HidFrameWriter;
+import org.multibit.hd.hardware.core.wire.HidPacketReassembler;
+import org.multibit.hd.hardware.core.wire.HidPacketSink;
+import org.multibit.hd.hardware.core.wire.HidPacketSource;
+import org.multibit.hd.hardware.trezor.utils.TrezorMessageUtils;
+import org.multibit.hd.hardware.trezor.wallets.AbstractTrezorHardwareWallet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spongycastle.math.ec.ECPoint;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Trezor implementation to provide the following to tests and benchmarks:</p>
+ * <ul>
+ * <li>A pure Java emulation of a Trezor holding a BIP32 seed</li>
+ * <li>Real LSAG ring signatures with key images for the voting extensions (see {@link RingSignatureUtils})</li>
+ * <li>Configurable latency to model the device and the USB link</li>
+ * </ul>
+ * <p>Messages travel through the real HID framing in both directions: the host writes 64 byte
+ * reports which the emulated device reassembles and parses, and the responses are framed back
+ * into reports for the host to reassemble. Only the USB transfer itself is missing.</p>
+ * <p>The emulated device supports Initialize, GetFeatures, Ping, ClearSession, Cancel,
+ * GetPublicKey, GetAddress, SignMessage, SignTx, GetPublicKey65, RingSignMessage and RingSignCachedMessage. Anything else
+ * (e.g. the wipe and load operations) is answered with a Failure. Passphrase protection is not
+ * emulated.</p>
+ * <p>If a PIN is set every operation involving a key asks for it (as a device would after its
+ * session has been cleared). The PIN matrix is not scrambled so the positions sent by the host
+ * are the digits of the PIN.</p>
+ * <p>SignTx follows the streaming protocol of the firmware in outline: each input is requested
+ * followed by the previous output it spends, then each output, then a button press, then the
+ * signatures are returned one per TxRequest. Unlike the firmware the previous transactions are
+ * not hashed in full and no serialized transaction is returned.</p>
+ * <p>The voting key (used for GetPublicKey65 and RingSignMessage) is m/44'/0'/0'/0/0.</p>
+ * <p>RingSignMessage accepts rings of compressed (33 byte) keys and then returns the key image
+ * compressed in YtDotX with YtDotY left empty.</p>
+ * <p>A RingSignMessage with an empty ring is signed with a {@link StreamingRingSigner}: the ring is
+ * pulled with RingSignRequest in chunks of at most {@link #setRingChunkSize(int)} members, first to
+ * digest it and then to compute the challenges from pi + 1 round to pi - 1. Each request carries the
+ * s values of the previous chunk and the MessageRingSignature carries the rest.</p>
+ * <p>The last {@link #MAX_CACHED_RINGS} rings signed with a full RingSignMessage or uploaded for a
+ * RingSignCachedMessage are kept until the session is cleared (Initialize or ClearSession). A
+ * RingSignCachedMessage for a ring held is signed without the ring being sent. Otherwise the ring is
+ * streamed as above and checked against the digest before any challenges are computed.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class TrezorEmulatorHardwareWallet extends AbstractTrezorHardwareWallet {
+
+  private static final Logger log = LoggerFactory.getLogger(TrezorEmulatorHardwareWallet.class);
+
+  /**
+   * The oldest firmware accepted by the client is 1.3.3
+   */
+  private static final int MAJOR_VERSION = 1;
+  private static final int MINOR_VERSION = 3;
+  private static final int PATCH_VERSION = 4;
+
+  /**
+   * The number of ring members requested at once when the ring is streamed
+   */
+  public static final int DEFAULT_RING_CHUNK_SIZE = 32;
+
+  /**
+   * The number of rings kept for RingSignCachedMessage
+   */
+  public static final int MAX_CACHED_RINGS = 4;
+
+  /**
+   * The emulated device only speaks Bitcoin
+   */
+  private static final NetworkParameters NETWORK_PARAMETERS = MainNetParams.get();
+
+  private final String serialNumber;
+
+  private final DeterministicKey masterKey;
+
+  /**
+   * The key behind GetPublicKey65 and RingSignMessage
+   */
+  private final DeterministicKey votingKey;
+
+  private final SecureRandom random = new SecureRandom();
+
+  /**
+   * The delay before the device sends each response
+   */
+  private volatile long responseLatencyNanos = 0;
+
+  /**
+   * The delay for each HID report sent to the host (e.g. 1ms for a full speed USB interrupt endpoint)
+   */
+  private volatile long reportLatencyNanos = 0;
+
+  /**
+   * True if the device asks for a button press before ring signing
+   */
+  private volatile boolean buttonProtection = true;
+
+  /**
+   * The most ring members requested by a RingSignRequest
+   */
+  private volatile int ringChunkSize = DEFAULT_RING_CHUNK_SIZE;
+
+  /**
+   * The PIN protecting the keys (absent for no PIN)
+   */
+  private volatile Optional<String> pin = Optional.absent();
+
+  /**
+   * Reports written by the host awaiting the device
+   */
+  private final BlockingQueue<byte[]> toDevice = new LinkedBlockingQueue<>();
+
+  /**
+   * Reports written by the device awaiting the host
+   */
+  private final BlockingQueue<byte[]> toHost = new LinkedBlockingQueue<>();
+
+  /**
+   * Reassemble HID packets on the host side reusing the same buffers for every read
+   */
+  private final HidPacketReassembler hostReassembler = new HidPacketReassembler();
+
+  /**
+   * Supply the reports from the device to the host, recording them as a USB device would
+   */
+  private final HidPacketSource hostSource = new HidPacketSource() {
+
+    private final HidPacketSource queueSource = new QueuePacketSource(toHost);
+
+    @Override
+    public int read(byte[] packet, int timeoutMillis) throws IOException {
+
+      int received = queueSource.read(packet, timeoutMillis);
+      captureRead(packet, received);
+      return received;
+
+    }
+  };
+
+  /**
+   * Reassemble HID packets on the device side
+   */
+  private final HidPacketReassembler deviceReassembler = new HidPacketReassembler();
+
+  private final HidPacketSource deviceSource = new QueuePacketSource(toDevice);
+
+  /**
+   * Frame responses from the device into reports for the host
+   */
+  private final HidFrameWriter deviceFrameWriter = new HidFrameWriter(
+    new HidPacketSink() {
+      @Override
+      public void write(byte[] packet) {
+        pause(reportLatencyNanos);
+        toHost.add(Arrays.copyOf(packet, packet.length));
+      }
+    });
+
+  /**
+   * A response held back until the user presses the button
+   */
+  private Optional<Message> awaitingButton = Optional.absent();
+
+  /**
+   * A request held back until the user enters the PIN
+   */
+  private Optional<Message> awaitingPin = Optional.absent();
+
+  /**
+   * The transaction being signed
+   */
+  private Optional<TxSigning> txSigning = Optional.absent();
+
+  /**
+   * The streamed ring being signed
+   */
+  private Optional<RingSigning> ringSigning = Optional.absent();
+
+  /**
+   * The rings held for this session by ring digest in least recently used order
+   */
+  private final Map<ByteBuffer, List<byte[]>> cachedRings = new LinkedHashMap<ByteBuffer, List<byte[]>>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<ByteBuffer, List<byte[]>> eldest) {
+      return size() > MAX_CACHED_RINGS;
+    }
+  };
+
+  /**
+   * Runs the emulated device
+   */
+  private ExecutorService deviceExecutorService = null;
+
+  /**
+   * Fires the messages read by the host
+   */
+  private ExecutorService monitorExecutorService = null;
+
+  /**
+   * @param seed         The BIP32 seed (e.g. from a BIP39 mnemonic)
+   * @param serialNumber The serial number (used for the device ID)
+   */
+  public TrezorEmulatorHardwareWallet(byte[] seed, String serialNumber) {
+
+    Preconditions.checkNotNull(seed, "'seed' must be present");
+    Preconditions.checkNotNull(serialNumber, "'serialNumber' must be present");
+
+    this.serialNumber = serialNumber;
+    this.masterKey = HDKeyDerivation.createMasterPrivateKey(seed);
+    this.votingKey = derive(TrezorMessageUtils.buildAddressN(0, KeyChain.KeyPurpose.RECEIVE_FUNDS, 0));
+
+  }
+
+  /**
+   * @return The device ID (e.g. "TREZOR/EMULATOR-0001")
+   */
+  @Override
+  public String name() {
+    return "TREZOR/" + serialNumber;
+  }
+
+  /**
+   * @param duration The delay before the device sends each response
+   * @param timeUnit The time unit
+   */
+  public void setResponseLatency(long duration, TimeUnit timeUnit) {
+    this.responseLatencyNanos = timeUnit.toNanos(duration);
+  }
+
+  /**
+   * @param duration The delay for each HID report sent to the host
+   * @param timeUnit The time unit
+   */
+  public void setReportLatency(long duration, TimeUnit timeUnit) {
+    this.reportLatencyNanos = timeUnit.toNanos(duration);
+  }
+
+  /**
+   * @param buttonProtection True if the device asks for a button press before ring signing (the default)
+   */
+  public void setButtonProtection(boolean buttonProtection) {
+    this.buttonProtection = buttonProtection;
+  }
+
+  /**
+   * @param ringChunkSize The most ring members requested at once when the ring is streamed
+   */
+  public void setRingChunkSize(int ringChunkSize) {
+    Preconditions.checkArgument(ringChunkSize > 0, "'ringChunkSize' must be greater than zero");
+    this.ringChunkSize = ringChunkSize;
+  }
+
+  /**
+   * @param pin The PIN to ask for before any operation involving a key (absent for no PIN, the default)
+   */
+  public void setPin(Optional<String> pin) {
+    Preconditions.checkNotNull(pin, "'pin' must be present");
+    this.pin = pin;
+  }
+
+  /**
+   * @return The uncompressed public key used for voting (as returned by GetPublicKey65)
+   */
+  public byte[] getVotingPublicKey() {
+    return votingKey.getPubKeyPoint().getEncoded(false);
+  }
+
+  @Override
+  public boolean attach() {
+
+    // Behave as a device that is already plugged in
+    fireMessageEvent(MessageEventType.DEVICE_ATTACHED);
+
+    return true;
+
+  }
+
+  @Override
+  public void softDetach() {
+
+    if (deviceExecutorService != null) {
+      deviceExecutorService.shutdownNow();
+      deviceExecutorService = null;
+    }
+
+    if (monitorExecutorService != null) {
+      monitorExecutorService.shutdownNow();
+      try {
+        monitorExecutorService.awaitTermination(1, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        log.error("Could not cleanly shutdown the emulator monitor during soft detach");
+      }
+      monitorExecutorService = null;
+    }
+
+    toDevice.clear();
+    toHost.clear();
+
+  }
+
+  @Override
+  public void hardDetach() {
+
+    softDetach();
+
+    // Let everyone know
+    fireMessageEvent(MessageEventType.DEVICE_DETACHED_HARD);
+
+  }
+
+  @Override
+  public boolean connect() {
+
+    softDetach();
+
+    final ExecutorService deviceService = SafeExecutors.newSingleThreadExecutor("emulator-" + serialNumber);
+    deviceExecutorService = deviceService;
+    deviceService.submit(
+      new Runnable() {
+        @Override
+        public void run() {
+          while (!deviceService.isShutdown()) {
+            runDevice();
+          }
+        }
+      });
+
+    final ExecutorService monitorService = SafeExecutors.newSingleThreadExecutor("monitor-emulator-" + serialNumber);
+    monitorExecutorService = monitorService;
+    monitorService.submit(
+      new Runnable() {
+        @Override
+        public void run() {
+          while (!monitorService.isShutdown()) {
+            Optional<MessageEvent> messageEvent = readMessage(1, TimeUnit.SECONDS);
+            if (messageEvent.isPresent()) {
+              fireMessageEvent(messageEvent.get());
+            }
+          }
+        }
+      });
+
+    return true;
+
+  }
+
+  @Override
+  public String toString() {
+    return "Trezor emulator: " + serialNumber;
+  }
+
+  @Override
+  protected int writeToDevice(byte[] buffer) {
+
+    Preconditions.checkNotNull(buffer, "'buffer' must be present");
+
+    // The buffer is reused by the caller
+    toDevice.add(Arrays.copyOf(buffer, buffer.length));
+
+    return buffer.length;
+
+  }
+
+  @Override
+  protected synchronized Optional<MessageEvent> readFromDevice(int duration, TimeUnit timeUnit) {
+
+    int received;
+    try {
+      received = hostReassembler.read(hostSource, (int) timeUnit.toMillis(duration));
+    } catch (IOException e) {
+      log.warn("Unexpected failure reading from emulator", e);
+      received = -1;
+    }
+
+    if (received < 0) {
+      return Optional.of(
+        new MessageEvent(
+          MessageEventType.DEVICE_FAILED,
+          Optional.<HardwareWalletMessage>absent(),
+          Optional.<Message>absent(),
+          name()));
+    }
+
+    if (received == 0) {
+      return Optional.absent();
+    }
+
+    return Optional.fromNullable(TrezorMessageUtils.parse(hostReassembler, name()));
+
+  }
+
+  /**
+   * <p>Read and answer a single request on the device thread</p>
+   */
+  private void runDevice() {
+
+    int received;
+    try {
+      received = deviceReassembler.read(deviceSource, 1000);
+    } catch (IOException e) {
+      log.warn("Emulated device failed to read", e);
+      return;
+    }
+
+    if (received <= 0) {
+      return;
+    }
+
+    MessageEvent request = TrezorMessageUtils.parse(deviceReassembler, name());
+
+    Message response;
+    if (request == null || !request.getRawMessage().isPresent()) {
+      response = failure(TrezorType.FailureType.Failure_UnexpectedMessage, "Unknown message");
+    } else {
+      response = respond(request.getRawMessage().get());
+    }
+
+    pause(responseLatencyNanos);
+
+    try {
+      deviceFrameWriter.write(TrezorMessageUtils.getMessageType(response), response);
+    } catch (IOException e) {
+      log.warn("Emulated device failed to write", e);
+    }
+
+  }
+
+  /**
+   * @param request The request from the host
+   *
+   * @return The response from the emulated device
+   */
+  private Message respond(Message request) {
+
+    if (request instanceof TrezorMessage.PinMatrixAck) {
+      if (!awaitingPin.isPresent()) {
+        return failure(TrezorType.FailureType.Failure_UnexpectedMessage, "Unexpected message");
+      }
+      Message held = awaitingPin.get();
+      awaitingPin = Optional.absent();
+      if (!pin.isPresent() || !pin.get().equals(((TrezorMessage.PinMatrixAck) request).getPin())) {
+        return failure(TrezorType.FailureType.Failure_PinInvalid, "Invalid PIN");
+      }
+      return respondUnlocked(held);
+    }
+
+    if (request instanceof TrezorMessage.ButtonAck) {
+      if (!awaitingButton.isPresent()) {
+        return failure(TrezorType.FailureType.Failure_UnexpectedMessage, "Unexpected message");
+      }
+      // The user pressed the button
+      Message response = awaitingButton.get();
+      awaitingButton = Optional.absent();
+      return response;
+    }
+
+    if (request instanceof TrezorMessage.TxAck) {
+      if (!txSigning.isPresent() || awaitingButton.isPresent()) {
+        return failure(TrezorType.FailureType.Failure_UnexpectedMessage, "Unexpected message");
+      }
+      return txAck(txSigning.get(), ((TrezorMessage.TxAck) request).getTx());
+    }
+
+    if (request instanceof TrezorRingSign.RingSignAck) {
+      if (!ringSigning.isPresent() || awaitingButton.isPresent()) {
+        return failure(TrezorType.FailureType.Failure_UnexpectedMessage, "Unexpected message");
+      }
+      return ringSignAck(ringSigning.get(), ((TrezorRingSign.RingSignAck) request).getLList());
+    }
+
+    // Any other message abandons an operation in progress
+    awaitingButton = Optional.absent();
+    awaitingPin = Optional.absent();
+    txSigning = Optional.absent();
+    ringSigning = Optional.absent();
+
+    if (request instanceof TrezorMessage.Initialize) {
+      cachedRings.clear();
+      return features();
+    }
+
+    if (request instanceof TrezorMessage.GetFeatures) {
+      return features();
+    }
+
+    if (request instanceof TrezorMessage.Ping) {
+      return TrezorMessage.Success.newBuilder()
+        .setMessage(((TrezorMessage.Ping) request).getMessage())
+        .build();
+    }
+
+    if (request instanceof TrezorMessage.ClearSession) {
+      cachedRings.clear();
+      return TrezorMessage.Success.newBuilder().setMessage("Session cleared").build();
+    }
+
+    if (request instanceof TrezorMessage.Cancel) {
+      return failure(TrezorType.FailureType.Failure_ActionCancelled, "Cancelled");
+    }
+
+    if (pin.isPresent()) {
+      // Every other operation involves a key
+      awaitingPin = Optional.of(request);
+      return TrezorMessage.PinMatrixRequest.newBuilder()
+        .setType(TrezorType.PinMatrixRequestType.PinMatrixRequestType_Current)
+        .build();
+    }
+
+    return respondUnlocked(request);
+
+  }
+
+  /**
+   * @param request The request from the host once the PIN has been entered
+   *
+   * @return The response from the emulated device
+   */
+  private Message respondUnlocked(Message request) {
+
+    if (request instanceof TrezorMessage.GetPublicKey) {
+      DeterministicKey key = derive(((TrezorMessage.GetPublicKey) request).getAddressNList());
+      return TrezorMessage.PublicKey.newBuilder()
+        .setNode(
+          TrezorType.HDNodeType.newBuilder()
+            .setDepth(key.getDepth())
+            .setFingerprint(key.getParent() == null ? 0 : key.getParent().getFingerprint())
+            .setChildNum(key.getChildNumber().i())
+            .setChainCode(ByteString.copyFrom(key.getChainCode()))
+            .setPublicKey(ByteString.copyFrom(key.getPubKey())))
+        .setXpub(key.serializePubB58(NETWORK_PARAMETERS))
+        .build();
+    }
+
+    if (request instanceof TrezorMessage.GetAddress) {
+      DeterministicKey key = derive(((TrezorMessage.GetAddress) request).getAddressNList());
+      return TrezorMessage.Address.newBuilder()
+        .setAddress(key.toAddress(NETWORK_PARAMETERS).toString())
+        .build();
+    }
+
+    if (request instanceof TrezorMessage.SignMessage) {
+      TrezorMessage.SignMessage signMessage = (TrezorMessage.SignMessage) request;
+      DeterministicKey key = derive(signMessage.getAddressNList());
+      String signature = key.signMessage(new String(signMessage.getMessage().toByteArray(), Charsets.UTF_8));
+      return TrezorMessage.MessageSignature.newBuilder()
+        .setAddress(key.toAddress(NETWORK_PARAMETERS).toString())
+        .setSignature(ByteString.copyFrom(BaseEncoding.base64().decode(signature)))
+        .build();
+    }
+
+    if (request instanceof TrezorMessage.SignTx) {
+      TrezorMessage.SignTx signTx = (TrezorMessage.SignTx) request;
+      if (!"Bitcoin".equals(signTx.getCoinName()) || signTx.getInputsCount() < 1 || signTx.getOutputsCount() < 1) {
+        return failure(TrezorType.FailureType.Failure_Other, "Unsupported transaction");
+      }
+      txSigning = Optional.of(new TxSigning(signTx.getInputsCount(), signTx.getOutputsCount()));
+      return txRequest(TrezorType.RequestType.TXINPUT, Optional.of(0), Optional.<ByteString>absent());
+    }
+
+    if (request instanceof TrezorMessage.GetPublicKey65) {
+      return TrezorMessage.PublicKey65.newBuilder()
+        .setPublicKey(ByteString.copyFrom(getVotingPublicKey()))
+        .build();
+    }
+
+    if (request instanceof TrezorMessage.RingSignMessage) {
+      TrezorMessage.RingSignMessage ringSignMessage = (TrezorMessage.RingSignMessage) request;
+      if (ringSignMessage.getLCount() == 0 && ringSignMessage.getN() > 0) {
+        // The host will stream the ring
+        if (ringSignMessage.getPi() >= ringSignMessage.getN()) {
+          return failure(TrezorType.FailureType.Failure_SyntaxError, "Invalid ring");
+        }
+        RingSigning signing = new RingSigning(
+          new StreamingRingSigner(
+            ringSignMessage.getN(),
+            ringSignMessage.getPi(),
+            votingKey.getPrivKey(),
+            ringSignMessage.getMessage().toByteArray(),
+            random));
+        ringSigning = Optional.of(signing);
+        return ringSignRequest(signing, 0, Lists.<byte[]>newArrayList());
+      }
+      List<byte[]> ring = Lists.newArrayListWithCapacity(ringSignMessage.getLCount());
+      for (ByteString key : ringSignMessage.getLList()) {
+        ring.add(key.toByteArray());
+      }
+      Message response = ringSign(ring, ringSignMessage.getN(), ringSignMessage.getPi(), ringSignMessage.getMessage().toByteArray());
+      if (response instanceof TrezorMessage.MessageRingSignature) {
+        cachedRings.put(ByteBuffer.wrap(RingSignatureUtils.ringDigest(ring)), ring);
+      }
+      return confirmRingSignature(response);
+    }
+
+    if (request instanceof TrezorRingSign.RingSignCachedMessage) {
+      TrezorRingSign.RingSignCachedMessage cachedMessage = (TrezorRingSign.RingSignCachedMessage) request;
+      if (cachedMessage.getN() < 1 || cachedMessage.getPi() >= cachedMessage.getN()) {
+        return failure(TrezorType.FailureType.Failure_SyntaxError, "Invalid ring");
+      }
+      byte[] ringDigest = cachedMessage.getRingDigest().toByteArray();
+      List<byte[]> ring = cachedRings.get(ByteBuffer.wrap(ringDigest));
+      if (ring != null) {
+        log.debug("Ring of {} held by the emulator", ring.size());
+        return confirmRingSignature(ringSign(ring, cachedMessage.getN(), cachedMessage.getPi(), cachedMessage.getMessage().toByteArray()));
+      }
+      // Fall back to having the host stream the ring
+      RingSigning signing = new RingSigning(
+        new StreamingRingSigner(
+          cachedMessage.getN(),
+          cachedMessage.getPi(),
+          votingKey.getPrivKey(),
+          cachedMessage.getMessage().toByteArray(),
+          random));
+      signing.ringDigest = Optional.of(ringDigest);
+      ringSigning = Optional.of(signing);
+      return ringSignRequest(signing, 0, Lists.<byte[]>newArrayList());
+    }
+
+    log.debug("Emulator does not support '{}'", request.getClass().getSimpleName());
+
+    return failure(TrezorType.FailureType.Failure_UnexpectedMessage, "Not supported by the emulator");
+
+  }
+
+  /**
+   * @param signing The transaction being signed
+   * @param tx      The part of the transaction provided by the host
+   *
+   * @return The next TxRequest, a button request or a failure
+   */
+  private Message txAck(TxSigning signing, TrezorType.TransactionType tx) {
+
+    switch (signing.expected) {
+      case INPUT:
+        if (tx.getInputsCount() != 1) {
+          break;
+        }
+        TrezorType.TxInputType input = tx.getInputs(0);
+        signing.inputs.add(input);
+        signing.expected = TxSigning.Expected.PREVIOUS_META;
+        return txRequest(TrezorType.RequestType.TXMETA, Optional.<Integer>absent(), Optional.of(input.getPrevHash()));
+
+      case PREVIOUS_META:
+        TrezorType.TxInputType spending = signing.currentInput();
+        if (spending.getPrevIndex() >= tx.getOutputsCnt()) {
+          break;
+        }
+        signing.expected = TxSigning.Expected.PREVIOUS_OUTPUT;
+        return txRequest(TrezorType.RequestType.TXOUTPUT, Optional.of(spending.getPrevIndex()), Optional.of(spending.getPrevHash()));
+
+      case PREVIOUS_OUTPUT:
+        if (tx.getBinOutputsCount() != 1) {
+          break;
+        }
+        signing.previousScripts.add(tx.getBinOutputs(0).getScriptPubkey().toByteArray());
+        if (signing.inputs.size() < signing.inputsCount) {
+          signing.expected = TxSigning.Expected.INPUT;
+          return txRequest(TrezorType.RequestType.TXINPUT, Optional.of(signing.inputs.size()), Optional.<ByteString>absent());
+        }
+        signing.expected = TxSigning.Expected.OUTPUT;
+        return txRequest(TrezorType.RequestType.TXOUTPUT, Optional.of(0), Optional.<ByteString>absent());
+
+      case OUTPUT:
+        if (tx.getOutputsCount() != 1) {
+          break;
+        }
+        signing.outputs.add(tx.getOutputs(0));
+        if (signing.outputs.size() < signing.outputsCount) {
+          return txRequest(TrezorType.RequestType.TXOUTPUT, Optional.of(signing.outputs.size()), Optional.<ByteString>absent());
+        }
+        try {
+          signing.signatures = sign(signing);
+        } catch (IllegalArgumentException | AddressFormatException e) {
+          // An unknown script type or an output address that is not a Bitcoin address
+          txSigning = Optional.absent();
+          return failure(TrezorType.FailureType.Failure_Other, "Invalid transaction");
+        }
+        signing.expected = TxSigning.Expected.SIGNED_INPUT;
+        Message first = nextSignature(signing);
+        if (buttonProtection) {
+          awaitingButton = Optional.of(first);
+          return TrezorMessage.ButtonRequest.newBuilder()
+            .setCode(TrezorType.ButtonRequestType.ButtonRequest_SignTx)
+            .build();
+        }
+        return first;
+
+      case SIGNED_INPUT:
+        // The host describes the input again before each signature
+        return nextSignature(signing);
+    }
+
+    txSigning = Optional.absent();
+
+    return failure(TrezorType.FailureType.Failure_SyntaxError, "Unexpected TxAck");
+
+  }
+
+  /**
+   * @param signing The transaction being signed
+   *
+   * @return The TxRequest carrying the next signature
+   */
+  private Message nextSignature(TxSigning signing) {
+
+    int index = signing.signed++;
+
+    TrezorType.TxRequestSerializedType serialized = TrezorType.TxRequestSerializedType.newBuilder()
+      .setSignatureIndex(index)
+      .setSignature(ByteString.copyFrom(signing.signatures.get(index)))
+      .build();
+
+    TrezorMessage.TxRequest.Builder builder = TrezorMessage.TxRequest.newBuilder()
+      .setSerialized(serialized);
+
+    if (signing.signed < signing.inputsCount) {
+      builder
+        .setRequestType(TrezorType.RequestType.TXINPUT)
+        .setDetails(TrezorType.TxRequestDetailsType.newBuilder().setRequestIndex(signing.signed));
+    } else {
+      builder.setRequestType(TrezorType.RequestType.TXFINISHED);
+      txSigning = Optional.absent();
+    }
+
+    return builder.build();
+
+  }
+
+  /**
+   * @param signing The transaction being signed with all inputs and outputs provided
+   *
+   * @return The DER encoded signature of each input (SIGHASH_ALL)
+   *
+   * @throws AddressFormatException If an output address is not a Bitcoin address
+   */
+  private List<byte[]> sign(TxSigning signing) throws AddressFormatException {
+
+    Transaction tx = new Transaction(NETWORK_PARAMETERS);
+
+    for (TrezorType.TxInputType input : signing.inputs) {
+      TransactionOutPoint outPoint = new TransactionOutPoint(
+        NETWORK_PARAMETERS,
+        input.getPrevIndex() & 0xFFFFFFFFL,
+        Sha256Hash.wrap(input.getPrevHash().toByteArray()));
+      TransactionInput transactionInput = new TransactionInput(NETWORK_PARAMETERS, tx, new byte[0], outPoint);
+      transactionInput.setSequenceNumber(input.getSequence() & 0xFFFFFFFFL);
+      tx.addInput(transactionInput);
+    }
+
+    for (TrezorType.TxOutputType output : signing.outputs) {
+      Address address;
+      if (output.getAddressNCount() > 0) {
+        // Change is described by its path
+        address = derive(output.getAddressNList()).toAddress(NETWORK_PARAMETERS);
+      } else {
+        address = new Address(NETWORK_PARAMETERS, output.getAddress());
+      }
+      tx.addOutput(Coin.valueOf(output.getAmount()), address);
+    }
+
+    List<byte[]> signatures = Lists.newArrayListWithCapacity(signing.inputsCount);
+    for (int i = 0; i < signing.inputsCount; i++) {
+      Sha256Hash hash = tx.hashForSignature(i, signing.previousScripts.get(i), Transaction.SigHash.ALL, false);
+      ECKey.ECDSASignature signature = derive(signing.inputs.get(i).getAddressNList()).sign(hash);
+      signatures.add(signature.encodeToDER());
+    }
+
+    return signatures;
+
+  }
+
+  /**
+   * @param type    The type of the request
+   * @param index   The index of the input or output
+   * @param txHash  The hash of a previous transaction (absent for the transaction being signed)
+   *
+   * @return The TxRequest
+   */
+  private TrezorMessage.TxRequest txRequest(TrezorType.RequestType type, Optional<Integer> index, Optional<ByteString> txHash) {
+
+    TrezorType.TxRequestDetailsType.Builder details = TrezorType.TxRequestDetailsType.newBuilder();
+    if (index.isPresent()) {
+      details.setRequestIndex(index.get());
+    }
+    if (txHash.isPresent()) {
+      details.setTxHash(txHash.get());
+    }
+
+    return TrezorMessage.TxRequest.newBuilder()
+      .setRequestType(type)
+      .setDetails(details)
+      .build();
+
+  }
+
+  /**
+   * @param ring    The public keys forming the ring
+   * @param n       The number of public keys the host expects in the ring
+   * @param pi      The index of the voting key in the ring
+   * @param message The message to sign
+   *
+   * @return The ring signature or a failure
+   */
+  private Message ringSign(List<byte[]> ring, int n, int pi, byte[] message) {
+
+    if (n != ring.size() || pi < 0 || pi >= ring.size()) {
+      return failure(TrezorType.FailureType.Failure_SyntaxError, "Invalid ring");
+    }
+
+    // The ring may be compressed in which case the key image is returned compressed too
+    boolean compressed = ring.get(pi).length == RingSignatureUtils.COMPRESSED_POINT_LENGTH;
+    byte[] votingPublicKey = compressed ? RingSignatureUtils.compress(getVotingPublicKey()) : getVotingPublicKey();
+
+    if (!Arrays.equals(ring.get(pi), votingPublicKey)) {
+      return failure(TrezorType.FailureType.Failure_Other, "Public key at pi does not belong to this device");
+    }
+
+    BigInteger privateKey = votingKey.getPrivKey();
+    MessageRingSignature signature;
+    try {
+      signature = RingSignatureUtils.sign(ring, pi, privateKey, message, random);
+    } catch (IllegalArgumentException e) {
+      return failure(TrezorType.FailureType.Failure_SyntaxError, "Invalid ring");
+    }
+
+    TrezorMessage.MessageRingSignature.Builder builder = TrezorMessage.MessageRingSignature.newBuilder()
+      .setC(ByteString.copyFrom(signature.getC()))
+      .setN(signature.getN());
+    if (compressed) {
+      builder
+        .setYtDotX(ByteString.copyFrom(signature.getCompressedYtilda()))
+        .setYtDotY(ByteString.EMPTY);
+    } else {
+      builder
+        .setYtDotX(ByteString.copyFrom(signature.getYtx()))
+        .setYtDotY(ByteString.copyFrom(signature.getYty()));
+    }
+    for (byte[] s : signature.getS()) {
+      builder.addS(ByteString.copyFrom(s));
+    }
+
+    return builder.build();
+
+  }
+
+  /**
+   * @param signing The streamed ring being signed
+   * @param keys    The ring members provided by the host
+   *
+   * @return The next RingSignRequest, a button request, the ring signature or a failure
+   */
+  private Message ringSignAck(RingSigning signing, List<ByteString> keys) {
+
+    StreamingRingSigner signer = signing.signer;
+    int index = signer.getIndex();
+    int pi = signer.getPi();
+
+    if (keys.size() != signing.requested) {
+      ringSigning = Optional.absent();
+      return failure(TrezorType.FailureType.Failure_SyntaxError, "Unexpected RingSignAck");
+    }
+
+    List<byte[]> chunk = Lists.newArrayListWithCapacity(keys.size());
+    for (ByteString key : keys) {
+      chunk.add(key.toByteArray());
+    }
+
+    if (!signer.isDigested() && index <= pi && pi < index + chunk.size()) {
+      // The key image is returned in the encoding of the key at pi
+      byte[] key = chunk.get(pi - index);
+      signing.compressed = key.length == RingSignatureUtils.COMPRESSED_POINT_LENGTH;
+      byte[] votingPublicKey = signing.compressed ? RingSignatureUtils.compress(getVotingPublicKey()) : getVotingPublicKey();
+      if (!Arrays.equals(key, votingPublicKey)) {
+        ringSigning = Optional.absent();
+        return failure(TrezorType.FailureType.Failure_Other, "Public key at pi does not belong to this device");
+      }
+    }
+
+    boolean digested = signer.isDigested();
+    if (!digested && signing.ringDigest.isPresent()) {
+      // Keep the ring to cache once it matches the digest
+      signing.ring.addAll(chunk);
+    }
+
+    List<byte[]> s;
+    try {
+      s = signer.update(chunk);
+    } catch (IllegalArgumentException e) {
+      ringSigning = Optional.absent();
+      return failure(TrezorType.FailureType.Failure_SyntaxError, "Invalid ring");
+    }
+
+    if (!digested && signer.isDigested() && signing.ringDigest.isPresent()) {
+      byte[] ringDigest = signing.ringDigest.get();
+      if (!Arrays.equals(ringDigest, signer.getRingDigest())) {
+        ringSigning = Optional.absent();
+        return failure(TrezorType.FailureType.Failure_Other, "Ring does not match the ring digest");
+      }
+      cachedRings.put(ByteBuffer.wrap(ringDigest), signing.ring);
+    }
+
+    if (!signer.isComplete()) {
+      return ringSignRequest(signing, index, s);
+    }
+
+    ringSigning = Optional.absent();
+
+    // The s values of the last chunk and of pi go back in ring order
+    List<byte[]> remainingS = Lists.newArrayList(s);
+    remainingS.add(pi < index ? 0 : remainingS.size(), signer.getSPi());
+
+    ECPoint keyImage = signer.getKeyImage();
+    TrezorMessage.MessageRingSignature.Builder builder = TrezorMessage.MessageRingSignature.newBuilder()
+      .setC(ByteString.copyFrom(signer.getC0()))
+      .setN(signer.getN());
+    if (signing.compressed) {
+      builder
+        .setYtDotX(ByteString.copyFrom(keyImage.getEncoded(true)))
+        .setYtDotY(ByteString.EMPTY);
+    } else {
+      builder
+        .setYtDotX(ByteString.copyFrom(RingSignatureUtils.encodeScalar(keyImage.getAffineXCoord().toBigInteger())))
+        .setYtDotY(ByteString.copyFrom(RingSignatureUtils.encodeScalar(keyImage.getAffineYCoord().toBigInteger())));
+    }
+    for (byte[] si : remainingS) {
+      builder.addS(ByteString.copyFrom(si));
+    }
+
+    return confirmRingSignature(builder.build());
+
+  }
+
+  /**
+   * @param response The ring signature or a failure
+   *
+   * @return A button request holding back the ring signature if button protection is on, otherwise the response
+   */
+  private Message confirmRingSignature(Message response) {
+
+    if (buttonProtection && response instanceof TrezorMessage.MessageRingSignature) {
+      awaitingButton = Optional.of(response);
+      return TrezorMessage.ButtonRequest.newBuilder()
+        .setCode(TrezorType.ButtonRequestType.ButtonRequest_Other)
+        .build();
+    }
+
+    return response;
+
+  }
+
+  /**
+   * @param signing The streamed ring being signed
+   * @param sIndex  The ring index of the first s value
+   * @param s       The s values computed for the previous chunk (may be empty)
+   *
+   * @return The RingSignRequest for the next chunk
+   */
+  private TrezorRingSign.RingSignRequest ringSignRequest(RingSigning signing, int sIndex, List<byte[]> s) {
+
+    signing.requested = signing.signer.getCount(ringChunkSize);
+
+    TrezorRingSign.RingSignRequest.Builder builder = TrezorRingSign.RingSignRequest.newBuilder()
+      .setIndex(signing.signer.getIndex())
+      .setCount(signing.requested);
+    if (!s.isEmpty()) {
+      builder.setSIndex(sIndex);
+      for (byte[] si : s) {
+        builder.addS(ByteString.copyFrom(si));
+      }
+    }
+
+    return builder.build();
+
+  }
+
+  /**
+   * @return The features of the emulated device
+   */
+  private TrezorMessage.Features features() {
+
+    return TrezorMessage.Features.newBuilder()
+      .setVendor("bitcointrezor.com")
+      .setMajorVersion(MAJOR_VERSION)
+      .setMinorVersion(MINOR_VERSION)
+      .setPatchVersion(PATCH_VERSION)
+      .setBootloaderMode(false)
+      .setDeviceId(serialNumber)
+      .setPinProtection(false)
+      .setPassphraseProtection(false)
+      .setLanguage("english")
+      .setLabel("Emulator " + serialNumber)
+      .setInitialized(true)
+      .setImported(false)
+      .build();
+
+  }
+
+  /**
+   * @param code    The failure code
+   * @param message The failure message
+   *
+   * @return The failure response
+   */
+  private TrezorMessage.Failure failure(TrezorType.FailureType code, String message) {
+
+    return TrezorMessage.Failure.newBuilder()
+      .setCode(code)
+      .setMessage(message)
+      .build();
+
+  }
+
+  /**
+   * @param addressN The BIP32 path (hardened indices have the top bit set)
+   *
+   * @return The derived private key
+   */
+  private DeterministicKey derive(List<Integer> addressN) {
+
+    DeterministicKey key = masterKey;
+    for (Integer index : addressN) {
+      key = HDKeyDerivation.deriveChildKey(key, new ChildNumber(index));
+    }
+
+    return key;
+
+  }
+
+  /**
+   * @param nanos The time to wait (ignored if zero)
+   */
+  private static void pause(long nanos) {
+
+    if (nanos > 0) {
+      Uninterruptibles.sleepUninterruptibly(nanos, TimeUnit.NANOSECONDS);
+    }
+
+  }
+
+  /**
+   * <p>The progress of a SignTx on the device thread</p>
+   */
+  private static class TxSigning {
+
+    private enum Expected {
+
+      INPUT,
+      PREVIOUS_META,
+      PREVIOUS_OUTPUT,
+      OUTPUT,
+      SIGNED_INPUT,
+
+      // End of enum
+      ;
+
+    }
+
+    private final int inputsCount;
+
+    private final int outputsCount;
+
+    private final List<TrezorType.TxInputType> inputs;
+
+    /**
+     * The script of the previous output spent by each input
+     */
+    private final List<byte[]> previousScripts;
+
+    private final List<TrezorType.TxOutputType> outputs;
+
+    private Expected expected = Expected.INPUT;
+
+    private List<byte[]> signatures;
+
+    /**
+     * The number of signatures returned to the host
+     */
+    private int signed = 0;
+
+    private TxSigning(int inputsCount, int outputsCount) {
+      this.inputsCount = inputsCount;
+      this.outputsCount = outputsCount;
+      this.inputs = Lists.newArrayListWithCapacity(inputsCount);
+      this.previousScripts = Lists.newArrayListWithCapacity(inputsCount);
+      this.outputs = Lists.newArrayListWithCapacity(outputsCount);
+    }
+
+    /**
+     * @return The input most recently provided by the host
+     */
+    private TrezorType.TxInputType currentInput() {
+      return inputs.get(inputs.size() - 1);
+    }
+
+  }
+
+  /**
+   * <p>The progress of a streamed RingSignMessage or RingSignCachedMessage on the device thread</p>
+   */
+  private static class RingSigning {
+
+    private final StreamingRingSigner signer;
+
+    /**
+     * The number of ring members in the last RingSignRequest
+     */
+    private int requested = 0;
+
+    /**
+     * True if the key at pi was compressed
+     */
+    private boolean compressed = false;
+
+    /**
+     * The ring digest given by a RingSignCachedMessage (absent for RingSignMessage)
+     */
+    private Optional<byte[]> ringDigest = Optional.absent();
+
+    /**
+     * The ring collected during the digest pass for caching (only with a ring digest)
+     */
+    private final List<byte[]> ring = Lists.newArrayList();
+
+    private RingSigning(StreamingRingSigner signer) {
+      this.signer = signer;
+    }
+
+  }
+
+  /**
+   * <p>Adapts a queue of reports for a reassembler</p>
+   */
+  private static class QueuePacketSource implements HidPacketSource {
+
+    private final BlockingQueue<byte[]> queue;
+
+    private QueuePacketSource(BlockingQueue<byte[]> queue) {
+      this.queue = queue;
+    }
+
+    @Override
+    public int read(byte[] packet, int timeoutMillis) throws IOException {
+
+      byte[] report;
+      try {
+        report = timeoutMillis == 0 ? queue.take() : queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return -1;
+      }
+
+      if (report == null) {
+        // Timeout
+        return 0;
+      }
+
+      System.arraycopy(report, 0, packet, 0, report.length);
+
+      return report.length;
+    }
+  }
+
+}
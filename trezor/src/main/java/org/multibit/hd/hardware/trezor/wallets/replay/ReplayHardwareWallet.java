@@ -0,0 +1,351 @@
+package org.multibit.hd.hardware.trezor.wallets.replay;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.protobuf.Message;
+import org.multibit.commons.concurrent.SafeExecutors;
+import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.events.MessageEventType;
+import org.multibit.hd.hardware.core.messages.HardwareWalletMessage;
+import org.multibit.hd.hardware.core.wire.HidCaptureDirection;
+import org.multibit.hd.hardware.core.wire.HidCaptureRecord;
+import org.multibit.hd.hardware.core.wire.HidPacketReassembler;
+import org.multibit.hd.hardware.core.wire.HidPacketSource;
+import org.multibit.hd.hardware.trezor.utils.TrezorMessageUtils;
+import org.multibit.hd.hardware.trezor.wallets.AbstractTrezorHardwareWallet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Trezor implementation to provide the following to tests and benchmarks:</p>
+ * <ul>
+ * <li>Deterministic replay of a HID capture (see {@link org.multibit.hd.hardware.core.wire.HidCaptureRecorder})</li>
+ * <li>The full FSM without a physical device</li>
+ * </ul>
+ * <p>The capture is walked in order. Reports read from the device only become available once
+ * every report written before them in the capture has been written again by the application,
+ * so the responses interleave with the FSM exactly as they did when recorded. A written report
+ * that differs from the capture is counted as a mismatch and logged but does not stop the replay
+ * since some requests (e.g. those carrying a nonce) legitimately differ.</p>
+ * <p>The recorded gaps between reports can be preserved to reproduce field latency, or skipped
+ * to replay as fast as possible.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class ReplayHardwareWallet extends AbstractTrezorHardwareWallet {
+
+  private static final Logger log = LoggerFactory.getLogger(ReplayHardwareWallet.class);
+
+  private final List<HidCaptureRecord> records;
+
+  private final boolean preserveTiming;
+
+  private final String name;
+
+  /**
+   * Guards the replay position
+   */
+  private final Object lock = new Object();
+
+  /**
+   * The next record to replay
+   */
+  private int cursor = 0;
+
+  private int mismatches = 0;
+
+  /**
+   * The time the previous record was replayed (used to preserve timing)
+   */
+  private volatile long lastReplayNanos = 0;
+
+  private boolean connected = false;
+
+  /**
+   * Reassemble HID packets into messages reusing the same buffers for every read
+   */
+  private final HidPacketReassembler reassembler = new HidPacketReassembler();
+
+  /**
+   * Supply the recorded reports to the reassembler
+   */
+  private final HidPacketSource packetSource = new HidPacketSource() {
+    @Override
+    public int read(byte[] packet, int timeoutMillis) {
+      return replayRead(packet, timeoutMillis);
+    }
+  };
+
+  /**
+   * Fire the replayed messages
+   */
+  private ExecutorService monitorExecutorService = null;
+
+  /**
+   * @param records        The capture records (see {@link org.multibit.hd.hardware.core.wire.HidCaptureReader})
+   * @param preserveTiming True to wait for the recorded gap before each report read from the device
+   */
+  public ReplayHardwareWallet(List<HidCaptureRecord> records, boolean preserveTiming) {
+    this(records, preserveTiming, "TREZOR/REPLAY");
+  }
+
+  /**
+   * @param records        The capture records (see {@link org.multibit.hd.hardware.core.wire.HidCaptureReader})
+   * @param preserveTiming True to wait for the recorded gap before each report read from the device
+   * @param name           The device ID used as the source of events (e.g. "TREZOR/REPLAY")
+   */
+  public ReplayHardwareWallet(List<HidCaptureRecord> records, boolean preserveTiming, String name) {
+
+    Preconditions.checkNotNull(records, "'records' must be present");
+    Preconditions.checkNotNull(name, "'name' must be present");
+
+    this.records = records;
+    this.preserveTiming = preserveTiming;
+    this.name = name;
+
+  }
+
+  @Override
+  public String name() {
+    return name;
+  }
+
+  /**
+   * @return The number of written reports that differed from the capture
+   */
+  public int getMismatches() {
+    synchronized (lock) {
+      return mismatches;
+    }
+  }
+
+  /**
+   * @return True if every record has been replayed
+   */
+  public boolean isComplete() {
+    synchronized (lock) {
+      return cursor >= records.size();
+    }
+  }
+
+  /**
+   * <p>Start the replay again from the first record</p>
+   */
+  public void rewind() {
+
+    synchronized (lock) {
+      cursor = 0;
+      mismatches = 0;
+      lastReplayNanos = 0;
+      lock.notifyAll();
+    }
+
+  }
+
+  @Override
+  public boolean attach() {
+
+    // Behave as a device that is already plugged in
+    fireMessageEvent(MessageEventType.DEVICE_ATTACHED);
+
+    return true;
+
+  }
+
+  @Override
+  public void softDetach() {
+
+    synchronized (lock) {
+      connected = false;
+      lock.notifyAll();
+    }
+
+    if (monitorExecutorService != null) {
+      monitorExecutorService.shutdownNow();
+      try {
+        monitorExecutorService.awaitTermination(1, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        log.error("Could not cleanly shutdown the replay monitor during soft detach");
+      }
+      monitorExecutorService = null;
+    }
+
+  }
+
+  @Override
+  public void hardDetach() {
+
+    softDetach();
+
+    // Let everyone know
+    fireMessageEvent(MessageEventType.DEVICE_DETACHED_HARD);
+
+  }
+
+  @Override
+  public boolean connect() {
+
+    softDetach();
+
+    synchronized (lock) {
+      connected = true;
+    }
+
+    final ExecutorService executorService = SafeExecutors.newSingleThreadExecutor("monitor-replay");
+    monitorExecutorService = executorService;
+    executorService.submit(
+      new Runnable() {
+        @Override
+        public void run() {
+
+          while (!executorService.isShutdown()) {
+            Optional<MessageEvent> messageEvent = readMessage(1, TimeUnit.SECONDS);
+            if (messageEvent.isPresent()) {
+              fireMessageEvent(messageEvent.get());
+            }
+          }
+        }
+      });
+
+    return true;
+
+  }
+
+  @Override
+  public String toString() {
+    return "Replay: " + name + " (" + records.size() + " records)";
+  }
+
+  @Override
+  protected int writeToDevice(byte[] buffer) {
+
+    Preconditions.checkNotNull(buffer, "'buffer' must be present");
+
+    synchronized (lock) {
+
+      if (cursor < records.size() && records.get(cursor).getDirection() == HidCaptureDirection.WRITE) {
+        if (!records.get(cursor).matches(buffer, buffer.length)) {
+          mismatches++;
+          log.warn("Written report {} differs from the capture", cursor);
+        }
+        cursor++;
+        lastReplayNanos = System.nanoTime();
+        lock.notifyAll();
+      } else {
+        // The application has diverged from the capture (or it has ended)
+        mismatches++;
+        log.warn("Unexpected write at record {}", cursor);
+      }
+
+    }
+
+    return buffer.length;
+
+  }
+
+  @Override
+  protected synchronized Optional<MessageEvent> readFromDevice(int duration, TimeUnit timeUnit) {
+
+    int received;
+    try {
+      received = reassembler.read(packetSource, (int) timeUnit.toMillis(duration));
+    } catch (IOException e) {
+      log.warn("Unexpected failure reading from replay", e);
+      received = -1;
+    }
+
+    if (received < 0) {
+      synchronized (lock) {
+        if (!connected) {
+          // Detached rather than failed
+          return Optional.absent();
+        }
+      }
+      return Optional.of(
+        new MessageEvent(
+          MessageEventType.DEVICE_FAILED,
+          Optional.<HardwareWalletMessage>absent(),
+          Optional.<Message>absent(),
+          name()));
+    }
+
+    if (received == 0) {
+      return Optional.absent();
+    }
+
+    return Optional.fromNullable(TrezorMessageUtils.parse(reassembler, name()));
+
+  }
+
+  /**
+   * @param packet        The buffer to fill with the next recorded report
+   * @param timeoutMillis The time to wait for the application to catch up (0 to block)
+   *
+   * @return The number of bytes read, 0 for a timeout or -1 if the capture ends part way through a message, the
+   * replay is disconnected or the thread is interrupted
+   */
+  private int replayRead(byte[] packet, int timeoutMillis) {
+
+    HidCaptureRecord record;
+    long gapNanos;
+
+    synchronized (lock) {
+
+      long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+      // Wait until the next record is a read (the application must write first)
+      while (connected && (cursor >= records.size() || records.get(cursor).getDirection() != HidCaptureDirection.READ)) {
+
+        if (cursor >= records.size() && timeoutMillis == 0) {
+          // Truncated capture part way through a message
+          return -1;
+        }
+
+        long remaining = deadline - System.nanoTime();
+        if (timeoutMillis != 0 && remaining <= 0) {
+          return 0;
+        }
+
+        try {
+          if (timeoutMillis == 0) {
+            lock.wait();
+          } else {
+            TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return -1;
+        }
+      }
+
+      if (!connected) {
+        return -1;
+      }
+
+      record = records.get(cursor);
+      gapNanos = cursor == 0 ? 0 : record.getTimestampNanos() - records.get(cursor - 1).getTimestampNanos();
+      cursor++;
+
+    }
+
+    if (preserveTiming && gapNanos > 0) {
+      // Measured from the previous replayed report so the application's own time is not added twice
+      long elapsed = System.nanoTime() - lastReplayNanos;
+      if (elapsed < gapNanos) {
+        Uninterruptibles.sleepUninterruptibly(gapNanos - elapsed, TimeUnit.NANOSECONDS);
+      }
+    }
+    lastReplayNanos = System.nanoTime();
+
+    return record.copyTo(packet);
+
+  }
+
+}
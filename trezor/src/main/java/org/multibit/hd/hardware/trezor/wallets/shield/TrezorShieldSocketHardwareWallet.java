@@ -5,7 +5,6 @@ import com.google.common.base.Preconditions;
 import org.multibit.hd.hardware.core.HardwareWalletSpecification;
 import org.multibit.hd.hardware.core.events.MessageEvent;
 import org.multibit.hd.hardware.core.events.MessageEventType;
-import org.multibit.hd.hardware.core.events.MessageEvents;
 import org.multibit.hd.hardware.trezor.wallets.AbstractTrezorHardwareWallet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -99,10 +98,10 @@ public class TrezorShieldSocketHardwareWallet extends AbstractTrezorHardwareWall
       log.info("Detached from Trezor");
 
       // Must have disconnected to be here
-      MessageEvents.fireMessageEvent(MessageEventType.DEVICE_DETACHED, name());
+      fireMessageEvent(MessageEventType.DEVICE_DETACHED);
 
     } catch (IOException e) {
-      MessageEvents.fireMessageEvent(MessageEventType.DEVICE_FAILED, name());
+      fireMessageEvent(MessageEventType.DEVICE_FAILED);
     }
   }
 
@@ -119,10 +118,10 @@ public class TrezorShieldSocketHardwareWallet extends AbstractTrezorHardwareWall
       log.info("Hard detach from Trezor");
 
       // Must have detached to be here
-      MessageEvents.fireMessageEvent(MessageEventType.DEVICE_DETACHED, name());
+      fireMessageEvent(MessageEventType.DEVICE_DETACHED);
 
     } catch (IOException e) {
-      MessageEvents.fireMessageEvent(MessageEventType.DEVICE_FAILED, name());
+      fireMessageEvent(MessageEventType.DEVICE_FAILED);
     }
 
   }
@@ -145,12 +144,12 @@ public class TrezorShieldSocketHardwareWallet extends AbstractTrezorHardwareWall
       //monitorDataInputStream(in);
 
       // Must have connected to be here
-      MessageEvents.fireMessageEvent(MessageEventType.DEVICE_CONNECTED, name());
+      fireMessageEvent(MessageEventType.DEVICE_CONNECTED);
 
       return true;
 
     } catch (IOException e) {
-      MessageEvents.fireMessageEvent(MessageEventType.DEVICE_FAILED, name());
+      fireMessageEvent(MessageEventType.DEVICE_FAILED);
     }
 
     // Must have failed to be here
@@ -179,7 +178,7 @@ public class TrezorShieldSocketHardwareWallet extends AbstractTrezorHardwareWall
       log.warn("I/O error during write. Closing socket.", e);
 
       // Must have disconnected to be here
-      MessageEvents.fireMessageEvent(MessageEventType.DEVICE_DETACHED, name());
+      fireMessageEvent(MessageEventType.DEVICE_DETACHED);
     }
 
     // Must have failed to be here
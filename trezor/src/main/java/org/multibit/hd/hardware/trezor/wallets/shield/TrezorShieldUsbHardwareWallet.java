@@ -2,22 +2,20 @@ package org.multibit.hd.hardware.trezor.wallets.shield;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
-import com.satoshilabs.trezor.protobuf.TrezorMessage;
 import org.hid4java.*;
 import org.hid4java.event.HidServicesEvent;
 import org.hid4java.jna.HidApi;
 import org.multibit.hd.hardware.core.HardwareWalletSpecification;
 import org.multibit.hd.hardware.core.events.MessageEvent;
 import org.multibit.hd.hardware.core.events.MessageEventType;
-import org.multibit.hd.hardware.core.events.MessageEvents;
+import org.multibit.hd.hardware.core.wire.HidPacketReassembler;
+import org.multibit.hd.hardware.core.wire.HidPacketSource;
 import org.multibit.hd.hardware.trezor.utils.TrezorMessageUtils;
 import org.multibit.hd.hardware.trezor.wallets.AbstractTrezorHardwareWallet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.util.Arrays;
 import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
@@ -57,6 +55,23 @@ public class TrezorShieldUsbHardwareWallet extends AbstractTrezorHardwareWallet
    */
   private final HidServices hidServices;
 
+  /**
+   * Reassemble HID packets into messages reusing the same buffers for every read
+   */
+  private final HidPacketReassembler reassembler = new HidPacketReassembler();
+
+  /**
+   * Adapt the located device for the reassembler
+   */
+  private final HidPacketSource packetSource = new HidPacketSource() {
+    @Override
+    public int read(byte[] packet, int timeoutMillis) {
+      int received = locatedDevice.get().read(packet);
+      captureRead(packet, received);
+      return received;
+    }
+  };
+
   static {
     Locale.setDefault(Locale.UK);
   }
@@ -160,7 +175,7 @@ public class TrezorShieldUsbHardwareWallet extends AbstractTrezorHardwareWallet
       return attachDevice(device);
     } catch (IOException e) {
       log.error("Failed to attach device due to problem reading UART data stream", e);
-      MessageEvents.fireMessageEvent(MessageEventType.DEVICE_FAILED, name());
+      fireMessageEvent(MessageEventType.DEVICE_FAILED);
     }
 
     // Must have failed to be here
@@ -200,7 +215,7 @@ public class TrezorShieldUsbHardwareWallet extends AbstractTrezorHardwareWallet
     log.trace("> Purge RxTx: {} '{}'", bytesSent, featureReport);
 
     // Must have connected to be here
-    MessageEvents.fireMessageEvent(MessageEventType.DEVICE_CONNECTED, name());
+    fireMessageEvent(MessageEventType.DEVICE_CONNECTED);
 
     return true;
 
@@ -218,7 +233,7 @@ public class TrezorShieldUsbHardwareWallet extends AbstractTrezorHardwareWallet
     log.info("Disconnected from Trezor");
 
     // Let everyone know
-    MessageEvents.fireMessageEvent(MessageEventType.DEVICE_DETACHED, name());
+    fireMessageEvent(MessageEventType.DEVICE_DETACHED);
   }
 
   @Override
@@ -239,80 +254,28 @@ public class TrezorShieldUsbHardwareWallet extends AbstractTrezorHardwareWallet
     log.info("Hard detach complete");
 
     // Let everyone know
-    MessageEvents.fireMessageEvent(MessageEventType.DEVICE_DETACHED_HARD, name());
+    fireMessageEvent(MessageEventType.DEVICE_DETACHED_HARD);
 
   }
 
   @Override
   protected Optional<MessageEvent> readFromDevice(int duration, TimeUnit timeUnit) {
 
-    ByteBuffer messageBuffer = ByteBuffer.allocate(32768);
-
-    TrezorMessage.MessageType type;
-    int msgSize;
     int received;
-
-    // Keep reading until synchronized on "##"
-    for (; ; ) {
-      byte[] buffer = new byte[64];
-
-      received = locatedDevice.get().read(buffer);
-
-      if (received == -1) {
-        return Optional.absent();
-      }
-
-      // There is a security risk to raising this logging level beyond trace
-      log.trace("< {} bytes", received);
-      TrezorMessageUtils.logPacket("<", 0, buffer);
-
-      if (received < 9) {
-        continue;
-      }
-
-      // Synchronize the buffer on start of new message ('?' is ASCII 63)
-      if (buffer[0] != (byte) '?' || buffer[1] != (byte) '#' || buffer[2] != (byte) '#') {
-        // Reject packet
-        continue;
-      }
-
-      // Evaluate the header information (short, int)
-      type = TrezorMessage.MessageType.valueOf((buffer[3] << 8 & 0xFF) + buffer[4]);
-      msgSize = ((buffer[5] & 0xFF) << 24) + ((buffer[6] & 0xFF) << 16) + ((buffer[7] & 0xFF) << 8) + (buffer[8] & 0xFF);
-
-      // Treat remainder of packet as the protobuf message payload
-      messageBuffer.put(buffer, 9, buffer.length - 9);
-
-      break;
+    try {
+      // The UART bridge does not support timeouts so always block
+      received = reassembler.read(packetSource, 0);
+    } catch (IOException e) {
+      log.warn("Unexpected failure reading from HID device", e);
+      return Optional.absent();
     }
 
-    // There is a security risk to raising this logging level beyond trace
-    log.trace("< Type: '{}' Message size: '{}' bytes", type.name(), msgSize);
-
-    int packet = 0;
-    while (messageBuffer.position() < msgSize) {
-
-      byte[] buffer = new byte[64];
-      received = locatedDevice.get().read(buffer);
-      packet++;
-
-      // There is a security risk to raising this logging level beyond trace
-      log.trace("< (cont) {} bytes", received);
-      TrezorMessageUtils.logPacket("<", packet, buffer);
-
-      if (buffer[0] != (byte) '?') {
-        log.warn("< Malformed packet length. Expected: '3f' Actual: '{}'. Ignoring.", String.format("%02x", buffer[0]));
-        continue;
-      }
-
-      // Append the packet payload to the message buffer
-      messageBuffer.put(buffer, 1, buffer.length - 1);
+    if (received <= 0) {
+      return Optional.absent();
     }
 
-    log.debug("Packet complete");
-
-    // Parse the message
-    return Optional.of(TrezorMessageUtils.parse(type, Arrays.copyOfRange(messageBuffer.array(), 0, msgSize)));
+    // Parse the message directly from the reassembly buffer
+    return Optional.fromNullable(TrezorMessageUtils.parse(reassembler));
 
   }
 
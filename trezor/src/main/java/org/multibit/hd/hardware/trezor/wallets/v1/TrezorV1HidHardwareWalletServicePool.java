@@ -0,0 +1,102 @@
+package org.multibit.hd.hardware.trezor.wallets.v1;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import org.hid4java.HidDevice;
+import org.hid4java.HidException;
+import org.hid4java.HidManager;
+import org.hid4java.HidServices;
+import org.multibit.hd.hardware.core.HardwareWalletServicePool;
+import org.multibit.hd.hardware.trezor.clients.TrezorHardwareWalletClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * <p>Service pool to provide the following to application:</p>
+ * <ul>
+ * <li>Discovery of all attached USB Trezor devices (standard)</li>
+ * <li>One {@link org.multibit.hd.hardware.core.HardwareWalletService} per device keyed on its serial number</li>
+ * </ul>
+ *
+ * <p>Call {@link #discover()} after construction and again whenever a device may have been
+ * added (e.g. periodically or on a hid4java attach event). Devices already in the pool are left alone.</p>
+ *
+ * @since 0.0.1
+ *
+ */
+public class TrezorV1HidHardwareWalletServicePool extends HardwareWalletServicePool {
+
+  private static final Integer SATOSHI_LABS_VENDOR_ID = 0x534c;
+  private static final Integer TREZOR_V1_PRODUCT_ID = 0x01;
+
+  private static final Logger log = LoggerFactory.getLogger(TrezorV1HidHardwareWalletServicePool.class);
+
+  /**
+   * The USB HID entry point
+   */
+  private final HidServices hidServices;
+
+  public TrezorV1HidHardwareWalletServicePool() {
+
+    try {
+      hidServices = HidManager.getHidServices();
+    } catch (HidException e) {
+      log.error("Failed to create pool due to USB services problem", e);
+      throw new IllegalStateException("Failed to create pool due to HID services problem", e);
+    }
+
+  }
+
+  /**
+   * <p>Add a service for every attached Trezor that is not already in the pool</p>
+   *
+   * @return The device IDs that were added
+   */
+  public List<String> discover() {
+
+    List<String> added = Lists.newArrayList();
+
+    for (HidDevice hidDevice : hidServices.getAttachedHidDevices()) {
+
+      int attachedVendorId = (int) hidDevice.getVendorId();
+      int attachedProductId = (int) hidDevice.getProductId();
+
+      if (!SATOSHI_LABS_VENDOR_ID.equals(attachedVendorId) || !TREZOR_V1_PRODUCT_ID.equals(attachedProductId)) {
+        continue;
+      }
+
+      String serialNumber = hidDevice.getSerialNumber();
+      if (Strings.isNullOrEmpty(serialNumber)) {
+        // Without a serial number the device cannot be told apart from others
+        log.warn("Ignoring Trezor without a serial number: {}", hidDevice.getPath());
+        continue;
+      }
+
+      // Check before creating the wallet since it registers for HID events
+      String deviceId = "TREZOR/" + serialNumber;
+      if (get(deviceId).isPresent()) {
+        // Already managed
+        continue;
+      }
+
+      TrezorV1HidHardwareWallet wallet = new TrezorV1HidHardwareWallet(
+        Optional.of(SATOSHI_LABS_VENDOR_ID),
+        Optional.of(TREZOR_V1_PRODUCT_ID),
+        Optional.of(serialNumber)
+      );
+
+      add(new TrezorHardwareWalletClient(wallet));
+      added.add(deviceId);
+
+    }
+
+    log.info("Discovered {} new Trezor device(s)", added.size());
+
+    return added;
+
+  }
+
+}
@@ -0,0 +1,233 @@
+package org.multibit.hd.hardware.trezor.wallets.emulator;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import com.satoshilabs.trezor.protobuf.TrezorMessage;
+import com.satoshilabs.trezor.protobuf.TrezorType;
+import org.bitcoinj.core.Address;
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.NetworkParameters;
+import org.bitcoinj.core.Sha256Hash;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionInput;
+import org.bitcoinj.core.TransactionOutPoint;
+import org.bitcoinj.params.MainNetParams;
+import org.bitcoinj.script.ScriptBuilder;
+import org.bitcoinj.wallet.KeyChain;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.multibit.hd.hardware.core.events.MessageEvent;
+import org.multibit.hd.hardware.core.messages.MessageRingSignature;
+import org.multibit.hd.hardware.core.utils.RingSignatureUtils;
+import org.multibit.hd.hardware.trezor.utils.TrezorMessageUtils;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class TrezorEmulatorHardwareWalletTest {
+
+  private static final NetworkParameters NETWORK_PARAMETERS = MainNetParams.get();
+
+  private static final long TIMEOUT_SECONDS = 10;
+
+  /**
+   * m/44'/0'/0'/0/0 which also holds the voting key
+   */
+  private static final List<Integer> ADDRESS_N = TrezorMessageUtils.buildAddressN(0, KeyChain.KeyPurpose.RECEIVE_FUNDS, 0);
+
+  private static final byte[] PREVIOUS_HASH = new byte[32];
+
+  private static final long PREVIOUS_AMOUNT = 100000;
+
+  private static final long AMOUNT = 90000;
+
+  private TrezorEmulatorHardwareWallet testObject;
+
+  private ECKey key;
+
+  @Before
+  public void setUp() throws Exception {
+
+    byte[] seed = new byte[32];
+    new Random(0).nextBytes(seed);
+    testObject = new TrezorEmulatorHardwareWallet(seed, "TEST");
+    testObject.connect();
+
+    key = ECKey.fromPublicOnly(testObject.getVotingPublicKey());
+
+  }
+
+  @After
+  public void tearDown() throws Exception {
+
+    testObject.softDetach();
+
+  }
+
+  @Test
+  public void testSignTx() throws Exception {
+
+    String address = key.toAddress(NETWORK_PARAMETERS).toString();
+
+    TrezorMessage.TxRequest request = (TrezorMessage.TxRequest) call(
+      TrezorMessage.SignTx.newBuilder()
+        .setCoinName("Bitcoin")
+        .setInputsCount(1)
+        .setOutputsCount(1)
+        .build());
+    assertThat(request.getRequestType()).isEqualTo(TrezorType.RequestType.TXINPUT);
+
+    request = (TrezorMessage.TxRequest) call(txAck(TrezorType.TransactionType.newBuilder().addInputs(input())));
+    assertThat(request.getRequestType()).isEqualTo(TrezorType.RequestType.TXMETA);
+
+    request = (TrezorMessage.TxRequest) call(txAck(TrezorType.TransactionType.newBuilder().setOutputsCnt(1)));
+    assertThat(request.getRequestType()).isEqualTo(TrezorType.RequestType.TXOUTPUT);
+
+    // The output of the previous transaction pays to the key
+    byte[] previousScript = ScriptBuilder.createOutputScript(key.toAddress(NETWORK_PARAMETERS)).getProgram();
+    request = (TrezorMessage.TxRequest) call(
+      txAck(
+        TrezorType.TransactionType.newBuilder()
+          .addBinOutputs(
+            TrezorType.TxOutputBinType.newBuilder()
+              .setAmount(PREVIOUS_AMOUNT)
+              .setScriptPubkey(ByteString.copyFrom(previousScript)))));
+    assertThat(request.getRequestType()).isEqualTo(TrezorType.RequestType.TXOUTPUT);
+
+    Message response = call(txAck(TrezorType.TransactionType.newBuilder().addOutputs(output(address))));
+    assertThat(response).isInstanceOf(TrezorMessage.ButtonRequest.class);
+
+    request = (TrezorMessage.TxRequest) call(TrezorMessage.ButtonAck.getDefaultInstance());
+    assertThat(request.getRequestType()).isEqualTo(TrezorType.RequestType.TXFINISHED);
+    assertThat(request.getSerialized().getSignatureIndex()).isEqualTo(0);
+
+    // Build the same transaction and check the signature against the key
+    Transaction tx = new Transaction(NETWORK_PARAMETERS);
+    TransactionOutPoint outPoint = new TransactionOutPoint(NETWORK_PARAMETERS, 0, Sha256Hash.wrap(PREVIOUS_HASH));
+    TransactionInput transactionInput = new TransactionInput(NETWORK_PARAMETERS, tx, new byte[0], outPoint);
+    transactionInput.setSequenceNumber(0xFFFFFFFFL);
+    tx.addInput(transactionInput);
+    tx.addOutput(Coin.valueOf(AMOUNT), new Address(NETWORK_PARAMETERS, address));
+    Sha256Hash hash = tx.hashForSignature(0, previousScript, Transaction.SigHash.ALL, false);
+
+    ECKey.ECDSASignature signature = ECKey.ECDSASignature.decodeFromDER(request.getSerialized().getSignature().toByteArray());
+    assertThat(key.verify(hash, signature)).isTrue();
+
+  }
+
+  @Test
+  public void testSignTxInvalidAddress() throws Exception {
+
+    call(
+      TrezorMessage.SignTx.newBuilder()
+        .setCoinName("Bitcoin")
+        .setInputsCount(1)
+        .setOutputsCount(1)
+        .build());
+    call(txAck(TrezorType.TransactionType.newBuilder().addInputs(input())));
+    call(txAck(TrezorType.TransactionType.newBuilder().setOutputsCnt(1)));
+    call(
+      txAck(
+        TrezorType.TransactionType.newBuilder()
+          .addBinOutputs(
+            TrezorType.TxOutputBinType.newBuilder()
+              .setAmount(PREVIOUS_AMOUNT)
+              .setScriptPubkey(ByteString.EMPTY))));
+
+    // An AddressFormatException is answered rather than thrown on the device thread
+    Message response = call(txAck(TrezorType.TransactionType.newBuilder().addOutputs(output("Not an address"))));
+    assertThat(response).isInstanceOf(TrezorMessage.Failure.class);
+    assertThat(((TrezorMessage.Failure) response).getMessage()).isEqualTo("Invalid transaction");
+
+    // The device is still responsive
+    assertThat(call(TrezorMessage.Ping.newBuilder().setMessage("Ping").build())).isInstanceOf(TrezorMessage.Success.class);
+
+  }
+
+  @Test
+  public void testRingSign() throws Exception {
+
+    List<byte[]> ring = Lists.newArrayList();
+    ring.add(new ECKey().getPubKeyPoint().getEncoded(false));
+    ring.add(testObject.getVotingPublicKey());
+    ring.add(new ECKey().getPubKeyPoint().getEncoded(false));
+    byte[] message = "Candidate 1".getBytes(Charsets.UTF_8);
+
+    TrezorMessage.RingSignMessage.Builder builder = TrezorMessage.RingSignMessage.newBuilder()
+      .setN(ring.size())
+      .setPi(1)
+      .setMessage(ByteString.copyFrom(message));
+    for (byte[] member : ring) {
+      builder.addL(ByteString.copyFrom(member));
+    }
+
+    assertThat(call(builder.build())).isInstanceOf(TrezorMessage.ButtonRequest.class);
+
+    Message response = call(TrezorMessage.ButtonAck.getDefaultInstance());
+    assertThat(response).isInstanceOf(TrezorMessage.MessageRingSignature.class);
+
+    TrezorMessage.MessageRingSignature raw = (TrezorMessage.MessageRingSignature) response;
+    MessageRingSignature signature = new MessageRingSignature(
+      raw.getC().toByteArray(),
+      raw.getSList(),
+      raw.getN(),
+      raw.getYtDotX().toByteArray(),
+      raw.getYtDotY().toByteArray());
+
+    assertThat(RingSignatureUtils.verify(ring, message, signature)).isTrue();
+    assertThat(RingSignatureUtils.verify(ring, "Candidate 2".getBytes(Charsets.UTF_8), signature)).isFalse();
+
+  }
+
+  /**
+   * @param request The request to the emulated device
+   *
+   * @return The raw response
+   */
+  private Message call(Message request) throws Exception {
+
+    // Reserve the slot before writing so the response cannot be missed
+    ListenableFuture<MessageEvent> response = testObject.getMailbox().expect(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    testObject.writeMessage(request);
+
+    MessageEvent event = response.get();
+    assertThat(event.getRawMessage().isPresent()).isTrue();
+
+    return event.getRawMessage().get();
+
+  }
+
+  private static TrezorMessage.TxAck txAck(TrezorType.TransactionType.Builder tx) {
+    return TrezorMessage.TxAck.newBuilder().setTx(tx).build();
+  }
+
+  private static TrezorType.TxInputType input() {
+
+    return TrezorType.TxInputType.newBuilder()
+      .addAllAddressN(ADDRESS_N)
+      .setPrevHash(ByteString.copyFrom(PREVIOUS_HASH))
+      .setPrevIndex(0)
+      .setSequence(0xFFFFFFFF)
+      .build();
+
+  }
+
+  private static TrezorType.TxOutputType output(String address) {
+
+    return TrezorType.TxOutputType.newBuilder()
+      .setAddress(address)
+      .setAmount(AMOUNT)
+      .setScriptType(TrezorType.OutputScriptType.PAYTOADDRESS)
+      .build();
+
+  }
+
+}
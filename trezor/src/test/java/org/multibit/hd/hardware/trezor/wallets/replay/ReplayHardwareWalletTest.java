@@ -0,0 +1,158 @@
+package org.multibit.hd.hardware.trezor.wallets.replay;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import org.bitcoinj.core.ECKey;
+import org.junit.Test;
+import org.multibit.hd.hardware.core.HardwareWalletService;
+import org.multibit.hd.hardware.core.events.EventListener;
+import org.multibit.hd.hardware.core.events.HardwareWalletEvent;
+import org.multibit.hd.hardware.core.events.HardwareWalletEventType;
+import org.multibit.hd.hardware.core.wire.HidCaptureReader;
+import org.multibit.hd.hardware.core.wire.HidCaptureRecord;
+import org.multibit.hd.hardware.core.wire.HidCaptureRecorder;
+import org.multibit.hd.hardware.trezor.clients.TrezorHardwareWalletClient;
+import org.multibit.hd.hardware.trezor.wallets.AbstractTrezorHardwareWallet;
+import org.multibit.hd.hardware.trezor.wallets.emulator.TrezorEmulatorHardwareWallet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+public class ReplayHardwareWalletTest {
+
+  private static final long TIMEOUT_MILLIS = 10000;
+
+  @Test
+  public void testReplayEmulatorSession() throws Exception {
+
+    byte[] seed = new byte[32];
+    new Random(0).nextBytes(seed);
+    TrezorEmulatorHardwareWallet emulator = new TrezorEmulatorHardwareWallet(seed, "RECORD");
+
+    // The same ring is used for both runs so the written reports match
+    List<byte[]> ring = Lists.newArrayList();
+    ring.add(emulator.getVotingPublicKey());
+    ring.add(new ECKey().getPubKeyPoint().getEncoded(false));
+    ring.add(new ECKey().getPubKeyPoint().getEncoded(false));
+    byte[] message = "Candidate 1".getBytes(Charsets.UTF_8);
+
+    // Record a session with the emulator
+    ByteArrayOutputStream capture = new ByteArrayOutputStream();
+    HidCaptureRecorder recorder = new HidCaptureRecorder(capture, HidCaptureRecorder.DEFAULT_SLOTS);
+    emulator.setCaptureRecorder(Optional.of(recorder));
+
+    List<HardwareWalletEventType> recorded = runSession(emulator, ring, message);
+
+    recorder.close();
+    assertThat(recorder.getDropped()).isEqualTo(0);
+
+    List<HidCaptureRecord> records = HidCaptureReader.read(new ByteArrayInputStream(capture.toByteArray()));
+    assertThat(records).isNotEmpty();
+
+    // Replay it through the FSM
+    ReplayHardwareWallet testObject = new ReplayHardwareWallet(records, false);
+
+    List<HardwareWalletEventType> replayed = runSession(testObject, ring, message);
+
+    assertThat(replayed).isEqualTo(recorded);
+    assertThat(testObject.getMismatches()).isEqualTo(0);
+    assertThat(testObject.isComplete()).isTrue();
+
+  }
+
+  @Test
+  public void testDisconnectEndsRead() throws Exception {
+
+    // Nothing to read until the application writes
+    List<HidCaptureRecord> records = HidCaptureReader.read(new ByteArrayInputStream(emptyCapture()));
+    ReplayHardwareWallet testObject = new ReplayHardwareWallet(records, false);
+
+    testObject.connect();
+    testObject.disconnect();
+
+    // A disconnected replay reports a detach rather than a failure
+    assertThat(testObject.readMessage(100, TimeUnit.MILLISECONDS).isPresent()).isFalse();
+
+  }
+
+  /**
+   * @param wallet  The wallet (recording or replaying)
+   * @param ring    The ring to sign with
+   * @param message The message to sign
+   *
+   * @return The event types up to and including the ring signature
+   */
+  private List<HardwareWalletEventType> runSession(AbstractTrezorHardwareWallet wallet, List<byte[]> ring, byte[] message) throws Exception {
+
+    final BlockingQueue<HardwareWalletEvent> events = new LinkedBlockingQueue<>();
+
+    HardwareWalletService service = new HardwareWalletService(new TrezorHardwareWalletClient(wallet));
+    service.addHardwareWalletEventListener(
+      new EventListener<HardwareWalletEvent>() {
+        @Override
+        public void onEvent(HardwareWalletEvent event) {
+          events.add(event);
+        }
+      });
+
+    List<HardwareWalletEventType> eventTypes = Lists.newArrayList();
+
+    try {
+      service.startEventDriven();
+      awaitEvent(events, HardwareWalletEventType.SHOW_DEVICE_READY, eventTypes);
+
+      service.requestPublicKey65();
+      awaitEvent(events, HardwareWalletEventType.PUBLIC_KEY_65, eventTypes);
+
+      service.ringSignMessage(ring, ring.size(), 0, message);
+      awaitEvent(events, HardwareWalletEventType.MESSAGE_RING_SIGNATURE, eventTypes);
+
+      // Stop recording before the service detaches
+      wallet.setCaptureRecorder(Optional.<HidCaptureRecorder>absent());
+    } finally {
+      service.stopAndWait();
+    }
+
+    return eventTypes;
+
+  }
+
+  private void awaitEvent(BlockingQueue<HardwareWalletEvent> events, HardwareWalletEventType eventType, List<HardwareWalletEventType> eventTypes) throws InterruptedException {
+
+    while (true) {
+
+      HardwareWalletEvent event = events.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      if (event == null) {
+        fail("Timed out awaiting " + eventType);
+      }
+      eventTypes.add(event.getEventType());
+
+      if (eventType.equals(event.getEventType())) {
+        return;
+      }
+      if (HardwareWalletEventType.SHOW_OPERATION_FAILED.equals(event.getEventType())) {
+        fail("Failed awaiting " + eventType);
+      }
+    }
+
+  }
+
+  private static byte[] emptyCapture() throws Exception {
+
+    ByteArrayOutputStream capture = new ByteArrayOutputStream();
+    new HidCaptureRecorder(capture, 1).close();
+
+    return capture.toByteArray();
+
+  }
+
+}